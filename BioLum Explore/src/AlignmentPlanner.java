@@ -0,0 +1,836 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+
+public class AlignmentPlanner {
+	static final int K = 12;												//k-mer length of the identity sketch
+	static final int SKETCH = 256;											//hashes kept in each sketch
+	static final int MIN_BAND = 16;											//narrowest band tried around the main diagonals
+	static final double BAND_FRACTION = 0.25;								//a band must cover less than this share of the grid to be worth it
+	static final long LINEAR_SPACE_CELLS = Long.getLong("biolum.planner.linearSpaceCells", 25000000L);	//bigger global tracebacks use linear space
+	static final int BASE_CELLS = 1 << 16;									//linear space subproblems this small are traced with a full grid
+
+	static final byte NORTH = OffHeapAligner.NORTH;
+	static final byte WEST = OffHeapAligner.WEST;
+	static final byte NORTHWEST = OffHeapAligner.NORTHWEST;
+	static final int NONE = Integer.MIN_VALUE / 2;							//score of a cell outside the band
+
+	int match;									//match reward
+	int mismatch;								//mismatch penalty
+	int indel;									//indel penalty
+	MemoryGovernor governor = MemoryGovernor.shared();		//admits each alignment against the memory budget
+	MemoryGovernor directGovernor = MemoryGovernor.direct();	//admits each off-heap traceback grid against the direct memory budget
+
+	enum Engine {					//represents the exact engines the planner chooses between
+		BIT_PARALLEL("bit-parallel"),
+		BANDED("banded"),
+		SCORE_ONLY("score-only rolling rows"),
+		TRACEBACK("traceback grid"),
+		LINEAR_SPACE("linear-space traceback");
+
+		final String label;
+
+		Engine(String label) {
+			this.label = label;
+		}
+	}
+
+	/**
+	 * The engine chosen for one alignment and why
+	 */
+	public static class Plan {
+		public Engine engine;					//engine that ran
+		public String reason;					//why the engine was chosen
+		public double identity = -1;			//identity estimated from the k-mer sketch, -1 if it was not needed
+		public int band;						//band width beyond the main diagonals, 0 unless banded
+
+		public String toString() {
+			return engine.label + " (" + reason + ")";
+		}
+	}
+
+	/**
+	 * An alignment score, the alignment if it was requested, and the plan that produced them
+	 */
+	public static class Result {
+		public int score;						//alignment score
+		public EditTranscript transcript;		//alignment columns, null if only the score was requested
+		public Plan plan;						//engine that ran and why
+	}
+
+	/**
+	 * Initializes the planner with the pairwise alignment parameters
+	 */
+	public AlignmentPlanner(int match, int mismatch, int indel) {
+		this.match = match;
+		this.mismatch = mismatch;
+		this.indel = indel;
+	}
+
+	/**
+	 * Choose the cheapest exact engine for a global alignment
+	 * @param traceback true if the alignment itself is needed, false for the score alone
+	 * @return the plan
+	 */
+	public Plan planGlobal(String s1, String s2, boolean traceback) {
+		Plan plan = new Plan();
+		long cells = (long) (s1.length() + 1) * (s2.length() + 1);
+
+		//with these scores the global score follows from an edit distance or a longest common subsequence, 64 cells per word operation
+		if (!traceback && bitParallel() != null) {
+			plan.engine = Engine.BIT_PARALLEL;
+			plan.reason = "match " + match + ", mismatch " + mismatch + ", indel " + indel + " make the score a linear function of the " + bitParallel();
+			return plan;
+		}
+
+		//similar sequences of similar length only need a narrow band around the diagonal
+		if (gapsCost()) {
+			plan.identity = estimateIdentity(s1, s2);
+			plan.band = initialBand(s1, s2, plan.identity);
+			if (worthBanding(s1.length(), s2.length(), plan.band, traceback)) {
+				plan.engine = Engine.BANDED;
+				plan.reason = String.format("estimated identity %.2f, band of %d around the diagonal", plan.identity, plan.band);
+				return plan;
+			}
+		}
+
+		plan.engine = unbanded(cells, traceback);
+		if (!traceback) {
+			plan.reason = plan.identity < 0 ? "only the score was requested" : String.format("estimated identity %.2f is too low for a narrow band", plan.identity);
+		} else if (plan.engine == Engine.LINEAR_SPACE) {
+			plan.reason = cells + " cells is too many to keep one traceback byte per cell";
+		} else {
+			plan.reason = cells + " traceback bytes fit in memory";
+		}
+		return plan;
+	}
+
+	/**
+	 * Choose the engine for a global alignment that is not banded
+	 * @return score-only rows, the traceback grid, or linear-space traceback
+	 */
+	static Engine unbanded(long cells, boolean traceback) {
+		if (!traceback) {
+			return Engine.SCORE_ONLY;
+		}
+		return cells > LINEAR_SPACE_CELLS ? Engine.LINEAR_SPACE : Engine.TRACEBACK;
+	}
+
+	/**
+	 * Check whether a band is narrow enough to beat the full grid, and small enough to keep its traceback flags on the heap
+	 * @return true if the band should be tried
+	 */
+	static boolean worthBanding(int n, int m, int band, boolean traceback) {
+		long cells = bandCells(n, m, band);
+		return cells < BAND_FRACTION * (n + 1) * (m + 1) && (!traceback || cells <= LINEAR_SPACE_CELLS);
+	}
+
+	/**
+	 * Choose the engine for a local alignment; the local recurrence has no zero floor, so its traceback stops at the first
+	 * negative cell and only the full recurrence reproduces it
+	 * @return the plan
+	 */
+	public Plan planLocal(String s1, String s2, boolean traceback) {
+		Plan plan = new Plan();
+		if (traceback) {
+			plan.engine = Engine.TRACEBACK;
+			plan.reason = "the local traceback stops at negative cells, which only the full grid records";
+		} else {
+			plan.engine = Engine.SCORE_ONLY;
+			plan.reason = "only the score was requested";
+		}
+		return plan;
+	}
+
+	/**
+	 * Plan and run a global alignment; a band that turns out not to be provably optimal releases its reservation, and
+	 * the unbanded engine that replaces it is admitted on its own before it runs
+	 * @throws IOException if a traceback grid could not be allocated
+	 * @return score, alignment if requested, and plan
+	 */
+	@SuppressWarnings("try")
+	public Result global(String s1, String s2, boolean traceback) throws IOException {
+		Result result = new Result();
+		result.plan = planGlobal(s1, s2, traceback);
+		try (MemoryGovernor.Reservation reservation = admit(result.plan, s1.length(), s2.length(), traceback, true)) {
+			run(s1, s2, traceback, result);
+		}
+
+		//the sequences differ more than the sketch suggested
+		if (result.plan.engine == Engine.BANDED && result.plan.band < 0) {
+			result.plan.engine = unbanded((long) (s1.length() + 1) * (s2.length() + 1), traceback);
+			result.plan.band = 0;
+			result.plan.reason += ", but no band narrow enough was provably optimal";
+			try (MemoryGovernor.Reservation reservation = admit(result.plan, s1.length(), s2.length(), traceback, true)) {
+				run(s1, s2, traceback, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Run the engine of a global alignment plan, timed under the engine's name so the metrics show how often each one ran
+	 * @throws IOException
+	 */
+	void run(String s1, String s2, boolean traceback, Result result) throws IOException {
+		try (Metrics.Timer timer = Metrics.time("engine." + result.plan.engine.name().toLowerCase())) {
+			switch (result.plan.engine) {
+			case BIT_PARALLEL:
+				result.score = bitParallelScore(s1, s2);
+				timer.cells((long) s1.length() * s2.length());
+				break;
+			case BANDED:
+				banded(s1, s2, traceback, result, timer);
+				break;
+			case SCORE_ONLY:
+				result.score = ScoreKernels.globalScore(s1, s2, match, mismatch, indel);
+				break;
+			case LINEAR_SPACE:
+				EditTranscript.Builder transcript = new EditTranscript.Builder();
+				hirschberg(s1, 0, s1.length(), s2, 0, s2.length(), transcript);
+				result.transcript = transcript.build(s1, s2, 0, 0);
+				result.score = score(result.transcript);
+				timer.cells(2L * s1.length() * s2.length());
+				break;
+			default:
+				OffHeapAligner.Alignment alignment = new OffHeapAligner(match, mismatch, indel).global(s1, s2);
+				result.score = alignment.score;
+				result.transcript = alignment.transcript;
+			}
+		}
+	}
+
+	/**
+	 * Plan and run a local alignment
+	 * @throws IOException if a traceback grid could not be allocated
+	 * @return score, alignment if requested, and plan
+	 */
+	@SuppressWarnings("try")
+	public Result local(String s1, String s2, boolean traceback) throws IOException {
+		Result result = new Result();
+		result.plan = planLocal(s1, s2, traceback);
+		try (MemoryGovernor.Reservation reservation = admit(result.plan, s1.length(), s2.length(), traceback, false);
+				Metrics.Timer timer = Metrics.time("engine." + result.plan.engine.name().toLowerCase())) {
+			if (traceback) {
+				OffHeapAligner.Alignment alignment = new OffHeapAligner(match, mismatch, indel).local(s1, s2);
+				result.score = alignment.score;
+				result.transcript = alignment.transcript;
+			} else {
+				result.score = ScoreKernels.localScore(s1, s2, match, mismatch, indel);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reserve the heap and direct memory a plan needs, queueing for a while behind other jobs; a global traceback that
+	 * still does not fit moves to linear space, and anything else keeps waiting its turn, for a bounded time on the UI thread
+	 * @param global true for a global alignment, the only kind with a linear-space engine
+	 * @throws IOException if even the leanest engine needs more than the whole budget, or the UI thread waited too long
+	 * @return the reservation, to close once the alignment is done
+	 */
+	MemoryGovernor.Reservation admit(Plan plan, int n, int m, boolean traceback, boolean global) throws IOException {
+		try {
+			MemoryGovernor.Reservation reservation = reserve(plan, n, m, traceback, MemoryGovernor.QUEUE_MILLIS);
+			if (reservation != null) {
+				return reservation;
+			}
+			if (global && traceback && plan.engine != Engine.LINEAR_SPACE) {
+				Metrics.downgrade();
+				plan.reason += String.format(", moved from %s because %,d bytes did not fit the memory budget", plan.engine.label,
+						footprint(plan, n, m, traceback) + directFootprint(plan, n, m, traceback));
+				plan.engine = Engine.LINEAR_SPACE;
+				plan.band = 0;
+			}
+			long bytes = footprint(plan, n, m, traceback);
+			long direct = directFootprint(plan, n, m, traceback);
+			if (!governor.fits(bytes) || !directGovernor.fits(direct)) {
+				Metrics.rejection();
+				throw new IOException(String.format("%s needs %,d bytes of heap and %,d of direct memory, more than the budgets of %,d and %,d",
+						plan.engine.label, bytes, direct, governor.budget(), directGovernor.budget()));
+			}
+			reservation = reserve(plan, n, m, traceback, MemoryGovernor.patience());
+			if (reservation == null) {
+				Metrics.rejection();
+				throw new IOException("Other alignments are holding the memory budget; try again once they finish");
+			}
+			return reservation;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for memory");
+		}
+	}
+
+	/**
+	 * Reserve a plan's heap memory, then its direct memory, always in that order so two jobs never wait on each other
+	 * @throws InterruptedException if the thread is interrupted while queued
+	 * @return one reservation releasing both, or null if either did not fit in time
+	 */
+	MemoryGovernor.Reservation reserve(Plan plan, int n, int m, boolean traceback, long waitMillis) throws InterruptedException {
+		MemoryGovernor.Reservation heap = governor.reserve(footprint(plan, n, m, traceback), waitMillis);
+		long direct = directFootprint(plan, n, m, traceback);
+		if (heap == null || direct == 0) {
+			return heap;
+		}
+		MemoryGovernor.Reservation offHeap = directGovernor.reserve(direct, waitMillis);
+		if (offHeap == null) {
+			heap.close();
+			return null;
+		}
+		return heap.with(offHeap);
+	}
+
+	/**
+	 * Estimate the heap memory an engine holds while it runs: its rows of scores, its traceback flags, and the transcript.
+	 * Traceback grids are direct memory, counted by directFootprint, or memory-mapped files paged by the operating system
+	 * @return bytes
+	 */
+	static long footprint(Plan plan, int n, int m, boolean traceback) {
+		long rows = 8L * (m + 1);
+		long transcript = traceback ? (long) n + m : 0;
+		long grid = (long) (n + 1) * (m + 1);
+		switch (plan.engine) {
+		case BIT_PARALLEL:
+			//match vectors of the bases seen plus the state vectors, one word per 64 rows each
+			return 64L * ((n + 63) / 64) + 8L * 128;
+		case BANDED:
+			//the band may widen until it stops paying for itself, then falls back to an unbanded engine
+			if (!traceback) {
+				return 8L * (n + m + 2);
+			}
+			return 8L * (n + m + 2) + transcript + (grid <= LINEAR_SPACE_CELLS ? grid : (long) Math.min(BAND_FRACTION * grid, LINEAR_SPACE_CELLS));
+		case SCORE_ONLY:
+			return rows;
+		case LINEAR_SPACE:
+			//forward and reverse rows kept at every level of the recursion, two more being filled, and the grid the
+			//recursion bottoms out in, which holds a whole row of s2 when s1 is down to one base
+			int depth = 64 - Long.numberOfLeadingZeros(n);
+			return rows * (depth + 2) + Math.max(BASE_CELLS, 2L * (m + 1)) + transcript;
+		default:
+			return rows + transcript;
+		}
+	}
+
+	/**
+	 * Estimate the direct memory an engine holds while it runs, the off-heap traceback grid small enough not to be a file
+	 * @return bytes
+	 */
+	static long directFootprint(Plan plan, int n, int m, boolean traceback) {
+		long grid = (long) (n + 1) * (m + 1);
+		return plan.engine == Engine.TRACEBACK && traceback && grid <= OffHeapMatrix.DIRECT_LIMIT ? grid : 0;
+	}
+
+	/**
+	 * Check whether every extra gap lowers the best possible score, which the band bound relies on
+	 * @return true if a gap costs more than half a match
+	 */
+	boolean gapsCost() {
+		return 2 * indel < Math.max(match, mismatch);
+	}
+
+	/**
+	 * Check whether the scores reduce the global alignment to a unit cost problem. Every alignment of lengths n and m has
+	 * 2 * pairs + gaps = n + m, so the score is match * (n + m) / 2 - (match - mismatch) * mismatches - (match / 2 - indel) * gaps
+	 * @return "edit distance" if mismatches and gaps cost the same, "longest common subsequence" if a mismatch costs at least
+	 * two gaps, null if neither holds
+	 */
+	String bitParallel() {
+		if (match < mismatch || !gapsCost()) {
+			return null;
+		}
+		if (2 * (match - mismatch) == match - 2 * indel) {
+			return "edit distance";
+		}
+		if (mismatch <= 2 * indel) {
+			return "longest common subsequence";
+		}
+		return null;
+	}
+
+	/**
+	 * Compute the global score from a bit-parallel edit distance or longest common subsequence
+	 * @return global alignment score
+	 */
+	int bitParallelScore(String s1, String s2) {
+		long n = s1.length();
+		long m = s2.length();
+		if (bitParallel().equals("edit distance")) {
+			return (int) ((match * (n + m) - 2L * (match - mismatch) * editDistance(s1, s2)) / 2);
+		}
+		long lcs = longestCommonSubsequence(s1, s2);
+		return (int) (match * lcs + indel * (n + m - 2 * lcs));
+	}
+
+	/**
+	 * Build the match bit vectors of a pattern, one array of 64-bit words per character
+	 * @return match vectors indexed by character
+	 */
+	static long[][] matchVectors(String pattern, int words) {
+		long[][] peq = new long[128][];
+		for (int i = 0; i < pattern.length(); i++) {
+			int c = pattern.charAt(i) & 127;
+			if (peq[c] == null) {
+				peq[c] = new long[words];
+			}
+			peq[c][i >> 6] |= 1L << (i & 63);
+		}
+		return peq;
+	}
+
+	/**
+	 * Compute the unit cost edit distance of two sequences with Myers' bit-vector algorithm, one 64-row block at a time
+	 * @return edit distance
+	 */
+	static int editDistance(String s1, String s2) {
+		int n = s1.length();
+		if (n == 0) {
+			return s2.length();
+		}
+		int words = (n + 63) >> 6;
+		long[][] peq = matchVectors(s1, words);
+		long[] zero = new long[words];
+		long[] pv = new long[words];
+		long[] mv = new long[words];
+		Arrays.fill(pv, -1L);
+		long last = 1L << ((n - 1) & 63);
+		int score = n;
+		for (int j = 0; j < s2.length(); j++) {
+			char c = s2.charAt(j);
+			long[] eqs = c < 128 && peq[c] != null ? peq[c] : zero;
+
+			//the first row of a global alignment grows by one per column
+			int hin = 1;
+			for (int b = 0; b < words; b++) {
+				long p = pv[b];
+				long mm = mv[b];
+				long eq = eqs[b];
+				long xv = eq | mm;
+				if (hin < 0) {
+					eq |= 1L;
+				}
+				long xh = (((eq & p) + p) ^ p) | eq;
+				long ph = mm | ~(xh | p);
+				long mh = p & xh;
+				long high = b == words - 1 ? last : 1L << 63;
+				int hout = (ph & high) != 0 ? 1 : (mh & high) != 0 ? -1 : 0;
+				ph <<= 1;
+				mh <<= 1;
+				if (hin < 0) {
+					mh |= 1L;
+				} else if (hin > 0) {
+					ph |= 1L;
+				}
+				pv[b] = mh | ~(xv | ph);
+				mv[b] = ph & xv;
+				hin = hout;
+			}
+			score += hin;
+		}
+		return score;
+	}
+
+	/**
+	 * Compute the length of the longest common subsequence with the bit-parallel algorithm of Allison and Dix,
+	 * carrying the addition across 64-bit words
+	 * @return length of the longest common subsequence
+	 */
+	static int longestCommonSubsequence(String s1, String s2) {
+		int n = s1.length();
+		if (n == 0) {
+			return 0;
+		}
+		int words = (n + 63) >> 6;
+		long[][] peq = matchVectors(s1, words);
+		long[] v = new long[words];
+		Arrays.fill(v, -1L);
+		for (int j = 0; j < s2.length(); j++) {
+			char c = s2.charAt(j);
+			long[] eqs = c < 128 ? peq[c] : null;
+			if (eqs == null) {
+				continue;
+			}
+			long carry = 0;
+			for (int b = 0; b < words; b++) {
+				long u = v[b] & eqs[b];
+				long sum = v[b] + u + carry;
+				carry = Long.compareUnsigned(sum, v[b]) < 0 || (carry != 0 && sum == v[b]) ? 1 : 0;
+				v[b] = sum | (v[b] - u);
+			}
+		}
+		int zeros = 0;
+		for (int b = 0; b < words; b++) {
+			long used = b == words - 1 && (n & 63) != 0 ? (1L << (n & 63)) - 1 : -1L;
+			zeros += Long.bitCount(~v[b] & used);
+		}
+		return zeros;
+	}
+
+	/**
+	 * Estimate the identity of two dna sequences from bottom-k MinHash sketches of their k-mers,
+	 * converting the Jaccard estimate to identity with the Mash distance
+	 * @return estimated identity between 0 and 1
+	 */
+	static double estimateIdentity(String s1, String s2) {
+		long[] a = sketch(s1);
+		long[] b = sketch(s2);
+		if (a.length == 0 || b.length == 0) {
+			return 0;
+		}
+
+		//walk the union of both sketches in hash order, keeping its smallest hashes, and count those in both
+		int i = 0;
+		int j = 0;
+		int union = 0;
+		int shared = 0;
+		while (union < SKETCH && (i < a.length || j < b.length)) {
+			if (j == b.length || (i < a.length && a[i] < b[j])) {
+				i++;
+			} else if (i == a.length || b[j] < a[i]) {
+				j++;
+			} else {
+				shared++;
+				i++;
+				j++;
+			}
+			union++;
+		}
+		double jaccard = (double) shared / union;
+		if (jaccard == 0) {
+			return 0;
+		}
+		double distance = -Math.log(2 * jaccard / (1 + jaccard)) / K;
+		return Math.max(0, 1 - distance);
+	}
+
+	/**
+	 * Hash every k-mer of a sequence and keep the smallest distinct hashes
+	 * @return sorted sketch
+	 */
+	static long[] sketch(String s) {
+		long[] hashes = new long[Math.max(0, s.length() - K + 1)];
+		int count = 0;
+		long kmer = 0;
+		int valid = 0;
+		long mask = (1L << (2 * K)) - 1;
+		for (int i = 0; i < s.length(); i++) {
+			int code = "ACGT".indexOf(s.charAt(i));
+			if (code < 0) {
+				valid = 0;
+				continue;
+			}
+			kmer = ((kmer << 2) | code) & mask;
+			if (++valid >= K) {
+				hashes[count++] = mix(kmer);
+			}
+		}
+		hashes = Arrays.copyOf(hashes, count);
+		Arrays.sort(hashes);
+		int distinct = 0;
+		for (int k = 0; k < count && distinct < SKETCH; k++) {
+			if (k == 0 || hashes[k] != hashes[k - 1]) {
+				hashes[distinct++] = hashes[k];
+			}
+		}
+		return Arrays.copyOf(hashes, distinct);
+	}
+
+	/**
+	 * Scramble a packed k-mer so the smallest hashes are a uniform sample (the splitmix64 finalizer)
+	 * @return hash
+	 */
+	static long mix(long x) {
+		x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+		x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+		return x ^ (x >>> 31);
+	}
+
+	/**
+	 * Guess a band wide enough for the indels expected at the estimated identity; the band is verified and widened if it was not
+	 * @return band width beyond the diagonals of the two corners
+	 */
+	static int initialBand(String s1, String s2, double identity) {
+		return Math.max(MIN_BAND, (int) Math.ceil((1 - identity) * Math.min(s1.length(), s2.length()) / 2));
+	}
+
+	/**
+	 * Count the cells of a band
+	 * @return cells inside the band
+	 */
+	static long bandCells(int n, int m, int band) {
+		return (long) (Math.abs(m - n) + 2 * band + 1) * (n + 1);
+	}
+
+	/**
+	 * Run the banded global alignment, doubling the band until its score is provably optimal; once the band stops
+	 * paying for itself the band is set to -1 so the plan falls back to an unbanded engine
+	 */
+	void banded(String s1, String s2, boolean traceback, Result result, Metrics.Timer timer) {
+		int n = s1.length();
+		int m = s2.length();
+		for (int band = result.plan.band; worthBanding(n, m, band, traceback); band *= 2) {
+			int lo = Math.min(0, m - n) - band;
+			int hi = Math.max(0, m - n) + band;
+			byte[] flags = traceback ? new byte[(int) bandCells(n, m, band)] : null;
+			int score = band(s1, s2, lo, hi, flags);
+			timer.cells(bandCells(n, m, band));
+
+			//a path leaving the band needs enough gaps that it cannot beat the band
+			if (provablyOptimal(n, m, lo, hi, score)) {
+				if (band > result.plan.band) {
+					result.plan.reason += ", widened to " + band;
+				}
+				result.plan.band = band;
+				result.score = score;
+				if (traceback) {
+					result.transcript = traceBand(s1, s2, lo, hi, flags);
+				}
+				return;
+			}
+		}
+		result.plan.band = -1;
+	}
+
+	/**
+	 * Check whether the best score inside a band is the global optimum. Any path that leaves the band reaches the diagonal
+	 * just outside it, which takes at least g gaps, and no alignment with g gaps scores more than max(match, mismatch) * (n + m - g) / 2 + indel * g
+	 * @return true if no path outside the band can score higher
+	 */
+	boolean provablyOptimal(int n, int m, int lo, int hi, int score) {
+		long best = Math.max(match, mismatch);
+		long gaps = Long.MAX_VALUE;
+		if (hi + 1 <= m) {
+			gaps = Math.min(gaps, 2L * (hi + 1) - (m - n));
+		}
+		if (lo - 1 >= -n) {
+			gaps = Math.min(gaps, (m - n) - 2L * (lo - 1));
+		}
+		if (gaps == Long.MAX_VALUE) {
+			return true;
+		}
+		return 2L * score >= best * (n + m - gaps) + 2L * indel * gaps;
+	}
+
+	/**
+	 * Fill the cells of the global grid whose diagonal j - i lies between lo and hi, with the same recurrence as the full grid
+	 * @param flags traceback flags of the band cells, null for the score alone
+	 * @return best score of a path that stays inside the band
+	 */
+	int band(String s1, String s2, int lo, int hi, byte[] flags) {
+		int n = s1.length();
+		int m = s2.length();
+		int width = hi - lo + 1;
+
+		//row i holds the cells j = i + lo ... i + hi at positions 0 ... width - 1, so the north neighbor is one position left
+		//in the same row, and the west and northwest neighbors are one and zero positions right in the previous row
+		int[] previous = new int[width + 1];
+		int[] current = new int[width + 1];
+		Arrays.fill(previous, NONE);
+		for (int j = 0; j <= Math.min(m, hi); j++) {
+			previous[j - lo] = j * indel;
+			if (flags != null && j > 0) {
+				flags[j - lo] = NORTH;
+			}
+		}
+		for (int i = 1; i <= n; i++) {
+			char c = s1.charAt(i - 1);
+			Arrays.fill(current, NONE);
+			int from = Math.max(0, i + lo);
+			int to = Math.min(m, i + hi);
+			for (int j = from; j <= to; j++) {
+				int k = j - i - lo;
+				if (j == 0) {
+					current[k] = i * indel;
+					if (flags != null) {
+						flags[i * width + k] = WEST;
+					}
+					continue;
+				}
+				int north = k > 0 ? current[k - 1] + indel : NONE;
+				int west = previous[k + 1] + indel;
+				int northwest = previous[k] + (c == s2.charAt(j - 1) ? match : mismatch);
+				int value = Math.max(Math.max(north, west), northwest);
+				current[k] = value;
+				if (flags != null) {
+					flags[i * width + k] = (byte) ((value == north ? NORTH : 0) | (value == west ? WEST : 0) | (value == northwest ? NORTHWEST : 0));
+				}
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[m - n - lo];
+	}
+
+	/**
+	 * Trace back through the band flags in the same neighbor order as the full traceback grid
+	 * @return the alignment
+	 */
+	static EditTranscript traceBand(String s1, String s2, int lo, int hi, byte[] flags) {
+		int width = hi - lo + 1;
+		EditTranscript.Builder transcript = new EditTranscript.Builder();
+		int i = s1.length();
+		int j = s2.length();
+		while (i > 0 && j > 0) {
+			if ((flags[i * width + j - i - lo] & NORTH) != 0) {
+				transcript.add(EditTranscript.INSERTION);
+				j--;
+			}
+			if (j > 0 && (flags[i * width + j - i - lo] & WEST) != 0) {
+				transcript.add(EditTranscript.DELETION);
+				i--;
+			}
+			if (i > 0 && j > 0 && (flags[i * width + j - i - lo] & NORTHWEST) != 0) {
+				transcript.column(s1.charAt(i - 1), s2.charAt(j - 1));
+				i--;
+				j--;
+			}
+		}
+		for (; i > 0; i--) {
+			transcript.add(EditTranscript.DELETION);
+		}
+		for (; j > 0; j--) {
+			transcript.add(EditTranscript.INSERTION);
+		}
+		return transcript.buildReversed(s1, s2, 0, 0);
+	}
+
+	/**
+	 * Append an optimal global alignment of s1[from1, to1) and s2[from2, to2) to the transcript with Hirschberg's
+	 * divide and conquer: split s1 in half, find where an optimal path crosses the middle row from a forward and a
+	 * reverse pass of score-only rows, and recurse on both halves. Memory stays linear and the work is about twice the grid
+	 */
+	void hirschberg(String s1, int from1, int to1, String s2, int from2, int to2, EditTranscript.Builder transcript) {
+		int n = to1 - from1;
+		int m = to2 - from2;
+		if ((long) (n + 1) * (m + 1) <= BASE_CELLS || n < 2) {
+			transcript.append(grid(s1.substring(from1, to1), s2.substring(from2, to2)));
+			return;
+		}
+		int mid = from1 + n / 2;
+		int[] forward = lastRow(s1, from1, mid, s2, from2, to2, false);
+		int[] reverse = lastRow(s1, mid, to1, s2, from2, to2, true);
+		int split = 0;
+		int best = Integer.MIN_VALUE;
+		for (int j = 0; j <= m; j++) {
+			int total = forward[j] + reverse[m - j];
+			if (total > best) {
+				best = total;
+				split = j;
+			}
+		}
+		hirschberg(s1, from1, mid, s2, from2, from2 + split, transcript);
+		hirschberg(s1, mid, to1, s2, from2 + split, to2, transcript);
+	}
+
+	/**
+	 * Align a pair the linear space recursion bottoms out in with a full grid of traceback flags, (n + 1) * (m + 1) bytes
+	 * however lopsided the pair is, traced in the same neighbor order as the band
+	 * @throws IllegalArgumentException if the grid has more cells than an array holds
+	 * @return the alignment
+	 */
+	EditTranscript grid(String s1, String s2) {
+		int n = s1.length();
+		int m = s2.length();
+		long cells = (long) (n + 1) * (m + 1);
+		if (cells > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException(String.format("A traceback grid of %,d cells is too large", cells));
+		}
+		int width = m + 1;
+		byte[] flags = new byte[(int) cells];
+		int[] previous = new int[width];
+		int[] current = new int[width];
+		for (int j = 1; j <= m; j++) {
+			previous[j] = j * indel;
+			flags[j] = NORTH;
+		}
+		for (int i = 1; i <= n; i++) {
+			char c = s1.charAt(i - 1);
+			current[0] = i * indel;
+			flags[i * width] = WEST;
+			for (int j = 1; j <= m; j++) {
+				int north = current[j - 1] + indel;
+				int west = previous[j] + indel;
+				int northwest = previous[j - 1] + (c == s2.charAt(j - 1) ? match : mismatch);
+				int value = Math.max(Math.max(north, west), northwest);
+				current[j] = value;
+				flags[i * width + j] = (byte) ((value == north ? NORTH : 0) | (value == west ? WEST : 0) | (value == northwest ? NORTHWEST : 0));
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+
+		EditTranscript.Builder transcript = new EditTranscript.Builder();
+		int i = n;
+		int j = m;
+		while (i > 0 && j > 0) {
+			if ((flags[i * width + j] & NORTH) != 0) {
+				transcript.add(EditTranscript.INSERTION);
+				j--;
+			}
+			if (j > 0 && (flags[i * width + j] & WEST) != 0) {
+				transcript.add(EditTranscript.DELETION);
+				i--;
+			}
+			if (i > 0 && j > 0 && (flags[i * width + j] & NORTHWEST) != 0) {
+				transcript.column(s1.charAt(i - 1), s2.charAt(j - 1));
+				i--;
+				j--;
+			}
+		}
+		for (; i > 0; i--) {
+			transcript.add(EditTranscript.DELETION);
+		}
+		for (; j > 0; j--) {
+			transcript.add(EditTranscript.INSERTION);
+		}
+		return transcript.buildReversed(s1, s2, 0, 0);
+	}
+
+	/**
+	 * Compute the last row of global scores of s1[from1, to1) against every prefix of s2[from2, to2),
+	 * or against every suffix when both are read backwards
+	 * @return scores indexed by prefix or suffix length
+	 */
+	int[] lastRow(String s1, int from1, int to1, String s2, int from2, int to2, boolean backwards) {
+		int m = to2 - from2;
+		int[] previous = new int[m + 1];
+		int[] current = new int[m + 1];
+		for (int j = 0; j <= m; j++) {
+			previous[j] = j * indel;
+		}
+		for (int i = 1; i <= to1 - from1; i++) {
+			char c = backwards ? s1.charAt(to1 - i) : s1.charAt(from1 + i - 1);
+			current[0] = i * indel;
+			for (int j = 1; j <= m; j++) {
+				char d = backwards ? s2.charAt(to2 - j) : s2.charAt(from2 + j - 1);
+				int northwest = previous[j - 1] + (c == d ? match : mismatch);
+				current[j] = Math.max(Math.max(current[j - 1], previous[j]) + indel, northwest);
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous;
+	}
+
+	/**
+	 * Score an alignment with the planner's parameters
+	 * @return alignment score
+	 */
+	int score(EditTranscript transcript) {
+		int score = 0;
+		for (int r = 0; r < transcript.ops.length; r++) {
+			byte op = transcript.ops[r];
+			score += transcript.lengths[r] * (op == EditTranscript.MATCH ? match : op == EditTranscript.MISMATCH ? mismatch : indel);
+		}
+		return score;
+	}
+}
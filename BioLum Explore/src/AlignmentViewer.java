@@ -0,0 +1,145 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.awt.*;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+
+public class AlignmentViewer extends JPanel {
+	private static final long serialVersionUID = 1L;
+
+	static final int BLOCK = 70;						//columns per block, the same as the alignment files
+	static final int BLOCKS_PER_PAGE = 12;				//blocks drawn on one page
+	static final Color MATCH = new Color(190, 235, 190);
+	static final Color MISMATCH = new Color(245, 195, 195);
+	static final Color GAP = new Color(225, 225, 225);
+
+	EditTranscript transcript;							//alignment being viewed
+	String name1;										//name of the first sequence
+	String name2;										//name of the second sequence
+	int page;											//current page, starting at 0
+	int pages;											//number of pages
+	JLabel pageLabel;									//shows the current page number
+	JComponent canvas;									//draws the blocks of the current page
+	JButton previousButton;								//goes back one page
+	JButton nextButton;									//goes forward one page
+
+	/**
+	 * Initializes the viewer; only the blocks of the current page are ever rendered
+	 */
+	public AlignmentViewer(EditTranscript transcript, String name1, String name2) {
+		super(new BorderLayout());
+		this.transcript = transcript;
+		this.name1 = name1;
+		this.name2 = name2;
+		int blocks = Math.max(1, (transcript.columns() + BLOCK - 1) / BLOCK);
+		this.pages = (blocks + BLOCKS_PER_PAGE - 1) / BLOCKS_PER_PAGE;
+		setBorder(new EmptyBorder(10, 10, 10, 10));
+
+		//summary of the whole alignment
+		int columns = transcript.columns();
+		double identity = columns == 0 ? 0 : 100.0 * transcript.identities() / columns;
+		JLabel summary = new JLabel(String.format("<html><i>%s</i> and <i>%s</i><br>%d columns, %.1f%% identity</html>", name1, name2, columns, identity));
+		summary.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		add(summary, BorderLayout.NORTH);
+
+		canvas = new JComponent() {
+			protected void paintComponent(Graphics g) {
+				paintPage(g);
+			}
+		};
+		canvas.setFont(new Font("DejaVu Sans Mono", Font.PLAIN, 16));
+		canvas.setPreferredSize(new Dimension(1000, 560));
+		add(canvas, BorderLayout.CENTER);
+
+		//page controls
+		previousButton = new JButton("Previous");
+		previousButton.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		previousButton.addActionListener(event -> showPage(page - 1));
+		nextButton = new JButton("Next");
+		nextButton.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		nextButton.addActionListener(event -> showPage(page + 1));
+		pageLabel = new JLabel();
+		pageLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JPanel controls = new JPanel();
+		controls.add(previousButton);
+		controls.add(pageLabel);
+		controls.add(nextButton);
+		add(controls, BorderLayout.SOUTH);
+		showPage(0);
+	}
+
+	/**
+	 * Switch to a page and repaint it
+	 */
+	public void showPage(int newPage) {
+		page = Math.max(0, Math.min(pages - 1, newPage));
+		pageLabel.setText("Page " + (page + 1) + " of " + pages);
+		previousButton.setEnabled(page > 0);
+		nextButton.setEnabled(page < pages - 1);
+		canvas.repaint();
+	}
+
+	/**
+	 * Draw each block of the current page as the first sequence, a match line, and the second sequence,
+	 * coloring every column by whether it is a match, a mismatch, or a gap
+	 */
+	void paintPage(Graphics g) {
+		g.setFont(canvas.getFont());
+		FontMetrics metrics = g.getFontMetrics();
+		int charWidth = metrics.charWidth('M');
+		int lineHeight = metrics.getHeight();
+		int left = charWidth * 8;								//room for the start positions
+		int y = lineHeight;
+		StringBuilder row1 = new StringBuilder(BLOCK);
+		StringBuilder row2 = new StringBuilder(BLOCK);
+		int first = page * BLOCKS_PER_PAGE * BLOCK;
+		for (int b = 0; b < BLOCKS_PER_PAGE; b++) {
+			int from = first + b * BLOCK;
+			int to = Math.min(transcript.columns(), from + BLOCK);
+			if (from >= to) {
+				break;
+			}
+			row1.setLength(0);
+			row2.setLength(0);
+			transcript.appendRow(row1, true, from, to);
+			transcript.appendRow(row2, false, from, to);
+
+			//column backgrounds and the match line
+			for (int column = from; column < to; column++) {
+				byte op = transcript.op(column);
+				int x = left + (column - from) * charWidth;
+				g.setColor(op == EditTranscript.MATCH ? MATCH : op == EditTranscript.MISMATCH ? MISMATCH : GAP);
+				g.fillRect(x, y - metrics.getAscent(), charWidth, lineHeight * 3);
+				g.setColor(Color.DARK_GRAY);
+				if (op == EditTranscript.MATCH) {
+					g.drawString("|", x, y + lineHeight);
+				}
+			}
+
+			//start positions are 1-based, like the residue numbers in the sequence files
+			g.setColor(Color.BLACK);
+			g.drawString(String.valueOf(transcript.position1(from) + 1), 0, y);
+			g.drawString(String.valueOf(transcript.position2(from) + 1), 0, y + 2 * lineHeight);
+			g.drawString(row1.toString(), left, y);
+			g.drawString(row2.toString(), left, y + 2 * lineHeight);
+			y += lineHeight * 4;
+		}
+	}
+
+	/**
+	 * Open a viewer window for an alignment
+	 */
+	public static void show(Component parent, String title, EditTranscript transcript, String name1, String name2) {
+		JDialog dialog = new JDialog(SwingUtilities.getWindowAncestor(parent), title);
+		dialog.setContentPane(new AlignmentViewer(transcript, name1, name2));
+		dialog.pack();
+		dialog.setLocationRelativeTo(parent);
+		dialog.setVisible(true);
+	}
+}
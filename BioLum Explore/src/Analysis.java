@@ -0,0 +1,173 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+public class Analysis {
+	SequenceLibrary library;					//every sequence, parsed once
+	TranslationCache translations;				//translations shared by every caller
+
+	/**
+	 * Initializes the analysis with the bundled sequences
+	 * @throws IOException
+	 */
+	public Analysis() throws IOException {
+		this(SequenceLibrary.load());
+	}
+
+	/**
+	 * Initializes the analysis with the given sequences
+	 */
+	public Analysis(SequenceLibrary library) {
+		this(library, new TranslationCache());
+	}
+	
+	/**
+	 * Initializes the analysis with the given sequences and a translation cache shared with other callers
+	 */
+	public Analysis(SequenceLibrary library, TranslationCache translations) {
+		this.library = library;
+		this.translations = translations;
+	}
+
+	/**
+	 * Get the names of every species
+	 * @return species names
+	 */
+	public List<String> species() {
+		return library.names();
+	}
+
+	/**
+	 * Get the dna sequence of a species
+	 * @return dna sequence
+	 */
+	public String dna(String name) {
+		String sequence = library.get(name);
+		if (sequence == null) {
+			throw new IllegalArgumentException("Unknown species: " + name);
+		}
+		return sequence;
+	}
+
+	/**
+	 * Get the rna transcription of a species
+	 * @return rna sequence
+	 */
+	public String rna(String name) {
+		return dna(name).replace('T', 'U');
+	}
+
+	/**
+	 * Get the protein translation of a species in a reading frame
+	 * @return protein sequence, with '*' for stop codons
+	 */
+	public String protein(String name, int readingFrame) {
+		if (readingFrame < 1 || readingFrame > 6) {
+			throw new IllegalArgumentException("Reading frame must be between 1 and 6");
+		}
+		return translations.get(name, dna(name), readingFrame).protein;
+	}
+
+	/**
+	 * Get the global and local scores of two species with the same recurrences as Frame.pairwise, in linear memory,
+	 * with whichever score-only engine the planner finds cheapest
+	 * @return int array containing global and local alignment scores
+	 */
+	public int[] pairwise(String name1, String name2, int match, int mismatch, int indel) {
+		String s1 = dna(name1);
+		String s2 = dna(name2);
+		AlignmentPlanner planner = new AlignmentPlanner(match, mismatch, indel);
+		try {
+			return new int[] {planner.global(s1, s2, false).score, planner.local(s1, s2, false).score};
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Estimate how significant the global and local scores of two species are against dinucleotide shuffles of the second
+	 * @param shuffles number of shuffled sequences to align
+	 * @return observed scores with z-scores, E-values and P-values
+	 */
+	public Significance.Result significance(String name1, String name2, int match, int mismatch, int indel, int shuffles) {
+		return new Significance(match, mismatch, indel, shuffles, 1).estimate(dna(name1), dna(name2));
+	}
+
+	/**
+	 * Align pairs of species under every combination of the given parameter values, in parallel
+	 * @param pairs species name pairs
+	 * @return scores and identities by pair and combination
+	 */
+	public List<ParameterSweep.Point> sweep(List<String[]> pairs, int[] matches, int[] mismatches, int[] indels) {
+		return new ParameterSweep(matches, mismatches, indels).run(library, pairs);
+	}
+
+	/**
+	 * Find the k best local alignments of two species that share no aligned pair
+	 * @return ranked alignments with their coordinates
+	 */
+	public List<TopLocalAligner.Alignment> topLocal(String name1, String name2, int match, int mismatch, int indel, int k) {
+		return new TopLocalAligner(match, mismatch, indel).align(dna(name1), dna(name2), k).alignments;
+	}
+
+	/**
+	 * Compute the local score of a query sequence against every species, building the query profile once
+	 * @return hits ranked by score
+	 */
+	public List<DatabaseScan.Hit> scan(String query, int match, int mismatch, int indel) {
+		return new DatabaseScan(query, match, mismatch, indel).scanAll(library, species());
+	}
+
+	/**
+	 * Count the exact occurrences of a dna pattern on both strands of every species through the substring index
+	 * @return number of occurrences
+	 */
+	public int count(String pattern) {
+		try {
+			return FMIndex.open().count(pattern);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Find the exact occurrences of a dna pattern on both strands of every species through the substring index
+	 * @return hits in species order, with coordinates on the forward strand
+	 */
+	public List<MotifSearch.Hit> locate(String pattern) {
+		try {
+			return FMIndex.open().locate(pattern);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Find every occurrence of a set of motifs in every species; dna motifs are searched on both strands,
+	 * protein motifs in all six reading frames
+	 * @return hits grouped by species
+	 */
+	public List<MotifSearch.Hit> motifSearch(List<String> motifs, boolean protein) {
+		MotifSearch search = protein ? MotifSearch.protein(motifs) : MotifSearch.dna(motifs);
+		return search.scanAll(this, species(), new int[] {1, 2, 3, 4, 5, 6});
+	}
+
+	/**
+	 * Align the translations of two species
+	 * @param local true for local alignment, false for global alignment
+	 * @return alignment result
+	 */
+	public ProteinAligner.Result proteinAlignment(String name1, String name2, int readingFrame, String matrix, int gapOpen, int gapExtend, boolean local) {
+		ProteinAligner aligner = new ProteinAligner(SubstitutionMatrix.named(matrix), gapOpen, gapExtend);
+		String p1 = protein(name1, readingFrame);
+		String p2 = protein(name2, readingFrame);
+		return local ? aligner.local(p1, p2) : aligner.global(p1, p2);
+	}
+}
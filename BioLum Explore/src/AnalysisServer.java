@@ -0,0 +1,387 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.sun.net.httpserver.*;
+
+public class AnalysisServer {
+	Analysis analysis;											//headless analysis shared by every request
+	HttpServer server;											//embedded http server
+	ExecutorService executor;									//runs request handlers
+	Semaphore jobs;												//caps how many alignment jobs run at once
+	ConcurrentHashMap<String, CompletableFuture<String>> inFlight;	//identical requests that are still running share one result
+
+	/**
+	 * A request handler that produces a JSON body from the query parameters
+	 */
+	interface Endpoint {
+		String handle(Map<String, String> query) throws Exception;
+	}
+
+	/**
+	 * Initializes the server on a port of the loopback interface
+	 * @param maxJobs maximum number of alignment jobs that may run at once
+	 * @throws IOException
+	 */
+	public AnalysisServer(Analysis analysis, int port, int maxJobs) throws IOException {
+		this.analysis = analysis;
+		this.jobs = new Semaphore(maxJobs, true);
+		this.inFlight = new ConcurrentHashMap<String, CompletableFuture<String>>();
+		this.executor = handlerExecutor();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+		server.setExecutor(executor);
+
+		server.createContext("/species", exchange -> respond(exchange, false, query -> json(analysis.species())));
+		server.createContext("/dna", exchange -> respond(exchange, false, query ->
+				"{\"name\":" + json(required(query, "name")) + ",\"dna\":" + json(analysis.dna(query.get("name"))) + "}"));
+		server.createContext("/rna", exchange -> respond(exchange, false, query ->
+				"{\"name\":" + json(required(query, "name")) + ",\"rna\":" + json(analysis.rna(query.get("name"))) + "}"));
+		server.createContext("/protein", exchange -> respond(exchange, false, query -> {
+			int frame = integer(query, "frame", 1);
+			return "{\"name\":" + json(required(query, "name")) + ",\"frame\":" + frame
+					+ ",\"protein\":" + json(analysis.protein(query.get("name"), frame)) + "}";
+		}));
+		server.createContext("/align", exchange -> respond(exchange, true, this::align));
+		server.createContext("/scan", exchange -> respond(exchange, true, this::scan));
+		server.createContext("/sweep", exchange -> respond(exchange, true, this::sweep));
+		server.createContext("/find", exchange -> respond(exchange, false, this::find));
+		server.createContext("/memory", exchange -> respond(exchange, false, query -> memory()));
+	}
+
+	/**
+	 * Use one virtual thread per request when the runtime has them, otherwise a cached pool of platform threads.
+	 * Handlers mostly wait on the job semaphore, so they do not need to be bounded by the number of cores
+	 */
+	static ExecutorService handlerExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * Start accepting requests
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Stop accepting requests and wait up to the given number of seconds for running requests to finish
+	 */
+	public void stop(int seconds) {
+		server.stop(seconds);
+		executor.shutdown();
+	}
+
+	/**
+	 * Get the port the server is listening on
+	 * @return port number
+	 */
+	public int port() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Align two species: nucleotide scores with the Frame recurrences, or a protein alignment with a substitution matrix
+	 * @return JSON result
+	 */
+	String align(Map<String, String> query) throws InterruptedException {
+		String a = required(query, "a");
+		String b = required(query, "b");
+		String type = query.getOrDefault("type", "nucleotide");
+
+		//only a fixed number of alignments may hold grids at once, the rest wait here
+		jobs.acquire();
+		try {
+			if (type.equals("protein")) {
+				int frame = integer(query, "frame", 1);
+				String matrix = query.getOrDefault("matrix", "BLOSUM62");
+				ProteinAligner.Result global = analysis.proteinAlignment(a, b, frame, matrix, integer(query, "gapOpen", -11), integer(query, "gapExtend", -1), false);
+				ProteinAligner.Result local = analysis.proteinAlignment(a, b, frame, matrix, integer(query, "gapOpen", -11), integer(query, "gapExtend", -1), true);
+				return "{\"a\":" + json(a) + ",\"b\":" + json(b) + ",\"type\":\"protein\",\"matrix\":" + json(matrix)
+						+ ",\"global\":" + json(global) + ",\"local\":" + json(local) + "}";
+			} else if (type.equals("nucleotide")) {
+				int match = integer(query, "match", 1);
+				int mismatch = integer(query, "mismatch", -1);
+				int indel = integer(query, "indel", -2);
+				int[] scores = analysis.pairwise(a, b, match, mismatch, indel);
+				StringBuilder sb = new StringBuilder("{\"a\":" + json(a) + ",\"b\":" + json(b) + ",\"type\":\"nucleotide\",\"globalScore\":" + scores[0]
+						+ ",\"localScore\":" + scores[1]);
+
+				//the k best non-intersecting local alignments, when asked for
+				int top = integer(query, "top", 0);
+				if (top > 0) {
+					sb.append(",\"topLocal\":[");
+					List<TopLocalAligner.Alignment> alignments = analysis.topLocal(a, b, match, mismatch, indel, top);
+					for (TopLocalAligner.Alignment alignment : alignments) {
+						sb.append(alignment.rank > 1 ? "," : "").append("{\"score\":").append(alignment.score)
+								.append(",\"start1\":").append(alignment.start1).append(",\"end1\":").append(alignment.end1)
+								.append(",\"start2\":").append(alignment.start2).append(",\"end2\":").append(alignment.end2)
+								.append(",\"cigar\":").append(json(alignment.transcript.cigar())).append('}');
+					}
+					sb.append(']');
+				}
+
+				//significance against shuffles of the second sequence, when asked for
+				int shuffles = integer(query, "shuffles", 0);
+				if (shuffles > 0) {
+					Significance.Result significance = analysis.significance(a, b, match, mismatch, indel, shuffles);
+					sb.append(",\"significance\":{\"shuffles\":").append(shuffles).append(",\"global\":").append(json(significance.global))
+							.append(",\"local\":").append(json(significance.local)).append('}');
+				}
+				return sb.append('}').toString();
+			}
+			throw new IllegalArgumentException("Unknown alignment type: " + type);
+		} finally {
+			jobs.release();
+		}
+	}
+
+	/**
+	 * Score a query sequence against every species and return the best hits
+	 * @return JSON result
+	 */
+	String scan(Map<String, String> query) throws InterruptedException {
+		String sequence = required(query, "query");
+		int top = integer(query, "top", 10);
+
+		//a scan fills as many cells as aligning against every species, so it takes a job slot like an alignment
+		jobs.acquire();
+		try {
+			List<DatabaseScan.Hit> hits = analysis.scan(sequence, integer(query, "match", 1), integer(query, "mismatch", -1), integer(query, "indel", -2));
+			StringBuilder sb = new StringBuilder("{\"targets\":" + hits.size() + ",\"hits\":[");
+			for (int h = 0; h < Math.min(top, hits.size()); h++) {
+				DatabaseScan.Hit hit = hits.get(h);
+				sb.append(h > 0 ? "," : "").append("{\"name\":").append(json(hit.name)).append(",\"score\":").append(hit.score)
+						.append(",\"length\":").append(hit.length).append(",\"queryEnd\":").append(hit.queryEnd)
+						.append(",\"targetEnd\":").append(hit.targetEnd).append('}');
+			}
+			return sb.append("]}").toString();
+		} finally {
+			jobs.release();
+		}
+	}
+
+	/**
+	 * Align two species under every combination of match, mismatch, and indel values given as lists or ranges
+	 * @return JSON result
+	 */
+	String sweep(Map<String, String> query) throws InterruptedException {
+		String a = required(query, "a");
+		String b = required(query, "b");
+		int[] matches = ParameterSweep.values(query.getOrDefault("match", "1"));
+		int[] mismatches = ParameterSweep.values(query.getOrDefault("mismatch", "-1"));
+		int[] indels = ParameterSweep.values(query.getOrDefault("indel", "-2"));
+
+		//a sweep runs many alignments in parallel, so it holds one job slot for all of them
+		jobs.acquire();
+		try {
+			List<String[]> pairs = new ArrayList<String[]>();
+			pairs.add(new String[] {a, b});
+			List<ParameterSweep.Point> points = analysis.sweep(pairs, matches, mismatches, indels);
+			StringBuilder sb = new StringBuilder("{\"a\":" + json(a) + ",\"b\":" + json(b) + ",\"points\":[");
+			for (int p = 0; p < points.size(); p++) {
+				ParameterSweep.Point point = points.get(p);
+				sb.append(p > 0 ? "," : "").append("{\"match\":").append(point.match).append(",\"mismatch\":").append(point.mismatch)
+						.append(",\"indel\":").append(point.indel).append(",\"globalScore\":").append(point.globalScore)
+						.append(",\"localScore\":").append(point.localScore).append(",\"identity\":").append(point.identity)
+						.append(",\"alignment\":").append(point.alignment).append(",\"boundary\":").append(point.boundary).append('}');
+			}
+			return sb.append("]}").toString();
+		} finally {
+			jobs.release();
+		}
+	}
+
+	/**
+	 * Report the memory budget, what running jobs hold, and how jobs were admitted
+	 * @return JSON result
+	 */
+	String memory() {
+		Metrics.Summary summary = new Metrics.Summary();
+		return "{\"budget\":" + summary.getMemoryBudget() + ",\"reserved\":" + summary.getReservedBytes() + ",\"peakReserved\":"
+				+ summary.getPeakReservedBytes() + ",\"directBudget\":" + summary.getDirectMemoryBudget() + ",\"directReserved\":"
+				+ summary.getDirectReservedBytes() + ",\"peakDirectReserved\":" + summary.getPeakDirectReservedBytes() + ",\"admitted\":"
+				+ summary.getAdmittedJobs() + ",\"queued\":" + summary.getQueuedJobs() + ",\"downgraded\":" + summary.getDowngradedJobs() + ",\"rejected\":" + summary.getRejectedJobs() + "}";
+	}
+
+	/**
+	 * Count and locate the exact occurrences of a pattern on both strands through the substring index
+	 * @return JSON result
+	 */
+	String find(Map<String, String> query) {
+		String pattern = required(query, "pattern");
+		int limit = integer(query, "limit", 100);
+		List<MotifSearch.Hit> hits = analysis.locate(pattern);
+		StringBuilder sb = new StringBuilder("{\"pattern\":" + json(pattern) + ",\"count\":" + hits.size() + ",\"hits\":[");
+		for (int h = 0; h < Math.min(limit, hits.size()); h++) {
+			MotifSearch.Hit hit = hits.get(h);
+			sb.append(h > 0 ? "," : "").append("{\"name\":").append(json(hit.record)).append(",\"strand\":\"").append(hit.strand)
+					.append("\",\"start\":").append(hit.start).append(",\"end\":").append(hit.end).append('}');
+		}
+		return sb.append("]}").toString();
+	}
+
+	/**
+	 * Run an endpoint and write its JSON response; when deduplicating, identical concurrent requests share one computation
+	 */
+	@SuppressWarnings("try")
+	void respond(HttpExchange exchange, boolean deduplicate, Endpoint endpoint) throws IOException {
+		int status = 200;
+		String body;
+		try (Metrics.Timer timer = Metrics.time("http" + exchange.getHttpContext().getPath().replace('/', '.'))) {
+			if (!exchange.getRequestMethod().equals("GET")) {
+				throw new UnsupportedOperationException("Only GET is supported");
+			}
+			TreeMap<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+			if (deduplicate) {
+				body = deduplicated(exchange.getHttpContext().getPath() + "?" + query, endpoint, query);
+			} else {
+				body = endpoint.handle(query);
+			}
+		} catch (IllegalArgumentException e) {
+			status = 400;
+			body = "{\"error\":" + json(e.getMessage()) + "}";
+		} catch (UnsupportedOperationException e) {
+			status = 405;
+			body = "{\"error\":" + json(e.getMessage()) + "}";
+		} catch (Exception e) {
+			status = 500;
+			body = "{\"error\":" + json(String.valueOf(e)) + "}";
+		}
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Join an identical request that is already running, or start it and let later identical requests join it
+	 */
+	String deduplicated(String key, Endpoint endpoint, Map<String, String> query) throws Exception {
+		CompletableFuture<String> created = new CompletableFuture<String>();
+		CompletableFuture<String> running = inFlight.putIfAbsent(key, created);
+		if (running == null) {
+			try {
+				created.complete(endpoint.handle(query));
+			} catch (Exception e) {
+				created.completeExceptionally(e);
+			} finally {
+				inFlight.remove(key, created);
+			}
+			running = created;
+		}
+		try {
+			return running.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Parse a url query string into sorted parameters, so equivalent requests get the same key
+	 * @return parameters by name
+	 */
+	static TreeMap<String, String> parseQuery(String raw) {
+		TreeMap<String, String> query = new TreeMap<String, String>();
+		if (raw == null || raw.isEmpty()) {
+			return query;
+		}
+		for (String pair : raw.split("&")) {
+			int equals = pair.indexOf('=');
+			String name = equals < 0 ? pair : pair.substring(0, equals);
+			String value = equals < 0 ? "" : pair.substring(equals + 1);
+			query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+		}
+		return query;
+	}
+
+	static String required(Map<String, String> query, String name) {
+		String value = query.get(name);
+		if (value == null || value.isEmpty()) {
+			throw new IllegalArgumentException("Missing parameter: " + name);
+		}
+		return value;
+	}
+
+	static int integer(Map<String, String> query, String name, int defaultValue) {
+		String value = query.get(name);
+		if (value == null || value.isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Parameter " + name + " must be an integer");
+		}
+	}
+
+	/**
+	 * Quote a string as a JSON string literal
+	 * @return JSON string
+	 */
+	static String json(String s) {
+		if (s == null) {
+			return "null";
+		}
+		StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	static String json(List<String> values) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(json(values.get(i)));
+		}
+		return sb.append(']').toString();
+	}
+
+	static String json(ProteinAligner.Result r) {
+		return "{\"score\":" + r.score + ",\"identities\":" + r.identities() + ",\"start1\":" + r.start1 + ",\"end1\":" + r.end1
+				+ ",\"start2\":" + r.start2 + ",\"end2\":" + r.end2 + ",\"aligned1\":" + json(r.aligned1) + ",\"aligned2\":" + json(r.aligned2) + "}";
+	}
+
+	static String json(Significance.Estimate e) {
+		return "{\"score\":" + e.score + ",\"mean\":" + number(e.mean) + ",\"deviation\":" + number(e.deviation) + ",\"zScore\":" + number(e.zScore)
+				+ ",\"location\":" + number(e.location) + ",\"scale\":" + number(e.scale) + ",\"eValue\":" + number(e.eValue)
+				+ ",\"pValue\":" + number(e.pValue) + ",\"empiricalP\":" + number(e.empiricalP) + "}";
+	}
+
+	/**
+	 * Format a number for JSON, which has no infinity
+	 * @return the number, or null if it is not finite
+	 */
+	static String number(double d) {
+		return Double.isFinite(d) ? String.valueOf(d) : "null";
+	}
+}
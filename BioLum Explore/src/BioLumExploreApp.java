@@ -10,9 +10,77 @@ import javax.swing.*;
 public class BioLumExploreApp {
 	
 	/**
-	 * Initializes the frame to begin application
+	 * Initializes the frame to begin application, starts the analysis server when run with --serve [port] [max jobs],
+	 * resumes the job queue without a window when run with --jobs [workers], or aligns every pair across worker processes
+	 * when run with --coordinator [port] [tile size] [match] [mismatch] [indel] and --worker [host:port] [threads]; the
+	 * coordinator listens on biolum.shard.bind (loopback by default) and workers must pass the same biolum.shard.token
 	 */
-	public static void main(String[] args) {
+	public static void main(String[] args) throws Exception {
+		
+		//map the sequence database up front, converting the text files if it is missing or out of date
+		SequenceDatabase.open();
+		
+		if (args.length > 0 && args[0].equals("--serve")) {
+			int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+			int maxJobs = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+			AnalysisServer server = new AnalysisServer(new Analysis(), port, maxJobs);
+			server.start();
+			System.out.println("BioLum Explore analysis server listening on http://127.0.0.1:" + server.port());
+			return;
+		}
+
+		//resume the journaled job queue without the window, and exit once every job has finished
+		if (args.length > 0 && args[0].equals("--jobs")) {
+			if (args.length > 1) {
+				System.setProperty("biolum.jobs.workers", args[1]);
+			}
+			JobQueue queue = JobQueue.open(new Analysis());
+			int[] counts = queue.counts();
+			System.out.println("Resuming " + (counts[0] + counts[1]) + " queued jobs on " + queue.workerCount + " workers");
+			queue.awaitIdle();
+			counts = queue.counts();
+			System.out.println("Finished " + counts[2] + " jobs, " + counts[3] + " failed");
+			queue.close();
+			return;
+		}
+
+		//hand tiles of the pair matrix to workers and merge their global scores into one file
+		if (args.length > 0 && args[0].equals("--coordinator")) {
+			int port = args.length > 1 ? Integer.parseInt(args[1]) : 9090;
+			int tileSize = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+			int match = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+			int mismatch = args.length > 4 ? Integer.parseInt(args[4]) : -1;
+			int indel = args.length > 5 ? Integer.parseInt(args[5]) : -2;
+			String fileName = "src/Files/" + "All Pairs Global Alignment " + match + " " + mismatch + " " + indel + ".txt";
+			String token = ShardCoordinator.token();
+			try (ShardCoordinator coordinator = new ShardCoordinator(SequenceLibrary.load(), match, mismatch, indel, tileSize, port, ShardCoordinator.BIND, token)) {
+				System.out.println("Coordinating " + coordinator.tiles.size() + " tiles on " + ShardCoordinator.BIND + ":" + coordinator.port());
+				if (System.getProperty("biolum.shard.token") == null) {
+					System.out.println("Start workers with -Dbiolum.shard.token=" + token);
+				}
+				long started = System.nanoTime();
+				long pairs = coordinator.run(fileName);
+				System.out.println("Merged " + pairs + " pairs from " + coordinator.workers.get() + " workers in " 
+						+ (System.nanoTime() - started) / 1000000 + " ms, " + coordinator.retries.get() + " tiles retried, to " + fileName);
+			}
+			return;
+		}
+
+		//align tiles for a coordinator until it has every result
+		if (args.length > 0 && args[0].equals("--worker")) {
+			String address = args.length > 1 ? args[1] : "127.0.0.1:9090";
+			int colon = address.lastIndexOf(':');
+			int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+			String token = System.getProperty("biolum.shard.token");
+			if (token == null) {
+				System.err.println("Set -Dbiolum.shard.token to the token the coordinator printed");
+				System.exit(1);
+			}
+			int tiles = new ShardWorker(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)), threads, token).run();
+			System.out.println("Aligned " + tiles + " tiles");
+			return;
+		}
+
 		Frame frame = new Frame();
 		frame.setLocationRelativeTo(null);
 		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
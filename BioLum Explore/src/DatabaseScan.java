@@ -0,0 +1,175 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class DatabaseScan {
+	static final String BASES = "ACGT";
+	static final byte[] CODES = new byte[128];								//profile row of each target character, 4 for anything but ACGT
+
+	//rolling rows reused by every scan on the same thread, grown when a longer query arrives
+	static final ThreadLocal<int[][]> WORKSPACE = ThreadLocal.withInitial(() -> new int[2][0]);
+
+	static {
+		Arrays.fill(CODES, (byte) 4);
+		for (int b = 0; b < BASES.length(); b++) {
+			CODES[BASES.charAt(b)] = (byte) b;
+			CODES[Character.toLowerCase(BASES.charAt(b))] = (byte) b;
+		}
+	}
+
+	String query;								//cleaned query sequence
+	int indel;									//indel penalty
+	int[][] profile;							//score of each target base against every query position, built once per query
+
+	/**
+	 * A target's local score against the query and where the best local alignment ends
+	 */
+	public static class Hit implements Comparable<Hit> {
+		public String name;						//target species
+		public int length;						//target length
+		public int score;						//local alignment score
+		public int queryEnd;					//last aligned query position, 1-based
+		public int targetEnd;					//last aligned target position, 1-based
+
+		/**
+		 * Highest score first, then by name so ties are listed in a stable order
+		 */
+		public int compareTo(Hit other) {
+			return score != other.score ? Integer.compare(other.score, score) : name.compareTo(other.name);
+		}
+
+		public String toString() {
+			return name + "\t" + score + "\t" + length + "\t" + queryEnd + "\t" + targetEnd;
+		}
+	}
+
+	/**
+	 * Build the query profile: one row of match or mismatch scores per target base, so the inner loop
+	 * reads a score instead of comparing characters
+	 */
+	public DatabaseScan(String query, int match, int mismatch, int indel) {
+		this.query = clean(query);
+		this.indel = indel;
+		if (this.query.isEmpty()) {
+			throw new IllegalArgumentException("The query has no bases");
+		}
+		profile = new int[BASES.length() + 1][this.query.length()];
+		for (int b = 0; b <= BASES.length(); b++) {
+			for (int j = 0; j < this.query.length(); j++) {
+				profile[b][j] = b < BASES.length() && this.query.charAt(j) == BASES.charAt(b) ? match : mismatch;
+			}
+		}
+	}
+
+	/**
+	 * Strip FASTA header lines from a pasted query, upper case it, read rna as dna, and remove any characters that are
+	 * not A, T, G, or C, the same way the library cleans its sequences
+	 * @return query bases
+	 */
+	static String clean(String query) {
+		StringBuilder sb = new StringBuilder(query.length());
+		for (String line : query.split("\\R")) {
+			if (line.startsWith(">")) {
+				continue;
+			}
+			sb.append(line.toUpperCase().replace('U', 'T'));
+		}
+		return SequenceLibrary.clean(sb.toString());
+	}
+
+	/**
+	 * Score the query against every target in parallel
+	 * @return hits ranked by score
+	 */
+	public List<Hit> scanAll(SequenceLibrary library, List<String> names) {
+		try (Metrics.Timer timer = Metrics.time("databaseScan")) {
+			List<Hit> hits = names.parallelStream()
+					.map(name -> scan(name, library.get(name)))
+					.filter(Objects::nonNull)
+					.sorted()
+					.collect(Collectors.toList());
+			long cells = 0;
+			for (Hit hit : hits) {
+				cells += (long) hit.length * query.length();
+			}
+			timer.cells(cells);
+			return hits;
+		}
+	}
+
+	/**
+	 * Compute the local score of one target with the recurrence of ScoreKernels.localScore, the target along the rows
+	 * and the query along the columns, in this thread's workspace
+	 * @return the hit, or null if the target has no sequence
+	 */
+	public Hit scan(String name, String target) {
+		if (target == null) {
+			return null;
+		}
+		int m = query.length();
+		int[][] rows = WORKSPACE.get();
+		if (rows[0].length < m + 1) {
+			rows[0] = new int[m + 1];
+			rows[1] = new int[m + 1];
+		}
+		int[] previous = rows[0];
+		int[] current = rows[1];
+
+		//first row and column are zeros
+		Arrays.fill(previous, 0, m + 1, 0);
+		current[0] = 0;
+		int score = Integer.MIN_VALUE;
+		int endI = 0;
+		int endJ = 0;
+		for (int i = 1; i <= target.length(); i++) {
+			char c = target.charAt(i - 1);
+			int[] scores = profile[c < 128 ? CODES[c] : BASES.length()];
+			int rowBest = Integer.MIN_VALUE;
+			int rowEnd = 0;
+			for (int j = 1; j <= m; j++) {
+				int value = Math.max(Math.max(current[j - 1], previous[j]) + indel, previous[j - 1] + scores[j - 1]);
+				current[j] = value;
+				if (value >= rowBest) {
+					rowBest = value;
+					rowEnd = j;
+				}
+			}
+
+			//the last maximum cell in row order, like the local traceback
+			if (rowBest >= score) {
+				score = rowBest;
+				endI = i;
+				endJ = rowEnd;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+
+		Hit hit = new Hit();
+		hit.name = name;
+		hit.length = target.length();
+		hit.score = target.isEmpty() ? 0 : score;
+		hit.queryEnd = endJ;
+		hit.targetEnd = endI;
+		return hit;
+	}
+
+	/**
+	 * Format ranked hits as a tab separated table
+	 * @return table text
+	 */
+	public static String toTable(List<Hit> hits) {
+		StringBuilder sb = new StringBuilder("Rank\tSpecies\tScore\tLength\tQuery End\tTarget End\n");
+		for (int r = 0; r < hits.size(); r++) {
+			sb.append(r + 1).append('\t').append(hits.get(r)).append('\n');
+		}
+		return sb.toString();
+	}
+}
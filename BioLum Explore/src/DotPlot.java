@@ -0,0 +1,211 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class DotPlot {
+	static final int MAX_K = 15;							//longest k-mer whose two bit code fits in an int with room for -1
+	static final int MAX_OCCURRENCES = 64;					//k-mers repeated more often than this in sequence 2 are left out, like low complexity masking
+	static final int TILE = 64;								//pixel columns rendered by one task
+	static final int FORWARD = 0x1F3A93;					//color of k-mers shared on the same strand
+	static final int REVERSE = 0xC0392B;					//color of k-mers shared with the reverse complement
+
+	String s1;									//sequence along the x axis
+	String s2;									//sequence along the y axis
+	int k;										//k-mer length
+	int[] forward;								//code of the k-mer starting at each position of s1, -1 if it has a base other than ACGT
+	int[] reverse;								//code of the reverse complement of each k-mer of s1
+	long[] index;								//k-mer code in the high half and position in the low half, for every k-mer of s2, sorted
+
+	/**
+	 * Hash every k-mer of both sequences and sort the k-mers of the second one, so each dot is found by a lookup
+	 * instead of comparing every pair of positions
+	 */
+	public DotPlot(String s1, String s2, int k) {
+		if (k < 1 || k > MAX_K) {
+			throw new IllegalArgumentException("k must be between 1 and " + MAX_K);
+		}
+		this.s1 = s1;
+		this.s2 = s2;
+		this.k = k;
+		try (Metrics.Timer timer = Metrics.time("dotPlotIndex")) {
+			forward = kmers(s1, k, false);
+			reverse = kmers(s1, k, true);
+			int[] codes2 = kmers(s2, k, false);
+			long[] entries = new long[codes2.length];
+			int count = 0;
+			for (int j = 0; j < codes2.length; j++) {
+				if (codes2[j] >= 0) {
+					entries[count++] = (long) codes2[j] << 32 | j;
+				}
+			}
+			entries = Arrays.copyOf(entries, count);
+			Arrays.parallelSort(entries);
+
+			//drop k-mers that occur too often to draw anything but a solid block
+			int kept = 0;
+			for (int start = 0, end; start < count; start = end) {
+				end = start + 1;
+				while (end < count && entries[end] >>> 32 == entries[start] >>> 32) {
+					end++;
+				}
+				if (end - start <= MAX_OCCURRENCES) {
+					System.arraycopy(entries, start, entries, kept, end - start);
+					kept += end - start;
+				}
+			}
+			index = Arrays.copyOf(entries, kept);
+			timer.cells((long) s1.length() + s2.length());
+			timer.bytes(8L * index.length + 8L * forward.length);
+		}
+	}
+
+	/**
+	 * Choose a k long enough that chance matches stay rare for the size of the comparison
+	 * @return k-mer length
+	 */
+	public static int defaultK(int n, int m) {
+		double log4 = Math.log((double) Math.max(1, n) * Math.max(1, m)) / Math.log(4);
+		return Math.max(6, Math.min(MAX_K, (int) Math.ceil(log4) - 3));
+	}
+
+	/**
+	 * Compute the two bit code of the k-mer at every position with a rolling hash, A=0, C=1, G=2, T=3
+	 * @param complement true for the code of each k-mer's reverse complement
+	 * @return one code per position where a k-mer starts, -1 where the k-mer has a base other than ACGT
+	 */
+	static int[] kmers(String s, int k, boolean complement) {
+		int[] codes = new int[Math.max(0, s.length() - k + 1)];
+		int mask = (1 << (2 * k)) - 1;
+		int code = 0;
+		int valid = 0;										//bases in a row that are ACGT
+		for (int i = 0; i < s.length(); i++) {
+			int base = "ACGT".indexOf(Character.toUpperCase(s.charAt(i)));
+			if (base < 0) {
+				valid = 0;
+				code = 0;
+			} else {
+				valid++;
+				if (complement) {
+					code = (code >>> 2) | ((3 - base) << (2 * (k - 1)));
+				} else {
+					code = ((code << 2) | base) & mask;
+				}
+			}
+			if (i >= k - 1) {
+				codes[i - k + 1] = valid >= k ? code : -1;
+			}
+		}
+		return codes;
+	}
+
+	/**
+	 * Find the first index entry at or after a code and position
+	 * @return index position
+	 */
+	int lowerBound(int code, int position) {
+		long key = (long) code << 32 | position;
+		int lo = 0;
+		int hi = index.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (index[mid] < key) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * Count the shared k-mers of a region in pixel bins, one task per tile of pixel columns; only the k-mers of sequence 1
+	 * inside the region are looked up, and each lookup is narrowed to the region's rows
+	 * @param x0 first position of sequence 1 in the region
+	 * @param x1 one past the last position of sequence 1
+	 * @param y0 first position of sequence 2
+	 * @param y1 one past the last position of sequence 2
+	 * @return forward counts then reverse counts, each width * height, row by row
+	 */
+	public int[][] bins(int x0, int x1, int y0, int y1, int width, int height) {
+		int[] forwardBins = new int[width * height];
+		int[] reverseBins = new int[width * height];
+		long spanX = Math.max(1, x1 - x0);
+		long spanY = Math.max(1, y1 - y0);
+		int tiles = (width + TILE - 1) / TILE;
+		try (Metrics.Timer timer = Metrics.time("dotPlot")) {
+			IntStream.range(0, tiles).parallel().forEach(t -> {
+				int firstColumn = t * TILE;
+				int lastColumn = Math.min(width, firstColumn + TILE);
+
+				//positions whose column floor((i - x0) * width / spanX) falls in this tile
+				int from = x0 + (int) ((firstColumn * spanX + width - 1) / width);
+				int to = Math.min(forward.length, x0 + (int) ((lastColumn * spanX + width - 1) / width));
+				for (int i = from; i < to; i++) {
+					int column = (int) ((i - x0) * (long) width / spanX);
+					plot(forward[i], column, y0, y1, spanY, width, height, forwardBins);
+					plot(reverse[i], column, y0, y1, spanY, width, height, reverseBins);
+				}
+			});
+			timer.cells(Math.max(0, Math.min(forward.length, x1) - x0));
+		}
+		return new int[][] {forwardBins, reverseBins};
+	}
+
+	/**
+	 * Add every occurrence of a k-mer in the region's rows to a column of bins
+	 */
+	void plot(int code, int column, int y0, int y1, long spanY, int width, int height, int[] bins) {
+		if (code < 0) {
+			return;
+		}
+		int end = lowerBound(code, y1);
+		for (int e = lowerBound(code, y0); e < end; e++) {
+			int row = (int) (((int) index[e] - y0) * (long) height / spanY);
+			bins[row * width + column]++;
+		}
+	}
+
+	/**
+	 * Render a region to an image with one pixel per bin, at most one bin per base, shading each pixel by the log of its
+	 * count: blue for matches on the same strand, red for matches with the reverse complement
+	 * @return image with sequence 1 along x and sequence 2 down y
+	 */
+	public BufferedImage render(int x0, int x1, int y0, int y1, int width, int height) {
+		width = Math.max(1, Math.min(width, x1 - x0));
+		height = Math.max(1, Math.min(height, y1 - y0));
+		int[][] bins = bins(x0, x1, y0, y1, width, height);
+		int max = 1;
+		for (int[] counts : bins) {
+			for (int count : counts) {
+				max = Math.max(max, count);
+			}
+		}
+		double scale = Math.log1p(max);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		int[] pixels = new int[width * height];
+		for (int p = 0; p < pixels.length; p++) {
+			double f = bins[0][p] == 0 ? 0 : 0.35 + 0.65 * Math.log1p(bins[0][p]) / scale;
+			double r = bins[1][p] == 0 ? 0 : 0.35 + 0.65 * Math.log1p(bins[1][p]) / scale;
+			pixels[p] = blend(blend(0xFFFFFF, FORWARD, f), REVERSE, r);
+		}
+		image.setRGB(0, 0, width, height, pixels, 0, width);
+		return image;
+	}
+
+	static int blend(int from, int to, double amount) {
+		int rgb = 0;
+		for (int shift = 16; shift >= 0; shift -= 8) {
+			int a = (from >> shift) & 0xFF;
+			int b = (to >> shift) & 0xFF;
+			rgb |= ((int) Math.round(a + (b - a) * amount)) << shift;
+		}
+		return rgb;
+	}
+}
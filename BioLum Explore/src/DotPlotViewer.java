@@ -0,0 +1,233 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+
+public class DotPlotViewer extends JPanel {
+	private static final long serialVersionUID = 1L;
+
+	static final int MARGIN = 70;						//room for the axis labels
+	static final int MIN_SPAN = 20;						//fewest bases a zoomed region may cover
+
+	DotPlot plot;										//k-mer index of the two sequences
+	String name1;										//name of the sequence along x
+	String name2;										//name of the sequence along y
+	int[] region;										//x0, x1, y0, y1 of the region being shown
+	Deque<int[]> history = new ArrayDeque<int[]>();		//regions shown before each zoom
+	BufferedImage image;								//rendered region, null while the first render runs
+	int generation;										//bumped for every render, so a stale render is dropped
+	Point dragStart;									//corner where the zoom rectangle was started
+	Point dragEnd;										//opposite corner of the zoom rectangle
+	JLabel status;										//shows the region and whether it is rendering
+	JComponent canvas;									//draws the plot and the axes
+	JButton backButton;									//goes back to the previous region
+
+	/**
+	 * Initializes the viewer on the whole of both sequences; drag a rectangle to zoom into it
+	 */
+	public DotPlotViewer(DotPlot plot, String name1, String name2) {
+		super(new BorderLayout());
+		this.plot = plot;
+		this.name1 = name1;
+		this.name2 = name2;
+		this.region = new int[] {0, plot.s1.length(), 0, plot.s2.length()};
+		setBorder(new EmptyBorder(10, 10, 10, 10));
+
+		status = new JLabel();
+		status.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		add(status, BorderLayout.NORTH);
+
+		canvas = new JComponent() {
+			protected void paintComponent(Graphics g) {
+				paintPlot(g);
+			}
+		};
+		canvas.setFont(new Font("DejaVu Sans", Font.PLAIN, 14));
+		canvas.setPreferredSize(new Dimension(800 + MARGIN, 800 + MARGIN));
+		MouseAdapter zoom = new MouseAdapter() {
+			public void mousePressed(MouseEvent e) {
+				dragStart = e.getPoint();
+				dragEnd = null;
+			}
+
+			public void mouseDragged(MouseEvent e) {
+				dragEnd = e.getPoint();
+				canvas.repaint();
+			}
+
+			public void mouseReleased(MouseEvent e) {
+				if (dragStart != null && dragEnd != null) {
+					zoom(dragStart, dragEnd);
+				}
+				dragStart = null;
+				dragEnd = null;
+				canvas.repaint();
+			}
+		};
+		canvas.addMouseListener(zoom);
+		canvas.addMouseMotionListener(zoom);
+		canvas.addComponentListener(new ComponentAdapter() {
+			public void componentResized(ComponentEvent e) {
+				render();
+			}
+		});
+		add(canvas, BorderLayout.CENTER);
+
+		//zoom controls
+		backButton = new JButton("Back");
+		backButton.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		backButton.addActionListener(event -> {
+			if (!history.isEmpty()) {
+				region = history.pop();
+				render();
+			}
+		});
+		JButton resetButton = new JButton("Whole Sequences");
+		resetButton.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		resetButton.addActionListener(event -> {
+			history.clear();
+			region = new int[] {0, plot.s1.length(), 0, plot.s2.length()};
+			render();
+		});
+		JPanel controls = new JPanel();
+		controls.add(backButton);
+		controls.add(resetButton);
+		add(controls, BorderLayout.SOUTH);
+	}
+
+	/**
+	 * Get the area of the canvas the plot is drawn in
+	 * @return plot rectangle
+	 */
+	Rectangle plotArea() {
+		return new Rectangle(MARGIN, 10, Math.max(1, canvas.getWidth() - MARGIN - 10), Math.max(1, canvas.getHeight() - MARGIN - 10));
+	}
+
+	/**
+	 * Zoom into the region under a dragged rectangle, keeping at least a few bases on each axis
+	 */
+	void zoom(Point a, Point b) {
+		Rectangle area = plotArea();
+		Rectangle drag = new Rectangle(a);
+		drag.add(b);
+		drag = drag.intersection(area);
+		if (drag.width < 5 || drag.height < 5) {
+			return;
+		}
+		double spanX = region[1] - region[0];
+		double spanY = region[3] - region[2];
+		int x0 = region[0] + (int) ((drag.x - area.x) * spanX / area.width);
+		int x1 = region[0] + (int) Math.ceil((drag.x + drag.width - area.x) * spanX / area.width);
+		int y0 = region[2] + (int) ((drag.y - area.y) * spanY / area.height);
+		int y1 = region[2] + (int) Math.ceil((drag.y + drag.height - area.y) * spanY / area.height);
+		if (x1 - x0 < MIN_SPAN || y1 - y0 < MIN_SPAN) {
+			return;
+		}
+		history.push(region);
+		region = new int[] {x0, x1, y0, y1};
+		render();
+	}
+
+	/**
+	 * Render the current region on a background thread; the plot recomputes only the k-mers inside the region
+	 */
+	void render() {
+		Rectangle area = plotArea();
+		int[] shown = region;
+		int current = ++generation;
+		backButton.setEnabled(!history.isEmpty());
+		status.setText(String.format("<html><i>%s</i> %,d-%,d (x) and <i>%s</i> %,d-%,d (y), k = %d<br>Rendering...</html>",
+				name1, shown[0] + 1, shown[1], name2, shown[2] + 1, shown[3], plot.k));
+		new SwingWorker<BufferedImage, Void>() {
+			protected BufferedImage doInBackground() {
+				return plot.render(shown[0], shown[1], shown[2], shown[3], area.width, area.height);
+			}
+
+			protected void done() {
+				if (current != generation) {
+					return;
+				}
+				try {
+					image = get();
+					status.setText(String.format("<html><i>%s</i> %,d-%,d (x) and <i>%s</i> %,d-%,d (y), k = %d<br>Drag a rectangle to zoom</html>",
+							name1, shown[0] + 1, shown[1], name2, shown[2] + 1, shown[3], plot.k));
+				} catch (Exception e1) {
+					e1.printStackTrace();
+				}
+				canvas.repaint();
+			}
+		}.execute();
+	}
+
+	/**
+	 * Draw the rendered region scaled to the plot area, the axis coordinates, and the zoom rectangle while dragging
+	 */
+	void paintPlot(Graphics g) {
+		Rectangle area = plotArea();
+		g.setColor(Color.WHITE);
+		g.fillRect(area.x, area.y, area.width, area.height);
+		if (image != null) {
+			g.drawImage(image, area.x, area.y, area.width, area.height, null);
+		}
+		g.setColor(Color.DARK_GRAY);
+		g.drawRect(area.x, area.y, area.width, area.height);
+
+		//coordinates of the region's corners, 1-based
+		g.setFont(canvas.getFont());
+		FontMetrics metrics = g.getFontMetrics();
+		String left = String.valueOf(region[0] + 1);
+		String right = String.valueOf(region[1]);
+		g.drawString(left, area.x, area.y + area.height + metrics.getHeight());
+		g.drawString(right, area.x + area.width - metrics.stringWidth(right), area.y + area.height + metrics.getHeight());
+		g.drawString(name1, area.x + (area.width - metrics.stringWidth(name1)) / 2, area.y + area.height + 2 * metrics.getHeight());
+		g.drawString(String.valueOf(region[2] + 1), 0, area.y + metrics.getAscent());
+		g.drawString(String.valueOf(region[3]), 0, area.y + area.height);
+		Graphics2D g2 = (Graphics2D) g.create();
+		g2.rotate(-Math.PI / 2);
+		g2.drawString(name2, -(area.y + (area.height + metrics.stringWidth(name2)) / 2), MARGIN / 2);
+		g2.dispose();
+
+		if (dragStart != null && dragEnd != null) {
+			Rectangle drag = new Rectangle(dragStart);
+			drag.add(dragEnd);
+			g.setColor(new Color(0, 0, 0, 40));
+			g.fillRect(drag.x, drag.y, drag.width, drag.height);
+			g.setColor(Color.BLACK);
+			g.drawRect(drag.x, drag.y, drag.width, drag.height);
+		}
+	}
+
+	/**
+	 * Index two sequences on a background thread, choosing k from their lengths, then open a dot plot window for them
+	 */
+	public static void show(Component parent, String title, String s1, String s2, String name1, String name2) {
+		new SwingWorker<DotPlot, Void>() {
+			protected DotPlot doInBackground() {
+				return new DotPlot(s1, s2, DotPlot.defaultK(s1.length(), s2.length()));
+			}
+
+			protected void done() {
+				try {
+					JDialog dialog = new JDialog(SwingUtilities.getWindowAncestor(parent), title);
+					dialog.setContentPane(new DotPlotViewer(get(), name1, name2));
+					dialog.pack();
+					dialog.setLocationRelativeTo(parent);
+					dialog.setVisible(true);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+				}
+			}
+		}.execute();
+	}
+}
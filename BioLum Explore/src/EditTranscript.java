@@ -0,0 +1,274 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+public class EditTranscript {
+	public static final byte MATCH = '=';				//both sequences have the same character
+	public static final byte MISMATCH = 'X';			//both sequences have a character, and they differ
+	public static final byte INSERTION = 'I';			//gap in sequence 1, character in sequence 2
+	public static final byte DELETION = 'D';			//character in sequence 1, gap in sequence 2
+	static final int BLOCK = 70;						//columns per block in alignment files
+
+	String s1;											//first sequence
+	String s2;											//second sequence
+	int start1;											//index in s1 of the first aligned character
+	int start2;											//index in s2 of the first aligned character
+	byte[] ops;											//operation of each run
+	int[] lengths;										//number of columns in each run
+	int[] runColumn;									//first column of each run, plus the total column count at the end
+	int[] runPosition1;									//index in s1 at the start of each run
+	int[] runPosition2;									//index in s2 at the start of each run
+
+	/**
+	 * Collects operations one column at a time, in either direction, merging equal neighbors into runs
+	 */
+	public static class Builder {
+		byte[] ops = new byte[16];
+		int[] lengths = new int[16];
+		int runs;
+
+		/**
+		 * Add one column to the end of the transcript
+		 */
+		public void add(byte op) {
+			add(op, 1);
+		}
+
+		/**
+		 * Add a run of columns with the same operation to the end of the transcript
+		 */
+		public void add(byte op, int length) {
+			if (runs > 0 && ops[runs - 1] == op) {
+				lengths[runs - 1] += length;
+				return;
+			}
+			if (runs == ops.length) {
+				ops = Arrays.copyOf(ops, runs * 2);
+				lengths = Arrays.copyOf(lengths, runs * 2);
+			}
+			ops[runs] = op;
+			lengths[runs] = length;
+			runs++;
+		}
+
+		/**
+		 * Add every column of another transcript to the end of this one
+		 */
+		public void append(EditTranscript transcript) {
+			for (int r = 0; r < transcript.ops.length; r++) {
+				add(transcript.ops[r], transcript.lengths[r]);
+			}
+		}
+
+		/**
+		 * Add a column comparing two characters
+		 */
+		public void column(char c1, char c2) {
+			add(c1 == c2 ? MATCH : MISMATCH);
+		}
+
+		/**
+		 * Finish a transcript whose columns were added from the first column to the last
+		 * @return the transcript
+		 */
+		public EditTranscript build(String s1, String s2, int start1, int start2) {
+			return new EditTranscript(s1, s2, start1, start2, Arrays.copyOf(ops, runs), Arrays.copyOf(lengths, runs));
+		}
+
+		/**
+		 * Finish a transcript whose columns were added from the last column to the first, as in a traceback
+		 * @param start1 index in s1 where the traceback stopped
+		 * @param start2 index in s2 where the traceback stopped
+		 * @return the transcript
+		 */
+		public EditTranscript buildReversed(String s1, String s2, int start1, int start2) {
+			byte[] reversedOps = new byte[runs];
+			int[] reversedLengths = new int[runs];
+			for (int r = 0; r < runs; r++) {
+				reversedOps[r] = ops[runs - 1 - r];
+				reversedLengths[r] = lengths[runs - 1 - r];
+			}
+			return new EditTranscript(s1, s2, start1, start2, reversedOps, reversedLengths);
+		}
+	}
+
+	EditTranscript(String s1, String s2, int start1, int start2, byte[] ops, int[] lengths) {
+		this.s1 = s1;
+		this.s2 = s2;
+		this.start1 = start1;
+		this.start2 = start2;
+		this.ops = ops;
+		this.lengths = lengths;
+
+		//prefix sums let any column be found with a binary search over the runs
+		runColumn = new int[ops.length + 1];
+		runPosition1 = new int[ops.length + 1];
+		runPosition2 = new int[ops.length + 1];
+		runPosition1[0] = start1;
+		runPosition2[0] = start2;
+		for (int r = 0; r < ops.length; r++) {
+			runColumn[r + 1] = runColumn[r] + lengths[r];
+			runPosition1[r + 1] = runPosition1[r] + (ops[r] == INSERTION ? 0 : lengths[r]);
+			runPosition2[r + 1] = runPosition2[r] + (ops[r] == DELETION ? 0 : lengths[r]);
+		}
+	}
+
+	/**
+	 * Build a transcript from two aligned strings that use '-' for gaps
+	 * @return the transcript
+	 */
+	public static EditTranscript fromAligned(String aligned1, String aligned2, String s1, String s2, int start1, int start2) {
+		Builder builder = new Builder();
+		for (int k = 0; k < aligned1.length(); k++) {
+			char c1 = aligned1.charAt(k);
+			char c2 = aligned2.charAt(k);
+			if (c1 == '-') {
+				builder.add(INSERTION);
+			} else if (c2 == '-') {
+				builder.add(DELETION);
+			} else {
+				builder.column(c1, c2);
+			}
+		}
+		return builder.build(s1, s2, start1, start2);
+	}
+
+	/**
+	 * Get the number of alignment columns
+	 * @return alignment length
+	 */
+	public int columns() {
+		return runColumn[ops.length];
+	}
+
+	/**
+	 * Get the number of columns where both sequences have the same character
+	 * @return identity count
+	 */
+	public int identities() {
+		int identities = 0;
+		for (int r = 0; r < ops.length; r++) {
+			if (ops[r] == MATCH) {
+				identities += lengths[r];
+			}
+		}
+		return identities;
+	}
+
+	/**
+	 * Get the transcript in CIGAR notation with = and X for matches and mismatches
+	 * @return CIGAR string, e.g. "12=1X3I40="
+	 */
+	public String cigar() {
+		StringBuilder sb = new StringBuilder();
+		for (int r = 0; r < ops.length; r++) {
+			sb.append(lengths[r]).append((char) ops[r]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Find the run that holds a column
+	 * @return run index
+	 */
+	int run(int column) {
+		int r = Arrays.binarySearch(runColumn, 0, ops.length, column);
+		return r >= 0 ? r : -r - 2;
+	}
+
+	/**
+	 * Get the operation of a column
+	 * @return MATCH, MISMATCH, INSERTION, or DELETION
+	 */
+	public byte op(int column) {
+		return ops[run(column)];
+	}
+
+	/**
+	 * Get the index in s1 of the next character at or after a column
+	 * @return index in s1
+	 */
+	public int position1(int column) {
+		int r = run(column);
+		if (r < 0) {
+			return start1;
+		}
+		return runPosition1[r] + (ops[r] == INSERTION ? 0 : column - runColumn[r]);
+	}
+
+	/**
+	 * Get the index in s2 of the next character at or after a column
+	 * @return index in s2
+	 */
+	public int position2(int column) {
+		int r = run(column);
+		if (r < 0) {
+			return start2;
+		}
+		return runPosition2[r] + (ops[r] == DELETION ? 0 : column - runColumn[r]);
+	}
+
+	/**
+	 * Render a range of columns of one row into a buffer, walking the runs instead of materializing the whole row
+	 * @param first true for the row of sequence 1, false for sequence 2
+	 */
+	public void appendRow(StringBuilder sb, boolean first, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		int r = run(from);
+		int position = first ? position1(from) : position2(from);
+		String s = first ? s1 : s2;
+		byte gap = first ? INSERTION : DELETION;
+		for (int column = from; column < to; column++) {
+			while (column >= runColumn[r + 1]) {
+				r++;
+			}
+			if (ops[r] == gap) {
+				sb.append('-');
+			} else {
+				sb.append(s.charAt(position++));
+			}
+		}
+	}
+
+	/**
+	 * Get the aligned string of one sequence
+	 * @return aligned string with '-' for gaps
+	 */
+	public String aligned(boolean first) {
+		StringBuilder sb = new StringBuilder(columns());
+		appendRow(sb, first, 0, columns());
+		return sb.toString();
+	}
+
+	/**
+	 * Write the alignment in blocks of 70 columns, the layout of the alignment files, one block at a time
+	 * @throws IOException
+	 */
+	public void write(Writer w) throws IOException {
+		int length = columns();
+		StringBuilder sb = new StringBuilder(2 * BLOCK + 3);
+		int k;
+		for (k = 0; k < length - BLOCK; k += BLOCK) {
+			sb.setLength(0);
+			appendRow(sb, true, k, k + BLOCK);
+			sb.append('\n');
+			appendRow(sb, false, k, k + BLOCK);
+			sb.append("\n\n");
+			w.write(sb.toString());
+		}
+		sb.setLength(0);
+		appendRow(sb, true, k, length);
+		sb.append('\n');
+		appendRow(sb, false, k, length);
+		w.write(sb.toString());
+	}
+}
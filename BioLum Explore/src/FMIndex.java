@@ -0,0 +1,498 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class FMIndex {
+	static final int MAGIC = 0x424C464D;					//"BLFM"
+	static final int VERSION = 1;
+	static final int HEADER = 64;							//magic, version, text length, documents, sample rate, section offsets, source timestamp
+	static final int SENTINEL = 0;							//end of the text, smaller than every other symbol
+	static final int SEPARATOR = 1;							//end of each strand, so no match crosses two strands
+	static final int SYMBOLS = 6;							//sentinel, separator, and the four bases
+	static final String BASES = "ACGT";						//base of symbols 2 to 5
+	static final int BLOCK = 64;							//rows per occurrence checkpoint and per rank word
+	static final int SAMPLE_RATE = 32;						//every 32nd text position keeps its suffix array entry
+	static final String DEFAULT_FILE = "cache/Sequences.fmi";	//generated, so kept out of the source tree
+	static FMIndex shared;									//default index, opened once per process
+
+	MappedByteBuffer buffer;								//the whole index file, read only
+	int length;												//text length, including separators and the sentinel
+	int documents;											//two strands per species
+	int[] first = new int[SYMBOLS + 1];						//first row of the suffixes starting with each symbol
+	int[] starts;											//text position where each strand starts, plus the position of the sentinel
+	String[] names;											//species of each pair of strands
+	int occurrences;										//offset of the occurrence checkpoints, four counts per block
+	int marks;												//offset of the bits marking rows whose suffix array entry is kept
+	int ranks;												//offset of the number of marked rows before each mark word
+	int samples;											//offset of the kept suffix array entries, in row order
+	int bwt;												//offset of the Burrows-Wheeler transform, one symbol per byte
+
+	/**
+	 * Memory-map an index file and read its small tables; the transform and samples stay in the mapping
+	 * @throws IOException
+	 */
+	public FMIndex(String fileName) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Not a BioLum Explore substring index: " + fileName);
+		}
+		length = buffer.getInt(8);
+		documents = buffer.getInt(12);
+		occurrences = buffer.getInt(20);
+		marks = buffer.getInt(24);
+		ranks = buffer.getInt(28);
+		samples = buffer.getInt(32);
+		bwt = buffer.getInt(36);
+		int tables = buffer.getInt(40);
+
+		//symbol counts, strand starts, and species names follow the header
+		ByteBuffer in = buffer.duplicate();
+		in.position(tables);
+		for (int c = 0; c <= SYMBOLS; c++) {
+			first[c] = in.getInt();
+		}
+		starts = new int[documents + 1];
+		for (int d = 0; d <= documents; d++) {
+			starts[d] = in.getInt();
+		}
+		names = new String[documents / 2];
+		for (int r = 0; r < names.length; r++) {
+			byte[] bytes = new byte[in.getInt()];
+			in.get(bytes);
+			names[r] = new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Get the default index over the bundled sequences, building it first if it is missing or was built from older text files
+	 * @throws IOException
+	 * @return the shared index
+	 */
+	@SuppressWarnings("try")
+	public static synchronized FMIndex open() throws IOException {
+		if (shared == null) {
+			try (Metrics.Timer timer = Metrics.time("openIndex")) {
+				if (!new File(DEFAULT_FILE).exists() || stamp(DEFAULT_FILE) != SequenceDatabase.sourceStamp()) {
+					build(SequenceLibrary.load(), DEFAULT_FILE, SequenceDatabase.sourceStamp());
+				}
+				shared = new FMIndex(DEFAULT_FILE);
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Read the source timestamp an index was built from
+	 * @return timestamp in milliseconds, 0 if the file is not an index
+	 */
+	static long stamp(String fileName) throws IOException {
+		try (DataInputStream in = new DataInputStream(new FileInputStream(fileName))) {
+			return in.readInt() == MAGIC && in.readInt() == VERSION && in.skipBytes(36) == 36 ? in.readLong() : 0;
+		} catch (EOFException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Index every sequence of a library and its reverse complement: build the suffix array with SA-IS, keep only the
+	 * transform, occurrence checkpoints, and sampled entries, and move the file into place so a reader never sees a partial index
+	 * @throws IOException
+	 */
+	public static void build(SequenceLibrary library, String indexFile, long sourceStamp) throws IOException {
+		try (Metrics.Timer timer = Metrics.time("buildIndex")) {
+			List<String> names = library.names();
+			int documents = 2 * names.size();
+			int[] starts = new int[documents + 1];
+			int n = 1;
+			for (String name : names) {
+				n += 2 * (library.get(name).length() + 1);
+			}
+
+			//each strand ends with a separator, and the whole text with the sentinel
+			int[] text = new int[n];
+			int position = 0;
+			for (int r = 0; r < names.size(); r++) {
+				String sequence = library.get(names.get(r));
+				String[] strands = {sequence, Translator.reverseComplement(sequence)};
+				for (int s = 0; s < 2; s++) {
+					starts[2 * r + s] = position;
+					for (int i = 0; i < strands[s].length(); i++) {
+						text[position++] = 2 + BASES.indexOf(strands[s].charAt(i));
+					}
+					text[position++] = SEPARATOR;
+				}
+			}
+			text[position] = SENTINEL;
+			starts[documents] = position;
+			int[] sa = suffixArray(text, SYMBOLS);
+			timer.cells(n);
+
+			//keep the entries of sampled positions and of strand starts, so locating never steps back over a separator
+			boolean[] kept = new boolean[n];
+			for (int p = 0; p < n; p += SAMPLE_RATE) {
+				kept[p] = true;
+			}
+			for (int d = 0; d < documents; d++) {
+				kept[starts[d]] = true;
+			}
+			int blocks = n / BLOCK + 1;
+			byte[] transform = new byte[n];
+			int[] checkpoints = new int[4 * blocks];
+			long[] markWords = new long[blocks];
+			int[] rankWords = new int[blocks];
+			int[] counts = new int[SYMBOLS];
+			List<Integer> sampled = new ArrayList<Integer>();
+			for (int row = 0; row < n; row++) {
+				if (row % BLOCK == 0) {
+					System.arraycopy(counts, 2, checkpoints, 4 * (row / BLOCK), 4);
+					rankWords[row / BLOCK] = sampled.size();
+				}
+				int c = sa[row] == 0 ? SENTINEL : text[sa[row] - 1];
+				transform[row] = (byte) c;
+				counts[c]++;
+				if (kept[sa[row]]) {
+					markWords[row / BLOCK] |= 1L << (row % BLOCK);
+					sampled.add(sa[row]);
+				}
+			}
+			if (n % BLOCK == 0) {
+				System.arraycopy(counts, 2, checkpoints, 4 * (n / BLOCK), 4);
+				rankWords[n / BLOCK] = sampled.size();
+			}
+			int[] first = new int[SYMBOLS + 1];
+			for (int c = 0; c < SYMBOLS; c++) {
+				first[c + 1] = first[c] + counts[c];
+			}
+			byte[][] encodedNames = new byte[names.size()][];
+			int namesSize = 0;
+			for (int r = 0; r < names.size(); r++) {
+				encodedNames[r] = names.get(r).getBytes(StandardCharsets.UTF_8);
+				namesSize += 4 + encodedNames[r].length;
+			}
+
+			//sections in order: tables, checkpoints, mark words, rank words, samples, transform
+			int tables = HEADER;
+			int occurrences = tables + 4 * (SYMBOLS + 1) + 4 * (documents + 1) + namesSize;
+			int marks = occurrences + 4 * checkpoints.length;
+			marks += (8 - marks % 8) % 8;
+			int ranks = marks + 8 * markWords.length;
+			int samples = ranks + 4 * rankWords.length;
+			int bwt = samples + 4 * sampled.size();
+			ByteBuffer out = ByteBuffer.allocate(bwt + n);
+			out.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(documents).putInt(SAMPLE_RATE);
+			out.putInt(occurrences).putInt(marks).putInt(ranks).putInt(samples).putInt(bwt).putInt(tables);
+			out.putLong(sourceStamp);
+			out.position(tables);
+			for (int c = 0; c <= SYMBOLS; c++) {
+				out.putInt(first[c]);
+			}
+			for (int start : starts) {
+				out.putInt(start);
+			}
+			for (byte[] name : encodedNames) {
+				out.putInt(name.length).put(name);
+			}
+			out.position(occurrences);
+			for (int count : checkpoints) {
+				out.putInt(count);
+			}
+			out.position(marks);
+			for (long word : markWords) {
+				out.putLong(word);
+			}
+			for (int rank : rankWords) {
+				out.putInt(rank);
+			}
+			for (int sample : sampled) {
+				out.putInt(sample);
+			}
+			out.put(transform);
+			timer.bytes(out.capacity());
+
+			Path target = Paths.get(indexFile).toAbsolutePath();
+			Path temporary = Paths.get(indexFile + ".tmp").toAbsolutePath();
+			Files.createDirectories(target.getParent());
+			Files.write(temporary, out.array());
+			try {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
+
+	/**
+	 * Build the suffix array of a text whose last symbol is a unique 0, by induced sorting (SA-IS) in linear time
+	 * @param symbols alphabet size
+	 * @return suffix start positions in sorted order
+	 */
+	static int[] suffixArray(int[] text, int symbols) {
+		int n = text.length;
+		int[] sa = new int[n];
+		if (n == 1) {
+			return sa;
+		}
+
+		//a suffix is S type if it is smaller than the next one, L type otherwise
+		boolean[] small = new boolean[n];
+		small[n - 1] = true;
+		for (int i = n - 2; i >= 0; i--) {
+			small[i] = text[i] < text[i + 1] || (text[i] == text[i + 1] && small[i + 1]);
+		}
+
+		//sort the leftmost S type (LMS) substrings by inducing from their bucket ends
+		int[] bucket = new int[symbols];
+		Arrays.fill(sa, -1);
+		bucketEnds(text, bucket);
+		for (int i = 1; i < n; i++) {
+			if (leftmostSmall(small, i)) {
+				sa[--bucket[text[i]]] = i;
+			}
+		}
+		induce(text, sa, small, bucket);
+
+		//name each LMS substring by its rank, equal substrings sharing a name
+		int[] substringNames = new int[n];
+		int count = 0;
+		int named = 0;
+		int previous = -1;
+		for (int r = 0; r < n; r++) {
+			int p = sa[r];
+			if (leftmostSmall(small, p)) {
+				if (previous < 0 || !sameSubstring(text, small, previous, p)) {
+					named++;
+				}
+				substringNames[p] = named - 1;
+				previous = p;
+				count++;
+			}
+		}
+		int[] lms = new int[count];
+		int[] reduced = new int[count];
+		for (int i = 1, k = 0; i < n; i++) {
+			if (leftmostSmall(small, i)) {
+				lms[k] = i;
+				reduced[k++] = substringNames[i];
+			}
+		}
+
+		//recurse only if some names repeat, otherwise the names already give the order
+		int[] reducedSa;
+		if (named < count) {
+			reducedSa = suffixArray(reduced, named);
+		} else {
+			reducedSa = new int[count];
+			for (int k = 0; k < count; k++) {
+				reducedSa[reduced[k]] = k;
+			}
+		}
+
+		//place the sorted LMS suffixes and induce every other suffix from them
+		Arrays.fill(sa, -1);
+		bucketEnds(text, bucket);
+		for (int k = count - 1; k >= 0; k--) {
+			int p = lms[reducedSa[k]];
+			sa[--bucket[text[p]]] = p;
+		}
+		induce(text, sa, small, bucket);
+		return sa;
+	}
+
+	static boolean leftmostSmall(boolean[] small, int i) {
+		return i > 0 && small[i] && !small[i - 1];
+	}
+
+	static boolean sameSubstring(int[] text, boolean[] small, int a, int b) {
+		for (int d = 0; ; d++) {
+			if (text[a + d] != text[b + d] || small[a + d] != small[b + d]) {
+				return false;
+			}
+			if (d > 0 && (leftmostSmall(small, a + d) || leftmostSmall(small, b + d))) {
+				return leftmostSmall(small, a + d) && leftmostSmall(small, b + d);
+			}
+		}
+	}
+
+	static void bucketStarts(int[] text, int[] bucket) {
+		Arrays.fill(bucket, 0);
+		for (int c : text) {
+			bucket[c]++;
+		}
+		for (int c = 0, sum = 0; c < bucket.length; c++) {
+			sum += bucket[c];
+			bucket[c] = sum - bucket[c];
+		}
+	}
+
+	static void bucketEnds(int[] text, int[] bucket) {
+		Arrays.fill(bucket, 0);
+		for (int c : text) {
+			bucket[c]++;
+		}
+		for (int c = 0, sum = 0; c < bucket.length; c++) {
+			sum += bucket[c];
+			bucket[c] = sum;
+		}
+	}
+
+	/**
+	 * Induce L type suffixes left to right from the placed ones, then S type suffixes right to left
+	 */
+	static void induce(int[] text, int[] sa, boolean[] small, int[] bucket) {
+		bucketStarts(text, bucket);
+		for (int r = 0; r < sa.length; r++) {
+			int p = sa[r] - 1;
+			if (p >= 0 && !small[p]) {
+				sa[bucket[text[p]]++] = p;
+			}
+		}
+		bucketEnds(text, bucket);
+		for (int r = sa.length - 1; r >= 0; r--) {
+			int p = sa[r] - 1;
+			if (p >= 0 && small[p]) {
+				sa[--bucket[text[p]]] = p;
+			}
+		}
+	}
+
+	/**
+	 * Count a base in the transform before a row, from the nearest checkpoint
+	 * @param c symbol of the base, 2 to 5
+	 * @return occurrences in rows 0 to row - 1
+	 */
+	int occurrences(int c, int row) {
+		int block = row / BLOCK;
+		int count = buffer.getInt(occurrences + 4 * (4 * block + c - 2));
+		for (int r = block * BLOCK; r < row; r++) {
+			if (buffer.get(bwt + r) == c) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Find the rows whose suffixes start with a pattern by backward search, one step per base
+	 * @return first row and one past the last row, equal if the pattern does not occur
+	 */
+	int[] range(String pattern) {
+		int lo = 0;
+		int hi = length;
+		for (int i = pattern.length() - 1; i >= 0 && lo < hi; i--) {
+			int c = 2 + BASES.indexOf(pattern.charAt(i));
+			lo = first[c] + occurrences(c, lo);
+			hi = first[c] + occurrences(c, hi);
+		}
+		return new int[] {lo, hi};
+	}
+
+	/**
+	 * Get the text position of a row's suffix by stepping back to the nearest kept entry
+	 * @return text position
+	 */
+	int position(int row) {
+		int steps = 0;
+		while (true) {
+			int word = row / BLOCK;
+			long bits = buffer.getLong(marks + 8 * word);
+			long bit = 1L << (row % BLOCK);
+			if ((bits & bit) != 0) {
+				int rank = buffer.getInt(ranks + 4 * word) + Long.bitCount(bits & (bit - 1));
+				return buffer.getInt(samples + 4 * rank) + steps;
+			}
+			int c = buffer.get(bwt + row);
+			row = first[c] + occurrences(c, row);
+			steps++;
+		}
+	}
+
+	/**
+	 * Read a dna or rna pattern as bases
+	 * @throws IllegalArgumentException if the pattern is empty or has anything but ACGT or U
+	 * @return pattern bases
+	 */
+	static String clean(String pattern) {
+		String bases = pattern.trim().toUpperCase().replace('U', 'T');
+		if (bases.isEmpty()) {
+			throw new IllegalArgumentException("The pattern has no bases");
+		}
+		for (int i = 0; i < bases.length(); i++) {
+			if (BASES.indexOf(bases.charAt(i)) < 0) {
+				throw new IllegalArgumentException("Not a base: " + bases.charAt(i));
+			}
+		}
+		return bases;
+	}
+
+	/**
+	 * Count the occurrences of a pattern on both strands of every species, in time proportional to its length
+	 * @return number of occurrences
+	 */
+	@SuppressWarnings("try")
+	public int count(String pattern) {
+		try (Metrics.Timer timer = Metrics.time("indexCount")) {
+			int[] range = range(clean(pattern));
+			return range[1] - range[0];
+		}
+	}
+
+	/**
+	 * Find every occurrence of a pattern on both strands of every species
+	 * @return hits in species order, then strand, then start, with 1-based coordinates on the forward strand
+	 */
+	public List<MotifSearch.Hit> locate(String pattern) {
+		try (Metrics.Timer timer = Metrics.time("indexLocate")) {
+			String bases = clean(pattern);
+			int[] range = range(bases);
+			List<MotifSearch.Hit> hits = new ArrayList<MotifSearch.Hit>(range[1] - range[0]);
+			for (int row = range[0]; row < range[1]; row++) {
+				int p = position(row);
+				int d = Arrays.binarySearch(starts, p);
+				d = d >= 0 ? d : -d - 2;
+				while (starts[d + 1] == p) {
+					d++;		//skip empty strands that start at the same position
+				}
+				int strandLength = starts[d + 1] - starts[d] - 1;
+				int offset = p - starts[d];
+				MotifSearch.Hit hit = new MotifSearch.Hit();
+				hit.record = names[d / 2];
+				hit.motif = bases;
+				hit.strand = d % 2 == 0 ? '+' : '-';
+				hit.start = d % 2 == 0 ? offset + 1 : strandLength - offset - bases.length() + 1;
+				hit.end = hit.start + bases.length() - 1;
+				hit.matched = bases;
+				hits.add(hit);
+			}
+			Map<String, Integer> order = new HashMap<String, Integer>();
+			for (int r = 0; r < names.length; r++) {
+				order.put(names[r], r);
+			}
+			hits.sort(Comparator.comparing((MotifSearch.Hit hit) -> order.get(hit.record))
+					.thenComparing(hit -> hit.strand).thenComparingInt(hit -> hit.start));
+			timer.cells(hits.size());
+			return hits;
+		}
+	}
+
+	/**
+	 * Build the default index from the bundled sequences
+	 */
+	public static void main(String[] args) throws IOException {
+		String output = args.length > 0 ? args[0] : DEFAULT_FILE;
+		build(SequenceLibrary.load(), output, SequenceDatabase.sourceStamp());
+		System.out.println("Indexed " + new FMIndex(output).documents + " strands to " + output);
+	}
+}
@@ -11,11 +11,14 @@ import java.awt.event.*;
 import java.awt.image.*;
 import java.io.*;
 import java.util.*;
+import java.util.List;
 import java.util.Map.Entry;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.plaf.FontUIResource;
 
 public class Frame extends JFrame{
@@ -26,30 +29,47 @@ public class Frame extends JFrame{
 	JButton dnaButton;							//button to activate DNA mode
 	JButton rnaButton;							//button to activate RNA mode
 	JButton proteinButton;						//button to activate protein mode
+	JButton msaButton;							//button to activate multiple alignment mode, and to run it
+	JMenu analysisMenu;							//menu of analyses that run across every species
 	viewEnum view;								//tracks whether photo view or species view is active
 	modeEnum mode;								//tracks which mode is active
-	LinkedHashMap<JLabel, String> selected;		//stores species that are currently selected
+	LinkedHashMap<String, String> selected;		//stores species that are currently selected, mapped to their image files
 	JPanel mainPanel;							//panel to display the grid of species
+	JList<String> speciesList;					//scrollable grid of species that only renders visible cells
+	SpeciesListModel speciesModel;				//species shown in the grid, after type-ahead filtering
+	SpeciesIndex speciesIndex;					//prefix index of genus and species names for type-ahead filtering
+	JTextField filterField;						//type-ahead filter for the grid
+	JLabel cellLabel;							//one label shared by every grid cell, used as a rubber stamp to paint them
+	StartupLoader loader;						//loads the info of every species in the background, and grid thumbnails as they are shown
+	JobQueue jobQueue;							//journaled queue of batch alignments, resumed when the app starts
 	
 	int match;									//match reward
 	int mismatch;								//mismatch penalty
 	int indel;									//indel penalty
 	int readingFrame;							//reading frame for translation
-	String a1Global;							//the global alignment string for sequence 1
-	String a2Global;							//the global alignment string for sequence 2
-	String a1Local;								//the local alignment string for sequence 1
-	String a2Local;								//the local alignment string for sequence 2
-	int[][] gridGlobal;							//grid used for Needleman-Wunsch algorithm for global PWA
-	int[][] gridLocal;							//grid used for Needleman-Wunsch algorithm for local PWA
+	alignEnum alignmentType;					//whether pairwise alignment compares dna or translated proteins
+	String matrixName;							//substitution matrix for protein alignment
+	int gapOpen;								//gap open penalty for protein alignment
+	int gapExtend;								//gap extension penalty for protein alignment
+	TranslationCache translations;				//translations computed once per species and reading frame
+	AlignmentPlanner.Result globalResult;		//the most recent global alignment, and the engine that computed it
+	AlignmentPlanner.Result localResult;		//the most recent local alignment, and the engine that computed it
 	
 	enum viewEnum {					//represents text view or photo view
 		TEXT,
 		PHOTO;
 	}
 	
+	enum alignEnum {				//represents the sequence type compared by pairwise alignment
+		NUCLEOTIDE,
+		PROTEIN,
+		CODON;
+	}
+	
 	enum modeEnum {					//represents different possible modes
 		INFO,
 		ALIGN,
+		MSA,
 		DNA,
 		RNA,
 		PROTEIN;
@@ -63,12 +83,17 @@ public class Frame extends JFrame{
 	public Frame() {
 		this.setSize(1900, 800);									//default window dimensions
 		this.setExtendedState(JFrame.MAXIMIZED_BOTH);				//window is full-screen	upon app launch																			
-		selected = new LinkedHashMap<JLabel, String>();				//initialize map to store species that are currently selected
+		selected = new LinkedHashMap<String, String>();				//initialize map to store species that are currently selected
 		view = viewEnum.TEXT;										//text view is the default view that is shown upon app launch
 		match = 1;													//default match is set to 1
 		mismatch = -1;												//default mismatch is set to -1
 		indel = -2;													//default indel is set to -2
 		readingFrame = 1;											//default reading frame is set to 1
+		alignmentType = alignEnum.NUCLEOTIDE;						//default alignment compares dna sequences
+		matrixName = "BLOSUM62";									//default substitution matrix is BLOSUM62
+		gapOpen = -11;												//default gap open penalty is set to -11
+		gapExtend = -1;												//default gap extension penalty is set to -1
+		translations = new TranslationCache();						//translations are cached for as long as the app is open
 		
 		//button 1
 		viewButton = new JButton("Photo View");						//button triggers the view to change to the view not currently selected
@@ -118,6 +143,14 @@ public class Frame extends JFrame{
 		alignmentButton.setBackground(new Color (213, 233, 245));
 				
 		//button 7
+		msaButton = new JButton("Multiple Alignment");							//button triggers multiple alignment mode
+		msaButton.setPreferredSize(new Dimension(215, 80));
+		msaButton.setFont(new Font("DejaVu Sans", 0, 20));
+		msaButton.addActionListener(createMSAButtonListener());					//listener detects when the button is clicked, and changes the mode or aligns the selection
+		msaButton.setToolTipText("Click on species, then click again to align them (or click again with none selected to align all)");
+		msaButton.setBackground(new Color (213, 233, 245));
+		
+		//button 8
 		paramButton = new JButton("Set Parameters");					//button triggers a popup allowing user to set parameters
 		paramButton.setPreferredSize(new Dimension(190, 80));
 		paramButton.setFont(new Font("DejaVu Sans", 0, 20));
@@ -133,15 +166,167 @@ public class Frame extends JFrame{
 		buttonsPanel.add(rnaButton);
 		buttonsPanel.add(proteinButton);
 		buttonsPanel.add(alignmentButton);
+		buttonsPanel.add(msaButton);
 		buttonsPanel.add(paramButton);
 		
 		//add panel of buttons to the top of the frame
 		this.setLayout(new BorderLayout());				
 		this.add(buttonsPanel, BorderLayout.NORTH);
 		
-		//Generate default text view that is shown upon app launch
+		//menu item 1
+		JMenuItem phylogenyItem = new JMenuItem("Build Phylogeny");				//menu item triggers tree building for every species
+		phylogenyItem.setFont(new Font("DejaVu Sans", 0, 18));
+		phylogenyItem.addActionListener(createPhylogenyMenuListener());		//listener detects when the item is clicked, and builds the trees
+		phylogenyItem.setToolTipText("Build UPGMA and Neighbor-Joining trees of every species");
+		
+		//menu item 2
+		JMenuItem statisticsItem = new JMenuItem("Sequence Statistics");			//menu item triggers computing statistics of every sequence
+		statisticsItem.setFont(new Font("DejaVu Sans", 0, 18));
+		statisticsItem.addActionListener(createStatisticsMenuListener());		//listener detects when the item is clicked, and writes the tables
+		statisticsItem.setToolTipText("Write GC content, codon usage, and k-mer tables of every species");
+		
+		//menu item 3
+		JMenuItem motifItem = new JMenuItem("Motif Search");					//menu item triggers a popup to search for motifs
+		motifItem.setFont(new Font("DejaVu Sans", 0, 18));
+		motifItem.addActionListener(createMotifMenuListener());				//listener detects when the item is clicked, and searches every species
+		motifItem.setToolTipText("Find dna or protein motifs in every species");
+		
+		//menu item 4
+		JMenuItem metricsItem = new JMenuItem("Performance Metrics");				//menu item triggers a popup with operation timings
+		metricsItem.setFont(new Font("DejaVu Sans", 0, 18));
+		metricsItem.addActionListener(createMetricsMenuListener());			//listener detects when the item is clicked, and displays the metrics
+		metricsItem.setToolTipText("Show timings, cells computed, bytes written, and cache hit rates");
+		
+		//menu item 5
+		JMenuItem queueItem = new JMenuItem("Queue Alignments");				//menu item triggers queueing alignments of every pair of species
+		queueItem.setFont(new Font("DejaVu Sans", 0, 18));
+		queueItem.addActionListener(createQueueMenuListener());				//listener detects when the item is clicked, and submits the jobs
+		queueItem.setToolTipText("Queue pairwise alignments of every pair of selected species (or of all species if fewer than two are selected)");
+		
+		//menu item 6
+		JMenuItem jobsItem = new JMenuItem("Job Queue");						//menu item triggers a popup with the state of the queued jobs
+		jobsItem.setFont(new Font("DejaVu Sans", 0, 18));
+		jobsItem.addActionListener(createJobsMenuListener());				//listener detects when the item is clicked, and displays the queue
+		jobsItem.setToolTipText("Show pending, running, finished, and failed alignment jobs");
+		
+		//menu item 7
+		JMenuItem scanItem = new JMenuItem("Database Scan");					//menu item triggers a popup to score a query against every species
+		scanItem.setFont(new Font("DejaVu Sans", 0, 18));
+		scanItem.addActionListener(createScanMenuListener());				//listener detects when the item is clicked, and ranks every species
+		scanItem.setToolTipText("Rank every species by its local alignment score against a query sequence");
+		
+		//menu item 8
+		JMenuItem findItem = new JMenuItem("Primer Search");					//menu item triggers a popup to find a primer or probe in every species
+		findItem.setFont(new Font("DejaVu Sans", 0, 18));
+		findItem.addActionListener(createFindMenuListener());				//listener detects when the item is clicked, and looks the primer up in the index
+		findItem.setToolTipText("Find exact occurrences of a primer or probe on both strands of every species");
+		
+		//menu item 9
+		JMenuItem sweepItem = new JMenuItem("Parameter Sweep");					//menu item triggers a popup to align pairs under ranges of parameters
+		sweepItem.setFont(new Font("DejaVu Sans", 0, 18));
+		sweepItem.addActionListener(createSweepMenuListener());				//listener detects when the item is clicked, and sweeps the selected species
+		sweepItem.setToolTipText("Align the selected species under every combination of match, mismatch, and indel values");
+		
+		//menu item 10
+		JMenuItem editItem = new JMenuItem("Edit and Re-align");				//menu item triggers a popup to edit one of two species and realign
+		editItem.setFont(new Font("DejaVu Sans", 0, 18));
+		editItem.addActionListener(createEditMenuListener());				//listener detects when the item is clicked, and opens the editor
+		editItem.setToolTipText("Edit the first selected species and realign it globally, refilling only the rows around each edit");
+		
+		//menu of analyses
+		analysisMenu = new JMenu("Analysis");
+		analysisMenu.setFont(new Font("DejaVu Sans", 0, 18));
+		analysisMenu.add(phylogenyItem);
+		analysisMenu.add(statisticsItem);
+		analysisMenu.add(motifItem);
+		analysisMenu.add(scanItem);
+		analysisMenu.add(findItem);
+		analysisMenu.add(sweepItem);
+		analysisMenu.add(editItem);
+		analysisMenu.add(metricsItem);
+		analysisMenu.addSeparator();
+		analysisMenu.add(queueItem);
+		analysisMenu.add(jobsItem);
+		
+		//add menu bar to the top of the frame
+		JMenuBar menuBar = new JMenuBar();
+		menuBar.add(analysisMenu);
+		this.setJMenuBar(menuBar);
+		
+		//Generate default text view that is shown upon app launch, then fill in species data as it loads
+		try {
+			loader = new StartupLoader(SequenceDatabase.open());
+		} catch (IOException e1) {
+			e1.printStackTrace();
+		}
 		generateView();
 		viewButton.setToolTipText("Change to Photo View");
+		
+		//start loading once the window is showing, on the event dispatch thread, so the first paint is not held up
+		this.addWindowListener(new WindowAdapter() {
+			public void windowOpened(WindowEvent e) {
+				if (loader != null) {
+					loader.start(Frame.this::speciesLoaded);
+				}
+			}
+		});
+		
+		//open the job queue in the background, which resumes any jobs left unfinished when the app last closed
+		new SwingWorker<JobQueue, Void>() {
+			protected JobQueue doInBackground() throws IOException {
+				return JobQueue.open(new Analysis(SequenceLibrary.load(), translations));
+			}
+
+			protected void done() {
+				try {
+					jobQueue = get();
+				} catch (Exception e1) {
+					e1.printStackTrace();
+				}
+			}
+		}.execute();
+	}
+	
+	/**
+	 * Repaint the grid when the startup loader has read a species or its thumbnail
+	 */
+	public void speciesLoaded(StartupLoader.Species species) {
+		if (speciesList != null && view.equals(viewEnum.PHOTO)) {
+			speciesList.repaint();									//only the visible cells are repainted
+		}
+	}
+	
+	/**
+	 * Deselect every species and repaint the grid
+	 */
+	public void clearSelection() {
+		selected.clear();
+		if (speciesList != null) {
+			speciesList.repaint();
+		}
+	}
+	
+	/**
+	 * Display a species label as text, or as its thumbnail once the thumbnail has loaded
+	 */
+	public void showSpecies(JLabel l, String imageName) {
+		int period = imageName.indexOf('.');
+		StartupLoader.Species loaded = loader == null ? null : loader.get(imageName.substring(0, period));
+		ImageIcon thumbnail = loaded == null || !view.equals(viewEnum.PHOTO) ? null : loader.thumbnail(loaded);
+		
+		//display PHOTO view, if the thumbnail is ready
+		if (view.equals(viewEnum.PHOTO) && (loader == null || thumbnail != null)) {
+			ImageIcon image = thumbnail != null ? thumbnail : new ImageIcon("src/Images/" + imageName);
+			l.setIcon(image);
+			l.setText(null);
+			
+		//display TEXT view, which is also shown while an image is still loading
+		} else {
+			String genus = imageName.substring(0, imageName.indexOf(' '));
+			String species = imageName.substring(imageName.indexOf(' ') + 1, period);
+			l.setText("<html>" + genus + "<br>" + species + "</html>");
+			l.setIcon(null);
+		}
 	}
 	
 	/**
@@ -176,7 +361,8 @@ public class Frame extends JFrame{
 			    rnaButton.setBackground(new Color (213, 233, 245));
 			    proteinButton.setBackground(new Color (213, 233, 245));
 			    alignmentButton.setBackground(new Color (213, 233, 245));
-			    selected.clear();											//reset current selection to none
+			    msaButton.setBackground(new Color (213, 233, 245));
+			    clearSelection();											//reset current selection to none
 				};
 	}
 	
@@ -192,7 +378,8 @@ public class Frame extends JFrame{
 			    rnaButton.setBackground(new Color (213, 233, 245));
 			    proteinButton.setBackground(new Color (213, 233, 245));
 			    alignmentButton.setBackground(new Color (213, 233, 245));
-			    selected.clear();											//reset current selection to none
+			    msaButton.setBackground(new Color (213, 233, 245));
+			    clearSelection();											//reset current selection to none
 				};
 	}
 	
@@ -208,7 +395,8 @@ public class Frame extends JFrame{
 			    rnaButton.setBackground(new Color (75, 171, 227));			//changes the button color to indicate the button is selected
 			    proteinButton.setBackground(new Color (213, 233, 245));
 			    alignmentButton.setBackground(new Color (213, 233, 245));
-			    selected.clear();											//reset current selection to none
+			    msaButton.setBackground(new Color (213, 233, 245));
+			    clearSelection();											//reset current selection to none
 				};
 	}
 	
@@ -224,7 +412,8 @@ public class Frame extends JFrame{
 			    rnaButton.setBackground(new Color (213, 233, 245));	
 			    proteinButton.setBackground(new Color (75, 171, 227));		//changes the button color to indicate the button is selected
 			    alignmentButton.setBackground(new Color (213, 233, 245));
-			    selected.clear();											//reset current selection to none
+			    msaButton.setBackground(new Color (213, 233, 245));
+			    clearSelection();											//reset current selection to none
 				};
 	}
 	
@@ -240,7 +429,35 @@ public class Frame extends JFrame{
 			    rnaButton.setBackground(new Color (213, 233, 245));
 			    proteinButton.setBackground(new Color (213, 233, 245));
 			    alignmentButton.setBackground(new Color (75, 171, 227));	//changes the button color to indicate the button is selected
-			    selected.clear();											//reset current selection to none
+			    msaButton.setBackground(new Color (213, 233, 245));
+			    clearSelection();											//reset current selection to none
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that changes the mode to MSA mode, or aligns the selected species if MSA mode is already active
+	 * @return an ActionListener
+	 */
+	public ActionListener createMSAButtonListener () {
+		return event -> {
+			    
+			    //if MSA mode is already active, align the selected species (or every species if none are selected)
+			    if (mode == modeEnum.MSA && selected.size() != 1) {
+			    	try {
+			    		msa();
+			    	} catch (IOException e1) {
+			    		e1.printStackTrace();
+			    	}
+			    	return;
+			    }
+			    mode = modeEnum.MSA;										//changes the mode to MSA mode
+			    infoButton.setBackground(new Color (213, 233, 245));
+			    dnaButton.setBackground(new Color (213, 233, 245));
+			    rnaButton.setBackground(new Color (213, 233, 245));
+			    proteinButton.setBackground(new Color (213, 233, 245));
+			    alignmentButton.setBackground(new Color (213, 233, 245));
+			    msaButton.setBackground(new Color (75, 171, 227));			//changes the button color to indicate the button is selected
+			    clearSelection();											//reset current selection to none
 				};
 	}
 	
@@ -254,13 +471,145 @@ public class Frame extends JFrame{
 				};
 	}
 	
+	/**
+	 * Creates an ActionListener that builds phylogenetic trees of every species
+	 * @return an ActionListener
+	 */
+	public ActionListener createPhylogenyMenuListener () {
+		return event -> {
+			    try {
+			    	phylogeny();
+			    } catch (IOException e1) {
+			    	e1.printStackTrace();
+			    }
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that writes the sequence statistics tables
+	 * @return an ActionListener
+	 */
+	public ActionListener createStatisticsMenuListener () {
+		return event -> {
+			    try {
+			    	statistics();
+			    } catch (IOException e1) {
+			    	e1.printStackTrace();
+			    }
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that searches for motifs
+	 * @return an ActionListener
+	 */
+	public ActionListener createMotifMenuListener () {
+		return event -> {
+			    try {
+			    	motifs();
+			    } catch (IOException e1) {
+			    	e1.printStackTrace();
+			    }
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that scans every species with a query
+	 * @return an ActionListener
+	 */
+	public ActionListener createScanMenuListener () {
+		return event -> {
+			    try {
+			    	scan();
+			    } catch (IOException e1) {
+			    	e1.printStackTrace();
+			    }
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that finds a primer in every species
+	 * @return an ActionListener
+	 */
+	public ActionListener createFindMenuListener () {
+		return event -> {
+			    try {
+			    	find();
+			    } catch (IOException e1) {
+			    	e1.printStackTrace();
+			    }
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that sweeps the alignment parameters
+	 * @return an ActionListener
+	 */
+	public ActionListener createSweepMenuListener () {
+		return event -> {
+			    try {
+			    	sweep();
+			    } catch (IOException e1) {
+			    	e1.printStackTrace();
+			    }
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that opens the sequence editor on the two selected species
+	 * @return an ActionListener
+	 */
+	public ActionListener createEditMenuListener () {
+		return event -> {
+			    try {
+			    	editAndRealign();
+			    } catch (IOException e1) {
+			    	e1.printStackTrace();
+			    }
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that displays the performance metrics
+	 * @return an ActionListener
+	 */
+	public ActionListener createMetricsMenuListener () {
+		return event -> {
+			    metrics();
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that queues alignment jobs
+	 * @return an ActionListener
+	 */
+	public ActionListener createQueueMenuListener () {
+		return event -> {
+			    try {
+			    	queueAlignments();
+			    } catch (IOException e1) {
+			    	e1.printStackTrace();
+			    }
+				};
+	}
+	
+	/**
+	 * Creates an ActionListener that displays the job queue
+	 * @return an ActionListener
+	 */
+	public ActionListener createJobsMenuListener () {
+		return event -> {
+			    jobs();
+				};
+	}
+	
 	/**
 	 * Displays a popup that prompts the user to set the match, mismatch, indel, and reading frame parameters
 	 */
 	public void params() {
 		
-		//inner panel that holds the four parameter fields
-		JPanel innerPanel = new JPanel(new GridLayout(4, 1));				
+		//inner panel that holds the eight parameter fields
+		JPanel innerPanel = new JPanel(new GridLayout(8, 1));				
 		innerPanel.setBorder(new EmptyBorder(20, 20, 5, 20));
 		
 		//text field to take user input for match
@@ -294,11 +643,45 @@ public class Frame extends JFrame{
 		JLabel frameLabel = new JLabel("Reading frame");
 		frameLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
 		String[] options = {"1", "2", "3", "4", "5", "6"};
-		JComboBox frameComboBox = new JComboBox(options);							
+		JComboBox<String> frameComboBox = new JComboBox<String>(options);							
 		frameComboBox.setSelectedItem(((Integer)readingFrame).toString());
 		frameComboBox.setEditable(true);
 		frameComboBox.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
 		
+		//combo box to display choices for alignment type
+		JLabel typeLabel = new JLabel("Alignment type");
+		typeLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		String[] types = {"Nucleotide", "Protein", "Translated (codon)"};
+		JComboBox<String> typeComboBox = new JComboBox<String>(types);
+		typeComboBox.setSelectedIndex(alignmentType.ordinal());
+		typeComboBox.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		
+		//combo box to display choices for substitution matrix
+		JLabel matrixLabel = new JLabel("Substitution matrix");
+		matrixLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		String[] matrices = {"BLOSUM62", "PAM250"};
+		JComboBox<String> matrixComboBox = new JComboBox<String>(matrices);
+		matrixComboBox.setSelectedItem(matrixName);
+		matrixComboBox.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		
+		//text field to take user input for gap open
+		JLabel openLabel = new JLabel("Gap open penalty");
+		openLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JTextField openTextField = new JTextField();
+		openTextField.setText("" + gapOpen);
+		openTextField.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		openTextField.setBorder(BorderFactory.createCompoundBorder(openTextField.getBorder(), 
+				BorderFactory.createEmptyBorder(0, 5, 0, 0)));
+		
+		//text field to take user input for gap extension
+		JLabel extendLabel = new JLabel("Gap extension penalty");
+		extendLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JTextField extendTextField = new JTextField();
+		extendTextField.setText("" + gapExtend);
+		extendTextField.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		extendTextField.setBorder(BorderFactory.createCompoundBorder(extendTextField.getBorder(), 
+				BorderFactory.createEmptyBorder(0, 5, 0, 0)));
+		
 		//panel of parameter labels and fields
 		innerPanel.add(matchLabel);
 		innerPanel.add(matchTextField);
@@ -308,6 +691,14 @@ public class Frame extends JFrame{
 		innerPanel.add(indelTextField);
 		innerPanel.add(frameLabel);
 		innerPanel.add(frameComboBox);
+		innerPanel.add(typeLabel);
+		innerPanel.add(typeComboBox);
+		innerPanel.add(matrixLabel);
+		innerPanel.add(matrixComboBox);
+		innerPanel.add(openLabel);
+		innerPanel.add(openTextField);
+		innerPanel.add(extendLabel);
+		innerPanel.add(extendTextField);
 		
 		JLabel promptText = new JLabel("Set parameters for pairwise alignment");
 		promptText.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
@@ -315,7 +706,7 @@ public class Frame extends JFrame{
 		
 		//main panel for popup
 		JPanel mainPanel = new JPanel(new BorderLayout());				
-		mainPanel.setPreferredSize(new Dimension(400, 180));
+		mainPanel.setPreferredSize(new Dimension(440, 360));
 		mainPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
 		mainPanel.add(promptText, BorderLayout.NORTH);
 
@@ -332,156 +723,180 @@ public class Frame extends JFrame{
 		mismatch = Integer.parseInt(mismatchTextField.getText());
 		indel = Integer.parseInt(indelTextField.getText());
 		readingFrame = Integer.parseInt((String) frameComboBox.getSelectedItem());
+		alignmentType = alignEnum.values()[typeComboBox.getSelectedIndex()];
+		matrixName = (String) matrixComboBox.getSelectedItem();
+		gapOpen = Integer.parseInt(openTextField.getText());
+		gapExtend = Integer.parseInt(extendTextField.getText());
 	}
 	
 	/**
-	 * Generate text view or photo view of species, handle actions to be performed when a species is selected
+	 * Generate text view or photo view of species. The grid is a list with a shared cell renderer, so only the
+	 * visible cells are painted, and changing the view only changes how the cells are drawn
 	 */
 	public void generateView() {
 		
-		//re-create the main panel every time the view is changed
-		mainPanel = new JPanel(new GridLayout (3,10));								
-		mainPanel.setBorder(BorderFactory.createEmptyBorder(80,80,80,80));
-		
-		//get directory where the species images are stored
-		File dir = new File("src/Images");					
-		File[] images = dir.listFiles();
-		
-		//iterate through every image file in the images directory 
-		for (File i : images) {								
-			
-			//each species is contained within a label
-			JLabel l;		
-
-			//display TEXT view
-			if (view.equals(viewEnum.TEXT)) {
-				
-				//extract the genus and species from the image name
-				String genus = i.getName().substring(0, i.getName().indexOf(' '));
-				int period = i.getName().indexOf('.');
-				String species = i.getName().substring(i.getName().indexOf(' ') + 1, period);
-				
-				//display the species text
-				l = new JLabel("<html>" + genus + "<br>" + species + "</html>");
-				l.setFont(new Font("DejaVu Sans", Font.ITALIC, 25));
-				l.setIcon(null);
-				
-			//display PHOTO view	
-			} else {
-				
-				//get the image icon 
-				ImageIcon image = new ImageIcon("src/Images/" + i.getName());
-				
-				//display the image icon
-				l = new JLabel();
-				l.setIcon(image);
-				l.setText(null);
+		//build the grid and its type-ahead filter once
+		if (speciesList == null) {
+			List<String> imageNames = new ArrayList<String>();
+			List<String> speciesNames = new ArrayList<String>();
+			for (File i : speciesImages()) {
+				imageNames.add(i.getName());
+				speciesNames.add(i.getName().substring(0, i.getName().indexOf('.')));
 			}
+			speciesModel = new SpeciesListModel(imageNames);
+			speciesIndex = new SpeciesIndex(speciesNames);
 			
-			l.setHorizontalAlignment(SwingConstants.CENTER);
+			//shared label that paints every cell, with its font and colors made once rather than on every paint
+			cellLabel = new JLabel();
+			cellLabel.setHorizontalAlignment(SwingConstants.CENTER);
+			cellLabel.setOpaque(true);
+			cellLabel.setFont(new Font("DejaVu Sans", Font.ITALIC, 25));
+			Color selectedColor = new Color(200, 200, 200);
+			Color cellColor = new Color(238,238,238);
 			
-			//listener performs actions when a species label is clicked
-			l.addMouseListener(new MouseAdapter() {
-				
+			//grid of species that wraps to the width of the window
+			speciesList = new JList<String>(speciesModel);
+			speciesList.setLayoutOrientation(JList.HORIZONTAL_WRAP);
+			speciesList.setVisibleRowCount(-1);
+			speciesList.setBackground(new Color(238,238,238));
+			speciesList.setSelectionModel(new DefaultListSelectionModel() {
+				public void setSelectionInterval(int index0, int index1) {}		//selection is tracked in the selected map instead
+				public void addSelectionInterval(int index0, int index1) {}
+			});
+			speciesList.setCellRenderer((list, imageName, index, isSelected, cellHasFocus) -> {
+				showSpecies(cellLabel, imageName);
+				cellLabel.setBackground(selected.containsKey(imageName.substring(0, imageName.indexOf('.'))) ? selectedColor : cellColor);
+				return cellLabel;
+			});
+			
+			//listener performs actions when a species cell is clicked
+			speciesList.addMouseListener(new MouseAdapter() {
 				public void mouseClicked(MouseEvent e) {
-					
-					//re-generate text view or photo view of species
-					if (view.equals(viewEnum.TEXT)) {
-						String genus = i.getName().substring(0, i.getName().indexOf(' '));
-						int period = i.getName().indexOf('.');
-						String species = i.getName().substring(i.getName().indexOf(' ') + 1, period);
-						l.setText("<html>" + genus + "<br>" + species + "</html>");
-						l.setIcon(null);
-					} else {
-						ImageIcon image = new ImageIcon("src/Images/" + i.getName());
-						l.setIcon(image);
-						l.setText(null);
-					}
-					
-					//if the species is already selected, deselect it
-					if(selected.containsKey(l)) {
-						l.setBackground(new Color(238,238,238));		//reset color to indicate it is not selected
-						selected.remove(l);
-						
-					//if the species is not already selected, select it and perform actions	
-					} else {
-						
-						//if no mode is selected, do nothing
-						if (mode == null) {									
-							return;
-						
-						//if a mode is selected, select the species
-						} else {
-							
-							//set color to indicate it is selected
-							l.setOpaque(true);
-							l.setBackground(new Color (200, 200, 200));
-							selected.put(l, i.getName());	
-							
-							//if the mode is INFO mode, invoke the info method
-							if (mode.equals(modeEnum.INFO)) {
-								try {
-									info();
-								} catch (FileNotFoundException e1) {
-									e1.printStackTrace();
-								} catch (IOException e1) {
-									e1.printStackTrace();
-								}
-							
-							//if the mode is ALIGN mode, invoke the alignment method
-							} else if (mode.equals(modeEnum.ALIGN)){
-								
-								//only invoke the alignment method if 2 sequences are selected
-								if (selected.size() == 2) {
-									try {
-										alignment();
-									} catch (IOException e1) {
-										e1.printStackTrace();
-									}
-								}
-							
-							//if the mode is DNA mode, invoke the dna method
-							} else if (mode.equals(modeEnum.DNA)){
-								try {
-									dna();
-								} catch (FileNotFoundException e1) {
-									e1.printStackTrace();
-								} catch (IOException e1) {
-									e1.printStackTrace();
-								}
-								
-							//if the mode is RNA mode, invoke the rna method
-							} else if (mode.equals(modeEnum.RNA)){
-								try {
-									rna();
-								} catch (FileNotFoundException e1) {
-									e1.printStackTrace();
-								} catch (IOException e1) {
-									e1.printStackTrace();
-								}
-							
-							//if the mode is PROTEIN mode, invoke the protein method
-							} else if ((mode.equals(modeEnum.PROTEIN))){
-								try {
-									protein();
-								} catch (FileNotFoundException e1) {
-									e1.printStackTrace();
-								} catch (IOException e1) {
-									e1.printStackTrace();
-								}
-							}
-						}
+					int index = speciesList.locationToIndex(e.getPoint());
+					if (index >= 0 && speciesList.getCellBounds(index, index).contains(e.getPoint())) {
+						speciesClicked(speciesModel.getElementAt(index));
 					}
 				}
-				
 			});
 			
-			//re-add the species to the grid
-			mainPanel.add(l);
+			//text field filters the grid by a prefix of the genus or species name as the user types
+			JLabel filterLabel = new JLabel("Filter");
+			filterLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
+			filterField = new JTextField(20);
+			filterField.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
+			filterField.setToolTipText("Type the start of a genus or species name");
+			filterField.getDocument().addDocumentListener(new DocumentListener() {
+				public void insertUpdate(DocumentEvent e) {
+					speciesModel.show(speciesIndex.match(filterField.getText()));
+				}
+				public void removeUpdate(DocumentEvent e) {
+					speciesModel.show(speciesIndex.match(filterField.getText()));
+				}
+				public void changedUpdate(DocumentEvent e) {
+					speciesModel.show(speciesIndex.match(filterField.getText()));
+				}
+			});
+			JPanel filterPanel = new JPanel();
+			filterPanel.add(filterLabel);
+			filterPanel.add(filterField);
+			
+			//main panel holds the filter above the scrollable grid
+			mainPanel = new JPanel(new BorderLayout());
+			mainPanel.setBorder(BorderFactory.createEmptyBorder(20,80,80,80));
+			mainPanel.add(filterPanel, BorderLayout.NORTH);
+			JScrollPane scrollPane = new JScrollPane(speciesList);
+			scrollPane.setBorder(null);
+			scrollPane.getVerticalScrollBar().setUnitIncrement(20);
+			mainPanel.add(scrollPane, BorderLayout.CENTER);
+			this.add(mainPanel);
 		}
 		
-		//re-add the main panel to the frame
-		this.add(mainPanel);
+		//fixed cell sizes let the list lay out any number of species without measuring them
+		if (view.equals(viewEnum.PHOTO)) {
+			speciesList.setFixedCellWidth(180);
+			speciesList.setFixedCellHeight(180);
+		} else {
+			speciesList.setFixedCellWidth(220);
+			speciesList.setFixedCellHeight(120);
+		}
+		speciesList.revalidate();
+		speciesList.repaint();
+	}
+	
+	/**
+	 * Select or deselect a species that was clicked, and perform the action of the current mode
+	 */
+	public void speciesClicked(String imageName) {
+		String name = imageName.substring(0, imageName.indexOf('.'));
+		
+		//if the species is already selected, deselect it
+		if (selected.containsKey(name)) {
+			selected.remove(name);
+			speciesList.repaint();
+			return;
+		}
+		
+		//if no mode is selected, do nothing
+		if (mode == null) {
+			return;
+		}
+		
+		//select the species, the grid shows it in a darker color
+		selected.put(name, imageName);
+		speciesList.repaint();
+		
+		//if the mode is INFO mode, invoke the info method
+		if (mode.equals(modeEnum.INFO)) {
+			try {
+				info();
+			} catch (FileNotFoundException e1) {
+				e1.printStackTrace();
+			} catch (IOException e1) {
+				e1.printStackTrace();
+			}
+		
+		//if the mode is ALIGN mode, invoke the alignment method
+		} else if (mode.equals(modeEnum.ALIGN)){
+			
+			//only invoke the alignment method if 2 sequences are selected
+			if (selected.size() == 2) {
+				try {
+					alignment();
+				} catch (IOException e1) {
+					e1.printStackTrace();
+				}
+			}
+		
+		//if the mode is DNA mode, invoke the dna method
+		} else if (mode.equals(modeEnum.DNA)){
+			try {
+				dna();
+			} catch (FileNotFoundException e1) {
+				e1.printStackTrace();
+			} catch (IOException e1) {
+				e1.printStackTrace();
+			}
+			
+		//if the mode is RNA mode, invoke the rna method
+		} else if (mode.equals(modeEnum.RNA)){
+			try {
+				rna();
+			} catch (FileNotFoundException e1) {
+				e1.printStackTrace();
+			} catch (IOException e1) {
+				e1.printStackTrace();
+			}
+		
+		//if the mode is PROTEIN mode, invoke the protein method
+		} else if ((mode.equals(modeEnum.PROTEIN))){
+			try {
+				protein();
+			} catch (FileNotFoundException e1) {
+				e1.printStackTrace();
+			} catch (IOException e1) {
+				e1.printStackTrace();
+			}
+		}
 	}
 	
 	/**
@@ -491,44 +906,24 @@ public class Frame extends JFrame{
 	public void info() throws IOException {
 		
 		//get the currently selected species
-		Map.Entry<JLabel, String> species = selected.entrySet().iterator().next();
+		Map.Entry<String, String> species = selected.entrySet().iterator().next();
 		
 		//get the image for the currently selected species
-		ImageIcon image = new ImageIcon(new ImageIcon("src/Images/" + species.getValue()).getImage().getScaledInstance(190,  190, Image.SCALE_SMOOTH));
-
-		//get the species name for the currently selected species
 		int period = species.getValue().indexOf('.');
 		String speciesName = species.getValue().substring(0, period);
+		ImageIcon image = new ImageIcon(new ImageIcon("src/Images/" + species.getValue()).getImage().getScaledInstance(190,  190, Image.SCALE_SMOOTH));
 		
-		//parse through the info file and extract info for the selected species
-		File info = new File("src/Info/Info.txt");
-		BufferedReader br = new BufferedReader(new FileReader(info));
-		String location = "";
-		String discovery = "";
-		String size = "";
-		String color = "";
-		String commonName = "";
-		try {
-			String currentLine = br.readLine();
-			boolean locatedSpecies = false;
-			
-			//while the species has not been encountered, keep parsing
-			while (!locatedSpecies && currentLine != null) {
-				
-				//if the species is found, get the info fields for that species
-				if (currentLine.equals(">" + speciesName)) {
-					location = br.readLine();
-					discovery = br.readLine();
-					size = br.readLine();
-					color = br.readLine();
-					commonName = br.readLine();
-					locatedSpecies = true;
-				}
-				currentLine = br.readLine();
-			}
-		} finally {
-			br.close();
+		//use the info fields the startup loader read, looking them up in the memory-mapped database only if it has not reached this species yet
+		StartupLoader.Species loaded = loader == null ? null : loader.get(speciesName);
+		String[] fields = loaded != null ? loaded.info : SequenceDatabase.open().info(speciesName);
+		if (fields == null) {
+			fields = new String[] {"", "", "", "", ""};
 		}
+		String location = fields[0];
+		String discovery = fields[1];
+		String size = fields[2];
+		String color = fields[3];
+		String commonName = fields[4];
 		
 		JLabel text = new JLabel("<html><i>" + speciesName + "</i><br>" + location + "</br><br>" 
 				+ discovery + "</br><br>" + size + "</br><br>" + color + "</br><br>" + commonName + "</br></html>");
@@ -540,10 +935,7 @@ public class Frame extends JFrame{
 		JOptionPane.showMessageDialog(this, text, "Species Info", JOptionPane.INFORMATION_MESSAGE, image);
 		
 		//deselect species
-		for(JLabel label : selected.keySet()) {
-			label.setBackground(new Color(238,238,238));
-		}
-		selected.clear();
+		clearSelection();
 	}
 	
 	/**
@@ -551,59 +943,31 @@ public class Frame extends JFrame{
 	 * @throws IOException 
 	 * @return dna sequence string
 	 */
+	@SuppressWarnings("try")
 	public String dna() throws IOException {
 		
 		//get the currently selected species
-		Map.Entry<JLabel, String> species = selected.entrySet().iterator().next();
+		Map.Entry<String, String> species = selected.entrySet().iterator().next();
 
 		//get the species name for the currently selected species
 		int period = species.getValue().indexOf('.');
 		String speciesName = species.getValue().substring(0, period);
 		
-		//parse through the sequences file and extract sequence for the selected species
-		File info = new File("src/Info/Sequences.txt");
-		BufferedReader br = new BufferedReader(new FileReader(info));
-		String sequence = "";
-		try {
-			String currentLine = br.readLine();
-			boolean locatedSpecies = false;
-			
-			//while the species has not been encountered, keep parsing
-			while (!locatedSpecies && currentLine != null) {
-				
-				//if the species is found, get the sequence lines for that species
-				if (currentLine.equals(">" + speciesName)) {
-					String currentLineInner = br.readLine();
-					boolean done = false;
-					
-					//keep getting sequence lines for the species until the sequence is done
-					while (!done && currentLineInner != null) {
-						if (!currentLineInner.equals("")) {
-							sequence = sequence + currentLineInner + " ";
-							currentLineInner = br.readLine();
-						} else {
-							done = true;
-						}
-					}
-					locatedSpecies = true;
-				}
-				currentLine = br.readLine();
-			}
-		} finally {
-			br.close();
+		//get the sequence for the selected species from the memory-mapped database
+		String sequence;
+		try (Metrics.Timer timer = Metrics.time("dna")) {
+			sequence = SequenceLibrary.load().get(speciesName);
+		}
+		if (sequence == null) {
+			sequence = "";
 		}
-
-		//remove any spaces or non-ATGC characters from the sequence
-		sequence = sequence.replaceAll("\\s", "");
-		sequence = sequence.replaceAll("[^ATGC]", "");
 		
 		//if the mode is DNA mode, write the dna sequence to a file if it does not already exist
 		if (mode.equals(modeEnum.DNA)){
 			
-			//create a new file for the dna sequence if it does not exist
+			//check whether the file for the dna sequence has already been written
 			String fileNameDNA = "src/Files/" + "DNA " + speciesName + ".txt";
-			File dnaFile = new File(fileNameDNA);
-			boolean canCreateNewFile = dnaFile.createNewFile();
+			boolean canCreateNewFile = !ResultFile.exists(fileNameDNA);
 
 			JLabel text = null;
 			
@@ -611,14 +975,18 @@ public class Frame extends JFrame{
 			if (canCreateNewFile) {
 				
 				//write the dna sequence to the file
-				FileWriter w = new FileWriter(fileNameDNA);
-				int k;
-				for(k = 0; k < sequence.length() - 70; k+=70) {
-					w.write(sequence.substring(k, k + 70));
-					w.write("\n");
+				try (Metrics.Timer writeTimer = Metrics.time("write")) {
+					try (ResultFile w = new ResultFile(fileNameDNA)) {
+						int k;
+						for(k = 0; k < sequence.length() - 70; k+=70) {
+							w.write(sequence.substring(k, k + 70));
+							w.write("\n");
+						}
+						w.write(sequence.substring(k));
+						w.commit();
+					}
+					writeTimer.bytes(new File(fileNameDNA).length());
 				}
-				w.write(sequence.substring(k));
-				w.close();
 				
 				text = new JLabel("DNA file written successfully");
 			
@@ -636,10 +1004,7 @@ public class Frame extends JFrame{
 			JOptionPane.showMessageDialog(this, text, "DNA", JOptionPane.PLAIN_MESSAGE, null);
 		
 			//deselect species
-			for(JLabel label : selected.keySet()) {
-				label.setBackground(new Color(238,238,238));
-			}
-			selected.clear();
+			clearSelection();
 			
 		//if the mode is not DNA mode, the sequence is being used to get an rna or protein sequence	
 		} else {
@@ -658,10 +1023,11 @@ public class Frame extends JFrame{
 	 * @throws IOException 
 	 * @return rna sequence string
 	 */
+	@SuppressWarnings("try")
 	public String rna() throws IOException {
 		
 		//get the currently selected species
-		Map.Entry<JLabel, String> species = selected.entrySet().iterator().next();
+		Map.Entry<String, String> species = selected.entrySet().iterator().next();
 
 		//get the species name for the currently selected species
 		int period = species.getValue().indexOf('.');
@@ -674,21 +1040,22 @@ public class Frame extends JFrame{
 		sequence = dna();
 		
 		//replace every T with U in the dna sequence to get the rna sequence
-		for(int i = 0; i < sequence.length(); i++) {
-			if (sequence.charAt(i) == 'T') {
-				rna = rna + 'U';
-			} else {
-				rna = rna + sequence.charAt(i);
+		try (Metrics.Timer timer = Metrics.time("rna")) {
+			for(int i = 0; i < sequence.length(); i++) {
+				if (sequence.charAt(i) == 'T') {
+					rna = rna + 'U';
+				} else {
+					rna = rna + sequence.charAt(i);
+				}
 			}
 		}
 		
 		//if the mode is RNA mode, write the rna sequence to a file if it does not already exist
 		if (mode.equals(modeEnum.RNA)){
 			
-			//create a new file for the rna sequence if it does not exist
+			//check whether the file for the rna sequence has already been written
 			String fileNameRNA = "src/Files/" + "RNA " + speciesName + ".txt";
-			File rnaFile = new File(fileNameRNA);
-			boolean canCreateNewFile = rnaFile.createNewFile();
+			boolean canCreateNewFile = !ResultFile.exists(fileNameRNA);
 			
 			JLabel text = null;
 			
@@ -696,14 +1063,18 @@ public class Frame extends JFrame{
 			if (canCreateNewFile) {
 				
 				//write the rna sequence to the file
-				FileWriter w = new FileWriter(fileNameRNA);
-				int k;
-				for(k = 0; k < rna.length() - 70; k+=70) {
-					w.write(rna.substring(k, k + 70));
-					w.write("\n");
+				try (Metrics.Timer writeTimer = Metrics.time("write")) {
+					try (ResultFile w = new ResultFile(fileNameRNA)) {
+						int k;
+						for(k = 0; k < rna.length() - 70; k+=70) {
+							w.write(rna.substring(k, k + 70));
+							w.write("\n");
+						}
+						w.write(rna.substring(k));
+						w.commit();
+					}
+					writeTimer.bytes(new File(fileNameRNA).length());
 				}
-				w.write(rna.substring(k));
-				w.close();
 				
 				text = new JLabel("RNA file written successfully");
 			
@@ -721,26 +1092,25 @@ public class Frame extends JFrame{
 			JOptionPane.showMessageDialog(this, text, "RNA", JOptionPane.PLAIN_MESSAGE, null);
 			
 			//deselect species
-			for(JLabel label : selected.keySet()) {
-				label.setBackground(new Color(238,238,238));
-			}
-			selected.clear();
+			clearSelection();
 			
 		//if the mode is not RNA mode, the sequence is being used to get a protein sequence		
 		} else {
 			
-			//if the reading frame is 4, 5, or 6, find the complement
+			//if the reading frame is 4, 5, or 6, find the complement, timed as its own operation so the run is not counted twice as rna
 			if (readingFrame > 3) {
-				rna = "";
-				for(int i = 0; i < sequence.length(); i++) {
-					if (sequence.charAt(i) == 'A') {
-						rna = rna + 'U';
-					} else if (sequence.charAt(i) == 'T') {
-						rna = rna + 'A';
-					} else if (sequence.charAt(i) == 'C') {
-						rna = rna + 'G';
-					} else {
-						rna = rna + 'C';
+				try (Metrics.Timer complementTimer = Metrics.time("complement")) {
+					rna = "";
+					for(int i = 0; i < sequence.length(); i++) {
+						if (sequence.charAt(i) == 'A') {
+							rna = rna + 'U';
+						} else if (sequence.charAt(i) == 'T') {
+							rna = rna + 'A';
+						} else if (sequence.charAt(i) == 'C') {
+							rna = rna + 'G';
+						} else {
+							rna = rna + 'C';
+						}
 					}
 				}
 			}
@@ -753,10 +1123,11 @@ public class Frame extends JFrame{
 	 * Save protein sequence for the currently selected species
 	 * @throws IOException 
 	 */
+	@SuppressWarnings("try")
 	public void protein() throws IOException {
 		
 		//get the currently selected species
-		Map.Entry<JLabel, String> species = selected.entrySet().iterator().next();
+		Map.Entry<String, String> species = selected.entrySet().iterator().next();
 
 		//get the species name for the currently selected species
 		int period = species.getValue().indexOf('.');
@@ -764,7 +1135,6 @@ public class Frame extends JFrame{
 		
 		String rna = "";
 		String protein = "";
-		String currentCodon = "";
 		
 		//get the rna sequence for the species
 		rna = rna();
@@ -777,90 +1147,14 @@ public class Frame extends JFrame{
 			i = readingFrame - 4;
 		}
 		
-		boolean done = false;
-		
-		//parse through the rna sequence to extract codons and select the corresponding amino acid
-		while(!done) {
-			
-			//get the current codon
-			if (i < rna.length() - 3) {
-				currentCodon = rna.substring(i, i + 3);
-			} else {
-				currentCodon = rna.substring(i);
-				done = true;
-			}
-			
-			//test to see which protein is encoded by the codon
-			if (currentCodon.equals("UUU") || currentCodon.equals("UUC")) {
-				protein = protein + 'F';
-			} else if (currentCodon.equals("UUA") || currentCodon.equals("UUG")
-					 || currentCodon.equals("CUU") || currentCodon.equals("CUC")
-					 || currentCodon.equals("CUA") || currentCodon.equals("CUG")) {
-				protein = protein + 'L';
-			} else if (currentCodon.equals("UCU") || currentCodon.equals("UCC")
-					 || currentCodon.equals("UCA") || currentCodon.equals("UCG")
-					 || currentCodon.equals("AGU") || currentCodon.equals("AGC")) {
-				protein = protein + 'S';
-			} else if (currentCodon.equals("UAU") || currentCodon.equals("UAC")) {
-				protein = protein + 'Y';
-			} else if (currentCodon.equals("UGU") || currentCodon.equals("UGC")) {
-				protein = protein + 'C';
-			} else if (currentCodon.equals("UGG")) {
-				protein = protein + 'W';
-			} else if (currentCodon.equals("CCU") || currentCodon.equals("CCC")
-					 || currentCodon.equals("CCA") || currentCodon.equals("CCG")
-					 || currentCodon.equals("CC")) {
-				protein = protein + 'P';
-			} else if (currentCodon.equals("CAU") || currentCodon.equals("CAC")) {
-				protein = protein + 'H';
-			} else if (currentCodon.equals("CAA") || currentCodon.equals("CAG")) {
-				protein = protein + 'Q';
-			} else if (currentCodon.equals("CGU") || currentCodon.equals("CGC")
-					 || currentCodon.equals("CGA") || currentCodon.equals("CGG")
-					 || currentCodon.equals("AGA") || currentCodon.equals("AGG")) {
-				protein = protein + 'R';
-			} else if (currentCodon.equals("AUU") || currentCodon.equals("AUC")
-					 || currentCodon.equals("AUA")) {
-				protein = protein + 'I';
-			} else if (currentCodon.equals("AUG")) {
-				protein = protein + 'M';
-			} else if (currentCodon.equals("ACU") || currentCodon.equals("ACC")
-					 || currentCodon.equals("ACA") || currentCodon.equals("ACG")
-					 || currentCodon.equals("AC")) {
-				protein = protein + 'T';
-			} else if (currentCodon.equals("AAU") || currentCodon.equals("AAC")) {
-				protein = protein + 'N';
-			} else if (currentCodon.equals("AAA") || currentCodon.equals("AAG")) {
-				protein = protein + 'K';
-			} else if (currentCodon.equals("GUU") || currentCodon.equals("GUC")
-					 || currentCodon.equals("GUA") || currentCodon.equals("GUG")
-					 || currentCodon.equals("GU")) {
-				protein = protein + 'V';
-			} else if (currentCodon.equals("GCU") || currentCodon.equals("GCC")
-					 || currentCodon.equals("GCA") || currentCodon.equals("GCG")
-					 || currentCodon.equals("GC")) {
-				protein = protein + 'A';
-			} else if (currentCodon.equals("GAU") || currentCodon.equals("GAC")) {
-				protein = protein + 'D';
-			} else if (currentCodon.equals("GAA") || currentCodon.equals("GAG")) {
-				protein = protein + 'E';
-			} else if (currentCodon.equals("GGU") || currentCodon.equals("GGC")
-					 || currentCodon.equals("GGA") || currentCodon.equals("GGG")
-					 || currentCodon.equals("GG")) {
-				protein = protein + 'G';
-
-			//stop codon	
-			} else if (currentCodon.equals("UAA") || currentCodon.equals("UAG")
-					 || currentCodon.equals("UGA")) {
-				protein = protein + '-';
-			}
-			i+=3;
+		//look up the amino acid encoded by every codon, stop codons are written as '-'
+		try (Metrics.Timer timer = Metrics.time("protein")) {
+			protein = Translator.translateTranscript(rna, i).replace('*', '-');
 		}
 		
-		//create a new file for the protein sequence if it does not exist
+		//check whether the file for the protein sequence has already been written
 		String fileNameProtein = "src/Files/" + "Protein " + readingFrame + " " + speciesName + ".txt";
-		File proteinFile = new File(fileNameProtein);
-		boolean canCreateNewFile = proteinFile.createNewFile();
+		boolean canCreateNewFile = !ResultFile.exists(fileNameProtein);
 		
 		JLabel text = null;
 		
@@ -868,14 +1162,18 @@ public class Frame extends JFrame{
 		if (canCreateNewFile) {
 			
 			//write the protein sequence to the file
-			FileWriter w = new FileWriter(fileNameProtein);
-			int k;
-			for(k = 0; k < protein.length() - 70; k+=70) {
-				w.write(protein.substring(k, k + 70));
-				w.write("\n");
+			try (Metrics.Timer writeTimer = Metrics.time("write")) {
+				try (ResultFile w = new ResultFile(fileNameProtein)) {
+					int k;
+					for(k = 0; k < protein.length() - 70; k+=70) {
+						w.write(protein.substring(k, k + 70));
+						w.write("\n");
+					}
+					w.write(protein.substring(k));
+					w.commit();
+				}
+				writeTimer.bytes(new File(fileNameProtein).length());
 			}
-			w.write(protein.substring(k));
-			w.close();
 			
 			text = new JLabel("Protein file written successfully");
 		
@@ -893,10 +1191,7 @@ public class Frame extends JFrame{
 		JOptionPane.showMessageDialog(this, text, "Protein", JOptionPane.PLAIN_MESSAGE, null);
 		
 		//deselect species
-		for(JLabel label : selected.keySet()) {
-			label.setBackground(new Color(238,238,238));
-		}
-		selected.clear();
+		clearSelection();
 	}
 	
 	/**
@@ -906,14 +1201,14 @@ public class Frame extends JFrame{
 	public void alignment() throws IOException {
 		
 		//use an iterator to get both selected sequences
-		Iterator<Entry<JLabel, String>> iter = selected.entrySet().iterator();
+		Iterator<Entry<String, String>> iter = selected.entrySet().iterator();
 		
 		//get the first currently selected species
-		Map.Entry<JLabel, String> species1 = iter.next();
+		Map.Entry<String, String> species1 = iter.next();
 		BufferedImage image1 = ImageIO.read(new File("src/Images/" + species1.getValue()));
 		
 		//get the second currently selected species
-		Map.Entry<JLabel, String> species2 = iter.next();
+		Map.Entry<String, String> species2 = iter.next();
 		BufferedImage image2 = ImageIO.read(new File("src/Images/" + species2.getValue()));
 		
 		//get the images for the currently selected species
@@ -932,76 +1227,36 @@ public class Frame extends JFrame{
 		int period2 = species2.getValue().indexOf('.');
 		String speciesName2 = species2.getValue().substring(0, period2);
 		
-		//parse through the sequences file and extract the sequences for the selected species
-		File info = new File("src/Info/Sequences.txt");
-		BufferedReader br = new BufferedReader(new FileReader(info));
-		String sequence1 = "";
-		String sequence2 = "";
-		try {
-			String currentLine = br.readLine();
-			boolean locatedSpecies1 = false;
-			boolean locatedSpecies2 = false;
-			
-			//while the species have not been encountered, keep parsing
-			while ((!locatedSpecies1 || !locatedSpecies2) && currentLine != null) {
-				
-				//if the first species is found, get the sequence lines for that species
-				if (currentLine.equals(">" + speciesName1)) {
-					String currentLineInner = br.readLine();
-					boolean done = false;
-					
-					//keep getting sequence lines for the first species until the sequence is done
-					while (!done && currentLineInner != null) {
-						if (!currentLineInner.equals("")) {
-							sequence1 = sequence1 + currentLineInner + " ";
-							currentLineInner = br.readLine();
-						} else {
-							done = true;
-						}
-					}
-					locatedSpecies1 = true;
-				}
-				
-				//if the second species is found, get the sequence lines for that species
-				if (currentLine.equals(">" + speciesName2)) {
-					String currentLineInner = br.readLine();
-					boolean done = false;
-					
-					//keep getting sequence lines for the second species until the sequence is done
-					while (!done && currentLineInner != null) {
-						if (!currentLineInner.equals("")) {
-							sequence2 = sequence2 + currentLineInner + " ";
-							currentLineInner = br.readLine();
-						} else {
-							done = true;
-						}
-						
-					}
-					locatedSpecies2 = true;
-				}
-				currentLine = br.readLine();
-			}
-		} finally {
-			br.close();
+		//if the alignment type is protein, align the translations instead of the dna sequences
+		if (alignmentType.equals(alignEnum.PROTEIN)) {
+			proteinAlignment(speciesName1, speciesName2, image);
+			return;
 		}
 		
-		//remove any spaces or non-ATGC characters from the first sequence
-		sequence1 = sequence1.replaceAll("\\s", "");
-		sequence1 = sequence1.replaceAll("[^ATGC]", "");
+		//if the alignment type is translated, align the translations and map them back to codons
+		if (alignmentType.equals(alignEnum.CODON)) {
+			translatedAlignment(speciesName1, speciesName2, image);
+			return;
+		}
 		
-		//remove any spaces or non-ATGC characters from the first sequence
-		sequence2 = sequence2.replaceAll("\\s", "");
-		sequence2 = sequence2.replaceAll("[^ATGC]", "");
+		//get the sequences for the selected species from the memory-mapped database
+		SequenceLibrary library = SequenceLibrary.load();
+		String sequence1 = library.get(speciesName1);
+		String sequence2 = library.get(speciesName2);
+		if (sequence1 == null) {
+			sequence1 = "";
+		}
+		if (sequence2 == null) {
+			sequence2 = "";
+		}
 		
-		//create a new file for the global alignment if it does not exist
+		//check whether the file for the global alignment has already been written
 		String fileNameGlobal = "src/Files/" + "Global Alignment " + match + " " + mismatch + " " + indel + " " + speciesName1 + " and " + speciesName2 + ".txt";
-		File globalFile = new File(fileNameGlobal);
-		boolean canCreateNewFileG = globalFile.createNewFile();
+		boolean canCreateNewFileG = !ResultFile.exists(fileNameGlobal);
 		
-		//create a new file for the local alignment if it does not exist
+		//check whether the file for the local alignment has already been written
 		String fileNameLocal = "src/Files/" + "Local Alignment " + match + " " + mismatch + " " + indel + " " + speciesName1 + " and " + speciesName2 + ".txt";
-		File localFile = new File(fileNameLocal);
-		boolean canCreateNewFileL = localFile.createNewFile();
+		boolean canCreateNewFileL = !ResultFile.exists(fileNameLocal);
 		
 		//get global and local alignment results, write alignment to files if they do not already exist
 		int[] alignmentResult = pairwise(sequence1, sequence2, fileNameGlobal, fileNameLocal, canCreateNewFileG, canCreateNewFileL);
@@ -1023,338 +1278,945 @@ public class Frame extends JFrame{
 		}
 		
 		JLabel text = new JLabel("<html>Pairwise alignment between <i>" + speciesName1 
-				+ "</i> (left) and <i>" + speciesName2 + "</i> (right)<br>Algorithm: Needleman-Wunsch</br>"
-				+ "<br>Global Alignment Score: " + alignmentResult[0]
-				+ "</br><br>Local Alignment Score: " + alignmentResult[1] + "</br><br>" + alignmentWrittenG 
+				+ "</i> (left) and <i>" + speciesName2 + "</i> (right)"
+				+ "<br>Global Alignment Score: " + alignmentResult[0] + "</br><br>Global Engine: " + globalResult.plan
+				+ "</br><br>Local Alignment Score: " + alignmentResult[1] + "</br><br>Local Engine: " + localResult.plan + "</br><br>" + alignmentWrittenG 
 				+ "</br><br>" + alignmentWrittenL + "</br><html>");
 		text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
 		
 		//create popup dialog box to display alignment results and indicate whether the files were written
 		JDialog.setDefaultLookAndFeelDecorated(true);
 		UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
-		JOptionPane.showMessageDialog(this, text, "Pairwise Alignment", JOptionPane.INFORMATION_MESSAGE, image);
-		
+		String[] options = {"OK", "View Global Alignment", "View Local Alignment", "Top Local Alignments", "Dot Plot", "Significance"};
+		int choice = JOptionPane.showOptionDialog(this, text, "Pairwise Alignment", JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, image, options, options[0]);
+
+		//open the paged viewer on the chosen alignment, tracing it back first if only its score was computed
+		AlignmentPlanner planner = new AlignmentPlanner(match, mismatch, indel);
+		if (choice == 1) {
+			if (globalResult.transcript == null) {
+				globalResult = planner.global(sequence1, sequence2, true);
+			}
+			AlignmentViewer.show(this, "Global Alignment", globalResult.transcript, speciesName1, speciesName2);
+		} else if (choice == 2) {
+			if (localResult.transcript == null) {
+				localResult = planner.local(sequence1, sequence2, true);
+			}
+			AlignmentViewer.show(this, "Local Alignment", localResult.transcript, speciesName1, speciesName2);
+		} else if (choice == 3) {
+			topLocalAlignments(sequence1, sequence2, speciesName1, speciesName2);
+		} else if (choice == 4) {
+			DotPlotViewer.show(this, "Dot Plot", sequence1, sequence2, speciesName1, speciesName2);
+		} else if (choice == 5) {
+			significance(sequence1, sequence2, speciesName1, speciesName2);
+		}
+
 		//deselect species
-		for(JLabel label : selected.keySet()) {
-			label.setBackground(new Color(238,238,238));
-		}		
-		selected.clear();
+		clearSelection();
 	}
 	
 	/**
-	 * Perform global and local pairwise alignment for two species, write alignments to files
-	 * @throws IOException 
-	 * @return int array containing global and local alignment scores
+	 * Prompt for a number of alignments, then on a background thread find that many of the best local alignments sharing
+	 * no aligned pair and save them to a file, and offer to view any one of them
 	 */
-	public int[] pairwise(String s1, String s2, String fileNameGlobal, String fileNameLocal, boolean canCreateNewFileG, boolean canCreateNewFileL) throws IOException {
-		int[] scores = new int[2];
-		
-		//get the global and local alignment scores
-		scores[0] = globalAlignment(s1, s2);
-		scores[1] = localAlignment(s1,s2);
-		
-		//write the alignments to files if they do not already exist
-		if (canCreateNewFileG) {
-			saveGlobalAlignment(s1, s2, fileNameGlobal);
+	public void topLocalAlignments(String sequence1, String sequence2, String speciesName1, String speciesName2) {
+		
+		//spinner to take user input for the number of alignments
+		JLabel countLabel = new JLabel("Number of alignments");
+		countLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(5, 1, 100, 1));
+		countSpinner.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JPanel innerPanel = new JPanel(new GridLayout(2, 1));
+		innerPanel.setBorder(new EmptyBorder(20, 20, 5, 20));
+		innerPanel.add(countLabel);
+		innerPanel.add(countSpinner);
+		if (JOptionPane.showConfirmDialog(this, innerPanel, "Top Local Alignments", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+			return;
 		}
-		if (canCreateNewFileL) {
-			saveLocalAlignment(s1, s2, fileNameLocal);
+		int count = (Integer) countSpinner.getValue();
+		TopLocalAligner aligner = new TopLocalAligner(match, mismatch, indel);
+		String fileName = "src/Files/" + "Top " + count + " Local Alignments " + match + " " + mismatch + " " + indel + " " + speciesName1 + " and " + speciesName2 + ".txt";
+		
+		//fill the grid once, then refill only around each masked alignment, off the event dispatch thread
+		new SwingWorker<List<TopLocalAligner.Alignment>, Void>() {
+			String written;
+			
+			protected List<TopLocalAligner.Alignment> doInBackground() throws IOException {
+				List<TopLocalAligner.Alignment> alignments = aligner.align(sequence1, sequence2, count).alignments;
+				written = writeIfNew(fileName, TopLocalAligner.toText(alignments, speciesName1, speciesName2)) 
+						? "Top local alignments file written successfully" : "Top local alignments file already exists";
+				return alignments;
+			}
+
+			protected void done() {
+				List<TopLocalAligner.Alignment> alignments;
+				try {
+					alignments = get();
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Top Local Alignments", JOptionPane.ERROR_MESSAGE);
+					return;
+				}
+				
+				//list the ranked alignments with their coordinates, and let the user pick one to view
+				String[] ranks = new String[alignments.size()];
+				StringBuilder table = new StringBuilder("Rank\tScore\t" + speciesName1 + "\t" + speciesName2 + "\n");
+				for (TopLocalAligner.Alignment alignment : alignments) {
+					ranks[alignment.rank - 1] = "#" + alignment.rank + " (score " + alignment.score + ")";
+					table.append(alignment.rank).append('\t').append(alignment.score).append('\t').append(alignment.start1).append('-').append(alignment.end1)
+							.append('\t').append(alignment.start2).append('-').append(alignment.end2).append('\n');
+				}
+				JTextArea report = new JTextArea(table + "\n" + written, Math.min(20, alignments.size() + 3), 50);
+				report.setEditable(false);
+				report.setFont(new Font("DejaVu Sans Mono", Font.PLAIN, 16));
+				JComboBox<String> rankComboBox = new JComboBox<String>(ranks);
+				rankComboBox.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+				JPanel reportPanel = new JPanel(new BorderLayout(0, 10));
+				reportPanel.add(new JScrollPane(report), BorderLayout.CENTER);
+				reportPanel.add(rankComboBox, BorderLayout.SOUTH);
+				
+				//create popup dialog box to display the alignments and indicate whether the file was written
+				String[] options = {"OK", "View Alignment"};
+				int choice = JOptionPane.showOptionDialog(Frame.this, reportPanel, "Top Local Alignments", JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, options, options[0]);
+				if (choice == 1 && rankComboBox.getSelectedIndex() >= 0) {
+					TopLocalAligner.Alignment alignment = alignments.get(rankComboBox.getSelectedIndex());
+					AlignmentViewer.show(Frame.this, "Local Alignment #" + alignment.rank, alignment.transcript, speciesName1, speciesName2);
+				}
+			}
+		}.execute();
+	}
+	
+	/**
+	 * Prompt for a number of shuffles, then on a background thread estimate how significant the global and local scores
+	 * are against dinucleotide shuffles of the second sequence, and save the estimates to a file
+	 */
+	public void significance(String sequence1, String sequence2, String speciesName1, String speciesName2) {
+		
+		//spinner to take user input for the number of shuffles
+		JLabel countLabel = new JLabel("Number of shuffles");
+		countLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(500, 100, Significance.MAX_SHUFFLES, 100));
+		countSpinner.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JPanel innerPanel = new JPanel(new GridLayout(2, 1));
+		innerPanel.setBorder(new EmptyBorder(20, 20, 5, 20));
+		innerPanel.add(countLabel);
+		innerPanel.add(countSpinner);
+		if (JOptionPane.showConfirmDialog(this, innerPanel, "Significance", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+			return;
 		}
-		return scores;
+		int shuffles = (Integer) countSpinner.getValue();
+		Significance significance = new Significance(match, mismatch, indel, shuffles, 1);
+		String fileName = "src/Files/" + "Significance " + shuffles + " " + match + " " + mismatch + " " + indel + " " + speciesName1 + " and " + speciesName2 + ".txt";
+		
+		//align the first sequence against every shuffle in parallel and fit the shuffled scores, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
+				String report = Significance.toText(significance.estimate(sequence1, sequence2), speciesName1, speciesName2);
+				return report + (writeIfNew(fileName, report) ? "Significance file written successfully" : "Significance file already exists");
+			}
+
+			protected void done() {
+				try {
+					
+					//show the estimates and indicate whether the file was written
+					JTextArea text = new JTextArea(get(), 16, 60);
+					text.setEditable(false);
+					text.setFont(new Font("DejaVu Sans Mono", Font.PLAIN, 16));
+					JOptionPane.showMessageDialog(Frame.this, new JScrollPane(text), "Significance", JOptionPane.PLAIN_MESSAGE);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Significance", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+		}.execute();
 	}
 	
 	/**
-	 * Perform global pairwise alignment for two species using Needleman-Wunsch algorithm
+	 * On a background thread, save global and local protein alignments of the translations of two species, using a
+	 * substitution matrix and affine gaps
 	 * @throws IOException 
-	 * @return global alignment score
 	 */
-	public int globalAlignment(String s1, String s2) {
-		
-		//initialize first column
-		gridGlobal = new int[s1.length()+1][s2.length()+1];
-		int n = 0;
-		for (int i = 0; i < gridGlobal[0].length; i++) {
-			gridGlobal[0][i] = n;
-			n+=indel;
-		}
+	public void proteinAlignment(String speciesName1, String speciesName2, ImageIcon image) throws IOException {
+		int frame = readingFrame;
+		String matrix = matrixName;
+		ProteinAligner aligner = new ProteinAligner(SubstitutionMatrix.named(matrix), gapOpen, gapExtend);
+		String parameters = matrix + " " + gapOpen + " " + gapExtend + " " + frame + " " + speciesName1 + " and " + speciesName2 + ".txt";
+		
+		//translate and align the proteins, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
+				
+				//translate both sequences in the current reading frame
+				SequenceLibrary library = SequenceLibrary.load();
+				String protein1 = Translator.translate(library.get(speciesName1), frame);
+				String protein2 = Translator.translate(library.get(speciesName2), frame);
+				
+				//align the proteins globally and locally
+				ProteinAligner.Result global = aligner.global(protein1, protein2);
+				ProteinAligner.Result local = aligner.local(protein1, protein2);
+				
+				//create new files for the alignments if they do not exist
+				String globalWritten = writeIfNew("src/Files/" + "Protein Global Alignment " + parameters, formatAlignment(global.aligned1, global.aligned2)) 
+						? "Global alignment file written successfully" : "Global alignment file already exists";
+				String localWritten = writeIfNew("src/Files/" + "Protein Local Alignment " + parameters, formatAlignment(local.aligned1, local.aligned2)) 
+						? "Local alignment file written successfully" : "Local alignment file already exists";
+				return "<html>Protein alignment between <i>" + speciesName1 
+						+ "</i> (left) and <i>" + speciesName2 + "</i> (right)<br>Algorithm: Gotoh, " + matrix + "</br>"
+						+ "<br>Global Alignment Score: " + global.score + " (" + global.identities() + " identities)"
+						+ "</br><br>Local Alignment Score: " + local.score + " (" + local.identities() + " identities)</br><br>" + globalWritten 
+						+ "</br><br>" + localWritten + "</br><html>";
+			}
 
-		//initialize first row
-		n = 0;
-		for (int i = 0; i < gridGlobal.length; i++) {
-			gridGlobal[i][0] = n;
-			n+=indel;
-		}
-		
-		int north;
-		int west;
-		int northwest;
+			protected void done() {
+				try {
+					JLabel text = new JLabel(get());
+					text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
+					
+					//create popup dialog box to display alignment results and indicate whether the files were written
+					JDialog.setDefaultLookAndFeelDecorated(true);
+					UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+					JOptionPane.showMessageDialog(Frame.this, text, "Protein Alignment", JOptionPane.INFORMATION_MESSAGE, image);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Protein Alignment", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+		}.execute();
 		
-		//fill out the global alignment grid
-		for (int i = 1; i < gridGlobal.length; i++) {
-			for (int j = 1; j < gridGlobal[0].length; j++) {
+		//deselect species
+		clearSelection();
+	}
+	
+	/**
+	 * On a background thread, save global and local codon alignments of two species, aligned in protein space and mapped
+	 * back to dna
+	 * @throws IOException 
+	 */
+	public void translatedAlignment(String speciesName1, String speciesName2, ImageIcon image) throws IOException {
+		int frame = readingFrame;
+		String matrix = matrixName;
+		ProteinAligner proteinAligner = new ProteinAligner(SubstitutionMatrix.named(matrix), gapOpen, gapExtend);
+		TranslatedAligner aligner = new TranslatedAligner(proteinAligner, translations);
+		String parameters = matrix + " " + gapOpen + " " + gapExtend + " " + frame + " " + speciesName1 + " and " + speciesName2 + ".txt";
+		
+		//align the translations and map them back to codons, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
 				
-				//north cell plus indel penalty
-				north = gridGlobal[i][j-1] + indel;
+				//get the dna sequences, translations are reused from the cache
+				SequenceLibrary library = SequenceLibrary.load();
+				String sequence1 = library.get(speciesName1);
+				String sequence2 = library.get(speciesName2);
 				
-				//west cell plus indel penalty
-				west = gridGlobal[i-1][j] + indel;
+				//align the translations globally and locally, then map the alignments back to codons
+				TranslatedAligner.Result global = aligner.align(speciesName1, sequence1, speciesName2, sequence2, frame, false);
+				TranslatedAligner.Result local = aligner.align(speciesName1, sequence1, speciesName2, sequence2, frame, true);
 				
-				//northwest cell plus match or mismatch
-				if (s1.charAt(i-1)==s2.charAt(j-1)) {
-					northwest = gridGlobal[i-1][j-1] + match;
-				} else {
-					northwest = gridGlobal[i-1][j-1] + mismatch;
+				//create new files for the alignments if they do not exist
+				String globalWritten = writeIfNew("src/Files/" + "Codon Global Alignment " + parameters, formatAlignment(global.dna1, global.dna2)) 
+						? "Global alignment file written successfully" : "Global alignment file already exists";
+				String localWritten = writeIfNew("src/Files/" + "Codon Local Alignment " + parameters, formatAlignment(local.dna1, local.dna2)) 
+						? "Local alignment file written successfully" : "Local alignment file already exists";
+				return "<html>Translated alignment between <i>" + speciesName1 
+						+ "</i> (left) and <i>" + speciesName2 + "</i> (right)<br>Algorithm: Gotoh on translations, " + matrix + "</br>"
+						+ "<br>Global Alignment Score: " + global.protein.score + " (" + global.protein.identities() + " identical codons)"
+						+ "</br><br>Local Alignment Score: " + local.protein.score + " (" + local.protein.identities() + " identical codons)</br><br>" + globalWritten 
+						+ "</br><br>" + localWritten + "</br><html>";
+			}
+
+			protected void done() {
+				try {
+					JLabel text = new JLabel(get());
+					text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
+					
+					//create popup dialog box to display alignment results and indicate whether the files were written
+					JDialog.setDefaultLookAndFeelDecorated(true);
+					UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+					JOptionPane.showMessageDialog(Frame.this, text, "Translated Alignment", JOptionPane.INFORMATION_MESSAGE, image);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Translated Alignment", JOptionPane.ERROR_MESSAGE);
 				}
-				
-				//assign current cell to maximum between the north, west, and northwest values
-				gridGlobal[i][j] = Math.max(Math.max(north, west), northwest);
 			}
-		}
+		}.execute();
 		
-		//get the alignment score (bottom right corner of grid)
-		return gridGlobal[gridGlobal.length-1][gridGlobal[0].length-1];
+		//deselect species
+		clearSelection();
 	}
 	
 	/**
-	 * Perform local pairwise alignment for two species using Needleman-Wunsch algorithm
+	 * Format two aligned sequences in blocks of 70 columns, the same layout as the nucleotide alignment files
+	 * @return formatted alignment text
+	 */
+	public String formatAlignment(String a1, String a2) {
+		StringBuilder sb = new StringBuilder();
+		int k;
+		for(k = 0; k < a1.length() - 70; k+=70) {
+			sb.append(a1, k, k + 70).append("\n");
+			sb.append(a2, k, k + 70).append("\n\n");
+		}
+		sb.append(a1.substring(k)).append("\n");
+		sb.append(a2.substring(k));
+		return sb.toString();
+	}
+	
+	/**
+	 * On a background thread, save a progressive multiple sequence alignment of the currently selected species, or of every species if none are selected
 	 * @throws IOException 
-	 * @return local alignment score
 	 */
-	public int localAlignment(String s1, String s2) {
+	public void msa() throws IOException {
 		
-		//initialize first column with zeros
-		gridLocal = new int[s1.length()+1][s2.length()+1];
-		for (int i = 0; i < gridLocal[0].length; i++) {
-			gridLocal[0][i] = 0;
+		//get the names of the selected species to align, or every species if none are selected
+		List<String> selectedNames = new ArrayList<String>();
+		for (String fileName : selected.values()) {
+			selectedNames.add(fileName.substring(0, fileName.indexOf('.')));
 		}
+		MultipleAlignment aligner = new MultipleAlignment(match, mismatch, indel, false);
+		String parameters = match + " " + mismatch + " " + indel + " ";
 		
-		//initialize first row with zeros
-		for (int i = 0; i < gridLocal.length; i++) {
-			gridLocal[i][0] = 0;
-		}
+		//build the guide tree and align the profiles, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
+				
+				//parse the sequences file once
+				SequenceLibrary library = SequenceLibrary.load();
+				List<String> names = selectedNames.isEmpty() ? library.names() : selectedNames;
+				
+				//use the memory-bounded profile DP when the full traceback grid would be large
+				long longest = 0;
+				for (String name : names) {
+					longest = Math.max(longest, library.get(name).length());
+				}
+				aligner.linearSpace = longest * longest > 50000000L;
+				String[] aligned = aligner.align(library, names);
+				
+				//create new files for the alignment if they do not exist
+				String fileName = "src/Files/" + "Multiple Alignment " + parameters + names.size() + " species";
+				String fastaWritten = writeIfNew(fileName + ".fasta", MultipleAlignment.toFasta(names, aligned)) 
+						? "FASTA alignment file written successfully" : "FASTA alignment file already exists";
+				String clustalWritten = writeIfNew(fileName + ".aln", MultipleAlignment.toClustal(names, aligned)) 
+						? "Clustal alignment file written successfully" : "Clustal alignment file already exists";
+				return "<html>Multiple alignment of " + names.size() + " species<br>Algorithm: progressive, UPGMA guide tree</br>"
+						+ "<br>Alignment length: " + aligned[0].length() + "</br><br>" + fastaWritten + "</br><br>" + clustalWritten + "</br></html>";
+			}
+
+			protected void done() {
+				try {
+					JLabel text = new JLabel(get());
+					text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
+					
+					//create popup dialog box to display alignment results and indicate whether the files were written
+					JDialog.setDefaultLookAndFeelDecorated(true);
+					UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+					JOptionPane.showMessageDialog(Frame.this, text, "Multiple Alignment", JOptionPane.INFORMATION_MESSAGE, null);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Multiple Alignment", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+		}.execute();
 		
-		int north;
-		int west;
-		int northwest;
+		//deselect species
+		clearSelection();
+	}
+	
+	/**
+	 * Perform global and local pairwise alignment for two species, write alignments to files. The planner picks the cheapest
+	 * exact engine for each, and only traces an alignment back when its file has to be written
+	 * @throws IOException 
+	 * @return int array containing global and local alignment scores
+	 */
+	public int[] pairwise(String s1, String s2, String fileNameGlobal, String fileNameLocal, boolean canCreateNewFileG, boolean canCreateNewFileL) throws IOException {
+		AlignmentPlanner planner = new AlignmentPlanner(match, mismatch, indel);
+		globalResult = planner.global(s1, s2, canCreateNewFileG);
+		localResult = planner.local(s1, s2, canCreateNewFileL);
 		
-		//fill out the local alignment grid
-		for (int i = 1; i < gridLocal.length; i++) {
-			for (int j = 1; j < gridLocal[0].length; j++) {
-				
-				//north cell plus indel penalty
-				north = gridLocal[i][j-1] + indel;
+		//write the alignments to files if they do not already exist
+		if (canCreateNewFileG) {
+			writeTranscript(fileNameGlobal, globalResult.transcript);
+		}
+		if (canCreateNewFileL) {
+			writeTranscript(fileNameLocal, localResult.transcript);
+		}
+		return new int[] {globalResult.score, localResult.score};
+	}
+	
+	/**
+	 * On a background thread, build UPGMA and Neighbor-Joining trees of every species from all-pairs global alignment scores,
+	 * and write the trees in Newick format
+	 * @throws IOException 
+	 */
+	public void phylogeny() throws IOException {
+		
+		//keep the parameters of this request, in case they are changed while it runs
+		int reward = match;
+		int mismatchPenalty = mismatch;
+		int indelPenalty = indel;
+		String suffix = match + " " + mismatch + " " + indel + ".txt";
+		String fileNameMatrix = "src/Files/" + "Distance Matrix " + suffix;
+		String fileNameUPGMA = "src/Files/" + "Tree UPGMA " + suffix;
+		String fileNameNJ = "src/Files/" + "Tree NJ " + suffix;
+		
+		//compute the distance matrix and both trees, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
 				
-				//west cell plus indel penalty
-				west = gridLocal[i-1][j] + indel;
+				//parse the sequences file once and compute the distance matrix for every pair in parallel
+				SequenceLibrary library = SequenceLibrary.load();
+				List<String> names = library.names();
+				double[][] distances = Phylogeny.distanceMatrix(library, names, reward, mismatchPenalty, indelPenalty);
 				
-				//northwest cell plus match or mismatch
-				if (s1.charAt(i-1)==s2.charAt(j-1)) {
-					northwest = gridLocal[i-1][j-1] + match;
-				} else {
-					northwest = gridLocal[i-1][j-1] + mismatch;
+				//write the distance matrix and both trees if they do not already exist
+				String matrixWritten = writeIfNew(fileNameMatrix, Phylogeny.toPhylip(names, distances)) 
+						? "Distance matrix file written successfully" : "Distance matrix file already exists";
+				String upgmaWritten = writeIfNew(fileNameUPGMA, Phylogeny.toNewick(Phylogeny.upgma(names, distances))) 
+						? "UPGMA tree file written successfully" : "UPGMA tree file already exists";
+				String njWritten = writeIfNew(fileNameNJ, Phylogeny.toNewick(Phylogeny.neighborJoining(names, distances))) 
+						? "Neighbor-Joining tree file written successfully" : "Neighbor-Joining tree file already exists";
+				return "<html>Phylogeny of " + names.size() + " species<br>Algorithms: UPGMA, Neighbor-Joining</br>"
+						+ "<br>" + matrixWritten + "</br><br>" + upgmaWritten + "</br><br>" + njWritten + "</br></html>";
+			}
+
+			protected void done() {
+				try {
+					JLabel text = new JLabel(get());
+					text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
+					
+					//create popup dialog box to indicate whether the files were written
+					JDialog.setDefaultLookAndFeelDecorated(true);
+					UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+					JOptionPane.showMessageDialog(Frame.this, text, "Phylogeny", JOptionPane.PLAIN_MESSAGE, null);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Phylogeny", JOptionPane.ERROR_MESSAGE);
 				}
+			}
+		}.execute();
+	}
+	
+	/**
+	 * On a background thread, save GC content, dinucleotide, codon usage, and k-mer tables for every species
+	 * @throws IOException 
+	 */
+	public void statistics() throws IOException {
+		int k = 4;
+		String fileNameSummary = "src/Files/" + "Sequence Statistics.txt";
+		String fileNameCodons = "src/Files/" + "Codon Usage.txt";
+		String fileNameKmers = "src/Files/" + "K-mer Counts " + k + ".txt";
+		
+		//compute and write the tables, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
+				
+				//parse the sequences file once and compute the statistics of every species in parallel
+				SequenceLibrary library = SequenceLibrary.load();
+				List<String> names = library.names();
+				List<SequenceStatistics.Stats> stats = SequenceStatistics.computeAll(library, names, k);
 				
-				//assign current cell to maximum between the north, west, and northwest values
-				gridLocal[i][j] = Math.max(Math.max(north, west), northwest);
+				//write the tables if they do not already exist
+				String summaryWritten = writeIfNew(fileNameSummary, SequenceStatistics.toSummaryTable(stats)) 
+						? "Summary file written successfully" : "Summary file already exists";
+				String codonsWritten = writeIfNew(fileNameCodons, SequenceStatistics.toCodonUsageTable(stats)) 
+						? "Codon usage file written successfully" : "Codon usage file already exists";
+				String kmersWritten = writeIfNew(fileNameKmers, SequenceStatistics.toKmerTable(stats)) 
+						? "K-mer file written successfully" : "K-mer file already exists";
+				return "<html>Statistics of " + names.size() + " species<br>GC content, GC skew, dinucleotides, codon usage, " + k + "-mers</br>"
+						+ "<br>" + summaryWritten + "</br><br>" + codonsWritten + "</br><br>" + kmersWritten + "</br></html>";
 			}
-		}
-		
-		//get the alignment score (maximum cell value in grid)
-		int score = Integer.MIN_VALUE;
-		for (int i = 1; i < gridLocal.length; i++) {
-			for (int j = 1; j < gridLocal[0].length; j++) {
-				score = Math.max(score, gridLocal[i][j]);
+
+			protected void done() {
+				try {
+					JLabel text = new JLabel(get());
+					text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
+					
+					//create popup dialog box to indicate whether the files were written
+					JDialog.setDefaultLookAndFeelDecorated(true);
+					UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+					JOptionPane.showMessageDialog(Frame.this, text, "Sequence Statistics", JOptionPane.PLAIN_MESSAGE, null);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Sequence Statistics", JOptionPane.ERROR_MESSAGE);
+				}
 			}
-		}
-		return score;
+		}.execute();
 	}
 	
 	/**
-	 * Trace backwards through the global pairwise alignment grid to build the alignment
+	 * Prompt for motifs, then on a background thread search every species for them in one pass each, and save the hits to a file
 	 * @throws IOException 
 	 */
-	public void saveGlobalAlignment(String s1, String s2, String fileNameGlobal) throws IOException {
+	public void motifs() throws IOException {
 		
-		//strings to hold the alignment for each sequence
-		a1Global = "";
-		a2Global = "";
+		//inner panel that holds the motif fields
+		JPanel innerPanel = new JPanel(new GridLayout(4, 1));
+		innerPanel.setBorder(new EmptyBorder(20, 20, 5, 20));
 		
-		//flags to determine whether the alignment has reached index 0 of the sequences
-		boolean doneA1 = false;
-		boolean doneA2 = false;
+		//text field to take user input for the motifs
+		JLabel motifLabel = new JLabel("Motifs (comma separated)");
+		motifLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JTextField motifTextField = new JTextField();
+		motifTextField.setText("SSGSTGXPKG");
+		motifTextField.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		motifTextField.setBorder(BorderFactory.createCompoundBorder(motifTextField.getBorder(), 
+				BorderFactory.createEmptyBorder(0, 5, 0, 0)));
 		
-		//start at the bottom right cell of the grid
-		int i = gridGlobal.length - 1;
-		int j = gridGlobal[0].length - 1;
+		//combo box to display choices for motif type
+		JLabel typeLabel = new JLabel("Motif type");
+		typeLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		String[] types = {"Protein (six frames)", "DNA (both strands, IUPAC)"};
+		JComboBox<String> typeComboBox = new JComboBox<String>(types);
+		typeComboBox.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
 		
-		//initialize north, west, and northwest values
-		int north = Integer.MIN_VALUE;
-		int west = Integer.MIN_VALUE;
-		int northwest = Integer.MIN_VALUE;
+		innerPanel.add(motifLabel);
+		innerPanel.add(motifTextField);
+		innerPanel.add(typeLabel);
+		innerPanel.add(typeComboBox);
 		
-		//while at least one alignment string is still being built, keep building the alignment
-		while(!doneA2 && !doneA1) {
-			
-			//if the second alignment string is still being built, check if the path arrow points to the north 
-			if (!doneA2) {
-				
-				north = gridGlobal[i][j-1] + indel;
-				if (gridGlobal[i][j] == north) {
-					
-					//append an indel to the first alignment string and the sequence character to the second alignment string
-					a1Global = "-" + a1Global;
-					a2Global = "" + s2.charAt(j-1) + a2Global;
-					j = j - 1;
-				}
+		//create popup dialog box
+		JDialog.setDefaultLookAndFeelDecorated(true);
+		UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+		if (JOptionPane.showConfirmDialog(this, innerPanel, "Motif Search", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+			return;
+		}
+		
+		//get the motifs, ignoring blanks
+		List<String> motifs = new ArrayList<String>();
+		for (String motif : motifTextField.getText().split(",")) {
+			if (!motif.trim().isEmpty()) {
+				motifs.add(motif.trim().toUpperCase());
 			}
-			
-			//if the first alignment string is still being built, check if the path arrow points to the west
-			if (!doneA1) {
-				
-				west = gridGlobal[i-1][j] + indel;
-				if (gridGlobal[i][j] == west) {
+		}
+		if (motifs.isEmpty()) {
+			return;
+		}
+		boolean protein = typeComboBox.getSelectedIndex() == 0;
+		
+		String fileName = "src/Files/" + "Motif Search " + (protein ? "Protein " : "DNA ") + fileSafe(String.join(" ", motifs)) + ".txt";
+		
+		//compile the motifs into one automaton and scan every species, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
+				List<MotifSearch.Hit> hits = new Analysis(SequenceLibrary.load(), translations).motifSearch(motifs, protein);
+				String written = writeIfNew(fileName, MotifSearch.toTable(hits)) 
+						? "Motif hits file written successfully" : "Motif hits file already exists";
+				return "<html>" + hits.size() + " hits for " + motifs.size() + " motifs<br>" + written + "</br></html>";
+			}
+
+			protected void done() {
+				try {
+					JLabel text = new JLabel(get());
+					text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
 					
-					//append the sequence character to the first alignment string and an indel to the second alignment string
-					a1Global = "" + s1.charAt(i-1) + a1Global;
-					a2Global = "-" + a2Global;
-					i = i - 1;
+					//create popup dialog box to indicate whether the file was written
+					JOptionPane.showMessageDialog(Frame.this, text, "Motif Search", JOptionPane.PLAIN_MESSAGE, null);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Motif Search", JOptionPane.ERROR_MESSAGE);
 				}
 			}
-			
-			//if both alignment strings are still being built, check if the path arrow points to the northwest
-			if (!doneA1 && !doneA2) {
+		}.execute();
+	}
+	
+	/**
+	 * Prompt for a primer or probe, then on a background thread find its exact occurrences on both strands of every
+	 * species through the substring index, and save them to a file
+	 * @throws IOException 
+	 */
+	public void find() throws IOException {
+		
+		//create popup dialog box to take user input for the primer
+		JDialog.setDefaultLookAndFeelDecorated(true);
+		UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+		JLabel primerLabel = new JLabel("Primer or probe (dna or rna)");
+		primerLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		String pattern = JOptionPane.showInputDialog(this, primerLabel, "Primer Search", JOptionPane.PLAIN_MESSAGE);
+		if (pattern == null || pattern.trim().isEmpty()) {
+			return;
+		}
+		
+		//look the primer up in the index, building the index the first time, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
+				List<MotifSearch.Hit> hits = FMIndex.open().locate(pattern);
+				String primer = FMIndex.clean(pattern);
 				
-				if (s1.charAt(i-1)==s2.charAt(j-1)) {
-					northwest = gridGlobal[i-1][j-1] + match;
-				} else {
-					northwest = gridGlobal[i-1][j-1] + mismatch;
+				//count the species that have the primer on either strand
+				Set<String> species = new LinkedHashSet<String>();
+				for (MotifSearch.Hit hit : hits) {
+					species.add(hit.record);
 				}
 				
-				if (gridGlobal[i][j] == northwest) {
+				String fileName = "src/Files/" + "Primer Search " + primer + ".txt";
+				String written = writeIfNew(fileName, MotifSearch.toTable(hits)) 
+						? "Primer hits file written successfully" : "Primer hits file already exists";
+				return "<html>" + hits.size() + " occurrences in " + species.size() + " species<br>" + written + "</br></html>";
+			}
+
+			protected void done() {
+				try {
+					JLabel text = new JLabel(get());
+					text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
 					
-					//append the sequence character to the first alignment string and the sequence character to the second alignment string
-					a1Global = "" + s1.charAt(i-1) + a1Global;
-					a2Global = "" + s2.charAt(j-1) + a2Global;
-					i = i - 1;
-					j = j - 1;
+					//create popup dialog box to indicate whether the file was written
+					JOptionPane.showMessageDialog(Frame.this, text, "Primer Search", JOptionPane.PLAIN_MESSAGE, null);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Primer Search", JOptionPane.ERROR_MESSAGE);
 				}
 			}
-			
-			//if the i index is zero, the first sequence is done being parsed
-			if (i == 0) {
-				doneA1 = true; 
+		}.execute();
+	}
+	
+	/**
+	 * Prompt for a query sequence, prefilled with the selected species if there is one, then on a background thread rank
+	 * every species by its local alignment score against it with the current match, mismatch, and indel parameters
+	 * @throws IOException 
+	 */
+	public void scan() throws IOException {
+		
+		//use the selected species as the query if exactly one is selected
+		String queryName = null;
+		String query = "";
+		SequenceLibrary library = SequenceLibrary.load();
+		if (selected.size() == 1) {
+			String imageFile = selected.values().iterator().next();
+			queryName = imageFile.substring(0, imageFile.indexOf('.'));
+			query = library.get(queryName);
+		}
+		
+		//text area to take user input for the query
+		JLabel queryLabel = new JLabel("Query sequence (dna, rna, or FASTA)");
+		queryLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		JTextArea queryTextArea = new JTextArea(query, 8, 60);
+		queryTextArea.setLineWrap(true);
+		queryTextArea.setFont(new Font("DejaVu Sans Mono", Font.PLAIN, 16));
+		JPanel innerPanel = new JPanel(new BorderLayout(0, 10));
+		innerPanel.setBorder(new EmptyBorder(20, 20, 5, 20));
+		innerPanel.add(queryLabel, BorderLayout.NORTH);
+		innerPanel.add(new JScrollPane(queryTextArea), BorderLayout.CENTER);
+		
+		//create popup dialog box
+		JDialog.setDefaultLookAndFeelDecorated(true);
+		UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+		if (JOptionPane.showConfirmDialog(this, innerPanel, "Database Scan", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+			return;
+		}
+		String text = queryTextArea.getText();
+		if (!text.equals(query)) {
+			queryName = null;
+		}
+		DatabaseScan scan;
+		try {
+			scan = new DatabaseScan(text, match, mismatch, indel);
+		} catch (IllegalArgumentException e) {
+			JOptionPane.showMessageDialog(this, e.getMessage(), "Database Scan", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		String fileName = "src/Files/" + "Database Scan " + match + " " + mismatch + " " + indel + " "
+				+ (queryName != null ? queryName : "Query " + Integer.toHexString(scan.query.hashCode())) + ".txt";
+		
+		//score every species against the query profile in parallel, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
+				String table = DatabaseScan.toTable(scan.scanAll(library, library.names()));
+				return table + "\n" + (writeIfNew(fileName, table) ? "Scan results file written successfully" : "Scan results file already exists");
 			}
-			
-			//if the j index is zero, the second sequence is done being parsed
-			if (j == 0) {
-				doneA2 = true;
+
+			protected void done() {
+				try {
+					JTextArea report = new JTextArea(get(), 20, 70);
+					report.setEditable(false);
+					report.setFont(new Font("DejaVu Sans Mono", Font.PLAIN, 16));
+					
+					//create popup dialog box to display the ranked hits
+					JOptionPane.showMessageDialog(Frame.this, new JScrollPane(report), "Database Scan", JOptionPane.PLAIN_MESSAGE, null);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Database Scan", JOptionPane.ERROR_MESSAGE);
+				}
 			}
-		}
+		}.execute();
 		
-		//write the alignment sequences to a file if it does not already exist
-		FileWriter w = new FileWriter(fileNameGlobal);
-		int k;
-		for(k = 0; k < a1Global.length() - 70; k+=70) {
-			w.write(a1Global.substring(k, k + 70));
-			w.write("\n");
-			w.write(a2Global.substring(k, k + 70));
-			w.write("\n\n");
+		//deselect species
+		clearSelection();
+	}
+	
+	/**
+	 * Get the image file of every species from the database index, listing the images directory only if the database is unavailable
+	 * @return image files
+	 */
+	public File[] speciesImages() {
+		try {
+			SequenceDatabase database = SequenceDatabase.open();
+			List<File> images = new ArrayList<File>();
+			for (int r = 0; r < database.size(); r++) {
+				if (!database.image(r).isEmpty()) {
+					images.add(new File("src/Images", database.image(r)));
+				}
+			}
+			if (!images.isEmpty()) {
+				return images.toArray(new File[0]);
+			}
+		} catch (IOException e1) {
+			e1.printStackTrace();
 		}
-		w.write(a1Global.substring(k));
-		w.write("\n");
-		w.write(a2Global.substring(k));
-		w.close();
+		return new File("src/Images").listFiles();
 	}
 	
 	/**
-	 * Trace backwards through the local pairwise alignment grid to build the alignment
+	 * Display the per-operation timings and counters collected since the app started
+	 */
+	public void metrics() {
+		JTextArea report = new JTextArea(Metrics.report());
+		report.setEditable(false);
+		report.setFont(new Font("DejaVu Sans Mono", Font.PLAIN, 16));
+		
+		//create popup dialog box to display the metrics
+		JDialog.setDefaultLookAndFeelDecorated(true);
+		UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+		JOptionPane.showMessageDialog(this, new JScrollPane(report), "Performance Metrics", JOptionPane.PLAIN_MESSAGE, null);
+	}
+
+	/**
+	 * Prompt for ranges of match, mismatch, and indel values, then on a background thread align every pair of selected species under every combination
+	 * in parallel, and save a table of scores and identities that marks where the optimal alignment changes
 	 * @throws IOException 
 	 */
-	public void saveLocalAlignment(String s1, String s2, String fileNameLocal) throws IOException {
-		
-		//strings to hold the alignment for each sequence
-		a1Local = "";
-		a2Local = "";
-		
-		//flag to determine whether the alignment has reached the threshold
-		boolean done = false;
-		
-		//initialize indices, north, west, and northwest values
-		int i = Integer.MIN_VALUE;
-		int j = Integer.MIN_VALUE;
-		int north = Integer.MIN_VALUE;
-		int west = Integer.MIN_VALUE;
-		int northwest = Integer.MIN_VALUE;
-		int score = Integer.MIN_VALUE;
-		
-		//find the maximum cell value in the grid and find its indices
-		for (int k = 1; k < gridLocal.length; k++) {
-			for (int m = 1; m < gridLocal[0].length; m++) {
-				if (score <= gridLocal[k][m]) {
-					score = gridLocal[k][m];
-					i = k;
-					j = m;
-				}
+	public void sweep() throws IOException {
+		if (selected.size() < 2) {
+			JOptionPane.showMessageDialog(this, "Select two or more species to sweep", "Parameter Sweep", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		
+		//inner panel that holds the three range fields
+		JPanel innerPanel = new JPanel(new GridLayout(7, 1));
+		innerPanel.setBorder(new EmptyBorder(20, 20, 5, 20));
+		JLabel hintLabel = new JLabel("Values or ranges, e.g. 1..3 or -4,-2");
+		hintLabel.setFont(new Font("DejaVu Sans", Font.ITALIC, 16));
+		innerPanel.add(hintLabel);
+		String[] labels = {"Match rewards", "Mismatch penalties", "Indel penalties"};
+		String[] defaults = {"1..3", "-3..-1", "-4..-1"};
+		JTextField[] rangeTextFields = new JTextField[3];
+		for (int r = 0; r < 3; r++) {
+			JLabel rangeLabel = new JLabel(labels[r]);
+			rangeLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+			rangeTextFields[r] = new JTextField();
+			rangeTextFields[r].setText(defaults[r]);
+			rangeTextFields[r].setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+			rangeTextFields[r].setBorder(BorderFactory.createCompoundBorder(rangeTextFields[r].getBorder(), 
+					BorderFactory.createEmptyBorder(0, 5, 0, 0)));
+			innerPanel.add(rangeLabel);
+			innerPanel.add(rangeTextFields[r]);
+		}
+		
+		//create popup dialog box
+		JDialog.setDefaultLookAndFeelDecorated(true);
+		UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+		if (JOptionPane.showConfirmDialog(this, innerPanel, "Parameter Sweep", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+			return;
+		}
+		
+		//every pair of selected species
+		List<String> names = new ArrayList<String>();
+		for (String imageFile : selected.values()) {
+			names.add(imageFile.substring(0, imageFile.indexOf('.')));
+		}
+		List<String[]> pairs = new ArrayList<String[]>();
+		for (int a = 0; a < names.size(); a++) {
+			for (int b = a + 1; b < names.size(); b++) {
+				pairs.add(new String[] {names.get(a), names.get(b)});
 			}
 		}
 		
-		//while the threshold has not been reached, keep building the alignment
-		while(!done) {
-			
-			//check if the path arrow points to the north 
-			north = gridLocal[i][j-1] + indel;
-			if (gridLocal[i][j] == north) {
-				
-				//append an indel to the first alignment string and the sequence character to the second alignment string
-				a1Local = "-" + a1Local;
-				a2Local = "" + s2.charAt(j-1) + a2Local;
-				j = j - 1;
+		//read the ranges before starting, so a typo is reported right away
+		int[] matches;
+		int[] mismatches;
+		int[] indels;
+		try {
+			matches = ParameterSweep.values(rangeTextFields[0].getText());
+			mismatches = ParameterSweep.values(rangeTextFields[1].getText());
+			indels = ParameterSweep.values(rangeTextFields[2].getText());
+		} catch (IllegalArgumentException e) {
+			JOptionPane.showMessageDialog(this, e.getMessage(), "Parameter Sweep", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		Analysis analysis = new Analysis(SequenceLibrary.load(), translations);
+		String fileName = "src/Files/" + "Parameter Sweep " + rangeTextFields[0].getText().trim() + " " + rangeTextFields[1].getText().trim() + " "
+				+ rangeTextFields[2].getText().trim() + " " + (names.size() == 2 ? names.get(0) + " and " + names.get(1) : names.size() + " Species " 
+				+ Integer.toHexString(names.hashCode())) + ".txt";
+		
+		//align every pair under every combination in parallel, off the event dispatch thread
+		new SwingWorker<String, Void>() {
+			protected String doInBackground() throws IOException {
+				String table = ParameterSweep.toTable(analysis.sweep(pairs, matches, mismatches, indels));
+				return table + "\n" + (writeIfNew(fileName, table) ? "Parameter sweep file written successfully" : "Parameter sweep file already exists");
 			}
-			
-			//check if the path arrow points to the west
-			west = gridLocal[i-1][j] + indel;
-			if (gridLocal[i][j] == west) {
-				
-				//append the sequence character to the first alignment string and an indel to the second alignment string
-				a1Local = "" + s1.charAt(i-1) + a1Local;
-				a2Local = "-" + a2Local;
-				i = i - 1;
+
+			protected void done() {
+				try {
+					JTextArea report = new JTextArea(get(), 20, 80);
+					report.setEditable(false);
+					report.setFont(new Font("DejaVu Sans Mono", Font.PLAIN, 16));
+					
+					//create popup dialog box to display the table
+					JOptionPane.showMessageDialog(Frame.this, new JScrollPane(report), "Parameter Sweep", JOptionPane.PLAIN_MESSAGE, null);
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					JOptionPane.showMessageDialog(Frame.this, cause.getMessage(), "Parameter Sweep", JOptionPane.ERROR_MESSAGE);
+				}
 			}
-			
-			//check if the path arrow points to the northwest
-			if (s1.charAt(i-1)==s2.charAt(j-1)) {
-				northwest = gridLocal[i-1][j-1] + match;
-			} else {
-				northwest = gridLocal[i-1][j-1] + mismatch;
+		}.execute();
+		
+		//deselect species
+		clearSelection();
+	}
+
+	/**
+	 * Open an editor on the first of two selected species that realigns it globally with the second after each edit,
+	 * refilling only the rows around the edit, and offers to view or save the edited alignment
+	 * @throws IOException 
+	 */
+	public void editAndRealign() throws IOException {
+		if (selected.size() != 2) {
+			JOptionPane.showMessageDialog(this, "Select two species to edit and realign", "Edit and Re-align", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		List<String> names = new ArrayList<String>();
+		for (String imageFile : selected.values()) {
+			names.add(imageFile.substring(0, imageFile.indexOf('.')));
+		}
+		SequenceLibrary library = SequenceLibrary.load();
+		String sequence1 = library.get(names.get(0));
+		String sequence2 = library.get(names.get(1));
+		SequenceEditor.show(this, sequence1 == null ? "" : sequence1, sequence2 == null ? "" : sequence2, names.get(0), names.get(1));
+		
+		//deselect species
+		clearSelection();
+	}
+
+	/**
+	 * Queue global and local alignments of every pair of selected species, or of every pair of species if fewer than two
+	 * are selected, with the current alignment type and parameters; the jobs run in the background and survive restarts
+	 * @throws IOException
+	 */
+	public void queueAlignments() throws IOException {
+		if (jobQueue == null) {
+			JOptionPane.showMessageDialog(this, "The job queue is still opening or could not be opened", "Queue Alignments", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+
+		//get the names of the species to compare
+		List<String> names = new ArrayList<String>();
+		if (selected.size() < 2) {
+			names.addAll(SequenceLibrary.load().names());
+		} else {
+			for (String imageFile : selected.values()) {
+				names.add(imageFile.substring(0, imageFile.indexOf('.')));
 			}
-			if (gridLocal[i][j] == northwest) {
-				
-				//append the sequence character to the first alignment string and the sequence character to the second alignment string
-				a1Local = "" + s1.charAt(i-1) + a1Local;
-				a2Local = "" + s2.charAt(j-1) + a2Local;
-				i = i - 1;
-				j = j - 1;
+		}
+
+		//one job per pair, of the alignment type chosen in the parameters
+		List<JobQueue.Job> batch = new ArrayList<JobQueue.Job>();
+		for (int a = 0; a < names.size(); a++) {
+			for (int b = a + 1; b < names.size(); b++) {
+				if (alignmentType.equals(alignEnum.NUCLEOTIDE)) {
+					batch.add(JobQueue.Job.nucleotide(names.get(a), names.get(b), match, mismatch, indel));
+				} else {
+					batch.add(JobQueue.Job.protein(names.get(a), names.get(b), matrixName, gapOpen, gapExtend, readingFrame, alignmentType.equals(alignEnum.CODON)));
+				}
 			}
-			
-			//if the i index is zero, the j index is 0, or the cell value is negative, the stop threshold is met
-			if (i == 0 || j == 0 || (gridLocal[i][j] < 0)) {
-				done = true;
+		}
+		jobQueue.submit(batch);
+
+		JLabel text = new JLabel("<html>Queued " + batch.size() + " " + alignmentType.name().toLowerCase() + " alignments of " + names.size()
+				+ " species<br>Jobs run on " + jobQueue.workerCount + " workers and resume if the app is closed</br>"
+				+ "<br>Results are written to src/Files</br><html>");
+		text.setFont(new Font("DejaVu Sans", Font.PLAIN, 20));
+
+		//create popup dialog box to indicate the jobs were queued
+		JDialog.setDefaultLookAndFeelDecorated(true);
+		UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+		JOptionPane.showMessageDialog(this, text, "Queue Alignments", JOptionPane.PLAIN_MESSAGE, null);
+
+		//deselect species
+		clearSelection();
+	}
+
+	/**
+	 * Display how many queued jobs are pending, running, done, and failed, followed by every job that is not done
+	 */
+	public void jobs() {
+		StringBuilder sb = new StringBuilder();
+		if (jobQueue == null) {
+			sb.append("The job queue is still opening or could not be opened");
+		} else {
+			int[] counts = jobQueue.counts();
+			sb.append(String.format("Pending %d   Running %d   Done %d   Failed %d%n%n", counts[0], counts[1], counts[2], counts[3]));
+			for (JobQueue.Job job : jobQueue.unfinished()) {
+				sb.append(job).append('\n');
 			}
 		}
-		
-		//write the alignment sequences to a file if it does not already exist
-		FileWriter w = new FileWriter(fileNameLocal);
-		int k;
-		for(k = 0; k < a1Local.length() - 70; k+=70) {
-			w.write(a1Local.substring(k, k + 70));
-			w.write("\n");
-			w.write(a2Local.substring(k, k + 70));
-			w.write("\n\n");
+		JTextArea report = new JTextArea(sb.toString(), 20, 80);
+		report.setEditable(false);
+		report.setFont(new Font("DejaVu Sans Mono", Font.PLAIN, 16));
+
+		//create popup dialog box to display the queue
+		JDialog.setDefaultLookAndFeelDecorated(true);
+		UIManager.put("InternalFrame.titleFont", new FontUIResource("DejaVu Sans", Font.PLAIN, 20));
+		JOptionPane.showMessageDialog(this, new JScrollPane(report), "Job Queue", JOptionPane.PLAIN_MESSAGE, null);
+	}
+
+	/**
+	 * Stream an alignment into a file one block at a time; the file only appears once it is complete
+	 * @throws IOException 
+	 */
+	public void writeTranscript(String fileName, EditTranscript transcript) throws IOException {
+		try (Metrics.Timer timer = Metrics.time("write")) {
+			try (ResultFile w = new ResultFile(fileName)) {
+				transcript.write(w);
+				w.commit();
+			}
+			timer.bytes(new File(fileName).length());
+		}
+	}
+	
+	/**
+	 * Write text to a file atomically if the file does not already exist
+	 * @throws IOException 
+	 * @return true if the file was written
+	 */
+	public boolean writeIfNew(String fileName, String contents) throws IOException {
+		if (ResultFile.exists(fileName)) {
+			return false;
+		}
+		try (Metrics.Timer timer = Metrics.time("write")) {
+			ResultFile.write(fileName, contents);
+			timer.bytes(new File(fileName).length());
+		}
+		return true;
+	}
+
+	/**
+	 * Make user text usable in a file name: characters other than letters, digits, spaces, and dashes become '_', and
+	 * text that had to be changed or shortened gets its hash appended so different inputs keep different names
+	 * @return the text as a file name part
+	 */
+	static String fileSafe(String text) {
+		String safe = text.replaceAll("[^A-Za-z0-9 -]", "_");
+		if (safe.equals(text) && text.length() <= 100) {
+			return text;
 		}
-		w.write(a1Local.substring(k));
-		w.write("\n");
-		w.write(a2Local.substring(k));
-		w.close();
+		return safe.substring(0, Math.min(100, safe.length())) + " " + Integer.toHexString(text.hashCode());
 	}
 	
 }
\ No newline at end of file
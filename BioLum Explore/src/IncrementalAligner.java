@@ -0,0 +1,496 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.TreeMap;
+
+public class IncrementalAligner {
+	static final int MIN_SPACING = 64;						//fewest rows between checkpoints
+	static final long CHECKPOINT_BYTES = Long.getLong("biolum.incremental.checkpointBytes", 64L << 20);	//most bytes the checkpoint rows may hold
+
+	static final byte NORTH = OffHeapAligner.NORTH;
+	static final byte WEST = OffHeapAligner.WEST;
+	static final byte NORTHWEST = OffHeapAligner.NORTHWEST;
+	static final byte REACHED = 16;							//set on refilled cells an optimal path reaches from the previous alignment
+
+	int match;									//match reward
+	int mismatch;								//mismatch penalty
+	int indel;									//indel penalty
+	AlignmentPlanner planner;					//aligns the whole pair the first time, and any prefix or suffix that cannot be reused
+	String s1;									//sequence being edited, along the rows
+	String s2;									//sequence it is aligned with, along the columns
+	int spacing;								//rows between checkpoints
+	TreeMap<Integer, int[]> forward = new TreeMap<Integer, int[]>();	//global scores of s1[0, i) against every prefix of s2, by i
+	TreeMap<Integer, int[]> backward = new TreeMap<Integer, int[]>();	//global scores of the last k bases of s1 against every suffix of s2, by k
+	EditTranscript transcript;					//optimal alignment of the last realignment, null before the first
+	int score;									//its score
+	int cleanPrefix;							//leading bases of s1 not edited since the transcript was built
+	int cleanSuffix;							//trailing bases of s1 not edited since the transcript was built
+	boolean dirty;								//true if s1 was edited since the transcript was built
+
+	/**
+	 * The alignment after a realignment and how much of the grid it refilled
+	 */
+	public static class Result {
+		public int score;						//global alignment score
+		public EditTranscript transcript;		//optimal global alignment
+		public long cells;						//cells filled by this realignment
+		public long gridCells;					//cells of the whole grid, what aligning from scratch fills
+		public boolean reused;					//true if checkpoints and the previous alignment were reused
+
+		/**
+		 * Get the share of the whole grid this realignment filled
+		 * @return cells filled over grid cells
+		 */
+		public double fraction() {
+			return gridCells == 0 ? 0 : (double) cells / gridCells;
+		}
+	}
+
+	/**
+	 * Initializes an aligner for a pair; nothing is filled until the first realignment
+	 * @param s1 sequence that will be edited
+	 * @param s2 sequence it is aligned with
+	 */
+	public IncrementalAligner(String s1, String s2, int match, int mismatch, int indel) {
+		this.s1 = s1;
+		this.s2 = s2;
+		this.match = match;
+		this.mismatch = mismatch;
+		this.indel = indel;
+		this.planner = new AlignmentPlanner(match, mismatch, indel);
+
+		//space the checkpoints so both directions together stay within the checkpoint budget
+		long rows = CHECKPOINT_BYTES / (4L * (s2.length() + 1)) / 2;
+		spacing = (int) Math.max(MIN_SPACING, (s1.length() + rows - 1) / Math.max(1, rows));
+	}
+
+	/**
+	 * Get the sequence being edited, with every edit so far
+	 * @return the current sequence
+	 */
+	public String sequence() {
+		return s1;
+	}
+
+	/**
+	 * Replace s1[from, to) with new bases; fixing a base, inserting, deleting, and trimming an end are all replacements.
+	 * Checkpoints that depend on the replaced bases are dropped, the rest are kept for the next realignment
+	 * @throws IllegalArgumentException if the range is outside the sequence
+	 */
+	public synchronized void edit(int from, int to, String replacement) {
+		if (from < 0 || to < from || to > s1.length()) {
+			throw new IllegalArgumentException("Edit " + (from + 1) + "-" + to + " is outside the sequence of " + s1.length() + " bases");
+		}
+		int n = s1.length();
+		s1 = s1.substring(0, from) + replacement + s1.substring(to);
+		forward.tailMap(from, false).clear();
+		backward.tailMap(n - to, false).clear();
+		cleanPrefix = Math.min(cleanPrefix, from);
+		cleanSuffix = Math.min(cleanSuffix, n - to);
+		dirty = true;
+	}
+
+	/**
+	 * Align the current sequences. The first call aligns the whole pair once, and repair() checkpoints the score rows in
+	 * both directions afterwards; later calls refill only the rows between the last intact forward checkpoint above the
+	 * edits and the first intact backward checkpoint below them, join the two at the bottom row, and keep the parts of the
+	 * previous alignment above and below the refilled rows
+	 * @throws IOException if the planner could not allocate a traceback grid
+	 * @return the alignment and the cells filled
+	 */
+	public synchronized Result realign() throws IOException {
+		int n = s1.length();
+		int m = s2.length();
+		Result result = new Result();
+		result.gridCells = (long) n * m;
+		try (Metrics.Timer timer = Metrics.time("incrementalAlignment")) {
+			if (transcript != null && !dirty) {
+				result.reused = true;
+			} else if (transcript == null || !splice(result)) {
+				align(result);
+			}
+			timer.cells(result.cells);
+		}
+		cleanPrefix = n;
+		cleanSuffix = n;
+		dirty = false;
+		result.score = score;
+		result.transcript = transcript;
+		return result;
+	}
+
+	/**
+	 * Refill the checkpoints the last edits dropped, one block of rows at a time, so the next edit anywhere in the sequence
+	 * only refills the rows around it; meant for idle time between edits, and an edit made meanwhile simply goes first
+	 * @return cells filled
+	 */
+	public long repair() {
+		long cells = 0;
+		try (Metrics.Timer timer = Metrics.time("incrementalRepair")) {
+			while (true) {
+				synchronized (this) {
+					int n = s1.length();
+					int m = s2.length();
+					if (transcript == null) {
+						break;
+					}
+
+					//forward rows below the last intact forward checkpoint
+					int last = forward.lastKey();
+					int next = (last / spacing + 1) * spacing;
+					if (next <= n) {
+						int[] row = forward.get(last);
+						for (int i = last + 1; i <= next; i++) {
+							row = forwardRow(row, s1.charAt(i - 1), i, null, 0);
+						}
+						forward.put(next, row);
+						cells += (long) (next - last) * m;
+						continue;
+					}
+
+					//backward rows above the last intact backward checkpoint
+					last = backward.lastKey();
+					next = (last / spacing + 1) * spacing;
+					if (next <= n) {
+						int[] row = backward.get(last);
+						for (int k = last + 1; k <= next; k++) {
+							row = backwardRow(row, s1.charAt(n - k), k);
+						}
+						backward.put(next, row);
+						cells += (long) (next - last) * m;
+						continue;
+					}
+				}
+				break;
+			}
+			timer.cells(cells);
+		}
+		return cells;
+	}
+
+	/**
+	 * Align the whole pair with the planner, filling the grid once. Checkpoints the edits left intact are kept, and the
+	 * rest are rebuilt by repair() rather than here, so this costs no more than aligning from scratch
+	 * @throws IOException
+	 */
+	void align(Result result) throws IOException {
+		int n = s1.length();
+		int m = s2.length();
+		AlignmentPlanner.Result aligned = planner.global(s1, s2, true);
+		transcript = aligned.transcript;
+		score = aligned.score;
+		result.cells = (aligned.plan.engine == AlignmentPlanner.Engine.LINEAR_SPACE ? 2L : 1L) * n * m;
+		if (forward.isEmpty()) {
+			int[] row = new int[m + 1];
+			for (int j = 0; j <= m; j++) {
+				row[j] = j * indel;
+			}
+			forward.put(0, row);
+		}
+		if (backward.isEmpty()) {
+			int[] row = new int[m + 1];
+			for (int j = 0; j <= m; j++) {
+				row[j] = (m - j) * indel;
+			}
+			backward.put(0, row);
+		}
+	}
+
+	/**
+	 * Refill the rows around the edits with traceback flags, choose where the alignment crosses the bottom row from the
+	 * forward scores plus the intact backward checkpoint, trace back to the top row, and splice the previous alignment's
+	 * prefix and suffix around the new middle where the path meets them. When no optimal path meets the previous alignment
+	 * at an edge, the refilled rows are widened to earlier checkpoints, doubling each time, for as long as that costs less
+	 * than realigning the prefix or suffix
+	 * @throws IOException
+	 * @return false if the rows to refill need more memory than the budget allows
+	 */
+	@SuppressWarnings("try")
+	boolean splice(Result result) throws IOException {
+		int n = s1.length();
+		int m = s2.length();
+		EditTranscript previous = transcript;
+		int shift = n - previous.s1.length();
+		int top = forward.floorKey(cleanPrefix);
+		int suffix = backward.floorKey(cleanSuffix);
+		result.cells = 0;
+		for (int widen = spacing; ; widen *= 2) {
+			int bottom = n - suffix;
+			long bytes = (long) (bottom - top + 1) * (m + 1);
+			if (bytes > AlignmentPlanner.LINEAR_SPACE_CELLS) {
+				return false;
+			}
+			MemoryGovernor.Reservation reservation;
+			try {
+				reservation = MemoryGovernor.shared().reserve(bytes, MemoryGovernor.QUEUE_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for memory");
+			}
+			if (reservation == null) {
+				return false;
+			}
+			try (MemoryGovernor.Reservation held = reservation) {
+				//forward rows from the top checkpoint to the bottom row, checkpointing on the way
+				byte[] flags = new byte[(int) bytes];
+				int[] row = forward.get(top).clone();
+				for (int i = top + 1; i <= bottom; i++) {
+					row = forwardRow(row, s1.charAt(i - 1), i, flags, (long) (i - top) * (m + 1));
+					if (i % spacing == 0) {
+						forward.put(i, row.clone());
+					}
+				}
+				result.cells += (long) (bottom - top) * m;
+
+				//mark the refilled cells an optimal path reaches from a cell the previous alignment passed through in the top row
+				int[] above = columns(previous, top);
+				for (int j = above == null ? m + 1 : above[0]; j <= m && j <= above[1]; j++) {
+					flags[j] |= REACHED;
+				}
+				for (int i = top + 1; i <= bottom; i++) {
+					int offset = (i - top) * (m + 1);
+					for (int j = 0; j <= m; j++) {
+						byte flag = flags[offset + j];
+						if ((j > 0 && (flag & NORTHWEST) != 0 && (flags[offset - m - 2 + j] & REACHED) != 0)
+								|| ((flag & WEST) != 0 && (flags[offset - m - 1 + j] & REACHED) != 0)
+								|| (j > 0 && (flag & NORTH) != 0 && (flags[offset + j - 1] & REACHED) != 0)) {
+							flags[offset + j] = (byte) (flag | REACHED);
+						}
+					}
+				}
+
+				//cross the bottom row where forward plus backward is best; among ties, the cell that keeps the most of the
+				//previous alignment, so the prefix and suffix it would otherwise have to realign are as small as possible
+				int[] below = backward.get(suffix);
+				int[] crossed = columns(previous, bottom - shift);
+				int best = Integer.MIN_VALUE;
+				for (int j = 0; j <= m; j++) {
+					best = Math.max(best, row[j] + below[j]);
+				}
+				int column = -1;
+				long head = 0;
+				long tail = 0;
+				for (int j = 0; j <= m; j++) {
+					if (row[j] + below[j] == best) {
+						boolean reached = (flags[(bottom - top) * (m + 1) + j] & REACHED) != 0;
+						boolean kept = crossed != null && crossed[0] <= j && j <= crossed[1];
+						long before = reached ? 0 : (long) top * j;
+						long after = kept ? 0 : (long) (n - bottom) * (m - j);
+						if (column < 0 || before + after < head + tail) {
+							column = j;
+							head = before;
+							tail = after;
+						}
+					}
+				}
+
+				//widen instead of realigning the prefix or suffix while the wider rows cost less
+				int higher = head > 0 ? forward.floorKey(Math.max(0, top - widen)) : top;
+				int lower = tail > 0 ? backward.floorKey(Math.max(0, suffix - widen)) : suffix;
+				if ((higher < top || lower < suffix) && (long) (n - lower - higher) * m < head + tail) {
+					top = higher;
+					suffix = lower;
+					continue;
+				}
+				score = best;
+
+				//trace the refilled rows back to the top row, staying on reached cells while the current cell is one
+				EditTranscript.Builder middle = new EditTranscript.Builder();
+				int i = bottom;
+				int j = column;
+				while (i > top) {
+					int offset = (i - top) * (m + 1);
+					byte flag = flags[offset + j];
+					boolean reached = (flag & REACHED) != 0;
+					if (j > 0 && (flag & NORTHWEST) != 0 && (!reached || (flags[offset - m - 2 + j] & REACHED) != 0)) {
+						middle.column(s1.charAt(i - 1), s2.charAt(j - 1));
+						i--;
+						j--;
+					} else if ((flag & WEST) != 0 && (!reached || (flags[offset - m - 1 + j] & REACHED) != 0)) {
+						middle.add(EditTranscript.DELETION);
+						i--;
+					} else {
+						middle.add(EditTranscript.INSERTION);
+						j--;
+					}
+				}
+				EditTranscript reversed = middle.buildReversed(s1, s2, top, j);
+
+				//the previous alignment is optimal to and from every cell it passes through above and below the edits
+				EditTranscript.Builder spliced = new EditTranscript.Builder();
+				if (!prefix(previous, top, j, spliced)) {
+					spliced.append(planner.global(s1.substring(0, top), s2.substring(0, j), true).transcript);
+					result.cells += (long) top * j;
+				}
+				spliced.append(reversed);
+				if (!suffix(previous, bottom - shift, column, spliced)) {
+					spliced.append(planner.global(s1.substring(bottom), s2.substring(column), true).transcript);
+					result.cells += (long) (n - bottom) * (m - column);
+				}
+				transcript = spliced.build(s1, s2, 0, 0);
+				result.reused = true;
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Fill the next forward row of global scores, recording traceback flags if asked
+	 * @param i row being filled
+	 * @param flags traceback flags, null for scores alone
+	 * @param offset index in flags of the row's first cell
+	 * @return the new row
+	 */
+	int[] forwardRow(int[] previous, char c, int i, byte[] flags, long offset) {
+		int m = s2.length();
+		int[] current = new int[m + 1];
+		current[0] = i * indel;
+		if (flags != null) {
+			flags[(int) offset] = WEST;
+		}
+		for (int j = 1; j <= m; j++) {
+			int north = current[j - 1] + indel;
+			int west = previous[j] + indel;
+			int northwest = previous[j - 1] + (c == s2.charAt(j - 1) ? match : mismatch);
+			int value = Math.max(Math.max(north, west), northwest);
+			current[j] = value;
+			if (flags != null) {
+				flags[(int) (offset + j)] = (byte) ((value == north ? NORTH : 0) | (value == west ? WEST : 0) | (value == northwest ? NORTHWEST : 0));
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Fill the next backward row: the global scores of the last k bases of s1 against every suffix of s2
+	 * @param c first base of those k
+	 * @return the new row
+	 */
+	int[] backwardRow(int[] previous, char c, int k) {
+		int m = s2.length();
+		int[] current = new int[m + 1];
+		current[m] = k * indel;
+		for (int j = m - 1; j >= 0; j--) {
+			int east = current[j + 1] + indel;
+			int south = previous[j] + indel;
+			int southeast = previous[j + 1] + (c == s2.charAt(j) ? match : mismatch);
+			current[j] = Math.max(Math.max(east, south), southeast);
+		}
+		return current;
+	}
+
+	/**
+	 * Find the columns an alignment's path occupies in one row of the grid
+	 * @return first and last column, or null if the path does not reach the row
+	 */
+	static int[] columns(EditTranscript t, int row) {
+		int first = row == 0 ? 0 : -1;
+		int last = first;
+		int i = 0;
+		int j = 0;
+		for (int r = 0; r < t.ops.length && i <= row; r++) {
+			byte op = t.ops[r];
+			int length = t.lengths[r];
+			if (op == EditTranscript.INSERTION) {
+				if (i == row) {
+					first = first < 0 ? j + 1 : first;
+					last = j + length;
+				}
+				j += length;
+			} else {
+				if (i < row && row <= i + length) {
+					int column = op == EditTranscript.DELETION ? j : j + row - i;
+					first = first < 0 ? column : first;
+					last = column;
+				}
+				i += length;
+				j += op == EditTranscript.DELETION ? 0 : length;
+			}
+		}
+		return first < 0 ? null : new int[] {first, last};
+	}
+
+	/**
+	 * Append the columns of an alignment up to the first time its path reaches a cell
+	 * @return false if the path never reaches the cell
+	 */
+	static boolean prefix(EditTranscript t, int row, int column, EditTranscript.Builder out) {
+		int i = 0;
+		int j = 0;
+		EditTranscript.Builder taken = new EditTranscript.Builder();
+		for (int r = 0; r < t.ops.length && !(i == row && j == column); r++) {
+			int steps = stepsTo(t.ops[r], t.lengths[r], i, j, row, column);
+			int length = steps < 0 ? t.lengths[r] : steps;
+			if (length > 0) {
+				taken.add(t.ops[r], length);
+			}
+			i += t.ops[r] == EditTranscript.INSERTION ? 0 : length;
+			j += t.ops[r] == EditTranscript.DELETION ? 0 : length;
+			if (i > row || j > column) {
+				return false;
+			}
+		}
+		if (i != row || j != column) {
+			return false;
+		}
+		for (int r = 0; r < taken.runs; r++) {
+			out.add(taken.ops[r], taken.lengths[r]);
+		}
+		return true;
+	}
+
+	/**
+	 * Append the columns of an alignment from the first time its path reaches a cell to its end
+	 * @return false if the path never reaches the cell
+	 */
+	static boolean suffix(EditTranscript t, int row, int column, EditTranscript.Builder out) {
+		int i = 0;
+		int j = 0;
+		for (int r = 0; r < t.ops.length; r++) {
+			if (i == row && j == column) {
+				for (int s = r; s < t.ops.length; s++) {
+					out.add(t.ops[s], t.lengths[s]);
+				}
+				return true;
+			}
+			int steps = stepsTo(t.ops[r], t.lengths[r], i, j, row, column);
+			if (steps >= 0) {
+				if (t.lengths[r] > steps) {
+					out.add(t.ops[r], t.lengths[r] - steps);
+				}
+				for (int s = r + 1; s < t.ops.length; s++) {
+					out.add(t.ops[s], t.lengths[s]);
+				}
+				return true;
+			}
+			i += t.ops[r] == EditTranscript.INSERTION ? 0 : t.lengths[r];
+			j += t.ops[r] == EditTranscript.DELETION ? 0 : t.lengths[r];
+			if (i > row || j > column) {
+				return false;
+			}
+		}
+		return i == row && j == column;
+	}
+
+	/**
+	 * Count the columns of a run it takes to go from one cell to another
+	 * @return columns, or -1 if the run does not pass through the target cell
+	 */
+	static int stepsTo(byte op, int length, int i, int j, int row, int column) {
+		int steps;
+		if (op == EditTranscript.INSERTION) {
+			steps = i == row ? column - j : -1;
+		} else if (op == EditTranscript.DELETION) {
+			steps = j == column ? row - i : -1;
+		} else {
+			steps = row - i == column - j ? row - i : -1;
+		}
+		return steps >= 0 && steps <= length ? steps : -1;
+	}
+}
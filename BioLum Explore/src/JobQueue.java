@@ -0,0 +1,381 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class JobQueue {
+	static final String DEFAULT_JOURNAL = "cache/Jobs.journal";	//runtime state, so kept out of the source tree with its lock file
+	static final String OUTPUT_DIRECTORY = "src/Files/";
+
+	Analysis analysis;									//sequences and translations the jobs run on
+	Path journal;										//append-only log of submitted, finished, and failed jobs
+	FileChannel journalChannel;							//open journal, locked so only one process runs the queue
+	FileLock lock;										//lock on the journal
+	ExecutorService workers;							//fixed pool the jobs run on
+	int workerCount;									//number of worker threads
+	LinkedHashMap<Long, Job> jobs;						//every job known to this queue, in submission order
+	long nextId;										//id of the next submitted job
+	int outstanding;									//jobs that are pending or running
+
+	enum State {						//represents where a job is in its life
+		PENDING,
+		RUNNING,
+		DONE,
+		FAILED;
+	}
+
+	/**
+	 * One pairwise comparison, written to the same alignment files the pairwise alignment button writes
+	 */
+	public static class Job {
+		public long id;									//journal id, assigned on submission
+		public String type;								//nucleotide, protein, or codon
+		public String species1;							//first species
+		public String species2;							//second species
+		public int match;								//match reward for nucleotide alignment
+		public int mismatch;							//mismatch penalty for nucleotide alignment
+		public int indel;								//indel penalty for nucleotide alignment
+		public String matrix;							//substitution matrix for protein and codon alignment
+		public int gapOpen;								//gap open penalty for protein and codon alignment
+		public int gapExtend;							//gap extension penalty for protein and codon alignment
+		public int readingFrame;						//reading frame for protein and codon alignment
+		volatile State state = State.PENDING;			//current state
+		volatile String error;							//failure message, null unless the job failed
+
+		/**
+		 * Create a global and local dna alignment job
+		 * @return the job
+		 */
+		public static Job nucleotide(String species1, String species2, int match, int mismatch, int indel) {
+			Job job = new Job();
+			job.type = "nucleotide";
+			job.species1 = species1;
+			job.species2 = species2;
+			job.match = match;
+			job.mismatch = mismatch;
+			job.indel = indel;
+			job.matrix = "-";
+			return job;
+		}
+
+		/**
+		 * Create a global and local alignment job of translations, or of codons mapped back from them
+		 * @param codon true to write the codon-aligned dna, false to write the protein alignment
+		 * @return the job
+		 */
+		public static Job protein(String species1, String species2, String matrix, int gapOpen, int gapExtend, int readingFrame, boolean codon) {
+			Job job = new Job();
+			job.type = codon ? "codon" : "protein";
+			job.species1 = species1;
+			job.species2 = species2;
+			job.matrix = matrix;
+			job.gapOpen = gapOpen;
+			job.gapExtend = gapExtend;
+			job.readingFrame = readingFrame;
+			return job;
+		}
+
+		/**
+		 * Get the global and local alignment files of the job, named the way Frame names them
+		 * @return the two file names
+		 */
+		public String[] outputs() {
+			String pair = species1 + " and " + species2 + ".txt";
+			if (type.equals("nucleotide")) {
+				String parameters = match + " " + mismatch + " " + indel + " " + pair;
+				return new String[] {OUTPUT_DIRECTORY + "Global Alignment " + parameters, OUTPUT_DIRECTORY + "Local Alignment " + parameters};
+			}
+			String prefix = type.equals("codon") ? "Codon " : "Protein ";
+			String parameters = matrix + " " + gapOpen + " " + gapExtend + " " + readingFrame + " " + pair;
+			return new String[] {OUTPUT_DIRECTORY + prefix + "Global Alignment " + parameters, OUTPUT_DIRECTORY + prefix + "Local Alignment " + parameters};
+		}
+
+		/**
+		 * Encode the job as one tab separated journal line
+		 * @return journal fields after the record type
+		 */
+		String encode() {
+			return id + "\t" + type + "\t" + species1 + "\t" + species2 + "\t" + match + "\t" + mismatch + "\t" + indel
+					+ "\t" + matrix + "\t" + gapOpen + "\t" + gapExtend + "\t" + readingFrame;
+		}
+
+		/**
+		 * Decode the fields of a journal SUBMIT line
+		 * @return the job
+		 */
+		static Job decode(String[] fields) {
+			Job job = new Job();
+			job.id = Long.parseLong(fields[1]);
+			job.type = fields[2];
+			job.species1 = fields[3];
+			job.species2 = fields[4];
+			job.match = Integer.parseInt(fields[5]);
+			job.mismatch = Integer.parseInt(fields[6]);
+			job.indel = Integer.parseInt(fields[7]);
+			job.matrix = fields[8];
+			job.gapOpen = Integer.parseInt(fields[9]);
+			job.gapExtend = Integer.parseInt(fields[10]);
+			job.readingFrame = Integer.parseInt(fields[11]);
+			return job;
+		}
+
+		public String toString() {
+			return "#" + id + " " + type + " " + species1 + " and " + species2 + " (" + state.name().toLowerCase() + ")"
+					+ (error == null ? "" : ": " + error);
+		}
+	}
+
+	/**
+	 * Open the queue: replay the journal, compact it down to the jobs that never finished, and start running those again
+	 * @param workers number of jobs that run at once
+	 * @throws IOException if the journal cannot be read, or another process already has the queue open
+	 */
+	public JobQueue(Analysis analysis, String journalFile, int workers) throws IOException {
+		this.analysis = analysis;
+		this.journal = Paths.get(journalFile);
+		this.workerCount = workers;
+		this.jobs = new LinkedHashMap<Long, Job>();
+		Files.createDirectories(journal.toAbsolutePath().getParent());
+		Files.createDirectories(Paths.get(OUTPUT_DIRECTORY));
+
+		journalChannel = FileChannel.open(Paths.get(journalFile + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		lock = journalChannel.tryLock();
+		if (lock == null) {
+			journalChannel.close();
+			throw new IOException("The job queue is already open in another process: " + journalFile);
+		}
+
+		//temporary files of writers that are gone are leftovers of a crash
+		ResultFile.sweep(OUTPUT_DIRECTORY);
+		List<Job> pending = replay();
+		compact(pending);
+
+		this.workers = Executors.newFixedThreadPool(workers, runnable -> {
+			Thread thread = new Thread(runnable, "job-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		synchronized (this) {
+			for (Job job : pending) {
+				jobs.put(job.id, job);
+				outstanding++;
+				this.workers.execute(() -> run(job));
+			}
+		}
+	}
+
+	/**
+	 * Open the default queue with the number of workers set by the biolum.jobs.workers property, or one per core
+	 * @throws IOException
+	 * @return the queue
+	 */
+	public static JobQueue open(Analysis analysis) throws IOException {
+		int workers = Integer.getInteger("biolum.jobs.workers", Runtime.getRuntime().availableProcessors());
+		return new JobQueue(analysis, DEFAULT_JOURNAL, Math.max(1, workers));
+	}
+
+	/**
+	 * Read the journal and find the submitted jobs that never finished or failed; a torn last line is ignored
+	 * @throws IOException
+	 * @return unfinished jobs in submission order
+	 */
+	List<Job> replay() throws IOException {
+		LinkedHashMap<Long, Job> pending = new LinkedHashMap<Long, Job>();
+		if (Files.exists(journal)) {
+			for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+				String[] fields = line.split("\t");
+				try {
+					if (fields[0].equals("SUBMIT") && fields.length == 12) {
+						Job job = Job.decode(fields);
+						pending.put(job.id, job);
+						nextId = Math.max(nextId, job.id + 1);
+					} else if (fields[0].equals("DONE") || fields[0].equals("FAILED")) {
+						pending.remove(Long.parseLong(fields[1]));
+					}
+				} catch (RuntimeException e) {
+					//an incomplete line from a crash in the middle of an append
+				}
+			}
+		}
+		return new ArrayList<Job>(pending.values());
+	}
+
+	/**
+	 * Replace the journal with one that only submits the unfinished jobs, so it does not grow without bound
+	 * @throws IOException
+	 */
+	void compact(List<Job> pending) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (Job job : pending) {
+			sb.append("SUBMIT\t").append(job.encode()).append('\n');
+		}
+		ResultFile.write(journal.toString(), sb.toString());
+	}
+
+	/**
+	 * Append records to the journal and force them to disk before returning
+	 * @throws IOException
+	 */
+	synchronized void append(String records) throws IOException {
+		try (FileOutputStream out = new FileOutputStream(journal.toFile(), true)) {
+			out.write(records.getBytes(StandardCharsets.UTF_8));
+			out.getFD().sync();
+		}
+	}
+
+	/**
+	 * Journal a batch of jobs with a single sync, then queue them on the workers
+	 * @throws IOException
+	 * @return the jobs with their ids assigned
+	 */
+	public synchronized List<Job> submit(List<Job> batch) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (Job job : batch) {
+			job.id = nextId++;
+			sb.append("SUBMIT\t").append(job.encode()).append('\n');
+		}
+		append(sb.toString());
+		for (Job job : batch) {
+			jobs.put(job.id, job);
+			outstanding++;
+			workers.execute(() -> run(job));
+		}
+		return batch;
+	}
+
+	/**
+	 * Run a job on a worker; outputs that already exist are not recomputed, so a job that finished its files
+	 * just before a crash is only journaled as done when it is resumed
+	 */
+	@SuppressWarnings("try")
+	void run(Job job) {
+		job.state = State.RUNNING;
+		try (Metrics.Timer timer = Metrics.time("job." + job.type)) {
+			String[] outputs = job.outputs();
+			if (!ResultFile.exists(outputs[0]) || !ResultFile.exists(outputs[1])) {
+				compute(job, outputs);
+			}
+			job.state = State.DONE;
+			append("DONE\t" + job.id + "\n");
+		} catch (Exception e) {
+			job.error = String.valueOf(e).replace('\t', ' ').replace('\n', ' ');
+			job.state = State.FAILED;
+			try {
+				append("FAILED\t" + job.id + "\t" + job.error + "\n");
+			} catch (IOException e1) {
+				e1.printStackTrace();
+			}
+		} finally {
+			synchronized (this) {
+				outstanding--;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Align the two species of a job and write both alignment files atomically
+	 * @throws IOException
+	 */
+	void compute(Job job, String[] outputs) throws IOException {
+		if (job.type.equals("nucleotide")) {
+			String s1 = analysis.dna(job.species1);
+			String s2 = analysis.dna(job.species2);
+			AlignmentPlanner planner = new AlignmentPlanner(job.match, job.mismatch, job.indel);
+			write(outputs[0], planner.global(s1, s2, true).transcript);
+			write(outputs[1], planner.local(s1, s2, true).transcript);
+		} else if (job.type.equals("protein")) {
+			ProteinAligner.Result global = analysis.proteinAlignment(job.species1, job.species2, job.readingFrame, job.matrix, job.gapOpen, job.gapExtend, false);
+			ProteinAligner.Result local = analysis.proteinAlignment(job.species1, job.species2, job.readingFrame, job.matrix, job.gapOpen, job.gapExtend, true);
+			write(outputs[0], transcript(global.aligned1, global.aligned2));
+			write(outputs[1], transcript(local.aligned1, local.aligned2));
+		} else if (job.type.equals("codon")) {
+			ProteinAligner proteinAligner = new ProteinAligner(SubstitutionMatrix.named(job.matrix), job.gapOpen, job.gapExtend);
+			TranslatedAligner aligner = new TranslatedAligner(proteinAligner, analysis.translations);
+			String s1 = analysis.dna(job.species1);
+			String s2 = analysis.dna(job.species2);
+			TranslatedAligner.Result global = aligner.align(job.species1, s1, job.species2, s2, job.readingFrame, false);
+			TranslatedAligner.Result local = aligner.align(job.species1, s1, job.species2, s2, job.readingFrame, true);
+			write(outputs[0], transcript(global.dna1, global.dna2));
+			write(outputs[1], transcript(local.dna1, local.dna2));
+		} else {
+			throw new IllegalArgumentException("Unknown job type: " + job.type);
+		}
+	}
+
+	/**
+	 * Build a transcript of two aligned strings, only to write them in the alignment file layout
+	 * @return the transcript
+	 */
+	static EditTranscript transcript(String aligned1, String aligned2) {
+		return EditTranscript.fromAligned(aligned1, aligned2, aligned1.replace("-", ""), aligned2.replace("-", ""), 0, 0);
+	}
+
+	/**
+	 * Write an alignment file that only appears once it is complete
+	 * @throws IOException
+	 */
+	static void write(String fileName, EditTranscript transcript) throws IOException {
+		try (Metrics.Timer timer = Metrics.time("write"); ResultFile w = new ResultFile(fileName)) {
+			transcript.write(w);
+			w.commit();
+			timer.bytes(new File(fileName).length());
+		}
+	}
+
+	/**
+	 * Count the jobs in each state
+	 * @return counts indexed by State ordinal
+	 */
+	public synchronized int[] counts() {
+		int[] counts = new int[State.values().length];
+		for (Job job : jobs.values()) {
+			counts[job.state.ordinal()]++;
+		}
+		return counts;
+	}
+
+	/**
+	 * Get the jobs that are not done, in submission order
+	 * @return pending, running, and failed jobs
+	 */
+	public synchronized List<Job> unfinished() {
+		List<Job> unfinished = new ArrayList<Job>();
+		for (Job job : jobs.values()) {
+			if (job.state != State.DONE) {
+				unfinished.add(job);
+			}
+		}
+		return unfinished;
+	}
+
+	/**
+	 * Wait until every submitted job has finished or failed
+	 * @throws InterruptedException
+	 */
+	public synchronized void awaitIdle() throws InterruptedException {
+		while (outstanding > 0) {
+			wait();
+		}
+	}
+
+	/**
+	 * Stop the workers and release the journal; jobs that have not finished are resumed the next time the queue is opened
+	 * @throws IOException
+	 */
+	public void close() throws IOException {
+		workers.shutdownNow();
+		lock.release();
+		journalChannel.close();
+	}
+}
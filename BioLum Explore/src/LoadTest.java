@@ -0,0 +1,403 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class LoadTest implements AutoCloseable {
+	static final String DEFAULT_MIX = "align=4,protein=3,scan=1,find=1,write=1";
+	static final int SAMPLE = 32;								//sequences fetched from a server to draw scan, find, and write inputs from
+	static final int LOGGED_ERRORS = 5;							//failures printed in full before the rest are only counted
+
+	/**
+	 * One kind of request the driver sends
+	 */
+	interface Operation {
+		void run(SplittableRandom random) throws Exception;
+	}
+
+	SequenceLibrary library;					//sequences the scan, find, and write operations draw from
+	List<String> names;							//species names the align and protein operations draw from
+	List<String> local;							//species whose sequence is in the library
+	Analysis analysis;							//headless API the operations call, null when driving a server
+	String url;									//base url of a running analysis server, null for in-process calls
+	FMIndex index;								//substring index of the dataset, built the first time a find runs
+	File scratch;								//directory the write operation writes result files into
+	LinkedHashMap<String, Integer> weights;		//relative frequency of each operation in the mix
+	Map<String, Operation> operations = new HashMap<String, Operation>();
+	AtomicInteger logged = new AtomicInteger();	//failures printed so far
+
+	/**
+	 * Initializes the driver over a dataset, calling the analysis in this process or a server at the given url; against a
+	 * server, species names come from the server and a sample of its sequences is fetched once for the operations that
+	 * need sequence text
+	 * @param library dataset for in-process calls, ignored when driving a server
+	 * @param mix comma separated operation=weight pairs, e.g. "align=4,protein=3"
+	 * @throws IOException
+	 */
+	public LoadTest(SequenceLibrary library, String url, String mix) throws IOException {
+		this.url = url;
+		if (url == null) {
+			this.library = library;
+			this.names = library.names();
+			this.local = names;
+		} else {
+			this.names = strings(get("/species"));
+			this.library = new SequenceLibrary();
+			for (int s = 0; s < Math.min(SAMPLE, names.size()); s++) {
+				String name = names.get((int) ((long) s * names.size() / Math.min(SAMPLE, names.size())));
+				String body = get("/dna?name=" + encode(name));
+				int start = body.indexOf("\"dna\":\"") + 7;
+				this.library.put(name, body.substring(start, body.indexOf('"', start)));
+			}
+			this.local = this.library.names();
+		}
+		if (names.size() < 2) {
+			throw new IllegalArgumentException("The dataset needs at least two sequences");
+		}
+		if (url == null) {
+			analysis = new Analysis(library);
+		}
+		scratch = Files.createTempDirectory("biolum-load").toFile();
+		operations.put("align", this::align);
+		operations.put("protein", this::protein);
+		operations.put("scan", this::scan);
+		operations.put("find", this::find);
+		operations.put("write", this::write);
+		weights = new LinkedHashMap<String, Integer>();
+		for (String item : mix.split(",")) {
+			String[] pair = item.trim().split("=");
+			if (!operations.containsKey(pair[0])) {
+				throw new IllegalArgumentException("Unknown operation: " + pair[0]);
+			}
+			weights.put(pair[0], pair.length > 1 ? Integer.parseInt(pair[1]) : 1);
+		}
+	}
+
+	String name(SplittableRandom random) {
+		return names.get(random.nextInt(names.size()));
+	}
+
+	/**
+	 * Get a random sequence from the library
+	 * @return dna sequence
+	 */
+	String sequence(SplittableRandom random) {
+		return library.get(local.get(random.nextInt(local.size())));
+	}
+
+	/**
+	 * Get a random stretch of a random sequence
+	 * @return substring of at most the given length
+	 */
+	String fragment(SplittableRandom random, int length) {
+		String sequence = sequence(random);
+		int start = random.nextInt(Math.max(1, sequence.length() - length));
+		return sequence.substring(start, Math.min(sequence.length(), start + length));
+	}
+
+	void align(SplittableRandom random) throws IOException {
+		String a = name(random);
+		String b = name(random);
+		if (url == null) {
+			analysis.pairwise(a, b, 1, -1, -2);
+		} else {
+			get("/align?a=" + encode(a) + "&b=" + encode(b));
+		}
+	}
+
+	void protein(SplittableRandom random) throws IOException {
+		String name = name(random);
+		int frame = 1 + random.nextInt(6);
+		if (url == null) {
+			analysis.protein(name, frame);
+		} else {
+			get("/protein?name=" + encode(name) + "&frame=" + frame);
+		}
+	}
+
+	void scan(SplittableRandom random) throws IOException {
+		String query = fragment(random, 200);
+		if (url == null) {
+			analysis.scan(query, 1, -1, -2);
+		} else {
+			get("/scan?query=" + encode(query));
+		}
+	}
+
+	void find(SplittableRandom random) throws IOException {
+		String pattern = fragment(random, 20);
+		if (url != null) {
+			get("/find?pattern=" + encode(pattern));
+			return;
+		}
+		synchronized (this) {
+			if (index == null) {
+				File file = new File(scratch, "index.fmi");
+				FMIndex.build(library, file.getPath(), 0);
+				index = new FMIndex(file.getPath());
+			}
+		}
+		index.locate(pattern);
+	}
+
+	/**
+	 * Write a global alignment file the way Frame does, streamed through a result file and moved into place
+	 */
+	void write(SplittableRandom random) throws IOException {
+		String a = sequence(random);
+		String b = sequence(random);
+		EditTranscript transcript = new AlignmentPlanner(1, -1, -2).global(a, b, true).transcript;
+		File file = new File(scratch, "alignment-" + Thread.currentThread().getId() + ".txt");
+		try (ResultFile w = new ResultFile(file.getPath())) {
+			transcript.write(w);
+			w.commit();
+		}
+	}
+
+	/**
+	 * Send a request to the server
+	 * @throws IOException if the server cannot be reached or answers with an error
+	 * @return response body
+	 */
+	String get(String path) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(url + path).openConnection();
+		try {
+			int status = connection.getResponseCode();
+			InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+			String body = "";
+			if (in != null) {
+				body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+				in.close();
+			}
+			if (status >= 400) {
+				throw new IOException("HTTP " + status + " for " + path + ": " + body);
+			}
+			return body;
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	/**
+	 * Parse a JSON array of strings, as the server's /species returns
+	 * @return the strings
+	 */
+	static List<String> strings(String json) {
+		List<String> values = new ArrayList<String>();
+		StringBuilder sb = null;
+		for (int i = 0; i < json.length(); i++) {
+			char c = json.charAt(i);
+			if (sb == null) {
+				if (c == '"') {
+					sb = new StringBuilder();
+				}
+			} else if (c == '\\') {
+				char escaped = json.charAt(++i);
+				if (escaped == 'u') {
+					sb.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+					i += 4;
+				} else {
+					sb.append(escaped == 'n' ? '\n' : escaped == 't' ? '\t' : escaped);
+				}
+			} else if (c == '"') {
+				values.add(sb.toString());
+				sb = null;
+			} else {
+				sb.append(c);
+			}
+		}
+		return values;
+	}
+
+	static String encode(String s) {
+		return URLEncoder.encode(s, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Run closed-loop clients for a while, each picking operations at random by weight, and report throughput, latency
+	 * percentiles per operation, errors, and the peak heap and memory pool usage seen during the run
+	 * @param clients concurrent clients
+	 * @return the report
+	 */
+	public String run(int clients, int seconds, long seed) throws InterruptedException {
+		List<String> mix = new ArrayList<String>();
+		for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+			for (int w = 0; w < weight.getValue(); w++) {
+				mix.add(weight.getKey());
+			}
+		}
+		Map<String, List<long[]>> latencies = new ConcurrentHashMap<String, List<long[]>>();
+		Map<String, LongAdder> errors = new ConcurrentHashMap<String, LongAdder>();
+		for (String name : weights.keySet()) {
+			latencies.put(name, Collections.synchronizedList(new ArrayList<long[]>()));
+			errors.put(name, new LongAdder());
+		}
+
+		//sample heap use while the clients run, after resetting every pool's peak
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			pool.resetPeakUsage();
+		}
+		long[] peakHeap = new long[1];
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(() -> {
+			long used = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+			synchronized (peakHeap) {
+				peakHeap[0] = Math.max(peakHeap[0], used);
+			}
+		}, 0, 20, TimeUnit.MILLISECONDS);
+
+		long deadline = System.nanoTime() + seconds * 1000000000L;
+		long started = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		SplittableRandom seeds = new SplittableRandom(seed);
+		for (int c = 0; c < clients; c++) {
+			SplittableRandom random = seeds.split();
+			pool.execute(() -> {
+				Map<String, long[]> own = new HashMap<String, long[]>();
+				Map<String, Integer> counts = new HashMap<String, Integer>();
+				while (System.nanoTime() < deadline) {
+					String name = mix.get(random.nextInt(mix.size()));
+					long begin = System.nanoTime();
+					try {
+						operations.get(name).run(random);
+					} catch (Exception e) {
+						errors.get(name).increment();
+						if (logged.incrementAndGet() <= LOGGED_ERRORS) {
+							System.err.println(name + " failed: " + e);
+						}
+						continue;
+					}
+					long[] list = own.computeIfAbsent(name, key -> new long[64]);
+					int count = counts.getOrDefault(name, 0);
+					if (count == list.length) {
+						list = Arrays.copyOf(list, count * 2);
+						own.put(name, list);
+					}
+					list[count] = System.nanoTime() - begin;
+					counts.put(name, count + 1);
+				}
+				for (Map.Entry<String, long[]> entry : own.entrySet()) {
+					latencies.get(entry.getKey()).add(Arrays.copyOf(entry.getValue(), counts.get(entry.getKey())));
+				}
+			});
+		}
+		pool.shutdown();
+		pool.awaitTermination(seconds + 600L, TimeUnit.SECONDS);
+		double elapsed = (System.nanoTime() - started) / 1e9;
+		sampler.shutdownNow();
+		long peakPools = 0;
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (memoryPool.getType() == MemoryType.HEAP && memoryPool.getPeakUsage() != null) {
+				peakPools += memoryPool.getPeakUsage().getUsed();
+			}
+		}
+
+		//per operation and overall latency percentiles
+		StringBuilder sb = new StringBuilder(String.format("%d clients, %.1f s, %d sequences (%s)%n", clients, elapsed, names.size(),
+				url == null ? "in process" : url));
+		sb.append(String.format("%-10s%10s%10s%10s%10s%10s%10s%8s%n", "Operation", "Count", "Ops/s", "p50 ms", "p90 ms", "p99 ms", "Max ms", "Errors"));
+		List<long[]> everything = new ArrayList<long[]>();
+		long totalErrors = 0;
+		for (String name : weights.keySet()) {
+			everything.addAll(latencies.get(name));
+			totalErrors += errors.get(name).sum();
+			sb.append(row(name, latencies.get(name), elapsed, errors.get(name).sum()));
+		}
+		sb.append(row("total", everything, elapsed, totalErrors));
+		if (totalErrors > 0) {
+			sb.append(String.format("The first %d failures were printed to standard error%n", Math.min(totalErrors, LOGGED_ERRORS)));
+		}
+		sb.append(String.format("Peak heap sampled: %.1f MB, peak of heap pools: %.1f MB%n", peakHeap[0] / 1048576.0, peakPools / 1048576.0));
+		return sb.toString();
+	}
+
+	static String row(String name, List<long[]> lists, double elapsed, long errors) {
+		int count = 0;
+		for (long[] list : lists) {
+			count += list.length;
+		}
+		long[] all = new long[count];
+		int k = 0;
+		for (long[] list : lists) {
+			System.arraycopy(list, 0, all, k, list.length);
+			k += list.length;
+		}
+		Arrays.sort(all);
+		return String.format("%-10s%10d%10.1f%10.2f%10.2f%10.2f%10.2f%8d%n", name, count, count / elapsed, percentile(all, 0.50),
+				percentile(all, 0.90), percentile(all, 0.99), count == 0 ? 0 : all[count - 1] / 1e6, errors);
+	}
+
+	/**
+	 * Get the nearest-rank percentile of sorted latencies
+	 * @return milliseconds
+	 */
+	static double percentile(long[] sorted, double fraction) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.max(0, (int) Math.ceil(fraction * sorted.length) - 1)] / 1e6;
+	}
+
+	/**
+	 * Delete the scratch directory and everything the write and find operations left in it
+	 */
+	public void close() throws IOException {
+		if (scratch.exists()) {
+			List<Path> paths;
+			try (Stream<Path> walk = Files.walk(scratch.toPath())) {
+				paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+			}
+			for (Path path : paths) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+	/**
+	 * Drive a mixed workload: LoadTest [dataset.bin | dataset.txt | bundled] [clients] [seconds] [mix] [server url]; the
+	 * driver holds the dataset in memory, so a text dataset is limited to SyntheticData.DATABASE_LIMIT bytes, and the
+	 * dataset is not read at all when driving a server
+	 */
+	public static void main(String[] args) throws Exception {
+		String dataset = args.length > 0 ? args[0] : "bundled";
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+		String mix = args.length > 3 ? args[3] : DEFAULT_MIX;
+		String url = args.length > 4 ? args[4] : null;
+		SequenceLibrary library;
+		if (url != null) {
+			library = null;
+		} else if (dataset.equals("bundled")) {
+			library = SequenceLibrary.load();
+		} else if (dataset.endsWith(".bin")) {
+			library = new SequenceLibrary(new SequenceDatabase(dataset));
+		} else {
+			if (new File(dataset).length() > SyntheticData.DATABASE_LIMIT) {
+				throw new IllegalArgumentException(dataset + " is over " + SyntheticData.DATABASE_LIMIT + " bytes, more than the driver loads into memory");
+			}
+			library = SequenceLibrary.load(dataset);
+		}
+		try (LoadTest test = new LoadTest(library, url, mix)) {
+			System.out.print(test.run(clients, seconds, 1));
+		}
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.awt.EventQueue;
+import java.util.ArrayDeque;
+
+public class MemoryGovernor {
+	static final long BUDGET = Long.getLong("biolum.memory.budget", Runtime.getRuntime().maxMemory() / 2);	//bytes every running job may hold together
+	static final long QUEUE_MILLIS = Long.getLong("biolum.memory.queueMillis", 1000);		//how long a job waits for memory before it is downgraded
+	static final long DIRECT_BUDGET = Long.getLong("biolum.memory.directBudget", Runtime.getRuntime().maxMemory() / 2);	//direct bytes every running job may hold together
+	static final long INTERACTIVE_MILLIS = Long.getLong("biolum.memory.interactiveMillis", 10000);	//most a job started on the UI thread waits in line
+	static final MemoryGovernor SHARED = new MemoryGovernor(BUDGET);
+	static final MemoryGovernor DIRECT = new MemoryGovernor(DIRECT_BUDGET, true);
+
+	long budget;								//bytes the admitted jobs may hold together
+	boolean offHeap;							//true if the budget is direct memory outside the heap
+	long reserved;								//bytes held by admitted jobs
+	ArrayDeque<Object> waiting = new ArrayDeque<Object>();		//jobs waiting for memory, admitted in arrival order
+
+	/**
+	 * Memory held by one admitted job, returned to the budget when closed
+	 */
+	public class Reservation implements AutoCloseable {
+		public final long bytes;				//bytes reserved
+		boolean closed;
+		Reservation also;						//reservation from another governor released with this one
+
+		Reservation(long bytes) {
+			this.bytes = bytes;
+		}
+
+		/**
+		 * Hold a reservation from another governor with this one, so closing this one releases both
+		 * @return this reservation
+		 */
+		public Reservation with(Reservation other) {
+			also = other;
+			return this;
+		}
+
+		public void close() {
+			synchronized (MemoryGovernor.this) {
+				if (!closed) {
+					closed = true;
+					reserved -= bytes;
+					Metrics.reservation(-bytes, offHeap);
+					MemoryGovernor.this.notifyAll();
+				}
+			}
+			if (also != null) {
+				also.close();
+			}
+		}
+	}
+
+	/**
+	 * Initializes a governor with a budget
+	 * @param budget bytes every admitted job may hold together
+	 */
+	public MemoryGovernor(long budget) {
+		this(budget, false);
+	}
+
+	/**
+	 * Initializes a governor with a budget of heap or direct memory
+	 * @param offHeap true if the budget is direct memory, reported apart from the heap
+	 */
+	public MemoryGovernor(long budget, boolean offHeap) {
+		if (budget <= 0) {
+			throw new IllegalArgumentException("The memory budget must be positive");
+		}
+		this.budget = budget;
+		this.offHeap = offHeap;
+	}
+
+	/**
+	 * Get the governor shared by every alignment in this process, sized by the biolum.memory.budget property
+	 * @return the shared governor
+	 */
+	public static MemoryGovernor shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Get the governor of direct memory, which holds off-heap traceback grids, sized by the biolum.memory.directBudget property
+	 * @return the direct memory governor
+	 */
+	public static MemoryGovernor direct() {
+		return DIRECT;
+	}
+
+	/**
+	 * Get how long the calling thread should wait in line: as long as it takes in the background, but only a bounded
+	 * time on the UI thread, so the window never hangs behind background jobs holding the budget
+	 * @return milliseconds to pass to reserve
+	 */
+	public static long patience() {
+		return EventQueue.isDispatchThread() ? INTERACTIVE_MILLIS : -1;
+	}
+
+	/**
+	 * Check whether a job could ever be admitted
+	 * @return true if the footprint fits the whole budget
+	 */
+	public boolean fits(long bytes) {
+		return bytes <= budget;
+	}
+
+	/**
+	 * Reserve memory for a job, queueing behind the jobs that asked first until enough is released
+	 * @param bytes estimated footprint of the job
+	 * @param waitMillis most milliseconds to wait, 0 to only try once, negative to wait as long as it takes
+	 * @throws InterruptedException if the thread is interrupted while queued
+	 * @return the reservation, or null if the job never fits the budget or the wait ran out
+	 */
+	public synchronized Reservation reserve(long bytes, long waitMillis) throws InterruptedException {
+		bytes = Math.max(0, bytes);
+		if (!fits(bytes)) {
+			return null;
+		}
+		if (waiting.isEmpty() && reserved + bytes <= budget) {
+			return admit(bytes, false);
+		}
+		if (waitMillis == 0) {
+			return null;
+		}
+
+		//wait in line; only the job at the head may take memory, so a large job is not starved by smaller ones behind it
+		Object ticket = new Object();
+		waiting.add(ticket);
+		long deadline = System.nanoTime() + waitMillis * 1000000L;
+		try {
+			while (waiting.peek() != ticket || reserved + bytes > budget) {
+				if (waitMillis < 0) {
+					wait();
+				} else {
+					long left = (deadline - System.nanoTime()) / 1000000L;
+					if (left <= 0) {
+						return null;
+					}
+					wait(left);
+				}
+			}
+			return admit(bytes, true);
+		} finally {
+			waiting.remove(ticket);
+			notifyAll();
+		}
+	}
+
+	Reservation admit(long bytes, boolean queued) {
+		reserved += bytes;
+		Metrics.reservation(bytes, offHeap);
+		if (!offHeap) {
+			Metrics.admission(queued);
+		}
+		return new Reservation(bytes);
+	}
+
+	/**
+	 * Get the bytes held by admitted jobs
+	 * @return reserved bytes
+	 */
+	public synchronized long reserved() {
+		return reserved;
+	}
+
+	/**
+	 * Get the budget
+	 * @return bytes every admitted job may hold together
+	 */
+	public long budget() {
+		return budget;
+	}
+}
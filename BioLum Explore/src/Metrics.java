@@ -0,0 +1,390 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.*;
+
+import jdk.jfr.FlightRecorder;
+
+public class Metrics {
+	static final String DOMAIN = "BioLumExplore";								//JMX domain of every registered bean
+	static final ConcurrentHashMap<String, Operation> operations = new ConcurrentHashMap<String, Operation>();
+	static final LongAdder cells = new LongAdder();								//dynamic programming cells filled
+	static final LongAdder bytesWritten = new LongAdder();						//bytes written to files
+	static final LongAdder cacheHits = new LongAdder();							//cache lookups answered from the cache
+	static final LongAdder cacheMisses = new LongAdder();						//cache lookups that computed their result
+	static final AtomicLong gridBytes = new AtomicLong();						//bytes held by live alignment grids
+	static final AtomicLong peakGridBytes = new AtomicLong();					//most bytes held by alignment grids at once
+	static final LongAdder admitted = new LongAdder();							//jobs admitted by the memory governor
+	static final LongAdder queued = new LongAdder();							//admitted jobs that waited for memory first
+	static final LongAdder downgraded = new LongAdder();						//jobs moved to a leaner engine because their memory did not fit
+	static final LongAdder rejected = new LongAdder();							//jobs refused because they could never fit the memory budget
+	static final AtomicLong reservedBytes = new AtomicLong();					//bytes reserved by running jobs
+	static final AtomicLong peakReservedBytes = new AtomicLong();				//most bytes reserved at once
+	static final AtomicLong directReservedBytes = new AtomicLong();				//direct bytes reserved by running jobs
+	static final AtomicLong peakDirectReservedBytes = new AtomicLong();			//most direct bytes reserved at once
+	static final ExecutorService registrar = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "metrics-jmx");
+		thread.setDaemon(true);
+		return thread;
+	});																			//registers beans off the caller's thread, since starting the platform MBean server is slow
+
+	static {
+		register(DOMAIN + ":type=Metrics", new Summary());
+	}
+
+	/**
+	 * Timing statistics of one operation, exposed as an MXBean
+	 */
+	static class Operation implements OperationMXBean {
+		final LongAdder count = new LongAdder();
+		final LongAdder totalNanos = new LongAdder();
+		final AtomicLong maxNanos = new AtomicLong();
+		final AtomicLongArray histogram = new AtomicLongArray(64);		//bucket b counts runs taking [2^(b-1), 2^b) nanoseconds
+
+		void record(long nanos) {
+			count.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+			histogram.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+		}
+
+		void reset() {
+			count.reset();
+			totalNanos.reset();
+			maxNanos.set(0);
+			for (int b = 0; b < histogram.length(); b++) {
+				histogram.set(b, 0);
+			}
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public double getTotalMillis() {
+			return totalNanos.sum() / 1e6;
+		}
+
+		public double getMeanMillis() {
+			long n = count.sum();
+			return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+		}
+
+		public double getMaxMillis() {
+			return maxNanos.get() / 1e6;
+		}
+
+		public double getP50Millis() {
+			return percentile(0.50);
+		}
+
+		public double getP99Millis() {
+			return percentile(0.99);
+		}
+
+		public long[] getHistogram() {
+			long[] copy = new long[histogram.length()];
+			for (int b = 0; b < copy.length; b++) {
+				copy[b] = histogram.get(b);
+			}
+			return copy;
+		}
+
+		/**
+		 * Get the upper bound of the histogram bucket that holds the given fraction of runs
+		 */
+		double percentile(double fraction) {
+			long[] buckets = getHistogram();
+			long total = 0;
+			for (long b : buckets) {
+				total += b;
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long target = (long) Math.ceil(total * fraction);
+			long seen = 0;
+			for (int b = 0; b < buckets.length; b++) {
+				seen += buckets[b];
+				if (seen >= target) {
+					return Math.min(maxNanos.get(), b == 0 ? 0 : (1L << Math.min(62, b)) - 1) / 1e6;
+				}
+			}
+			return maxNanos.get() / 1e6;
+		}
+	}
+
+	/**
+	 * Counters shared by every operation, exposed as an MXBean
+	 */
+	static class Summary implements MetricsMXBean {
+		public long getCellsComputed() {
+			return cells.sum();
+		}
+
+		public long getBytesWritten() {
+			return bytesWritten.sum();
+		}
+
+		public long getCacheHits() {
+			return cacheHits.sum();
+		}
+
+		public long getCacheMisses() {
+			return cacheMisses.sum();
+		}
+
+		public double getCacheHitRate() {
+			long hits = cacheHits.sum();
+			long total = hits + cacheMisses.sum();
+			return total == 0 ? 0 : (double) hits / total;
+		}
+
+		public long getGridBytes() {
+			return gridBytes.get();
+		}
+
+		public long getPeakGridBytes() {
+			return peakGridBytes.get();
+		}
+
+		public long getAdmittedJobs() {
+			return admitted.sum();
+		}
+
+		public long getQueuedJobs() {
+			return queued.sum();
+		}
+
+		public long getDowngradedJobs() {
+			return downgraded.sum();
+		}
+
+		public long getRejectedJobs() {
+			return rejected.sum();
+		}
+
+		public long getReservedBytes() {
+			return reservedBytes.get();
+		}
+
+		public long getPeakReservedBytes() {
+			return peakReservedBytes.get();
+		}
+
+		public long getMemoryBudget() {
+			return MemoryGovernor.shared().budget();
+		}
+
+		public long getDirectReservedBytes() {
+			return directReservedBytes.get();
+		}
+
+		public long getPeakDirectReservedBytes() {
+			return peakDirectReservedBytes.get();
+		}
+
+		public long getDirectMemoryBudget() {
+			return MemoryGovernor.direct().budget();
+		}
+
+		public String[] getOperations() {
+			return new TreeSet<String>(operations.keySet()).toArray(new String[0]);
+		}
+
+		public void reset() {
+			cells.reset();
+			bytesWritten.reset();
+			cacheHits.reset();
+			cacheMisses.reset();
+			peakGridBytes.set(gridBytes.get());
+			admitted.reset();
+			queued.reset();
+			downgraded.reset();
+			rejected.reset();
+			peakReservedBytes.set(reservedBytes.get());
+			peakDirectReservedBytes.set(directReservedBytes.get());
+
+			//operations are zeroed in place rather than removed, so a timer started meanwhile never registers a bean that a reset then drops
+			for (Operation operation : operations.values()) {
+				operation.reset();
+			}
+		}
+	}
+
+	/**
+	 * Times one run of an operation; closing the timer records the run and commits a JFR event
+	 */
+	public static class Timer implements AutoCloseable {
+		final Operation operation;
+		final OperationEvent event;
+		final long start;
+
+		Timer(String name, Operation operation) {
+			this.operation = operation;
+
+			//the first JFR event costs hundreds of milliseconds to set up, so events are only created once a recording has started
+			this.event = FlightRecorder.isInitialized() ? new OperationEvent() : null;
+			if (event != null) {
+				event.operation = name;
+				event.begin();
+			}
+			this.start = System.nanoTime();
+		}
+
+		/**
+		 * Attribute dynamic programming cells to this run and to the global counter
+		 */
+		public void cells(long count) {
+			if (event != null) {
+				event.cells += count;
+			}
+			cells.add(count);
+		}
+
+		/**
+		 * Attribute bytes written to this run and to the global counter
+		 */
+		public void bytes(long count) {
+			if (event != null) {
+				event.bytes += count;
+			}
+			bytesWritten.add(count);
+		}
+
+		public void close() {
+			operation.record(System.nanoTime() - start);
+			if (event != null) {
+				event.end();
+				if (event.shouldCommit()) {
+					event.commit();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Start timing an operation, registering its MXBean the first time it is seen
+	 * @return a timer to close when the operation finishes
+	 */
+	public static Timer time(String name) {
+		Operation operation = operations.computeIfAbsent(name, key -> {
+			Operation created = new Operation();
+			register(DOMAIN + ":type=Operation,name=" + key, created);
+			return created;
+		});
+		return new Timer(name, operation);
+	}
+
+	/**
+	 * Count dynamic programming cells filled outside of a timer, e.g. by parallel kernels
+	 */
+	public static void cells(long count) {
+		cells.add(count);
+	}
+
+	/**
+	 * Count a cache lookup
+	 */
+	public static void cache(boolean hit) {
+		if (hit) {
+			cacheHits.increment();
+		} else {
+			cacheMisses.increment();
+		}
+	}
+
+	/**
+	 * Track memory held by alignment grids; pass a negative count when a grid is released
+	 */
+	public static void gridAllocated(long bytes) {
+		long now = gridBytes.addAndGet(bytes);
+		peakGridBytes.accumulateAndGet(now, Math::max);
+	}
+
+	/**
+	 * Track memory reserved through a memory governor; pass a negative count when a reservation is released
+	 * @param offHeap true for direct memory, false for the heap
+	 */
+	public static void reservation(long bytes, boolean offHeap) {
+		if (offHeap) {
+			peakDirectReservedBytes.accumulateAndGet(directReservedBytes.addAndGet(bytes), Math::max);
+		} else {
+			peakReservedBytes.accumulateAndGet(reservedBytes.addAndGet(bytes), Math::max);
+		}
+	}
+
+	/**
+	 * Count a job the memory governor admitted
+	 * @param waited true if the job queued for memory first
+	 */
+	public static void admission(boolean waited) {
+		admitted.increment();
+		if (waited) {
+			queued.increment();
+		}
+	}
+
+	/**
+	 * Count a job moved to a leaner engine because its memory did not fit
+	 */
+	public static void downgrade() {
+		downgraded.increment();
+	}
+
+	/**
+	 * Count a job refused because it could never fit the memory budget
+	 */
+	public static void rejection() {
+		rejected.increment();
+	}
+
+	/**
+	 * Summarize every counter and timer as text
+	 * @return report with one line per operation
+	 */
+	public static String report() {
+		Summary summary = new Summary();
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ROOT, "Cells computed: %,d%nBytes written: %,d%nCache hit rate: %.1f%% (%d hits, %d misses)%nGrid memory: %,d bytes (peak %,d)%n"
+				+ "Memory budget: %,d bytes, %,d reserved (peak %,d)%nDirect memory budget: %,d bytes, %,d reserved (peak %,d)%nJobs admitted: %d (%d queued), downgraded: %d, rejected: %d%n",
+				summary.getCellsComputed(), summary.getBytesWritten(), summary.getCacheHitRate() * 100,
+				summary.getCacheHits(), summary.getCacheMisses(), summary.getGridBytes(), summary.getPeakGridBytes(),
+				summary.getMemoryBudget(), summary.getReservedBytes(), summary.getPeakReservedBytes(),
+				summary.getDirectMemoryBudget(), summary.getDirectReservedBytes(), summary.getPeakDirectReservedBytes(),
+				summary.getAdmittedJobs(), summary.getQueuedJobs(), summary.getDowngradedJobs(), summary.getRejectedJobs()));
+		for (String name : summary.getOperations()) {
+			Operation o = operations.get(name);
+			sb.append(String.format(Locale.ROOT, "%s: %d runs, mean %.2f ms, p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+					name, o.getCount(), o.getMeanMillis(), o.getP50Millis(), o.getP99Millis(), o.getMaxMillis()));
+		}
+		return sb.toString();
+	}
+
+	private static void register(String name, Object bean) {
+		registrar.execute(() -> {
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				ObjectName objectName = new ObjectName(name);
+				if (!server.isRegistered(objectName)) {
+					server.registerMBean(bean, objectName);
+				}
+			} catch (JMException e) {
+				e.printStackTrace();
+			}
+		});
+	}
+}
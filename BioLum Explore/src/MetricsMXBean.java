@@ -0,0 +1,28 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+public interface MetricsMXBean {
+	long getCellsComputed();				//dynamic programming cells filled by every alignment
+	long getBytesWritten();					//bytes written to sequence and alignment files
+	long getCacheHits();					//lookups answered from a cache
+	long getCacheMisses();					//lookups that had to compute their result
+	double getCacheHitRate();				//fraction of cache lookups that were hits
+	long getGridBytes();					//bytes held by the alignment grids currently allocated
+	long getPeakGridBytes();				//largest number of bytes held by alignment grids at once
+	long getAdmittedJobs();					//jobs the memory governor admitted
+	long getQueuedJobs();					//admitted jobs that waited for memory first
+	long getDowngradedJobs();				//jobs moved to a leaner engine because their memory did not fit
+	long getRejectedJobs();					//jobs refused because they could never fit the memory budget
+	long getReservedBytes();				//bytes reserved by the jobs running now
+	long getPeakReservedBytes();			//most bytes reserved at once
+	long getMemoryBudget();					//bytes every running job may reserve together
+	long getDirectReservedBytes();			//direct bytes reserved by the jobs running now, for off-heap grids
+	long getPeakDirectReservedBytes();		//most direct bytes reserved at once
+	long getDirectMemoryBudget();			//direct bytes every running job may reserve together
+	String[] getOperations();				//names of every timed operation
+	void reset();							//clear every counter and timer
+}
@@ -0,0 +1,290 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class MotifSearch {
+	static final String DNA = "ACGT";						//dna alphabet
+	static final String PROTEIN = "ACDEFGHIKLMNPQRSTVWY*";	//protein alphabet, '*' for stop codons
+	static final int MAX_VARIANTS = 1 << 16;				//most concrete strings one ambiguous pattern may expand to
+	static final Map<Character, String> IUPAC = new HashMap<Character, String>();	//bases matched by each dna ambiguity code
+
+	static {
+		IUPAC.put('A', "A");
+		IUPAC.put('C', "C");
+		IUPAC.put('G', "G");
+		IUPAC.put('T', "T");
+		IUPAC.put('U', "T");
+		IUPAC.put('R', "AG");
+		IUPAC.put('Y', "CT");
+		IUPAC.put('S', "CG");
+		IUPAC.put('W', "AT");
+		IUPAC.put('K', "GT");
+		IUPAC.put('M', "AC");
+		IUPAC.put('B', "CGT");
+		IUPAC.put('D', "AGT");
+		IUPAC.put('H', "ACT");
+		IUPAC.put('V', "ACG");
+		IUPAC.put('N', "ACGT");
+	}
+
+	/**
+	 * A motif occurrence, with 1-based inclusive coordinates on the forward dna strand or in the translated protein
+	 */
+	public static class Hit {
+		public String record;								//species name
+		public String motif;								//motif pattern as given
+		public char strand;									//'+' or '-'
+		public int frame;									//reading frame for protein hits, 0 for dna hits
+		public int start;									//first position of the hit
+		public int end;										//last position of the hit
+		public String matched;								//matched text, read on the hit's own strand
+
+		@Override
+		public String toString() {
+			return record + "\t" + motif + "\t" + strand + "\t" + (frame == 0 ? "-" : String.valueOf(frame)) + "\t" + start + "\t" + end + "\t" + matched;
+		}
+	}
+
+	boolean protein;										//true if the patterns are protein motifs
+	List<String> motifs;									//patterns as given
+	byte[] code;											//index of each character in the alphabet, -1 if not in it
+	int alphabetSize;										//number of letters in the alphabet
+	int[][] next;											//complete transition table of the automaton, failures already followed
+	int[][] outputs;										//every keyword that ends in each state, including through failure links
+	List<String> keywords;									//concrete keywords the patterns expanded to
+	int[] keywordMotif;										//motif each keyword came from
+	boolean[] keywordReverse;								//true if the keyword is the reverse complement of its motif
+
+	/**
+	 * Compile dna motifs, which may use IUPAC ambiguity codes, into one automaton matching both strands
+	 * @return motif search over dna
+	 */
+	public static MotifSearch dna(List<String> motifs) {
+		return new MotifSearch(motifs, false);
+	}
+
+	/**
+	 * Compile protein motifs, which may use 'x' for any amino acid, into one automaton
+	 * @return motif search over protein translations
+	 */
+	public static MotifSearch protein(List<String> motifs) {
+		return new MotifSearch(motifs, true);
+	}
+
+	MotifSearch(List<String> motifs, boolean protein) {
+		this.protein = protein;
+		this.motifs = new ArrayList<String>(motifs);
+		String alphabet = protein ? PROTEIN : DNA;
+		alphabetSize = alphabet.length();
+		code = new byte[128];
+		Arrays.fill(code, (byte) -1);
+		for (int i = 0; i < alphabetSize; i++) {
+			code[alphabet.charAt(i)] = (byte) i;
+			code[Character.toLowerCase(alphabet.charAt(i))] = (byte) i;
+		}
+
+		//expand each ambiguous pattern into concrete keywords, adding reverse complements for dna
+		keywords = new ArrayList<String>();
+		List<Integer> owners = new ArrayList<Integer>();
+		List<Boolean> reverse = new ArrayList<Boolean>();
+		for (int m = 0; m < this.motifs.size(); m++) {
+			List<String> variants = expand(this.motifs.get(m).trim().toUpperCase(), protein);
+			for (String variant : variants) {
+				keywords.add(variant);
+				owners.add(m);
+				reverse.add(false);
+				if (!protein) {
+					String complement = Translator.reverseComplement(variant);
+					if (!complement.equals(variant)) {
+						keywords.add(complement);
+						owners.add(m);
+						reverse.add(true);
+					}
+				}
+			}
+		}
+		keywordMotif = new int[keywords.size()];
+		keywordReverse = new boolean[keywords.size()];
+		for (int k = 0; k < keywords.size(); k++) {
+			keywordMotif[k] = owners.get(k);
+			keywordReverse[k] = reverse.get(k);
+		}
+		build();
+	}
+
+	/**
+	 * Expand the ambiguity codes of a pattern into every concrete string it matches
+	 * @return concrete keywords
+	 */
+	static List<String> expand(String pattern, boolean protein) {
+		if (pattern.isEmpty()) {
+			throw new IllegalArgumentException("Empty motif");
+		}
+		List<String> choices = new ArrayList<String>();
+		long count = 1;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			String options;
+			if (protein) {
+				options = c == 'X' ? PROTEIN.substring(0, PROTEIN.length() - 1) : (PROTEIN.indexOf(c) >= 0 ? String.valueOf(c) : null);
+			} else {
+				options = IUPAC.get(c);
+			}
+			if (options == null) {
+				throw new IllegalArgumentException("Invalid character '" + c + "' in motif " + pattern);
+			}
+			choices.add(options);
+			count *= options.length();
+			if (count > MAX_VARIANTS) {
+				throw new IllegalArgumentException("Motif " + pattern + " is too ambiguous");
+			}
+		}
+		List<String> variants = new ArrayList<String>((int) count);
+		variants.add("");
+		for (String options : choices) {
+			List<String> extended = new ArrayList<String>(variants.size() * options.length());
+			for (String prefix : variants) {
+				for (int o = 0; o < options.length(); o++) {
+					extended.add(prefix + options.charAt(o));
+				}
+			}
+			variants = extended;
+		}
+		return variants;
+	}
+
+	/**
+	 * Build the keyword trie, then compute failure links breadth first and fold them into a complete transition table,
+	 * so scanning costs one table lookup per character however many motifs there are
+	 */
+	void build() {
+		List<int[]> trie = new ArrayList<int[]>();
+		List<List<Integer>> ends = new ArrayList<List<Integer>>();
+		trie.add(newState());
+		ends.add(new ArrayList<Integer>());
+		for (int k = 0; k < keywords.size(); k++) {
+			String keyword = keywords.get(k);
+			int state = 0;
+			for (int i = 0; i < keyword.length(); i++) {
+				int c = code[keyword.charAt(i)];
+				if (trie.get(state)[c] < 0) {
+					trie.get(state)[c] = trie.size();
+					trie.add(newState());
+					ends.add(new ArrayList<Integer>());
+				}
+				state = trie.get(state)[c];
+			}
+			ends.get(state).add(k);
+		}
+
+		next = trie.toArray(new int[0][]);
+		int[] fail = new int[next.length];
+		ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+		for (int c = 0; c < alphabetSize; c++) {
+			if (next[0][c] < 0) {
+				next[0][c] = 0;
+			} else {
+				fail[next[0][c]] = 0;
+				queue.add(next[0][c]);
+			}
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			ends.get(state).addAll(ends.get(fail[state]));
+			for (int c = 0; c < alphabetSize; c++) {
+				int child = next[state][c];
+				if (child < 0) {
+					next[state][c] = next[fail[state]][c];
+				} else {
+					fail[child] = next[fail[state]][c];
+					queue.add(child);
+				}
+			}
+		}
+		outputs = new int[next.length][];
+		for (int s = 0; s < next.length; s++) {
+			outputs[s] = ends.get(s).stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	int[] newState() {
+		int[] state = new int[alphabetSize];
+		Arrays.fill(state, -1);
+		return state;
+	}
+
+	/**
+	 * Scan one text for every motif in a single pass; characters outside the alphabet restart the automaton
+	 * @return hits in order of their end position
+	 */
+	public List<Hit> scan(String record, String text, char strand, int frame) {
+		List<Hit> hits = new ArrayList<Hit>();
+		int state = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char ch = text.charAt(i);
+			int c = ch < 128 ? code[ch] : -1;
+			if (c < 0) {
+				state = 0;
+				continue;
+			}
+			state = next[state][c];
+			for (int k : outputs[state]) {
+				Hit hit = new Hit();
+				hit.record = record;
+				hit.motif = motifs.get(keywordMotif[k]);
+				hit.frame = frame;
+				hit.start = i - keywords.get(k).length() + 2;
+				hit.end = i + 1;
+				if (keywordReverse[k]) {
+					hit.strand = '-';
+					hit.matched = Translator.reverseComplement(keywords.get(k));
+				} else {
+					hit.strand = strand;
+					hit.matched = keywords.get(k);
+				}
+				hits.add(hit);
+			}
+		}
+		return hits;
+	}
+
+	/**
+	 * Scan every species, in parallel across species. Dna motifs are matched on both strands in one pass over the
+	 * forward strand; protein motifs are matched in each of the given reading frames
+	 * @return hits grouped by species in library order
+	 */
+	@SuppressWarnings("try")
+	public List<Hit> scanAll(Analysis analysis, List<String> names, int[] readingFrames) {
+		try (Metrics.Timer timer = Metrics.time(protein ? "proteinMotifSearch" : "dnaMotifSearch")) {
+			return names.parallelStream().flatMap(name -> {
+				List<Hit> hits = new ArrayList<Hit>();
+				if (protein) {
+					for (int readingFrame : readingFrames) {
+						hits.addAll(scan(name, analysis.protein(name, readingFrame), readingFrame > 3 ? '-' : '+', readingFrame));
+					}
+				} else {
+					hits.addAll(scan(name, analysis.dna(name), '+', 0));
+				}
+				return hits.stream();
+			}).collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Build a tab separated table of hits
+	 * @return hit table
+	 */
+	public static String toTable(List<Hit> hits) {
+		StringBuilder sb = new StringBuilder("Species\tMotif\tStrand\tFrame\tStart\tEnd\tMatched\n");
+		for (Hit hit : hits) {
+			sb.append(hit).append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,467 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class MultipleAlignment {
+	static final String ALPHABET = "ACGT-";		//residue codes used for profile columns, the gap is code 4
+	static final int GAP = 4;
+
+	static final byte BOTH = 0;					//traceback step: column from both profiles
+	static final byte FIRST = 1;				//traceback step: column from the first profile, gap column in the second
+	static final byte SECOND = 2;				//traceback step: column from the second profile, gap column in the first
+
+	int match;									//match reward
+	int mismatch;								//mismatch penalty
+	int indel;									//indel penalty
+	boolean linearSpace;						//use the memory-bounded (Hirschberg) profile-profile DP
+	long[][] pairScore;							//score of every pair of residue codes, including gaps
+
+	/**
+	 * A set of aligned rows along with the residue counts of every column
+	 */
+	static class Profile {
+		int[] rows;								//indices of the sequences in this profile
+		char[][] aligned;						//aligned sequence for each row
+		int[][] counts;							//counts[column][code] of each residue code in the column
+
+		Profile(int row, String sequence) {
+			rows = new int[] {row};
+			aligned = new char[][] {sequence.toCharArray()};
+			counts = new int[sequence.length()][ALPHABET.length()];
+			for (int c = 0; c < sequence.length(); c++) {
+				counts[c][ALPHABET.indexOf(sequence.charAt(c))]++;
+			}
+		}
+
+		Profile(int[] rows, char[][] aligned, int[][] counts) {
+			this.rows = rows;
+			this.aligned = aligned;
+			this.counts = counts;
+		}
+
+		int length() {
+			return counts.length;
+		}
+	}
+
+	/**
+	 * Initializes the aligner with the pairwise alignment parameters
+	 * @param linearSpace true to align profiles in linear memory instead of filling the whole traceback grid
+	 */
+	public MultipleAlignment(int match, int mismatch, int indel, boolean linearSpace) {
+		this.match = match;
+		this.mismatch = mismatch;
+		this.indel = indel;
+		this.linearSpace = linearSpace;
+
+		//sum-of-pairs score of each pair of residue codes, aligning two gaps costs nothing
+		pairScore = new long[ALPHABET.length()][ALPHABET.length()];
+		for (int x = 0; x < ALPHABET.length(); x++) {
+			for (int y = 0; y < ALPHABET.length(); y++) {
+				if (x == GAP && y == GAP) {
+					pairScore[x][y] = 0;
+				} else if (x == GAP || y == GAP) {
+					pairScore[x][y] = indel;
+				} else if (x == y) {
+					pairScore[x][y] = match;
+				} else {
+					pairScore[x][y] = mismatch;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Align the given species progressively: score every pair in parallel, build a UPGMA guide tree,
+	 * then align profiles from the leaves up, aligning sibling subtrees in parallel
+	 * @return aligned sequences in the same order as names
+	 */
+	public String[] align(SequenceLibrary library, List<String> names) {
+		if (names.size() < 2) {
+			throw new IllegalArgumentException("At least two species are required for multiple alignment");
+		}
+		double[][] distances = Phylogeny.distanceMatrix(library, names, match, mismatch, indel);
+		Phylogeny.Node guideTree = Phylogeny.upgma(names, distances);
+
+		HashMap<String, Integer> index = new HashMap<String, Integer>();
+		for (int i = 0; i < names.size(); i++) {
+			index.put(names.get(i), i);
+		}
+		Profile profile = ForkJoinPool.commonPool().invoke(new ProfileTask(guideTree, library, index));
+
+		String[] result = new String[names.size()];
+		for (int r = 0; r < profile.rows.length; r++) {
+			result[profile.rows[r]] = new String(profile.aligned[r]);
+		}
+		return result;
+	}
+
+	/**
+	 * Aligns the profile of a guide tree node, forking one child while aligning the other
+	 */
+	class ProfileTask extends RecursiveTask<Profile> {
+		private static final long serialVersionUID = 1L;
+
+		Phylogeny.Node node;
+		SequenceLibrary library;
+		Map<String, Integer> index;
+
+		ProfileTask(Phylogeny.Node node, SequenceLibrary library, Map<String, Integer> index) {
+			this.node = node;
+			this.library = library;
+			this.index = index;
+		}
+
+		protected Profile compute() {
+			if (node.children.length == 0) {
+				return new Profile(index.get(node.name), library.get(node.name));
+			}
+			ProfileTask right = new ProfileTask(node.children[1], library, index);
+			right.fork();
+			Profile left = new ProfileTask(node.children[0], library, index).compute();
+			Profile merged = merge(left, right.join());
+			for (int c = 2; c < node.children.length; c++) {
+				merged = merge(merged, new ProfileTask(node.children[c], library, index).compute());
+			}
+			return merged;
+		}
+	}
+
+	/**
+	 * Align two profiles and combine them into a single profile
+	 * @return the merged profile
+	 */
+	public Profile merge(Profile a, Profile b) {
+		byte[] steps = linearSpace ? linearSpaceSteps(a, b) : fullSteps(a, b);
+
+		int rowCount = a.rows.length + b.rows.length;
+		int[] rows = new int[rowCount];
+		System.arraycopy(a.rows, 0, rows, 0, a.rows.length);
+		System.arraycopy(b.rows, 0, rows, a.rows.length, b.rows.length);
+		char[][] aligned = new char[rowCount][steps.length];
+		int[][] counts = new int[steps.length][];
+
+		//walk the steps, copying columns from each profile or inserting gap columns
+		int i = 0;
+		int j = 0;
+		for (int s = 0; s < steps.length; s++) {
+			int[] column = new int[ALPHABET.length()];
+			if (steps[s] != SECOND) {
+				for (int r = 0; r < a.rows.length; r++) {
+					aligned[r][s] = a.aligned[r][i];
+				}
+				for (int x = 0; x < column.length; x++) {
+					column[x] += a.counts[i][x];
+				}
+				i++;
+			} else {
+				for (int r = 0; r < a.rows.length; r++) {
+					aligned[r][s] = '-';
+				}
+				column[GAP] += a.rows.length;
+			}
+			if (steps[s] != FIRST) {
+				for (int r = 0; r < b.rows.length; r++) {
+					aligned[a.rows.length + r][s] = b.aligned[r][j];
+				}
+				for (int x = 0; x < column.length; x++) {
+					column[x] += b.counts[j][x];
+				}
+				j++;
+			} else {
+				for (int r = 0; r < b.rows.length; r++) {
+					aligned[a.rows.length + r][s] = '-';
+				}
+				column[GAP] += b.rows.length;
+			}
+			counts[s] = column;
+		}
+		return new Profile(rows, aligned, counts);
+	}
+
+	/**
+	 * Precompute, for every column of a profile, the score each residue code would get against that column,
+	 * so scoring a pair of columns during the DP is a single dot product
+	 * @return weights[column][code]
+	 */
+	long[][] weights(Profile p, int start, int end) {
+		long[][] w = new long[end - start][ALPHABET.length()];
+		for (int c = start; c < end; c++) {
+			int[] y = p.counts[c];
+			for (int x = 0; x < ALPHABET.length(); x++) {
+				long score = 0;
+				for (int q = 0; q < ALPHABET.length(); q++) {
+					score += pairScore[x][q] * y[q];
+				}
+				w[c - start][x] = score;
+			}
+		}
+		return w;
+	}
+
+	/**
+	 * Sum-of-pairs score of aligning a profile column against a precomputed column weight
+	 */
+	static long columnScore(int[] x, long[] w) {
+		return x[0] * w[0] + x[1] * w[1] + x[2] * w[2] + x[3] * w[3] + x[4] * w[4];
+	}
+
+	/**
+	 * Sum-of-pairs score of aligning a profile column against a column of gaps
+	 */
+	long gapScore(int[] x, int gapRows) {
+		return (long) gapRows * indel * sumResidues(x);
+	}
+
+	static int sumResidues(int[] x) {
+		int residues = 0;
+		for (int p = 0; p < GAP; p++) {
+			residues += x[p];
+		}
+		return residues;
+	}
+
+	/**
+	 * Profile-profile Needleman-Wunsch keeping a full traceback grid of one byte per cell
+	 * @return alignment steps from start to end
+	 */
+	byte[] fullSteps(Profile a, Profile b) {
+		int n = a.length();
+		int m = b.length();
+		byte[][] traceback = new byte[n + 1][m + 1];
+		long[] previous = new long[m + 1];
+		long[] current = new long[m + 1];
+		long[][] w = weights(b, 0, m);
+		long[] gapB = new long[m];								//score of each column of b against a gap column of a
+		for (int j = 0; j < m; j++) {
+			gapB[j] = gapScore(b.counts[j], a.rows.length);
+		}
+
+		//initialize first row
+		for (int j = 1; j <= m; j++) {
+			previous[j] = previous[j - 1] + gapB[j - 1];
+			traceback[0][j] = SECOND;
+		}
+
+		//fill out the grid one row at a time
+		for (int i = 1; i <= n; i++) {
+			long gapA = gapScore(a.counts[i - 1], b.rows.length);
+			current[0] = previous[0] + gapA;
+			traceback[i][0] = FIRST;
+			for (int j = 1; j <= m; j++) {
+				long both = previous[j - 1] + columnScore(a.counts[i - 1], w[j - 1]);
+				long first = previous[j] + gapA;
+				long second = current[j - 1] + gapB[j - 1];
+				if (both >= first && both >= second) {
+					current[j] = both;
+					traceback[i][j] = BOTH;
+				} else if (first >= second) {
+					current[j] = first;
+					traceback[i][j] = FIRST;
+				} else {
+					current[j] = second;
+					traceback[i][j] = SECOND;
+				}
+			}
+			long[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+
+		//trace backwards from the bottom right cell, filling the steps from the end
+		byte[] reversed = new byte[n + m];
+		int length = 0;
+		int i = n;
+		int j = m;
+		while (i > 0 || j > 0) {
+			byte step = traceback[i][j];
+			reversed[length++] = step;
+			if (step != SECOND) {
+				i--;
+			}
+			if (step != FIRST) {
+				j--;
+			}
+		}
+		byte[] steps = new byte[length];
+		for (int s = 0; s < length; s++) {
+			steps[s] = reversed[length - 1 - s];
+		}
+		return steps;
+	}
+
+	/**
+	 * Profile-profile Needleman-Wunsch in linear memory using Hirschberg's divide and conquer
+	 * @return alignment steps from start to end
+	 */
+	byte[] linearSpaceSteps(Profile a, Profile b) {
+		ByteBuilder steps = new ByteBuilder(a.length() + b.length());
+		hirschberg(a, 0, a.length(), b, 0, b.length(), steps);
+		return steps.toArray();
+	}
+
+	private void hirschberg(Profile a, int aStart, int aEnd, Profile b, int bStart, int bEnd, ByteBuilder steps) {
+		if (aEnd - aStart == 0) {
+			for (int j = bStart; j < bEnd; j++) {
+				steps.add(SECOND);
+			}
+			return;
+		}
+		if (bEnd - bStart == 0) {
+			for (int i = aStart; i < aEnd; i++) {
+				steps.add(FIRST);
+			}
+			return;
+		}
+		if (aEnd - aStart == 1) {
+			Profile single = slice(a, aStart, aEnd);
+			Profile part = slice(b, bStart, bEnd);
+			for (byte step : fullSteps(single, part)) {
+				steps.add(step);
+			}
+			return;
+		}
+
+		//split the first profile in half and find where the optimal path crosses the middle row
+		int middle = (aStart + aEnd) / 2;
+		long[] forward = lastRow(a, aStart, middle, b, bStart, bEnd, false);
+		long[] backward = lastRow(a, middle, aEnd, b, bStart, bEnd, true);
+		int width = bEnd - bStart;
+		int split = 0;
+		long best = Long.MIN_VALUE;
+		for (int k = 0; k <= width; k++) {
+			long total = forward[k] + backward[width - k];
+			if (total > best) {
+				best = total;
+				split = k;
+			}
+		}
+		hirschberg(a, aStart, middle, b, bStart, bStart + split, steps);
+		hirschberg(a, middle, aEnd, b, bStart + split, bEnd, steps);
+	}
+
+	/**
+	 * Score the last row of the grid for a range of each profile, optionally with both ranges reversed
+	 */
+	private long[] lastRow(Profile a, int aStart, int aEnd, Profile b, int bStart, int bEnd, boolean reverse) {
+		int width = bEnd - bStart;
+		long[] previous = new long[width + 1];
+		long[] current = new long[width + 1];
+		long[][] w = weights(b, bStart, bEnd);
+		long[] gapB = new long[width];
+		for (int c = 0; c < width; c++) {
+			gapB[c] = gapScore(b.counts[bStart + c], a.rows.length);
+		}
+		for (int j = 1; j <= width; j++) {
+			previous[j] = previous[j - 1] + gapB[reverse ? width - j : j - 1];
+		}
+		for (int i = 1; i <= aEnd - aStart; i++) {
+			int[] x = a.counts[reverse ? aEnd - i : aStart + i - 1];
+			long gapA = gapScore(x, b.rows.length);
+			current[0] = previous[0] + gapA;
+			for (int j = 1; j <= width; j++) {
+				int column = reverse ? width - j : j - 1;
+				long both = previous[j - 1] + columnScore(x, w[column]);
+				long first = previous[j] + gapA;
+				long second = current[j - 1] + gapB[column];
+				current[j] = Math.max(both, Math.max(first, second));
+			}
+			long[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous;
+	}
+
+	/**
+	 * View a range of a profile's columns as its own profile; only the column counts are used by the DP
+	 */
+	private static Profile slice(Profile p, int start, int end) {
+		return new Profile(p.rows, null, Arrays.copyOfRange(p.counts, start, end));
+	}
+
+	/**
+	 * Growable array of traceback steps
+	 */
+	static class ByteBuilder {
+		byte[] data;
+		int size;
+
+		ByteBuilder(int capacity) {
+			data = new byte[Math.max(16, capacity)];
+		}
+
+		void add(byte b) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+			data[size++] = b;
+		}
+
+		byte[] toArray() {
+			return Arrays.copyOf(data, size);
+		}
+	}
+
+	/**
+	 * Format an alignment as FASTA with 60 characters per line
+	 * @return FASTA text
+	 */
+	public static String toFasta(List<String> names, String[] aligned) {
+		StringBuilder sb = new StringBuilder();
+		for (int r = 0; r < aligned.length; r++) {
+			sb.append('>').append(names.get(r)).append('\n');
+			for (int k = 0; k < aligned[r].length(); k += 60) {
+				sb.append(aligned[r], k, Math.min(aligned[r].length(), k + 60)).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Format an alignment as Clustal with 60 columns per block and a conservation line marking identical columns
+	 * @return Clustal text
+	 */
+	public static String toClustal(List<String> names, String[] aligned) {
+		int nameWidth = 0;
+		for (String name : names) {
+			nameWidth = Math.max(nameWidth, name.length());
+		}
+		nameWidth += 4;
+		int length = aligned[0].length();
+		StringBuilder sb = new StringBuilder("CLUSTAL W multiple sequence alignment\n\n");
+		for (int k = 0; k < length; k += 60) {
+			int end = Math.min(length, k + 60);
+			for (int r = 0; r < aligned.length; r++) {
+				String name = names.get(r).replace(' ', '_');
+				sb.append(name);
+				for (int p = name.length(); p < nameWidth; p++) {
+					sb.append(' ');
+				}
+				sb.append(aligned[r], k, end).append('\n');
+			}
+
+			//an asterisk marks a column where every sequence has the same residue
+			for (int p = 0; p < nameWidth; p++) {
+				sb.append(' ');
+			}
+			for (int c = k; c < end; c++) {
+				char residue = aligned[0].charAt(c);
+				boolean conserved = residue != '-';
+				for (int r = 1; r < aligned.length && conserved; r++) {
+					conserved = aligned[r].charAt(c) == residue;
+				}
+				sb.append(conserved ? '*' : ' ');
+			}
+			sb.append("\n\n");
+		}
+		return sb.toString();
+	}
+}
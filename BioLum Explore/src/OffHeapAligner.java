@@ -0,0 +1,191 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.IOException;
+
+public class OffHeapAligner {
+	static final byte NORTH = 1;				//cell equals its north neighbor plus the indel penalty
+	static final byte WEST = 2;					//cell equals its west neighbor plus the indel penalty
+	static final byte NORTHWEST = 4;			//cell equals its northwest neighbor plus match or mismatch
+	static final byte NEGATIVE = 8;				//cell value is negative
+
+	int match;									//match reward
+	int mismatch;								//mismatch penalty
+	int indel;									//indel penalty
+
+	/**
+	 * A pairwise alignment and its score
+	 */
+	public static class Alignment {
+		public int score;						//alignment score
+		public EditTranscript transcript;		//alignment columns
+	}
+
+	/**
+	 * Initializes the aligner with the pairwise alignment parameters
+	 */
+	public OffHeapAligner(int match, int mismatch, int indel) {
+		this.match = match;
+		this.mismatch = mismatch;
+		this.indel = indel;
+	}
+
+
+	/**
+	 * Perform global alignment with the pairwise recurrence, each cell the best of its north and west neighbors plus the
+	 * indel penalty and its northwest neighbor plus match or mismatch. Only two rows of scores are kept on the heap; the traceback is one byte
+	 * per cell off-heap, released as soon as the alignment is built
+	 * @throws IOException
+	 * @return alignment and score
+	 */
+	public Alignment global(String s1, String s2) throws IOException {
+		int n = s1.length();
+		int m = s2.length();
+		try (Metrics.Timer timer = Metrics.time("offHeapGlobalAlignment");
+				OffHeapMatrix flags = OffHeapMatrix.allocate(n + 1, m + 1, 1)) {
+			int[] previous = new int[m + 1];
+			int[] current = new int[m + 1];
+
+			//initialize first row
+			for (int j = 0; j <= m; j++) {
+				previous[j] = j * indel;
+				flags.setByte(0, j, (byte) ((j > 0 ? NORTH : 0) | (previous[j] < 0 ? NEGATIVE : 0)));
+			}
+
+			//fill out the grid one row at a time, recording which neighbors each cell could have come from
+			for (int i = 1; i <= n; i++) {
+				current[0] = i * indel;
+				flags.setByte(i, 0, (byte) (WEST | (current[0] < 0 ? NEGATIVE : 0)));
+				fillRow(s1.charAt(i - 1), s2, previous, current, flags, i);
+				int[] swap = previous;
+				previous = current;
+				current = swap;
+			}
+			timer.cells((long) n * m);
+
+			Alignment alignment = new Alignment();
+			alignment.score = previous[m];
+			traceGlobal(s1, s2, flags, alignment);
+			return alignment;
+		}
+	}
+
+	/**
+	 * Perform local alignment with the global recurrence over a first row and column of zeros, with no zero floor,
+	 * storing the traceback off-heap
+	 * @throws IOException
+	 * @return alignment and score
+	 */
+	public Alignment local(String s1, String s2) throws IOException {
+		int n = s1.length();
+		int m = s2.length();
+		try (Metrics.Timer timer = Metrics.time("offHeapLocalAlignment");
+				OffHeapMatrix flags = OffHeapMatrix.allocate(n + 1, m + 1, 1)) {
+			int[] previous = new int[m + 1];
+			int[] current = new int[m + 1];
+			int score = Integer.MIN_VALUE;
+			int bestI = 0;
+			int bestJ = 0;
+
+			//first row and column are zeros
+			for (int i = 1; i <= n; i++) {
+				current[0] = 0;
+				fillRow(s1.charAt(i - 1), s2, previous, current, flags, i);
+
+				//the last maximum cell in row order is where the traceback starts
+				for (int j = 1; j <= m; j++) {
+					if (score <= current[j]) {
+						score = current[j];
+						bestI = i;
+						bestJ = j;
+					}
+				}
+				int[] swap = previous;
+				previous = current;
+				current = swap;
+			}
+			timer.cells((long) n * m);
+
+			Alignment alignment = new Alignment();
+			alignment.score = score;
+			traceLocal(s1, s2, flags, bestI, bestJ, alignment);
+			return alignment;
+		}
+	}
+
+	/**
+	 * Fill one row of the grid and record the traceback flags of every cell
+	 */
+	private void fillRow(char c, String s2, int[] previous, int[] current, OffHeapMatrix flags, int i) {
+		for (int j = 1; j < current.length; j++) {
+			int north = current[j - 1] + indel;
+			int west = previous[j] + indel;
+			int northwest = previous[j - 1] + (c == s2.charAt(j - 1) ? match : mismatch);
+			int value = Math.max(Math.max(north, west), northwest);
+			current[j] = value;
+			flags.setByte(i, j, (byte) ((value == north ? NORTH : 0) | (value == west ? WEST : 0)
+					| (value == northwest ? NORTHWEST : 0) | (value < 0 ? NEGATIVE : 0)));
+		}
+	}
+
+	/**
+	 * Trace backwards from the bottom right cell, checking north, west, then northwest,
+	 * and finish with gaps once either sequence is used up
+	 */
+	private void traceGlobal(String s1, String s2, OffHeapMatrix flags, Alignment alignment) {
+		EditTranscript.Builder transcript = new EditTranscript.Builder();
+		int i = s1.length();
+		int j = s2.length();
+		while (i > 0 && j > 0) {
+			if ((flags.getByte(i, j) & NORTH) != 0) {
+				transcript.add(EditTranscript.INSERTION);
+				j--;
+			}
+			if (j > 0 && (flags.getByte(i, j) & WEST) != 0) {
+				transcript.add(EditTranscript.DELETION);
+				i--;
+			}
+			if (i > 0 && j > 0 && (flags.getByte(i, j) & NORTHWEST) != 0) {
+				transcript.column(s1.charAt(i - 1), s2.charAt(j - 1));
+				i--;
+				j--;
+			}
+		}
+		for (; i > 0; i--) {
+			transcript.add(EditTranscript.DELETION);
+		}
+		for (; j > 0; j--) {
+			transcript.add(EditTranscript.INSERTION);
+		}
+		alignment.transcript = transcript.buildReversed(s1, s2, i, j);
+	}
+
+	/**
+	 * Trace backwards from the maximum cell in the same neighbor order, stopping at the edge of the grid or a negative cell
+	 */
+	private void traceLocal(String s1, String s2, OffHeapMatrix flags, int i, int j, Alignment alignment) {
+		EditTranscript.Builder transcript = new EditTranscript.Builder();
+		boolean done = i == 0 || j == 0;
+		while (!done) {
+			if ((flags.getByte(i, j) & NORTH) != 0) {
+				transcript.add(EditTranscript.INSERTION);
+				j--;
+			}
+			if (j > 0 && (flags.getByte(i, j) & WEST) != 0) {
+				transcript.add(EditTranscript.DELETION);
+				i--;
+			}
+			if (i > 0 && j > 0 && (flags.getByte(i, j) & NORTHWEST) != 0) {
+				transcript.column(s1.charAt(i - 1), s2.charAt(j - 1));
+				i--;
+				j--;
+			}
+			done = i == 0 || j == 0 || (flags.getByte(i, j) & NEGATIVE) != 0;
+		}
+		alignment.transcript = transcript.buildReversed(s1, s2, i, j);
+	}
+}
@@ -0,0 +1,150 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+public class OffHeapMatrix implements AutoCloseable {
+	static final int CHUNK_SHIFT = 30;										//each buffer holds 1 GiB, the most a single ByteBuffer can address comfortably
+	static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+	static final long CHUNK_MASK = CHUNK_SIZE - 1;
+	static final long DIRECT_LIMIT = Long.getLong("biolum.offheap.directLimit", 256L << 20);	//larger matrices are backed by a memory-mapped temp file
+	static final Object UNSAFE;												//sun.misc.Unsafe instance, used only to free buffers
+	static final Method INVOKE_CLEANER;										//Unsafe.invokeCleaner, null if the runtime does not provide it
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	final long rows;														//number of rows
+	final long columns;														//number of columns
+	final int cellBytes;													//bytes per cell (1 for traceback flags, 4 for scores)
+	final long bytes;														//total bytes held by the matrix
+	ByteBuffer[] chunks;													//off-heap storage, null once released
+	Path file;																//backing temp file, null for direct memory
+	boolean counted;														//whether the matrix was counted toward the grid memory metric
+
+	/**
+	 * Allocate an off-heap matrix, in direct memory when it is small enough and in a memory-mapped temp file otherwise
+	 * @throws IOException
+	 * @return a zeroed matrix that must be closed to release its memory
+	 */
+	public static OffHeapMatrix allocate(long rows, long columns, int cellBytes) throws IOException {
+		return new OffHeapMatrix(rows, columns, cellBytes, rows * columns * cellBytes > DIRECT_LIMIT);
+	}
+
+	OffHeapMatrix(long rows, long columns, int cellBytes, boolean mapped) throws IOException {
+		this.rows = rows;
+		this.columns = columns;
+		this.cellBytes = cellBytes;
+		this.bytes = rows * columns * cellBytes;
+		int count = (int) ((bytes + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+		chunks = new ByteBuffer[Math.max(1, count)];
+		if (mapped) {
+			file = Files.createTempFile("biolum-matrix", ".bin");
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				for (int c = 0; c < chunks.length; c++) {
+					long size = Math.min(CHUNK_SIZE, bytes - ((long) c << CHUNK_SHIFT));
+					chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, (long) c << CHUNK_SHIFT, Math.max(1, size));
+				}
+			} catch (IOException e) {
+				close();
+				throw e;
+			}
+		} else {
+			for (int c = 0; c < chunks.length; c++) {
+				long size = Math.min(CHUNK_SIZE, bytes - ((long) c << CHUNK_SHIFT));
+				chunks[c] = ByteBuffer.allocateDirect((int) Math.max(1, size));
+			}
+		}
+		Metrics.gridAllocated(bytes);
+		counted = true;
+	}
+
+	/**
+	 * Check whether the matrix lives in a memory-mapped file
+	 * @return true if file backed
+	 */
+	public boolean isMapped() {
+		return file != null;
+	}
+
+	public byte getByte(long row, long column) {
+		long offset = row * columns + column;
+		return chunks[(int) (offset >>> CHUNK_SHIFT)].get((int) (offset & CHUNK_MASK));
+	}
+
+	public void setByte(long row, long column, byte value) {
+		long offset = row * columns + column;
+		chunks[(int) (offset >>> CHUNK_SHIFT)].put((int) (offset & CHUNK_MASK), value);
+	}
+
+	public int getInt(long row, long column) {
+		long offset = (row * columns + column) * 4;
+		return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+	}
+
+	public void setInt(long row, long column, int value) {
+		long offset = (row * columns + column) * 4;
+		chunks[(int) (offset >>> CHUNK_SHIFT)].putInt((int) (offset & CHUNK_MASK), value);
+	}
+
+	/**
+	 * Release the memory now instead of waiting for the garbage collector, and delete the backing file
+	 */
+	public void close() {
+		if (chunks == null) {
+			return;
+		}
+		for (ByteBuffer chunk : chunks) {
+			if (chunk != null) {
+				release(chunk);
+			}
+		}
+		chunks = null;
+		if (counted) {
+			Metrics.gridAllocated(-bytes);
+		}
+		if (file != null) {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				file.toFile().deleteOnExit();
+			}
+		}
+	}
+
+	/**
+	 * Free a direct or mapped buffer immediately with the JDK's buffer cleaner
+	 */
+	static void release(ByteBuffer buffer) {
+		if (INVOKE_CLEANER == null) {
+			return;										//without the cleaner the buffer is freed when it is garbage collected
+		}
+		try {
+			INVOKE_CLEANER.invoke(UNSAFE, buffer);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			e.printStackTrace();
+		}
+	}
+}
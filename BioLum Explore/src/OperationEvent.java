@@ -0,0 +1,24 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import jdk.jfr.*;
+
+@Name("biolum.Operation")
+@Label("BioLum Operation")
+@Category("BioLum Explore")
+@Description("A timed sequence analysis operation")
+public class OperationEvent extends Event {
+	@Label("Operation")
+	String operation;						//name of the operation
+
+	@Label("Cells")
+	long cells;								//dynamic programming cells filled during the operation
+
+	@Label("Bytes Written")
+	@DataAmount
+	long bytes;								//bytes written to files during the operation
+}
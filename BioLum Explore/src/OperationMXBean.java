@@ -0,0 +1,16 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+public interface OperationMXBean {
+	long getCount();						//number of times the operation ran
+	double getTotalMillis();				//total time spent in the operation
+	double getMeanMillis();					//mean time per run
+	double getMaxMillis();					//slowest run
+	double getP50Millis();					//median run time, to the resolution of the histogram
+	double getP99Millis();					//99th percentile run time, to the resolution of the histogram
+	long[] getHistogram();					//number of runs whose time in nanoseconds falls in each power of two bucket
+}
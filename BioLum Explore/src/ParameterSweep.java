@@ -0,0 +1,203 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ParameterSweep {
+	static final int MAX_POINTS = 100000;					//most pair and parameter combinations one sweep may evaluate
+
+	int[] matches;								//match rewards to try
+	int[] mismatches;							//mismatch penalties to try
+	int[] indels;								//indel penalties to try
+
+	/**
+	 * The alignment of one pair under one parameter combination
+	 */
+	public static class Point {
+		public String name1;					//first species
+		public String name2;					//second species
+		public int match;						//match reward
+		public int mismatch;					//mismatch penalty
+		public int indel;						//indel penalty
+		public int globalScore;					//global alignment score
+		public int localScore;					//local alignment score
+		public double identity;					//share of global alignment columns that are identities
+		public int alignment;					//which distinct optimal global alignment of the pair this is, from 1
+		public boolean boundary;				//true if the optimal alignment differs from the combination with the previous value of a parameter
+		String cigar;							//global alignment columns, only kept to compare alignments
+
+		public String toString() {
+			return name1 + "\t" + name2 + "\t" + match + "\t" + mismatch + "\t" + indel + "\t" + globalScore + "\t" + localScore
+					+ "\t" + String.format(Locale.ROOT, "%.2f%%", 100 * identity) + "\t" + alignment + (boundary ? " *" : "");
+		}
+	}
+
+	/**
+	 * Initializes the sweep with the values to try for each parameter
+	 */
+	public ParameterSweep(int[] matches, int[] mismatches, int[] indels) {
+		if (matches.length == 0 || mismatches.length == 0 || indels.length == 0) {
+			throw new IllegalArgumentException("Every parameter needs at least one value");
+		}
+		this.matches = matches;
+		this.mismatches = mismatches;
+		this.indels = indels;
+	}
+
+	/**
+	 * Parse the values of one parameter: comma separated integers or ranges, e.g. "1..3" or "-4..-2,-6"
+	 * @throws IllegalArgumentException if a value is not an integer or a range is empty
+	 * @return values in the order given
+	 */
+	public static int[] values(String spec) {
+		List<Integer> values = new ArrayList<Integer>();
+		for (String item : spec.split(",")) {
+			item = item.trim();
+			if (item.isEmpty()) {
+				continue;
+			}
+			try {
+				int dots = item.indexOf("..");
+				if (dots < 0) {
+					values.add(Integer.parseInt(item));
+					continue;
+				}
+				int from = Integer.parseInt(item.substring(0, dots).trim());
+				int to = Integer.parseInt(item.substring(dots + 2).trim());
+				if (to < from) {
+					throw new IllegalArgumentException("Empty range: " + item);
+				}
+				for (int v = from; v <= to; v++) {
+					values.add(v);
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Not an integer or range: " + item);
+			}
+		}
+		if (values.isEmpty()) {
+			throw new IllegalArgumentException("No values in: " + spec);
+		}
+		return values.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Get the number of parameter combinations
+	 * @return combinations per pair
+	 */
+	public int combinations() {
+		return matches.length * mismatches.length * indels.length;
+	}
+
+	/**
+	 * Align every pair under every parameter combination in parallel; each pair's sequences are read once and shared by
+	 * all of its combinations, and the planner picks the engine for each alignment
+	 * @return points ordered by pair, then match, mismatch, and indel
+	 */
+	public List<Point> run(SequenceLibrary library, List<String[]> pairs) {
+		long points = (long) pairs.size() * combinations();
+		if (points > MAX_POINTS) {
+			throw new IllegalArgumentException("Sweep has " + points + " alignments, more than " + MAX_POINTS);
+		}
+		String[][] sequences = new String[pairs.size()][];
+		for (int p = 0; p < pairs.size(); p++) {
+			String[] pair = pairs.get(p);
+			sequences[p] = new String[] {library.get(pair[0]), library.get(pair[1])};
+			if (sequences[p][0] == null || sequences[p][1] == null) {
+				throw new IllegalArgumentException("Unknown species: " + (sequences[p][0] == null ? pair[0] : pair[1]));
+			}
+		}
+		try (Metrics.Timer timer = Metrics.time("parameterSweep")) {
+			int combinations = combinations();
+			List<Point> results = IntStream.range(0, (int) points).parallel()
+					.mapToObj(t -> point(pairs.get(t / combinations), sequences[t / combinations], t % combinations))
+					.collect(Collectors.toList());
+			long cells = 0;
+			for (String[] pair : sequences) {
+				cells += 2L * pair[0].length() * pair[1].length() * combinations;
+			}
+			timer.cells(cells);
+			for (int p = 0; p < pairs.size(); p++) {
+				label(results.subList(p * combinations, (p + 1) * combinations));
+			}
+			return results;
+		}
+	}
+
+	/**
+	 * Align one pair under the combination with the given index
+	 * @return the point
+	 */
+	Point point(String[] pair, String[] sequences, int combination) {
+		Point point = new Point();
+		point.name1 = pair[0];
+		point.name2 = pair[1];
+		point.match = matches[combination / (mismatches.length * indels.length)];
+		point.mismatch = mismatches[combination / indels.length % mismatches.length];
+		point.indel = indels[combination % indels.length];
+		AlignmentPlanner planner = new AlignmentPlanner(point.match, point.mismatch, point.indel);
+		try {
+			AlignmentPlanner.Result global = planner.global(sequences[0], sequences[1], true);
+			point.globalScore = global.score;
+			point.localScore = planner.local(sequences[0], sequences[1], false).score;
+			int columns = global.transcript.columns();
+			point.identity = columns == 0 ? 0 : (double) global.transcript.identities() / columns;
+			point.cigar = global.transcript.cigar();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return point;
+	}
+
+	/**
+	 * Number the distinct alignments of one pair in sweep order, and mark the combinations where the alignment differs
+	 * from the combination with the previous value of match, mismatch, or indel
+	 */
+	void label(List<Point> points) {
+		Map<String, Integer> distinct = new HashMap<String, Integer>();
+		int[] steps = {mismatches.length * indels.length, indels.length, 1};
+		int[] sizes = {matches.length, mismatches.length, indels.length};
+		for (int c = 0; c < points.size(); c++) {
+			Point point = points.get(c);
+			Integer id = distinct.get(point.cigar);
+			if (id == null) {
+				id = distinct.size() + 1;
+				distinct.put(point.cigar, id);
+			}
+			point.alignment = id;
+			for (int d = 0; d < 3; d++) {
+				if (c / steps[d] % sizes[d] > 0 && !points.get(c - steps[d]).cigar.equals(point.cigar)) {
+					point.boundary = true;
+				}
+			}
+		}
+		for (Point point : points) {
+			point.cigar = null;
+		}
+	}
+
+	/**
+	 * Format the points as a tab separated table, followed by how many distinct alignments each pair had
+	 * @return table text
+	 */
+	public static String toTable(List<Point> points) {
+		StringBuilder sb = new StringBuilder("Species 1\tSpecies 2\tMatch\tMismatch\tIndel\tGlobal Score\tLocal Score\tIdentity\tAlignment\n");
+		Map<String, Integer> distinct = new LinkedHashMap<String, Integer>();
+		for (Point point : points) {
+			sb.append(point).append('\n');
+			distinct.merge(point.name1 + " and " + point.name2, point.alignment, Math::max);
+		}
+		sb.append("\n* the optimal global alignment differs from the combination with the previous value of a parameter\n");
+		for (Map.Entry<String, Integer> pair : distinct.entrySet()) {
+			sb.append(pair.getKey()).append(": ").append(pair.getValue()).append(pair.getValue() == 1 ? " distinct alignment\n" : " distinct alignments\n");
+		}
+		return sb.toString();
+	}
+}
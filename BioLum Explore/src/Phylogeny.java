@@ -0,0 +1,367 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+public class Phylogeny {
+
+	/**
+	 * A node of a phylogenetic tree; leaves have a name and no children
+	 */
+	static class Node {
+		String name;						//species name, null for internal nodes
+		Node[] children;					//child nodes, empty for leaves
+		double[] lengths;					//branch length to each child
+
+		Node(String name) {
+			this.name = name;
+			this.children = new Node[0];
+			this.lengths = new double[0];
+		}
+
+		Node(Node[] children, double[] lengths) {
+			this.children = children;
+			this.lengths = lengths;
+		}
+
+		/**
+		 * Write the subtree rooted at this node in Newick format
+		 */
+		void newick(StringBuilder sb) {
+			if (children.length == 0) {
+				sb.append('\'').append(name.replace("'", "''")).append('\'');
+				return;
+			}
+			sb.append('(');
+			for (int c = 0; c < children.length; c++) {
+				if (c > 0) {
+					sb.append(',');
+				}
+				children[c].newick(sb);
+				sb.append(':').append(String.format(Locale.ROOT, "%.6f", lengths[c]));
+			}
+			sb.append(')');
+		}
+	}
+
+	/**
+	 * Build the all-pairs distance matrix from global alignment scores, computing the pairs in parallel.
+	 * Scores are normalized by the mean self score of the pair, so identical sequences have distance 0
+	 * @return symmetric distance matrix in the order of names
+	 */
+	public static double[][] distanceMatrix(SequenceLibrary library, List<String> names, int match, int mismatch, int indel) {
+		int n = names.size();
+		String[] sequences = new String[n];
+		for (int i = 0; i < n; i++) {
+			sequences[i] = library.get(names.get(i));
+		}
+
+		//self scores are needed to normalize every pair
+		int[] self = new int[n];
+		IntStream.range(0, n).parallel().forEach(i ->
+			self[i] = ScoreKernels.globalScore(sequences[i], sequences[i], match, mismatch, indel));
+
+		//flatten the upper triangle so every pair is an independent task
+		int pairs = n * (n - 1) / 2;
+		int[] first = new int[pairs];
+		int[] second = new int[pairs];
+		int p = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				first[p] = i;
+				second[p] = j;
+				p++;
+			}
+		}
+
+		double[][] distances = new double[n][n];
+		IntStream.range(0, pairs).parallel().forEach(k -> {
+			int i = first[k];
+			int j = second[k];
+			int score = ScoreKernels.globalScore(sequences[i], sequences[j], match, mismatch, indel);
+			double mean = Math.max(1.0, Math.abs((self[i] + self[j]) / 2.0));
+			double d = Math.max(0.0, ((self[i] + self[j]) / 2.0 - score) / mean);
+			distances[i][j] = d;
+			distances[j][i] = d;
+		});
+		return distances;
+	}
+
+	/**
+	 * Build a rooted tree with UPGMA, caching each row's nearest neighbor so a merge only rescans the rows it affects
+	 * @return root of the tree
+	 */
+	public static Node upgma(List<String> names, double[][] distances) {
+		int n = names.size();
+		if (n == 0) {
+			throw new IllegalArgumentException("At least one species is required to build a tree");
+		}
+		double[][] d = new double[n][];
+		for (int i = 0; i < n; i++) {
+			d[i] = distances[i].clone();
+		}
+		Node[] nodes = new Node[n];
+		int[] size = new int[n];
+		double[] height = new double[n];
+		boolean[] active = new boolean[n];
+		int[] nearest = new int[n];
+		for (int i = 0; i < n; i++) {
+			nodes[i] = new Node(names.get(i));
+			size[i] = 1;
+			active[i] = true;
+		}
+		for (int i = 0; i < n; i++) {
+			nearest[i] = nearest(d, active, i);
+		}
+
+		for (int remaining = n; remaining > 1; remaining--) {
+
+			//find the closest pair using the cached nearest neighbor of each row
+			int a = -1;
+			for (int i = 0; i < n; i++) {
+				if (active[i] && (a == -1 || d[i][nearest[i]] < d[a][nearest[a]])) {
+					a = i;
+				}
+			}
+			int b = nearest[a];
+
+			//merge b into a, the new cluster sits halfway between them
+			double h = d[a][b] / 2.0;
+			nodes[a] = new Node(new Node[] {nodes[a], nodes[b]},
+					new double[] {Math.max(0.0, h - height[a]), Math.max(0.0, h - height[b])});
+			active[b] = false;
+			for (int k = 0; k < n; k++) {
+				if (active[k] && k != a) {
+					double merged = (d[a][k] * size[a] + d[b][k] * size[b]) / (size[a] + size[b]);
+					d[a][k] = merged;
+					d[k][a] = merged;
+				}
+			}
+			size[a] += size[b];
+			height[a] = h;
+
+			//only rows whose nearest neighbor was merged, or that are now closer to the merged cluster, change
+			if (remaining > 2) {
+				nearest[a] = nearest(d, active, a);
+				for (int k = 0; k < n; k++) {
+					if (active[k] && k != a) {
+						if (nearest[k] == a || nearest[k] == b) {
+							nearest[k] = nearest(d, active, k);
+						} else if (d[k][a] < d[k][nearest[k]]) {
+							nearest[k] = a;
+						}
+					}
+				}
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			if (active[i]) {
+				return nodes[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find the closest active row to row i
+	 */
+	private static int nearest(double[][] d, boolean[] active, int i) {
+		int best = -1;
+		for (int k = 0; k < d.length; k++) {
+			if (active[k] && k != i && (best == -1 || d[i][k] < d[i][best])) {
+				best = k;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Build an unrooted tree with Neighbor-Joining. Each row keeps its distances sorted once (RapidNJ),
+	 * so the search for the minimum Q value stops scanning a row as soon as the lower bound
+	 * (n-2)*d(i,j) - r(i) - max(r) can no longer beat the best pair found so far
+	 * @return root of the tree, which has three children unless there are fewer than three species
+	 */
+	public static Node neighborJoining(List<String> names, double[][] distances) {
+		int n = names.size();
+		if (n == 0) {
+			throw new IllegalArgumentException("At least one species is required to build a tree");
+		}
+		if (n == 1) {
+			return new Node(names.get(0));
+		}
+		if (n == 2) {
+			double half = distances[0][1] / 2.0;
+			return new Node(new Node[] {new Node(names.get(0)), new Node(names.get(1))}, new double[] {half, half});
+		}
+
+		//distances live in a flat row-major array; a merged node reuses the slot of one of its children
+		double[] d = new double[n * n];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(distances[i], 0, d, i * n, n);
+		}
+		Node[] nodes = new Node[n];
+		double[] rowSum = new double[n];
+		int[] slotId = new int[n];							//id of the node currently held in each slot, -1 if empty
+		int[] idSlot = new int[2 * n];						//slot of each node id, -1 once the node is joined
+		Arrays.fill(idSlot, -1);
+		double[][] sortedDistance = new double[n][];
+		int[][] sortedId = new int[n][];
+		for (int i = 0; i < n; i++) {
+			nodes[i] = new Node(names.get(i));
+			slotId[i] = i;
+			idSlot[i] = i;
+		}
+		for (int i = 0; i < n; i++) {
+			double sum = 0;
+			for (int k = 0; k < n; k++) {
+				sum += d[i * n + k];
+			}
+			rowSum[i] = sum;
+			sortRow(d, n, i, slotId, sortedDistance, sortedId);
+		}
+		int nextId = n;
+
+		for (int remaining = n; remaining > 3; remaining--) {
+			double maxRowSum = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < n; i++) {
+				if (slotId[i] != -1) {
+					maxRowSum = Math.max(maxRowSum, rowSum[i]);
+				}
+			}
+
+			//search for the pair with minimum Q value, pruning each sorted row with the RapidNJ bound
+			double best = Double.POSITIVE_INFINITY;
+			int a = -1;
+			int b = -1;
+			for (int i = 0; i < n; i++) {
+				if (slotId[i] == -1) {
+					continue;
+				}
+				double[] rowDistance = sortedDistance[i];
+				int[] rowId = sortedId[i];
+				for (int e = 0; e < rowDistance.length; e++) {
+					double dij = rowDistance[e];
+					if ((remaining - 2) * dij - rowSum[i] - maxRowSum >= best) {
+						break;
+					}
+					int j = idSlot[rowId[e]];
+					if (j == -1) {
+						continue;
+					}
+					double q = (remaining - 2) * dij - rowSum[i] - rowSum[j];
+					if (q < best) {
+						best = q;
+						a = i;
+						b = j;
+					}
+				}
+			}
+
+			//branch lengths from the new node to the joined pair
+			double dab = d[a * n + b];
+			double la = Math.max(0.0, dab / 2.0 + (rowSum[a] - rowSum[b]) / (2.0 * (remaining - 2)));
+			double lb = Math.max(0.0, dab - la);
+			Node joined = new Node(new Node[] {nodes[a], nodes[b]}, new double[] {la, lb});
+
+			//the joined node takes slot a, slot b is retired
+			idSlot[slotId[a]] = -1;
+			idSlot[slotId[b]] = -1;
+			slotId[b] = -1;
+			nodes[b] = null;
+			sortedDistance[b] = null;
+			sortedId[b] = null;
+			int id = nextId++;
+			slotId[a] = id;
+			idSlot[id] = a;
+			nodes[a] = joined;
+
+			double sum = 0;
+			for (int k = 0; k < n; k++) {
+				if (slotId[k] == -1 || k == a) {
+					continue;
+				}
+				double dak = d[a * n + k];
+				double dbk = d[b * n + k];
+				double duk = (dak + dbk - dab) / 2.0;
+				d[a * n + k] = duk;
+				d[k * n + a] = duk;
+				rowSum[k] += duk - dak - dbk;
+				sum += duk;
+			}
+			rowSum[a] = sum;
+			rowSum[b] = 0;
+			d[a * n + a] = 0;
+			sortRow(d, n, a, slotId, sortedDistance, sortedId);
+		}
+
+		//join the last three nodes at the root
+		int[] last = new int[3];
+		int c = 0;
+		for (int i = 0; i < n; i++) {
+			if (slotId[i] != -1) {
+				last[c++] = i;
+			}
+		}
+		double dxy = d[last[0] * n + last[1]];
+		double dxz = d[last[0] * n + last[2]];
+		double dyz = d[last[1] * n + last[2]];
+		return new Node(new Node[] {nodes[last[0]], nodes[last[1]], nodes[last[2]]}, new double[] {
+				Math.max(0.0, (dxy + dxz - dyz) / 2.0),
+				Math.max(0.0, (dxy + dyz - dxz) / 2.0),
+				Math.max(0.0, (dxz + dyz - dxy) / 2.0)});
+	}
+
+	/**
+	 * Sort the distances from slot i to every other active slot, remembering the node id of each entry
+	 */
+	private static void sortRow(double[] d, int n, int i, int[] slotId, double[][] sortedDistance, int[][] sortedId) {
+		int count = 0;
+		Integer[] order = new Integer[n];
+		for (int k = 0; k < n; k++) {
+			if (slotId[k] != -1 && k != i) {
+				order[count++] = k;
+			}
+		}
+		Arrays.sort(order, 0, count, (x, y) -> Double.compare(d[i * n + x], d[i * n + y]));
+		double[] rowDistance = new double[count];
+		int[] rowId = new int[count];
+		for (int e = 0; e < count; e++) {
+			rowDistance[e] = d[i * n + order[e]];
+			rowId[e] = slotId[order[e]];
+		}
+		sortedDistance[i] = rowDistance;
+		sortedId[i] = rowId;
+	}
+
+	/**
+	 * Convert a tree to a Newick string
+	 * @return Newick representation terminated by a semicolon
+	 */
+	public static String toNewick(Node root) {
+		StringBuilder sb = new StringBuilder();
+		root.newick(sb);
+		return sb.append(';').toString();
+	}
+
+	/**
+	 * Convert a distance matrix to PHYLIP format so it can be used by other tree building programs
+	 * @return PHYLIP distance matrix text
+	 */
+	public static String toPhylip(List<String> names, double[][] distances) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(names.size()).append('\n');
+		for (int i = 0; i < names.size(); i++) {
+			sb.append(names.get(i).replace(' ', '_'));
+			for (int j = 0; j < names.size(); j++) {
+				sb.append(String.format(Locale.ROOT, " %.6f", distances[i][j]));
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,243 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+public class ProteinAligner {
+	static final int NEGATIVE = Integer.MIN_VALUE / 2;		//stands in for minus infinity without overflowing when penalties are added
+
+	static final byte FROM_DIAGONAL = 0;					//traceback: cell came from a substitution
+	static final byte FROM_UP = 1;							//traceback: cell closes a gap in the second sequence
+	static final byte FROM_LEFT = 2;						//traceback: cell closes a gap in the first sequence
+	static final byte FROM_START = 3;						//traceback: local alignment starts at this cell
+	static final byte UP_EXTENDED = 4;						//traceback flag: the vertical gap was extended rather than opened
+	static final byte LEFT_EXTENDED = 8;					//traceback flag: the horizontal gap was extended rather than opened
+
+	SubstitutionMatrix matrix;								//substitution scores
+	int gapOpen;											//penalty for opening a gap (added once per gap)
+	int gapExtend;											//penalty for every residue in a gap
+
+	/**
+	 * Result of a protein alignment
+	 */
+	public static class Result {
+		public int score;									//alignment score
+		public String aligned1;								//aligned first sequence, with '-' for gaps
+		public String aligned2;								//aligned second sequence, with '-' for gaps
+		public int start1;									//start of the aligned region in the first sequence (0-based)
+		public int start2;									//start of the aligned region in the second sequence (0-based)
+		public int end1;									//end of the aligned region in the first sequence (exclusive)
+		public int end2;									//end of the aligned region in the second sequence (exclusive)
+
+		/**
+		 * Count columns where both sequences have the same residue
+		 * @return number of identical columns
+		 */
+		public int identities() {
+			int count = 0;
+			for (int k = 0; k < aligned1.length(); k++) {
+				if (aligned1.charAt(k) == aligned2.charAt(k) && aligned1.charAt(k) != '-') {
+					count++;
+				}
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Initializes the aligner; a gap of length k scores gapOpen + k * gapExtend, so both should be negative
+	 */
+	public ProteinAligner(SubstitutionMatrix matrix, int gapOpen, int gapExtend) {
+		this.matrix = matrix;
+		this.gapOpen = gapOpen;
+		this.gapExtend = gapExtend;
+	}
+
+	/**
+	 * Perform global alignment with affine gaps (Gotoh)
+	 * @return alignment result
+	 */
+	public Result global(String s1, String s2) {
+		return align(s1, s2, false);
+	}
+
+	/**
+	 * Perform local alignment with affine gaps (Smith-Waterman-Gotoh)
+	 * @return alignment result
+	 */
+	public Result local(String s1, String s2) {
+		return align(s1, s2, true);
+	}
+
+	private Result align(String s1, String s2, boolean local) {
+		try (Metrics.Timer timer = Metrics.time(local ? "proteinLocalAlignment" : "proteinGlobalAlignment")) {
+			timer.cells((long) s1.length() * s2.length());
+			return alignCodes(s1, s2, local);
+		}
+	}
+
+	/**
+	 * Encode both sequences, reserve the traceback grid against the memory budget, and allocate it, counting it toward
+	 * the grid memory metric while it is alive
+	 * @throws IllegalArgumentException if the grid would never fit the memory budget, or the UI thread waited too long for it
+	 */
+	@SuppressWarnings("try")
+	private Result alignCodes(String s1, String s2, boolean local) {
+		byte[] a = SubstitutionMatrix.encode(s1);
+		byte[] b = SubstitutionMatrix.encode(s2);
+		int n = a.length;
+		int m = b.length;
+
+		//the grid rows, each with an array header, and the two score rows stay on the heap until the traceback is done
+		long tracebackBytes = (long) (n + 1) * (m + 1);
+		long bytes = tracebackBytes + 16L * (n + 1) + 8L * (m + 1);
+		if (!MemoryGovernor.shared().fits(bytes)) {
+			Metrics.rejection();
+			throw new IllegalArgumentException(String.format("Protein alignment needs %,d bytes, more than the memory budget of %,d", bytes,
+					MemoryGovernor.shared().budget()));
+		}
+		try (MemoryGovernor.Reservation reservation = TopLocalAligner.reserve(bytes)) {
+			byte[][] traceback = new byte[n + 1][m + 1];
+			Metrics.gridAllocated(tracebackBytes);
+			try {
+				return fill(s1, s2, a, b, traceback, local);
+			} finally {
+				Metrics.gridAllocated(-tracebackBytes);
+			}
+		}
+	}
+
+	/**
+	 * Fill the grid with the Gotoh recurrences and trace back from the best cell
+	 */
+	private Result fill(String s1, String s2, byte[] a, byte[] b, byte[][] traceback, boolean local) {
+		int n = a.length;
+		int m = b.length;
+		int[] h = new int[m + 1];								//best score ending at each column of the previous row, then the current row
+		int[] up = new int[m + 1];								//best score ending in a vertical gap at each column
+		int open = gapOpen + gapExtend;
+
+		//initialize first row
+		h[0] = 0;
+		up[0] = NEGATIVE;
+		for (int j = 1; j <= m; j++) {
+			h[j] = local ? 0 : gapOpen + j * gapExtend;
+			up[j] = NEGATIVE;
+			traceback[0][j] = local ? FROM_START : (byte) (FROM_LEFT | (j > 1 ? LEFT_EXTENDED : 0));
+		}
+
+		int bestScore = local ? 0 : NEGATIVE;
+		int bestI = 0;
+		int bestJ = 0;
+
+		//fill out the grid one row at a time, keeping the previous row's diagonal in a local
+		for (int i = 1; i <= n; i++) {
+			byte[] row = matrix.scores[a[i - 1]];
+			byte[] trace = traceback[i];
+			int diagonal = h[0];
+			h[0] = local ? 0 : gapOpen + i * gapExtend;
+			trace[0] = local ? FROM_START : (byte) (FROM_UP | (i > 1 ? UP_EXTENDED : 0));
+			int left = NEGATIVE;
+			for (int j = 1; j <= m; j++) {
+				byte flags = 0;
+
+				//vertical gap: open from the cell above or extend the gap above
+				int openUp = h[j] + open;
+				int extendUp = up[j] + gapExtend;
+				if (extendUp > openUp) {
+					up[j] = extendUp;
+					flags |= UP_EXTENDED;
+				} else {
+					up[j] = openUp;
+				}
+
+				//horizontal gap: open from the cell to the left or extend the gap to the left
+				int openLeft = h[j - 1] + open;
+				int extendLeft = left + gapExtend;
+				if (extendLeft > openLeft) {
+					left = extendLeft;
+					flags |= LEFT_EXTENDED;
+				} else {
+					left = openLeft;
+				}
+
+				int score = diagonal + row[b[j - 1]];
+				byte source = FROM_DIAGONAL;
+				if (up[j] > score) {
+					score = up[j];
+					source = FROM_UP;
+				}
+				if (left > score) {
+					score = left;
+					source = FROM_LEFT;
+				}
+				if (local && score <= 0) {
+					score = 0;
+					source = FROM_START;
+				}
+				diagonal = h[j];
+				h[j] = score;
+				trace[j] = (byte) (flags | source);
+
+				if (local && score > bestScore) {
+					bestScore = score;
+					bestI = i;
+					bestJ = j;
+				}
+			}
+		}
+		if (!local) {
+			bestScore = h[m];
+			bestI = n;
+			bestJ = m;
+		}
+		return traceback(s1, s2, traceback, bestScore, bestI, bestJ, local);
+	}
+
+	/**
+	 * Trace backwards from the end cell, appending to builders and reversing once instead of prepending characters
+	 */
+	private Result traceback(String s1, String s2, byte[][] traceback, int score, int i, int j, boolean local) {
+		StringBuilder a1 = new StringBuilder();
+		StringBuilder a2 = new StringBuilder();
+		Result result = new Result();
+		result.score = score;
+		result.end1 = i;
+		result.end2 = j;
+
+		byte state = FROM_DIAGONAL;					//which of the three grids the path is currently in
+		while (i > 0 || j > 0) {
+			byte cell = traceback[i][j];
+			if (state == FROM_DIAGONAL) {
+				byte source = (byte) (cell & 3);
+				if (source == FROM_START) {
+					break;
+				} else if (source == FROM_DIAGONAL) {
+					a1.append(s1.charAt(i - 1));
+					a2.append(s2.charAt(j - 1));
+					i--;
+					j--;
+				} else {
+					state = source;
+				}
+			} else if (state == FROM_UP) {
+				a1.append(s1.charAt(i - 1));
+				a2.append('-');
+				state = (cell & UP_EXTENDED) != 0 && i > 1 ? FROM_UP : FROM_DIAGONAL;
+				i--;
+			} else {
+				a1.append('-');
+				a2.append(s2.charAt(j - 1));
+				state = (cell & LEFT_EXTENDED) != 0 && j > 1 ? FROM_LEFT : FROM_DIAGONAL;
+				j--;
+			}
+		}
+		result.start1 = i;
+		result.start2 = j;
+		result.aligned1 = a1.reverse().toString();
+		result.aligned2 = a2.reverse().toString();
+		return result;
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+public class ResultFile extends Writer {
+	static final String SUFFIX = ".tmp";				//suffix of files that are still being written
+	static final long STALE_MILLIS = 24L * 60 * 60 * 1000;	//age after which a temporary file whose writer cannot be told is a leftover
+	static final long PID = ProcessHandle.current().pid();	//process id tagged onto every temporary file this process writes
+
+	Path target;										//file the result ends up in
+	Path temporary;										//file the result is written to until it is committed
+	FileOutputStream out;								//stream of the temporary file, kept to sync it to disk
+	BufferedWriter writer;								//buffered text writer over the stream
+	boolean committed;									//whether the result has been moved into place
+
+	/**
+	 * Start writing a result file; nothing appears under the file name until commit() is called,
+	 * so a crash or an exception part way through never leaves a partial or empty result behind
+	 * @throws IOException
+	 */
+	public ResultFile(String fileName) throws IOException {
+		target = Paths.get(fileName).toAbsolutePath();
+		temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), "." + PID + SUFFIX);
+		out = new FileOutputStream(temporary.toFile());
+		writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+	}
+
+	public void write(char[] buffer, int offset, int length) throws IOException {
+		writer.write(buffer, offset, length);
+	}
+
+	public void write(String s) throws IOException {
+		writer.write(s);
+	}
+
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	/**
+	 * Force the result to disk and move it into place in one step, replacing any earlier file
+	 * @throws IOException
+	 */
+	public void commit() throws IOException {
+		writer.flush();
+		out.getFD().sync();
+		writer.close();
+		try {
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+		committed = true;
+	}
+
+	/**
+	 * Close the file, throwing the result away if it was never committed
+	 * @throws IOException
+	 */
+	public void close() throws IOException {
+		if (!committed) {
+			writer.close();
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Check whether a result has already been written; an empty file is a leftover of an interrupted
+	 * write from before results were committed atomically, so it does not count
+	 * @return true if the file exists and is not empty
+	 */
+	public static boolean exists(String fileName) {
+		File file = new File(fileName);
+		return file.isFile() && file.length() > 0;
+	}
+
+	/**
+	 * Write a whole result file at once
+	 * @throws IOException
+	 */
+	public static void write(String fileName, String contents) throws IOException {
+		try (ResultFile w = new ResultFile(fileName)) {
+			w.write(contents);
+			w.commit();
+		}
+	}
+
+	/**
+	 * Delete the temporary files of writes that were interrupted by a crash: those tagged by a process that is no longer
+	 * running, and untagged ones untouched for a day. Files of writes still running, in this process or another, are kept
+	 * @return number of files deleted
+	 */
+	public static int sweep(String directory) {
+		int deleted = 0;
+		File[] files = new File(directory).listFiles((dir, name) -> name.endsWith(SUFFIX));
+		if (files != null) {
+			for (File file : files) {
+				if (abandoned(file) && file.delete()) {
+					deleted++;
+				}
+			}
+		}
+		return deleted;
+	}
+
+	/**
+	 * Check whether a temporary file was left behind by a writer that is gone
+	 * @return true if it is another process's and that process has exited, or it is stale, in case the id was reused
+	 */
+	static boolean abandoned(File file) {
+		String name = file.getName();
+		name = name.substring(0, name.length() - SUFFIX.length());
+		boolean stale = System.currentTimeMillis() - file.lastModified() > STALE_MILLIS;
+		try {
+			long pid = Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+			return pid != PID && (stale || !ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false));
+		} catch (NumberFormatException e) {
+			return stale;
+		}
+	}
+}
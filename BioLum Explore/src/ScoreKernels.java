@@ -0,0 +1,70 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+public class ScoreKernels {
+
+	/**
+	 * Compute the global alignment score with the same recurrence as OffHeapAligner.global,
+	 * keeping only two rows of the grid instead of the whole grid
+	 * @return global alignment score
+	 */
+	public static int globalScore(String s1, String s2, int match, int mismatch, int indel) {
+		int m = s2.length();
+		int[] previous = new int[m + 1];
+		int[] current = new int[m + 1];
+
+		//initialize first row
+		for (int j = 0; j <= m; j++) {
+			previous[j] = j * indel;
+		}
+
+		//fill out the grid one row at a time
+		for (int i = 1; i <= s1.length(); i++) {
+			char c = s1.charAt(i - 1);
+			current[0] = i * indel;
+			for (int j = 1; j <= m; j++) {
+				int northwest = previous[j - 1] + (c == s2.charAt(j - 1) ? match : mismatch);
+				int best = Math.max(current[j - 1], previous[j]) + indel;
+				current[j] = Math.max(best, northwest);
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		Metrics.cells((long) s1.length() * m);
+		return previous[m];
+	}
+
+	/**
+	 * Compute the local alignment score with the same recurrence as OffHeapAligner.local,
+	 * keeping only two rows of the grid instead of the whole grid
+	 * @return local alignment score (maximum cell value in grid)
+	 */
+	public static int localScore(String s1, String s2, int match, int mismatch, int indel) {
+		int m = s2.length();
+		int[] previous = new int[m + 1];
+		int[] current = new int[m + 1];
+		int score = Integer.MIN_VALUE;
+
+		//first row and column are zeros
+		for (int i = 1; i <= s1.length(); i++) {
+			char c = s1.charAt(i - 1);
+			current[0] = 0;
+			for (int j = 1; j <= m; j++) {
+				int northwest = previous[j - 1] + (c == s2.charAt(j - 1) ? match : mismatch);
+				int best = Math.max(current[j - 1], previous[j]) + indel;
+				current[j] = Math.max(best, northwest);
+				score = Math.max(score, current[j]);
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		Metrics.cells((long) s1.length() * m);
+		return score;
+	}
+}
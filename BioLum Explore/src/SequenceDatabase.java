@@ -0,0 +1,366 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SequenceDatabase {
+	static final int MAGIC = 0x424C4442;					//"BLDB"
+	static final int VERSION = 1;
+	static final int HEADER = 24;							//magic, version, record count, hash slots, source timestamp
+	static final int RECORD = 32;							//name, info, and image string offsets and lengths, packed sequence offset and length
+	static final long LIMIT = Integer.MAX_VALUE - 8;		//largest database, since offsets are stored as ints
+	static final String BASES = "ACGT";						//base of each two bit code
+	static final String DEFAULT_FILE = "cache/Sequences.bin";	//generated, so kept out of the source tree
+	static final String SEQUENCES_FILE = "src/Info/Sequences.txt";
+	static final String INFO_FILE = "src/Info/Info.txt";
+	static final String IMAGES_DIRECTORY = "src/Images";
+	static SequenceDatabase shared;							//default database, opened once per process
+
+	MappedByteBuffer buffer;								//the whole database file, read only
+	ConcurrentHashMap<String, String> decoded;				//sequences already decoded, so each one is unpacked only once
+	int count;												//number of records
+	int slots;												//size of the name hash table, a power of two
+
+	/**
+	 * Memory-map a database file and check its header; nothing else is read until it is asked for
+	 * @throws IOException
+	 */
+	public SequenceDatabase(String fileName) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Not a BioLum Explore sequence database: " + fileName);
+		}
+		count = buffer.getInt(8);
+		slots = buffer.getInt(12);
+		decoded = new ConcurrentHashMap<String, String>();
+	}
+
+	/**
+	 * Get the default database, converting the text files first if the database is missing or was built from other versions of them
+	 * @throws IOException
+	 * @return the shared database
+	 */
+	@SuppressWarnings("try")
+	public static synchronized SequenceDatabase open() throws IOException {
+		if (shared == null) {
+			try (Metrics.Timer timer = Metrics.time("openDatabase")) {
+				if (!new File(DEFAULT_FILE).exists() || stamp(DEFAULT_FILE) != sourceStamp()) {
+					convert(SEQUENCES_FILE, INFO_FILE, IMAGES_DIRECTORY, DEFAULT_FILE);
+				}
+				shared = new SequenceDatabase(DEFAULT_FILE);
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Get the newest modification time of the text files the default database is built from
+	 * @return timestamp in milliseconds
+	 */
+	static long sourceStamp() {
+		return Math.max(new File(SEQUENCES_FILE).lastModified(), new File(INFO_FILE).lastModified());
+	}
+
+	/**
+	 * Read the source timestamp a database was converted from
+	 * @return timestamp in milliseconds, 0 if the file is not a database
+	 */
+	static long stamp(String fileName) throws IOException {
+		try (DataInputStream in = new DataInputStream(new FileInputStream(fileName))) {
+			return in.readInt() == MAGIC && in.readInt() == VERSION && in.skipBytes(8) == 8 ? in.readLong() : 0;
+		} catch (EOFException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Convert the sequences and info text files into a database, writing a temporary file and moving it into place
+	 * so a reader never sees a partial database
+	 * @throws IOException if the files cannot be read, or the database would be larger than the 2 GB its int offsets can address
+	 */
+	public static void convert(String sequencesFile, String infoFile, String imagesDirectory, String databaseFile) throws IOException {
+		SequenceLibrary library = SequenceLibrary.load(sequencesFile);
+		Map<String, String> info = parseInfo(infoFile);
+		Map<String, String> images = new HashMap<String, String>();
+		File[] imageFiles = new File(imagesDirectory).listFiles();
+		if (imageFiles != null) {
+			for (File image : imageFiles) {
+				int period = image.getName().lastIndexOf('.');
+				if (period > 0) {
+					images.put(image.getName().substring(0, period), image.getName());
+				}
+			}
+		}
+		List<String> names = library.names();
+		int slots = Integer.highestOneBit(Math.max(1, names.size() * 2 - 1)) << 1;
+
+		//strings and packed sequences go after the index and hash table
+		ByteArrayOutputStream strings = new ByteArrayOutputStream();
+		ByteArrayOutputStream packed = new ByteArrayOutputStream();
+		int[][] records = new int[names.size()][8];
+		long size = HEADER + (long) RECORD * names.size() + 4L * slots;
+		for (int r = 0; r < names.size(); r++) {
+			String name = names.get(r);
+			records[r][0] = strings.size();
+			records[r][1] = writeString(strings, name);
+			records[r][2] = strings.size();
+			records[r][3] = writeString(strings, info.getOrDefault(name, ""));
+			records[r][4] = strings.size();
+			records[r][5] = writeString(strings, images.getOrDefault(name, ""));
+			String sequence = library.get(name);
+			size += (sequence.length() + 3) / 4;
+			if (size + strings.size() > LIMIT) {
+				throw new IOException("The sequences do not fit in one database, which is limited to " + LIMIT + " bytes by its int offsets");
+			}
+			records[r][6] = packed.size();
+			records[r][7] = sequence.length();
+			pack(sequence, packed);
+		}
+		int stringsStart = HEADER + RECORD * names.size() + 4 * slots;
+		int packedStart = stringsStart + strings.size();
+		ByteBuffer out = ByteBuffer.allocate(packedStart + packed.size());
+		out.putInt(MAGIC).putInt(VERSION).putInt(names.size()).putInt(slots).putLong(sourceStamp());
+		for (int[] record : records) {
+			out.putInt(stringsStart + record[0]).putInt(record[1]);
+			out.putInt(stringsStart + record[2]).putInt(record[3]);
+			out.putInt(stringsStart + record[4]).putInt(record[5]);
+			out.putInt(packedStart + record[6]).putInt(record[7]);
+		}
+
+		//open addressing hash table from name hash to record number plus one
+		int tableStart = HEADER + RECORD * names.size();
+		for (int r = 0; r < names.size(); r++) {
+			int slot = names.get(r).hashCode() & (slots - 1);
+			while (out.getInt(tableStart + 4 * slot) != 0) {
+				slot = (slot + 1) & (slots - 1);
+			}
+			out.putInt(tableStart + 4 * slot, r + 1);
+		}
+		out.position(stringsStart);
+		out.put(strings.toByteArray());
+		out.put(packed.toByteArray());
+
+		Path target = Paths.get(databaseFile).toAbsolutePath();
+		Path temporary = Paths.get(databaseFile + ".tmp").toAbsolutePath();
+		Files.createDirectories(target.getParent());
+		Files.write(temporary, out.array());
+		try {
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Parse the info file into the five info lines of each species, joined by newlines
+	 * @throws IOException
+	 * @return info text by species name
+	 */
+	static Map<String, String> parseInfo(String infoFile) throws IOException {
+		Map<String, String> info = new HashMap<String, String>();
+		BufferedReader br = new BufferedReader(new FileReader(new File(infoFile)));
+		try {
+			String currentLine = br.readLine();
+			while (currentLine != null) {
+				if (currentLine.startsWith(">")) {
+					StringBuilder fields = new StringBuilder();
+					for (int f = 0; f < 5; f++) {
+						String field = br.readLine();
+						fields.append(f > 0 ? "\n" : "").append(field == null ? "" : field);
+					}
+					info.put(currentLine.substring(1).trim(), fields.toString());
+				}
+				currentLine = br.readLine();
+			}
+		} finally {
+			br.close();
+		}
+		return info;
+	}
+
+	static int writeString(ByteArrayOutputStream out, String s) {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.write(bytes, 0, bytes.length);
+		return bytes.length;
+	}
+
+	/**
+	 * Pack a cleaned dna sequence at two bits per base, first base in the high bits
+	 */
+	static void pack(String sequence, ByteArrayOutputStream out) {
+		for (int i = 0; i < sequence.length(); i += 4) {
+			int b = 0;
+			for (int k = 0; k < 4; k++) {
+				int code = i + k < sequence.length() ? BASES.indexOf(sequence.charAt(i + k)) : 0;
+				b |= code << (6 - 2 * k);
+			}
+			out.write(b);
+		}
+	}
+
+	/**
+	 * Get the number of species in the database
+	 * @return record count
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Get the name of a record
+	 * @return species name
+	 */
+	public String name(int record) {
+		return string(HEADER + RECORD * record);
+	}
+
+	/**
+	 * Get every species name in file order
+	 * @return species names
+	 */
+	public List<String> names() {
+		List<String> names = new ArrayList<String>(count);
+		for (int r = 0; r < count; r++) {
+			names.add(name(r));
+		}
+		return names;
+	}
+
+	/**
+	 * Find a record through the name hash table
+	 * @return record number, -1 if the species is not in the database
+	 */
+	public int indexOf(String name) {
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		int tableStart = HEADER + RECORD * count;
+		for (int slot = name.hashCode() & (slots - 1); ; slot = (slot + 1) & (slots - 1)) {
+			int record = buffer.getInt(tableStart + 4 * slot) - 1;
+			if (record < 0) {
+				return -1;
+			}
+			if (nameEquals(record, bytes)) {
+				return record;
+			}
+		}
+	}
+
+	boolean nameEquals(int record, byte[] bytes) {
+		int offset = buffer.getInt(HEADER + RECORD * record);
+		int length = buffer.getInt(HEADER + RECORD * record + 4);
+		if (length != bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (buffer.get(offset + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the info lines of a species: location, discovery, size, light color, and common name
+	 * @return the five info lines, or null if the species is not in the database
+	 */
+	public String[] info(String name) {
+		int record = indexOf(name);
+		return record < 0 ? null : string(HEADER + RECORD * record + 8).split("\n", -1);
+	}
+
+	/**
+	 * Get the image file name of a species
+	 * @return image file name in the images directory, empty if there is no image
+	 */
+	public String image(int record) {
+		return string(HEADER + RECORD * record + 16);
+	}
+
+	/**
+	 * Get the length of a species sequence
+	 * @return number of bases, -1 if the species is not in the database
+	 */
+	public int length(String name) {
+		int record = indexOf(name);
+		return record < 0 ? -1 : buffer.getInt(HEADER + RECORD * record + 28);
+	}
+
+	/**
+	 * Get one base of a sequence without decoding the rest of it
+	 * @return base character
+	 */
+	public char baseAt(int record, int position) {
+		int offset = buffer.getInt(HEADER + RECORD * record + 24);
+		int b = buffer.get(offset + (position >> 2));
+		return BASES.charAt((b >> (6 - 2 * (position & 3))) & 3);
+	}
+
+	/**
+	 * Get the sequence of a species, decoding it the first time it is requested
+	 * @return dna sequence, or null if the species is not in the database
+	 */
+	public String sequence(String name) {
+		String sequence = decoded.get(name);
+		if (sequence == null) {
+			sequence = decode(name);
+			if (sequence != null) {
+				decoded.putIfAbsent(name, sequence);
+			}
+		}
+		return sequence;
+	}
+
+	/**
+	 * Unpack the two bit codes of a sequence
+	 * @return dna sequence, or null if the species is not in the database
+	 */
+	String decode(String name) {
+		int record = indexOf(name);
+		if (record < 0) {
+			return null;
+		}
+		int offset = buffer.getInt(HEADER + RECORD * record + 24);
+		int length = buffer.getInt(HEADER + RECORD * record + 28);
+		char[] bases = new char[length];
+		for (int i = 0; i < length; i++) {
+			int b = buffer.get(offset + (i >> 2));
+			bases[i] = BASES.charAt((b >> (6 - 2 * (i & 3))) & 3);
+		}
+		return new String(bases);
+	}
+
+	/**
+	 * Read a UTF-8 string whose offset and length are stored at the given index position
+	 * @return decoded string
+	 */
+	String string(int position) {
+		int offset = buffer.getInt(position);
+		int length = buffer.getInt(position + 4);
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Convert the bundled text files into the default database
+	 */
+	public static void main(String[] args) throws IOException {
+		String output = args.length > 0 ? args[0] : DEFAULT_FILE;
+		convert(SEQUENCES_FILE, INFO_FILE, IMAGES_DIRECTORY, output);
+		System.out.println("Wrote " + new SequenceDatabase(output).size() + " species to " + output);
+	}
+}
@@ -0,0 +1,159 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.awt.*;
+import java.io.StringWriter;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+
+public class SequenceEditor extends JPanel {
+	private static final long serialVersionUID = 1L;
+
+	Frame frame;								//main window, which saves the edited alignment
+	IncrementalAligner aligner;					//edited sequence, its checkpoints, and its latest alignment
+	IncrementalAligner.Result result;			//latest alignment, null while the first one runs
+	String name1;								//name of the species being edited
+	String name2;								//name of the species it is aligned with
+	JLabel status;								//shows the score and how much of the grid the last realignment refilled
+	JTextField fromField;						//first base of the edit
+	JTextField toField;							//last base of the edit
+	JTextField replacementField;				//bases that replace the range
+	JButton[] buttons;							//apply, view, and save, disabled while a realignment runs
+
+	/**
+	 * Initializes the editor on a pair and starts aligning it from scratch in the background
+	 */
+	public SequenceEditor(Frame frame, IncrementalAligner aligner, String name1, String name2) {
+		super(new BorderLayout());
+		this.frame = frame;
+		this.aligner = aligner;
+		this.name1 = name1;
+		this.name2 = name2;
+		setBorder(new EmptyBorder(20, 20, 10, 20));
+
+		status = new JLabel();
+		status.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+		add(status, BorderLayout.NORTH);
+
+		//fields to take user input for each edit
+		JPanel fields = new JPanel(new GridLayout(6, 1));
+		fields.setBorder(new EmptyBorder(10, 0, 10, 0));
+		String[] labels = {"From base", "To base (inclusive, or From - 1 to insert)", "Replacement bases (empty to delete)"};
+		fromField = new JTextField();
+		toField = new JTextField();
+		replacementField = new JTextField();
+		JTextField[] textFields = {fromField, toField, replacementField};
+		for (int f = 0; f < 3; f++) {
+			JLabel fieldLabel = new JLabel(labels[f]);
+			fieldLabel.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+			textFields[f].setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+			fields.add(fieldLabel);
+			fields.add(textFields[f]);
+		}
+		add(fields, BorderLayout.CENTER);
+
+		JButton applyButton = new JButton("Apply Edit");
+		applyButton.addActionListener(event -> apply());
+		JButton viewButton = new JButton("View Alignment");
+		viewButton.addActionListener(event -> AlignmentViewer.show(this, "Edited Global Alignment", result.transcript, name1 + " (edited)", name2));
+		JButton saveButton = new JButton("Save");
+		saveButton.addActionListener(event -> save());
+		buttons = new JButton[] {applyButton, viewButton, saveButton};
+		JPanel controls = new JPanel();
+		for (JButton button : buttons) {
+			button.setFont(new Font("DejaVu Sans", Font.PLAIN, 18));
+			controls.add(button);
+		}
+		add(controls, BorderLayout.SOUTH);
+		realign("Aligned from scratch");
+	}
+
+	/**
+	 * Apply the edit in the fields, then realign around it
+	 */
+	void apply() {
+		try {
+			String replacement = replacementField.getText().trim().toUpperCase();
+			if (!replacement.matches("[A-Z]*")) {
+				throw new IllegalArgumentException("Replacement bases must be letters");
+			}
+			int from = Integer.parseInt(fromField.getText().trim());
+			int to = Integer.parseInt(toField.getText().trim());
+			aligner.edit(from - 1, to, replacement);
+		} catch (IllegalArgumentException e) {
+			JOptionPane.showMessageDialog(this, e.getMessage(), "Edit and Re-align", JOptionPane.ERROR_MESSAGE);
+			return;
+		}
+		realign(null);
+	}
+
+	/**
+	 * Realign on a background thread, then refill the dropped checkpoints there too, so the next edit is cheap
+	 * @param message what to report once done, null to say whether the previous alignment was reused
+	 */
+	void realign(String message) {
+		for (JButton button : buttons) {
+			button.setEnabled(false);
+		}
+		status.setText(String.format("<html><i>%s</i> (%,d bases) and <i>%s</i><br>Aligning...<br>&nbsp;</html>", name1, aligner.sequence().length(), name2));
+		new SwingWorker<IncrementalAligner.Result, Void>() {
+			protected IncrementalAligner.Result doInBackground() throws Exception {
+				return aligner.realign();
+			}
+
+			protected void done() {
+				try {
+					result = get();
+					String done = message != null ? message : result.reused ? "Realigned around the edit" : "Realigned from scratch";
+					status.setText(String.format("<html><i>%s</i> (%,d bases) and <i>%s</i><br>Global Alignment Score: %d<br>%s, %.1f%% of the grid refilled</html>",
+							name1, aligner.sequence().length(), name2, result.score, done, 100 * result.fraction()));
+					new SwingWorker<Long, Void>() {
+						protected Long doInBackground() {
+							return aligner.repair();
+						}
+					}.execute();
+				} catch (Exception e1) {
+					e1.printStackTrace();
+					Throwable cause = e1.getCause() != null ? e1.getCause() : e1;
+					status.setText("<html>Alignment failed: " + cause.getMessage() + "</html>");
+				}
+				buttons[0].setEnabled(true);
+				buttons[1].setEnabled(result != null);
+				buttons[2].setEnabled(result != null);
+			}
+		}.execute();
+	}
+
+	/**
+	 * Save the latest alignment under a name that includes a hash of the edited sequence
+	 */
+	void save() {
+		String fileName = "src/Files/" + "Edited Global Alignment " + frame.match + " " + frame.mismatch + " " + frame.indel + " " + name1 + " and "
+				+ name2 + " " + Integer.toHexString(aligner.sequence().hashCode()) + ".txt";
+		try {
+			StringWriter contents = new StringWriter();
+			result.transcript.write(contents);
+			String written = frame.writeIfNew(fileName, contents.toString()) ? "Edited alignment file written successfully" : "Edited alignment file already exists";
+			JOptionPane.showMessageDialog(this, written, "Edit and Re-align", JOptionPane.PLAIN_MESSAGE);
+		} catch (Exception e1) {
+			e1.printStackTrace();
+		}
+	}
+
+	/**
+	 * Open an editor window on a pair; the first alignment runs in the background once the window is up
+	 */
+	public static void show(Frame frame, String s1, String s2, String name1, String name2) {
+		IncrementalAligner aligner = new IncrementalAligner(s1, s2, frame.match, frame.mismatch, frame.indel);
+		JDialog dialog = new JDialog(frame, "Edit and Re-align");
+		dialog.setContentPane(new SequenceEditor(frame, aligner, name1, name2));
+		dialog.pack();
+		dialog.setLocationRelativeTo(frame);
+		dialog.setVisible(true);
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.util.*;
+
+public class SequenceLibrary {
+	LinkedHashMap<String, String> sequences;		//maps each species name to its cleaned dna sequence, in file order
+	SequenceDatabase database;						//memory-mapped database behind the library, null for a text-only library
+
+	/**
+	 * Initializes an empty library
+	 */
+	public SequenceLibrary() {
+		sequences = new LinkedHashMap<String, String>();
+	}
+
+	/**
+	 * Initializes a library backed by a binary database; sequences are decoded the first time they are requested
+	 */
+	public SequenceLibrary(SequenceDatabase database) {
+		this();
+		this.database = database;
+	}
+
+	/**
+	 * Parse the sequences file once and store every species sequence
+	 * @param fileName the path to the sequences file
+	 * @throws IOException
+	 * @return a library holding every sequence in the file
+	 */
+	public static SequenceLibrary load(String fileName) throws IOException {
+		SequenceLibrary library = new SequenceLibrary();
+		Metrics.Timer timer = Metrics.time("loadSequences");
+		BufferedReader br = new BufferedReader(new FileReader(new File(fileName)));
+		try {
+			String currentName = null;
+			StringBuilder currentSequence = new StringBuilder();
+			String currentLine = br.readLine();
+
+			//every line starting with '>' begins a new species, every other line belongs to the current species
+			while (currentLine != null) {
+				if (currentLine.startsWith(">")) {
+					if (currentName != null) {
+						library.put(currentName, currentSequence.toString());
+					}
+					currentName = currentLine.substring(1).trim();
+					currentSequence.setLength(0);
+				} else if (currentName != null) {
+					currentSequence.append(currentLine);
+				}
+				currentLine = br.readLine();
+			}
+			if (currentName != null) {
+				library.put(currentName, currentSequence.toString());
+			}
+		} finally {
+			br.close();
+		}
+		timer.close();
+		return library;
+	}
+
+	/**
+	 * Open the bundled sequences through the memory-mapped database, converting the text file the first time
+	 * @throws IOException
+	 * @return a library holding every bundled sequence
+	 */
+	public static SequenceLibrary load() throws IOException {
+		return new SequenceLibrary(SequenceDatabase.open());
+	}
+
+	/**
+	 * Store a sequence, removing any spaces or non-ATGC characters the same way Frame does
+	 * @param name the species name
+	 * @param sequence the raw sequence text
+	 */
+	public void put(String name, String sequence) {
+		sequences.put(name, clean(sequence));
+	}
+
+	/**
+	 * Get the sequence for a species
+	 * @param name the species name
+	 * @return the cleaned dna sequence, or null if the species is not in the library
+	 */
+	public String get(String name) {
+		String sequence = sequences.get(name);
+		if (sequence == null && database != null) {
+			sequence = database.sequence(name);
+		}
+		return sequence;
+	}
+
+	/**
+	 * Get the species names in file order
+	 * @return list of species names
+	 */
+	public List<String> names() {
+		if (database == null) {
+			return new ArrayList<String>(sequences.keySet());
+		}
+		List<String> names = database.names();
+		for (String name : sequences.keySet()) {
+			if (database.indexOf(name) < 0) {
+				names.add(name);
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Get the number of species in the library
+	 * @return number of sequences
+	 */
+	public int size() {
+		return names().size();
+	}
+
+	/**
+	 * Remove any characters that are not A, T, G, or C
+	 * @param sequence the raw sequence text
+	 * @return the cleaned sequence
+	 */
+	public static String clean(String sequence) {
+		StringBuilder sb = new StringBuilder(sequence.length());
+		for (int i = 0; i < sequence.length(); i++) {
+			char c = sequence.charAt(i);
+			if (c == 'A' || c == 'T' || c == 'G' || c == 'C') {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+}
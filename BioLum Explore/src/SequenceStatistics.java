@@ -0,0 +1,245 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class SequenceStatistics {
+	static final String BASES = "TCAG";					//bases in the same order as the Translator codon table
+	static final int[] SYNONYMS = new int[64];			//number of codons coding for the same amino acid as each codon
+
+	static {
+		for (int c = 0; c < 64; c++) {
+			for (int d = 0; d < 64; d++) {
+				if (Translator.CODONS.charAt(c) == Translator.CODONS.charAt(d)) {
+					SYNONYMS[c]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Statistics of one species sequence
+	 */
+	public static class Stats {
+		public String name;								//species name
+		public int length;								//number of bases
+		public int[] bases = new int[4];				//count of each base, in TCAG order
+		public int[] dinucleotides = new int[16];		//count of each overlapping pair of bases
+		public int[] codons = new int[64];				//count of each codon in the first reading frame
+		public int[] kmers;								//count of each overlapping k-mer
+		public int k;									//k-mer length
+
+		/**
+		 * Get the fraction of bases that are G or C
+		 * @return GC content between 0 and 1
+		 */
+		public double gc() {
+			return length == 0 ? 0 : (double) (bases[1] + bases[3]) / length;
+		}
+
+		/**
+		 * Get the GC skew (G - C) / (G + C)
+		 * @return skew between -1 and 1, 0 if there are no G or C bases
+		 */
+		public double gcSkew() {
+			int gc = bases[1] + bases[3];
+			return gc == 0 ? 0 : (double) (bases[3] - bases[1]) / gc;
+		}
+
+		/**
+		 * Get the frequency of a dinucleotide among all overlapping pairs
+		 * @return frequency between 0 and 1
+		 */
+		public double dinucleotideFrequency(int index) {
+			return length < 2 ? 0 : (double) dinucleotides[index] / (length - 1);
+		}
+
+		/**
+		 * Get the relative synonymous codon usage: the codon count divided by the mean count of the codons for the same amino acid
+		 * @return RSCU, 1 when every synonymous codon is used equally, 0 if the amino acid never occurs
+		 */
+		public double rscu(int codon) {
+			int total = 0;
+			char aminoAcid = Translator.CODONS.charAt(codon);
+			for (int c = 0; c < 64; c++) {
+				if (Translator.CODONS.charAt(c) == aminoAcid) {
+					total += codons[c];
+				}
+			}
+			return total == 0 ? 0 : (double) codons[codon] * SYNONYMS[codon] / total;
+		}
+
+		/**
+		 * Get the number of different k-mers that occur in the sequence
+		 * @return distinct k-mer count
+		 */
+		public int distinctKmers() {
+			int distinct = 0;
+			for (int count : kmers) {
+				if (count > 0) {
+					distinct++;
+				}
+			}
+			return distinct;
+		}
+
+		/**
+		 * Get the index of the most frequent k-mer, the first one on ties
+		 * @return k-mer index
+		 */
+		public int topKmer() {
+			int top = 0;
+			for (int i = 1; i < kmers.length; i++) {
+				if (kmers[i] > kmers[top]) {
+					top = i;
+				}
+			}
+			return top;
+		}
+	}
+
+	/**
+	 * Compute every statistic of a sequence in one pass, keeping a rolling two bit code of the last k bases
+	 * @param k k-mer length, between 2 and 12
+	 * @return statistics of the sequence
+	 */
+	public static Stats compute(String name, String sequence, int k) {
+		if (k < 2 || k > 12) {
+			throw new IllegalArgumentException("k must be between 2 and 12");
+		}
+		Stats stats = new Stats();
+		stats.name = name;
+		stats.k = k;
+		stats.kmers = new int[1 << (2 * k)];
+		int mask = stats.kmers.length - 1;
+		int code = 0;									//two bits per base of the most recent k bases
+		int recent = 0;									//two bits per base of the most recent three bases, whatever k is
+		int run = 0;									//number of consecutive valid bases ending here
+		for (int i = 0; i < sequence.length(); i++) {
+			char c = sequence.charAt(i);
+			int b = c < 128 ? Translator.BASE[c] : -1;
+			if (b < 0) {
+				run = 0;
+				continue;
+			}
+			stats.length++;
+			stats.bases[b]++;
+			code = ((code << 2) | b) & mask;
+			recent = ((recent << 2) | b) & 63;
+			run++;
+			if (run >= 2) {
+				stats.dinucleotides[recent & 15]++;
+			}
+			if (run >= k) {
+				stats.kmers[code]++;
+			}
+
+			//codons are read in the first reading frame, in whole triplets of valid bases
+			if (run >= 3 && (stats.length % 3) == 0) {
+				stats.codons[recent]++;
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * Compute the statistics of every species in parallel
+	 * @return statistics in library order
+	 */
+	public static List<Stats> computeAll(SequenceLibrary library, List<String> names, int k) {
+		try (Metrics.Timer timer = Metrics.time("sequenceStatistics")) {
+			List<Stats> all = names.parallelStream()
+					.map(name -> compute(name, library.get(name), k))
+					.collect(Collectors.toList());
+			for (Stats stats : all) {
+				timer.cells(stats.length);
+			}
+			return all;
+		}
+	}
+
+	/**
+	 * Decode a two bit code into bases
+	 * @return bases of the code
+	 */
+	public static String decode(int code, int length) {
+		char[] bases = new char[length];
+		for (int i = length - 1; i >= 0; i--) {
+			bases[i] = BASES.charAt(code & 3);
+			code >>= 2;
+		}
+		return new String(bases);
+	}
+
+	/**
+	 * Build a tab separated table of length, GC content, GC skew, base counts, dinucleotide frequencies, and k-mer summary
+	 * @return summary table
+	 */
+	public static String toSummaryTable(List<Stats> all) {
+		StringBuilder sb = new StringBuilder("Species\tLength\tGC%\tGC skew\tA\tC\tG\tT");
+		for (int d = 0; d < 16; d++) {
+			sb.append('\t').append(decode(d, 2));
+		}
+		sb.append("\tDistinct k-mers\tTop k-mer\tTop k-mer count\n");
+		for (Stats s : all) {
+			sb.append(s.name).append('\t').append(s.length)
+					.append('\t').append(String.format(Locale.ROOT, "%.2f", 100 * s.gc()))
+					.append('\t').append(String.format(Locale.ROOT, "%.4f", s.gcSkew()))
+					.append('\t').append(s.bases[2]).append('\t').append(s.bases[1])
+					.append('\t').append(s.bases[3]).append('\t').append(s.bases[0]);
+			for (int d = 0; d < 16; d++) {
+				sb.append('\t').append(String.format(Locale.ROOT, "%.4f", s.dinucleotideFrequency(d)));
+			}
+			int top = s.topKmer();
+			sb.append('\t').append(s.distinctKmers()).append('\t').append(decode(top, s.k)).append('\t').append(s.kmers[top]).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Build a tab separated table of codon counts and RSCU for every codon and species
+	 * @return codon usage table
+	 */
+	public static String toCodonUsageTable(List<Stats> all) {
+		StringBuilder sb = new StringBuilder("Codon\tAmino acid");
+		for (Stats s : all) {
+			sb.append('\t').append(s.name).append(" count\t").append(s.name).append(" RSCU");
+		}
+		sb.append('\n');
+		for (int c = 0; c < 64; c++) {
+			sb.append(decode(c, 3)).append('\t').append(Translator.CODONS.charAt(c));
+			for (Stats s : all) {
+				sb.append('\t').append(s.codons[c]).append('\t').append(String.format(Locale.ROOT, "%.3f", s.rscu(c)));
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Build a tab separated table of the count of every k-mer in every species
+	 * @return k-mer spectrum table
+	 */
+	public static String toKmerTable(List<Stats> all) {
+		StringBuilder sb = new StringBuilder("K-mer");
+		for (Stats s : all) {
+			sb.append('\t').append(s.name);
+		}
+		sb.append('\n');
+		int size = all.isEmpty() ? 0 : all.get(0).kmers.length;
+		int k = all.isEmpty() ? 0 : all.get(0).k;
+		for (int code = 0; code < size; code++) {
+			sb.append(decode(code, k));
+			for (Stats s : all) {
+				sb.append('\t').append(s.kmers[code]);
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
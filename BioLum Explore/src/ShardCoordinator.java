@@ -0,0 +1,343 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ShardCoordinator implements AutoCloseable {
+	static final int MAGIC = 0x424C5348;					//"BLSH"
+	static final int VERSION = 2;
+	static final byte TILE = 'T';							//coordinator to worker: align the pairs of a tile
+	static final byte QUIT = 'Q';							//coordinator to worker: every tile is done
+	static final byte RESULT = 'R';							//worker to coordinator: scores of a tile
+	static final byte FAILED = 'F';							//worker to coordinator: a tile could not be aligned
+	static final int MAX_ATTEMPTS = 3;						//times a tile is handed out before it is given up on
+	static final int TIMEOUT = Integer.getInteger("biolum.shard.timeoutSeconds", 600) * 1000;	//longest wait for a worker's next result
+	static final int HANDSHAKE_TIMEOUT = 10000;				//longest wait for a connection to prove it is a worker
+	static final int MAX_TOKEN = 256;						//longest token either side will read
+	static final int MAX_REASON = 4096;						//longest failure reason the coordinator will read
+	static final String BIND = System.getProperty("biolum.shard.bind", "127.0.0.1");	//address the coordinator listens on
+
+	/**
+	 * A rectangle of the pair matrix; only pairs above the diagonal are aligned
+	 */
+	static class Tile {
+		int id;
+		int rowStart;
+		int rowEnd;
+		int columnStart;
+		int columnEnd;
+		int attempts;						//times the tile has been handed out
+	}
+
+	List<String> names;						//species of each row and column
+	List<String> sequences;					//sequence of each species
+	int match;								//match reward
+	int mismatch;							//mismatch penalty
+	int indel;								//indel penalty
+	List<Tile> tiles;						//every tile of the upper triangle
+	LinkedBlockingDeque<Tile> pending;		//tiles waiting for a worker, retried tiles at the front
+	boolean[] finished;						//tiles whose result has been merged or that were given up on
+	CountDownLatch remaining;				//tiles not yet finished
+	ResultFile output;						//merged scores, streamed as tiles finish
+	ServerSocket server;					//socket the workers connect to
+	AtomicInteger workers = new AtomicInteger();	//workers that have connected
+	AtomicInteger retries = new AtomicInteger();	//tiles handed out again after a worker was lost or failed them
+	List<String> failures = Collections.synchronizedList(new ArrayList<String>());	//tiles given up on, and why
+	long pairs;								//pairs merged so far
+	byte[] token;							//shared secret every worker must send before it is given any data
+
+	/**
+	 * Partition the upper triangle of the pair matrix into square tiles and start listening for workers
+	 * @param port port to listen on, 0 for any free port
+	 * @param tileSize species per tile side
+	 * @param bindAddress address to listen on; anything other than loopback exposes the sequences to whoever has the token
+	 * @param token shared secret workers must present
+	 * @throws IOException
+	 */
+	public ShardCoordinator(SequenceLibrary library, int match, int mismatch, int indel, int tileSize, int port, String bindAddress, String token) throws IOException {
+		if (token == null || token.isEmpty() || token.length() > MAX_TOKEN) {
+			throw new IllegalArgumentException("The shard token must be 1 to " + MAX_TOKEN + " characters");
+		}
+		this.token = token.getBytes(StandardCharsets.UTF_8);
+		this.names = library.names();
+		this.sequences = new ArrayList<String>(names.size());
+		for (String name : names) {
+			sequences.add(library.get(name));
+		}
+		this.match = match;
+		this.mismatch = mismatch;
+		this.indel = indel;
+		tiles = new ArrayList<Tile>();
+		for (int row = 0; row < names.size(); row += tileSize) {
+			for (int column = row; column < names.size(); column += tileSize) {
+				Tile tile = new Tile();
+				tile.id = tiles.size();
+				tile.rowStart = row;
+				tile.rowEnd = Math.min(names.size(), row + tileSize);
+				tile.columnStart = column;
+				tile.columnEnd = Math.min(names.size(), column + tileSize);
+				if (column + 1 < tile.columnEnd || tile.rowStart < column) {
+					tiles.add(tile);
+				}
+			}
+		}
+		pending = new LinkedBlockingDeque<Tile>(tiles);
+		finished = new boolean[tiles.size()];
+		remaining = new CountDownLatch(tiles.size());
+		server = new ServerSocket(port, 50, InetAddress.getByName(bindAddress));
+	}
+
+	/**
+	 * Get the token workers must present, from biolum.shard.token or a fresh random one
+	 * @return the shared token
+	 */
+	public static String token() {
+		String token = System.getProperty("biolum.shard.token");
+		if (token != null) {
+			return token;
+		}
+		byte[] bytes = new byte[16];
+		new SecureRandom().nextBytes(bytes);
+		StringBuilder sb = new StringBuilder();
+		for (byte b : bytes) {
+			sb.append(String.format("%02x", b & 0xFF));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Get the port workers should connect to
+	 * @return port number
+	 */
+	public int port() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Hand tiles to every worker that connects and merge their scores into a file as they arrive; a tile held by a worker
+	 * that disconnects, times out, or fails it goes back to the front of the queue
+	 * @throws IOException if the file cannot be written or a tile failed on every attempt
+	 * @return number of pairs aligned
+	 */
+	public long run(String fileName) throws IOException, InterruptedException {
+		try (Metrics.Timer timer = Metrics.time("shardCoordinator")) {
+			output = new ResultFile(fileName);
+			output.write("Species 1\tSpecies 2\tGlobal Score\n");
+			Thread acceptor = new Thread(this::accept, "shard-acceptor");
+			acceptor.setDaemon(true);
+			acceptor.start();
+			remaining.await();
+			server.close();
+			if (!failures.isEmpty()) {
+				output.close();
+				throw new IOException(failures.size() + " tiles failed, first: " + failures.get(0));
+			}
+			output.commit();
+			output.close();
+			long cells = 0;
+			for (int a = 0; a < sequences.size(); a++) {
+				for (int b = a + 1; b < sequences.size(); b++) {
+					cells += (long) sequences.get(a).length() * sequences.get(b).length();
+				}
+			}
+			timer.cells(cells);
+			return pairs;
+		}
+	}
+
+	/**
+	 * Accept workers until every tile is finished, one handler thread each
+	 */
+	void accept() {
+		while (!server.isClosed()) {
+			try {
+				Socket socket = server.accept();
+				Thread handler = new Thread(() -> serve(socket), "shard-worker-" + workers.incrementAndGet());
+				handler.setDaemon(true);
+				handler.start();
+			} catch (IOException e) {
+				if (!server.isClosed()) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Send a worker the alignment parameters and sequences, then keep up to two tiles per worker thread in flight,
+	 * sending the next tile as each result comes back
+	 */
+	void serve(Socket socket) {
+		Map<Integer, Tile> outstanding = new HashMap<Integer, Tile>();
+		try (Socket s = socket) {
+			s.setSoTimeout(HANDSHAKE_TIMEOUT);
+			s.setKeepAlive(true);
+			DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a BioLum Explore worker: " + s.getRemoteSocketAddress());
+			}
+
+			//nothing is sent to a connection until it presents the shared token
+			if (!MessageDigest.isEqual(token, readBytes(in, MAX_TOKEN))) {
+				throw new IOException("Wrong shard token from " + s.getRemoteSocketAddress());
+			}
+			int credit = 2 * Math.min(256, Math.max(1, in.readInt()));
+			s.setSoTimeout(TIMEOUT);
+			out.writeInt(match);
+			out.writeInt(mismatch);
+			out.writeInt(indel);
+			out.writeInt(names.size());
+			for (int i = 0; i < names.size(); i++) {
+				writeString(out, names.get(i));
+				writeString(out, sequences.get(i));
+			}
+			out.flush();
+
+			while (remaining.getCount() > 0) {
+
+				//top up the worker; when it holds nothing, wait briefly for a tile that another worker may give back
+				while (outstanding.size() < credit) {
+					Tile tile = outstanding.isEmpty() ? pending.poll(200, TimeUnit.MILLISECONDS) : pending.poll();
+					if (tile == null) {
+						break;
+					}
+					attempt(tile);
+					outstanding.put(tile.id, tile);
+					out.writeByte(TILE);
+					out.writeInt(tile.id);
+					out.writeInt(tile.rowStart);
+					out.writeInt(tile.rowEnd);
+					out.writeInt(tile.columnStart);
+					out.writeInt(tile.columnEnd);
+				}
+				out.flush();
+				if (outstanding.isEmpty()) {
+					continue;
+				}
+
+				//merge the next result the worker sends back
+				byte type = in.readByte();
+				Tile tile = outstanding.remove(in.readInt());
+				if (tile == null) {
+					throw new IOException("Result for a tile the worker was not given");
+				}
+				if (type == RESULT) {
+
+					//a tile never holds more pairs than its rectangle, and every pair must lie inside it
+					int count = in.readInt();
+					if (count < 0 || count > (tile.rowEnd - tile.rowStart) * (tile.columnEnd - tile.columnStart)) {
+						throw new IOException("Result for tile " + tile.id + " has " + count + " pairs");
+					}
+					int[] scores = new int[3 * count];
+					for (int k = 0; k < scores.length; k++) {
+						scores[k] = in.readInt();
+					}
+					for (int k = 0; k < scores.length; k += 3) {
+						if (scores[k] < tile.rowStart || scores[k] >= tile.rowEnd || scores[k + 1] < tile.columnStart || scores[k + 1] >= tile.columnEnd) {
+							throw new IOException("Result for tile " + tile.id + " has a pair outside it");
+						}
+					}
+					merge(tile, scores);
+				} else if (type == FAILED) {
+					retry(tile, readString(in, MAX_REASON));
+				} else {
+					throw new IOException("Unknown message from worker: " + type);
+				}
+			}
+			out.writeByte(QUIT);
+			out.flush();
+		} catch (IOException | InterruptedException e) {
+
+			//the worker is lost; its tiles go to the front of the queue for the others
+			for (Tile tile : outstanding.values()) {
+				retry(tile, "worker lost: " + e);
+			}
+		}
+	}
+
+	/**
+	 * Append a tile's scores to the output, unless another attempt already did
+	 * @param scores row, column, and score of each pair
+	 */
+	synchronized void merge(Tile tile, int[] scores) throws IOException {
+		if (finished[tile.id]) {
+			return;
+		}
+		StringBuilder sb = new StringBuilder();
+		for (int k = 0; k < scores.length; k += 3) {
+			sb.append(names.get(scores[k])).append('\t').append(names.get(scores[k + 1])).append('\t').append(scores[k + 2]).append('\n');
+		}
+		output.write(sb.toString());
+		pairs += scores.length / 3;
+		finished[tile.id] = true;
+		remaining.countDown();
+	}
+
+	/**
+	 * Count a tile as handed out once more
+	 */
+	synchronized void attempt(Tile tile) {
+		tile.attempts++;
+	}
+
+	/**
+	 * Put a tile back at the front of the queue, or give up on it after its last attempt
+	 */
+	synchronized void retry(Tile tile, String reason) {
+		if (finished[tile.id]) {
+			return;
+		}
+		if (tile.attempts >= MAX_ATTEMPTS) {
+			failures.add("tile " + tile.id + ": " + reason);
+			finished[tile.id] = true;
+			remaining.countDown();
+			return;
+		}
+		retries.incrementAndGet();
+		pending.addFirst(tile);
+	}
+
+	static void writeString(DataOutputStream out, String s) throws IOException {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Read a length-prefixed string, refusing lengths the caller does not expect
+	 * @param limit longest string in bytes
+	 * @throws IOException if the length is negative or over the limit
+	 */
+	static String readString(DataInputStream in, int limit) throws IOException {
+		return new String(readBytes(in, limit), StandardCharsets.UTF_8);
+	}
+
+	static byte[] readBytes(DataInputStream in, int limit) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > limit) {
+			throw new IOException("Length " + length + " is outside 0 to " + limit);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Stop listening; workers still connected see the socket close and exit
+	 */
+	public void close() throws IOException {
+		server.close();
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.net.*;
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+public class ShardWorker {
+	static final int CONNECT_ATTEMPTS = 60;					//seconds to keep trying while the coordinator starts
+	static final int MAX_SPECIES = 1 << 20;					//most species a coordinator may send
+	static final int MAX_NAME = 4096;						//longest species name in bytes
+	static final int MAX_SEQUENCE = Integer.MAX_VALUE - 8;	//longest sequence in bytes, the most a string can hold
+
+	String host;								//coordinator host
+	int port;									//coordinator port
+	int threads;								//tiles aligned at once
+	String token;								//shared secret the coordinator expects
+
+	/**
+	 * Initializes a worker for a coordinator
+	 * @param threads tiles to align at once, usually the number of cores
+	 * @param token shared secret the coordinator was started with
+	 */
+	public ShardWorker(String host, int port, int threads, String token) {
+		this.host = host;
+		this.port = port;
+		this.threads = threads;
+		this.token = token;
+	}
+
+	/**
+	 * Connect to the coordinator, receive the parameters and sequences, and align tiles until told to quit or the
+	 * coordinator goes away
+	 * @throws IOException if the coordinator cannot be reached
+	 * @return number of tiles aligned
+	 */
+	public int run() throws IOException, InterruptedException {
+		Socket socket = connect();
+		ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "shard-tile");
+			thread.setDaemon(true);
+			return thread;
+		});
+		int tiles = 0;
+		try (Socket s = socket) {
+			s.setKeepAlive(true);
+			DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+			out.writeInt(ShardCoordinator.MAGIC);
+			out.writeInt(ShardCoordinator.VERSION);
+			ShardCoordinator.writeString(out, token);
+			out.writeInt(threads);
+			out.flush();
+			AlignmentPlanner planner = new AlignmentPlanner(in.readInt(), in.readInt(), in.readInt());
+			int count = in.readInt();
+			if (count < 0 || count > MAX_SPECIES) {
+				throw new IOException("Coordinator sent " + count + " species");
+			}
+			String[] sequences = new String[count];
+			for (int i = 0; i < sequences.length; i++) {
+				ShardCoordinator.readString(in, MAX_NAME);
+				sequences[i] = ShardCoordinator.readString(in, MAX_SEQUENCE);
+			}
+
+			//align each tile on the pool and send its scores back as soon as it is done
+			while (true) {
+				byte type;
+				try {
+					type = in.readByte();
+				} catch (EOFException e) {
+					break;
+				}
+				if (type == ShardCoordinator.QUIT) {
+					break;
+				}
+				int id = in.readInt();
+				int rowStart = in.readInt();
+				int rowEnd = in.readInt();
+				int columnStart = in.readInt();
+				int columnEnd = in.readInt();
+				tiles++;
+				pool.execute(() -> {
+
+					//a tile that cannot be aligned, for memory or any other reason, is reported so the coordinator can retry it
+					int[] scores;
+					try {
+						if (rowStart < 0 || columnStart < 0 || rowEnd > sequences.length || columnEnd > sequences.length) {
+							throw new IOException("Tile " + id + " is outside the " + sequences.length + " species");
+						}
+						scores = align(planner, sequences, rowStart, rowEnd, columnStart, columnEnd);
+					} catch (IOException | RuntimeException e) {
+						try {
+							synchronized (out) {
+								out.writeByte(ShardCoordinator.FAILED);
+								out.writeInt(id);
+								ShardCoordinator.writeString(out, reason(e));
+								out.flush();
+							}
+						} catch (IOException e1) {
+							e1.printStackTrace();
+						}
+						return;
+					}
+					try {
+						synchronized (out) {
+							out.writeByte(ShardCoordinator.RESULT);
+							out.writeInt(id);
+							out.writeInt(scores.length / 3);
+							for (int score : scores) {
+								out.writeInt(score);
+							}
+							out.flush();
+						}
+					} catch (IOException e) {
+						e.printStackTrace();
+					}
+				});
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return tiles;
+	}
+
+	/**
+	 * Describe a failure within the length the coordinator accepts
+	 * @return the exception's description, cut short if needed
+	 */
+	static String reason(Exception e) {
+		String reason = String.valueOf(e);
+		return reason.length() > ShardCoordinator.MAX_REASON / 4 ? reason.substring(0, ShardCoordinator.MAX_REASON / 4) : reason;
+	}
+
+	/**
+	 * Connect to the coordinator, retrying once a second while it starts
+	 * @throws IOException if it never accepts
+	 * @return the connected socket
+	 */
+	Socket connect() throws IOException, InterruptedException {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return new Socket(host, port);
+			} catch (ConnectException e) {
+				if (attempt >= CONNECT_ATTEMPTS) {
+					throw e;
+				}
+				Thread.sleep(1000);
+			}
+		}
+	}
+
+	/**
+	 * Compute the global score of every pair of a tile above the diagonal with the planner's score-only engines
+	 * @return row, column, and score of each pair
+	 */
+	static int[] align(AlignmentPlanner planner, String[] sequences, int rowStart, int rowEnd, int columnStart, int columnEnd) throws IOException {
+		int[] scores = new int[3 * (rowEnd - rowStart) * (columnEnd - columnStart)];
+		int k = 0;
+		for (int i = rowStart; i < rowEnd; i++) {
+			for (int j = Math.max(columnStart, i + 1); j < columnEnd; j++) {
+				scores[k++] = i;
+				scores[k++] = j;
+				scores[k++] = planner.global(sequences[i], sequences[j], false).score;
+			}
+		}
+		return Arrays.copyOf(scores, k);
+	}
+}
@@ -0,0 +1,345 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+public class Significance {
+	static final int MAX_SHUFFLES = 10000;					//most shuffles one estimate may align
+	static final int SYMBOLS = DatabaseScan.BASES.length() + 1;	//ACGT and one code for anything else
+
+	//rows, shuffle buffers, and edge lists reused by every shuffle on the same thread, grown for longer sequences
+	static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+	int match;									//match reward
+	int mismatch;								//mismatch penalty
+	int indel;									//indel penalty
+	int shuffles;								//shuffled sequences to align
+	long seed;									//random seed; the same seed gives the same estimate
+
+	/**
+	 * Buffers of one thread
+	 */
+	static class Workspace {
+		int[][] rows = new int[4][0];			//previous and current global rows, previous and current local rows
+		byte[] shuffled = new byte[0];			//the shuffled sequence
+		byte[] edges = new byte[0];				//successor of every position, grouped by the base at that position
+		int[] start = new int[SYMBOLS + 1];		//first edge of each base
+		int[] used = new int[SYMBOLS];			//edges of each base already walked
+		int[] last = new int[SYMBOLS];			//edge each base leaves by for the last time
+		boolean[] inTree = new boolean[SYMBOLS];
+
+		void grow(int n, int m) {
+			if (rows[0].length < m + 1) {
+				for (int r = 0; r < rows.length; r++) {
+					rows[r] = new int[m + 1];
+				}
+			}
+			if (shuffled.length < n) {
+				shuffled = new byte[n];
+				edges = new byte[n];
+			}
+		}
+	}
+
+	/**
+	 * How an observed score compares with the scores of shuffled sequences
+	 */
+	public static class Estimate {
+		public int score;						//observed score
+		public double mean;						//mean shuffled score
+		public double deviation;				//standard deviation of the shuffled scores
+		public double location;					//location of the fitted Gumbel distribution
+		public double scale;					//scale of the fitted Gumbel distribution, 1 / lambda
+		public double zScore;					//standard deviations of the observed score above the mean
+		public double eValue;					//exp(-(score - location) / scale), expected alignments at least this good per shuffled comparison
+		public double pValue;					//chance a shuffled score is at least as high under the fit, 1 - exp(-eValue)
+		public double empiricalP;				//share of shuffled scores at least as high, counting the observed score
+
+		public String toString() {
+			return String.format("Score %d, shuffled mean %.2f sd %.2f, z %.2f, Gumbel location %.2f scale %.3f, E-value %.3g, P-value %.3g, empirical P %.3g",
+					score, mean, deviation, zScore, location, scale, eValue, pValue, empiricalP);
+		}
+	}
+
+	/**
+	 * Estimates for both scores of a pair
+	 */
+	public static class Result {
+		public Estimate global;					//global score against the shuffles
+		public Estimate local;					//local score against the shuffles
+		public int shuffles;					//shuffled sequences aligned
+	}
+
+	/**
+	 * Initializes the estimator
+	 * @param shuffles number of shuffled sequences, each aligned globally and locally
+	 */
+	public Significance(int match, int mismatch, int indel, int shuffles, long seed) {
+		if (shuffles < 2 || shuffles > MAX_SHUFFLES) {
+			throw new IllegalArgumentException("The number of shuffles must be between 2 and " + MAX_SHUFFLES);
+		}
+		this.match = match;
+		this.mismatch = mismatch;
+		this.indel = indel;
+		this.shuffles = shuffles;
+		this.seed = seed;
+	}
+
+	/**
+	 * Score the first sequence against shuffles of the second that keep its dinucleotide counts, in parallel, and fit an
+	 * extreme value distribution to the shuffled scores
+	 * @return observed scores with their significance
+	 */
+	public Result estimate(String s1, String s2) {
+		if (s1.isEmpty() || s2.isEmpty()) {
+			throw new IllegalArgumentException("Both sequences need bases");
+		}
+
+		//profile of the first sequence, and the second sequence as base codes
+		int[][] profile = new int[SYMBOLS][s1.length()];
+		for (int b = 0; b < SYMBOLS; b++) {
+			for (int j = 0; j < s1.length(); j++) {
+				profile[b][j] = b < DatabaseScan.BASES.length() && Character.toUpperCase(s1.charAt(j)) == DatabaseScan.BASES.charAt(b) ? match : mismatch;
+			}
+		}
+		byte[] codes = new byte[s2.length()];
+		for (int i = 0; i < codes.length; i++) {
+			char c = s2.charAt(i);
+			codes[i] = c < 128 ? DatabaseScan.CODES[c] : (byte) (SYMBOLS - 1);
+		}
+
+		//one seed per shuffle, drawn up front so the scores do not depend on how the shuffles are split between threads
+		long[] seeds = new long[shuffles];
+		SplittableRandom random = new SplittableRandom(seed);
+		for (int t = 0; t < shuffles; t++) {
+			seeds[t] = random.nextLong();
+		}
+		int[] globalScores = new int[shuffles];
+		int[] localScores = new int[shuffles];
+		try (Metrics.Timer timer = Metrics.time("significance")) {
+			IntStream.range(0, shuffles).parallel().forEach(t -> {
+				Workspace workspace = WORKSPACE.get();
+				workspace.grow(codes.length, s1.length());
+				shuffle(codes, new SplittableRandom(seeds[t]), workspace);
+				long scores = align(profile, workspace.shuffled, codes.length, workspace.rows);
+				globalScores[t] = (int) (scores >> 32);
+				localScores[t] = (int) scores;
+			});
+			timer.cells(2L * shuffles * s1.length() * s2.length());
+		}
+
+		Result result = new Result();
+		result.shuffles = shuffles;
+		result.global = fit(ScoreKernels.globalScore(s1, s2, match, mismatch, indel), globalScores);
+		result.local = fit(ScoreKernels.localScore(s1, s2, match, mismatch, indel), localScores);
+		return result;
+	}
+
+	/**
+	 * Shuffle a sequence keeping the count of every pair of adjacent bases and the first and last base (Altschul-Erickson):
+	 * choose the edge each base leaves by for the last time as a random tree leading to the last base, shuffle the other
+	 * edges of each base, and walk them from the first base
+	 */
+	static void shuffle(byte[] codes, SplittableRandom random, Workspace w) {
+		int n = codes.length;
+		byte[] out = w.shuffled;
+		if (n < 3) {
+			System.arraycopy(codes, 0, out, 0, n);
+			return;
+		}
+
+		//group the successor of every position by the base at that position
+		int[] start = w.start;
+		Arrays.fill(start, 0);
+		for (int i = 0; i < n - 1; i++) {
+			start[codes[i] + 1]++;
+		}
+		for (int b = 0; b < SYMBOLS; b++) {
+			start[b + 1] += start[b];
+		}
+		int[] used = w.used;
+		System.arraycopy(start, 0, used, 0, SYMBOLS);
+		for (int i = 0; i < n - 1; i++) {
+			w.edges[used[codes[i]]++] = codes[i + 1];
+		}
+
+		//random tree of last exits toward the last base, by loop-erased random walks (Wilson)
+		int end = codes[n - 1];
+		Arrays.fill(w.inTree, false);
+		w.inTree[end] = true;
+		for (int b = 0; b < SYMBOLS; b++) {
+			if (start[b + 1] == start[b]) {
+				continue;
+			}
+			for (int v = b; !w.inTree[v]; v = w.edges[w.last[v]]) {
+				w.last[v] = start[v] + random.nextInt(start[v + 1] - start[v]);
+			}
+			for (int v = b; !w.inTree[v]; v = w.edges[w.last[v]]) {
+				w.inTree[v] = true;
+			}
+		}
+
+		//put each last exit at the end of its base's edges and shuffle the rest
+		for (int b = 0; b < SYMBOLS; b++) {
+			int from = start[b];
+			int to = start[b + 1];
+			if (to == from) {
+				continue;
+			}
+			if (b != end) {
+				swap(w.edges, w.last[b], to - 1);
+				to--;
+			}
+			for (int e = to - 1; e > from; e--) {
+				swap(w.edges, e, from + random.nextInt(e - from + 1));
+			}
+		}
+
+		//walk the edges from the first base
+		System.arraycopy(start, 0, used, 0, SYMBOLS);
+		out[0] = codes[0];
+		for (int i = 1; i < n; i++) {
+			out[i] = w.edges[used[out[i - 1]]++];
+		}
+	}
+
+	static void swap(byte[] a, int i, int j) {
+		byte t = a[i];
+		a[i] = a[j];
+		a[j] = t;
+	}
+
+	/**
+	 * Compute the global and local scores of a coded sequence against the profile in one pass, with the recurrences of
+	 * ScoreKernels, the coded sequence along the rows
+	 * @return global score in the high half, local score in the low half
+	 */
+	long align(int[][] profile, byte[] codes, int n, int[][] rows) {
+		int m = profile[0].length;
+		int[] globalPrevious = rows[0];
+		int[] globalCurrent = rows[1];
+		int[] localPrevious = rows[2];
+		int[] localCurrent = rows[3];
+		for (int j = 0; j <= m; j++) {
+			globalPrevious[j] = j * indel;
+			localPrevious[j] = 0;
+		}
+		int local = Integer.MIN_VALUE;
+		for (int i = 1; i <= n; i++) {
+			int[] scores = profile[codes[i - 1]];
+			globalCurrent[0] = i * indel;
+			localCurrent[0] = 0;
+			for (int j = 1; j <= m; j++) {
+				int score = scores[j - 1];
+				globalCurrent[j] = Math.max(Math.max(globalCurrent[j - 1], globalPrevious[j]) + indel, globalPrevious[j - 1] + score);
+				int value = Math.max(Math.max(localCurrent[j - 1], localPrevious[j]) + indel, localPrevious[j - 1] + score);
+				localCurrent[j] = value;
+				local = Math.max(local, value);
+			}
+			int[] swap = globalPrevious;
+			globalPrevious = globalCurrent;
+			globalCurrent = swap;
+			swap = localPrevious;
+			localPrevious = localCurrent;
+			localCurrent = swap;
+		}
+		return (long) globalPrevious[m] << 32 | (local & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Fit a Gumbel distribution to the shuffled scores by maximum likelihood, starting from the method of moments, and
+	 * place the observed score on it
+	 * @return the estimate
+	 */
+	static Estimate fit(int observed, int[] scores) {
+		Estimate estimate = new Estimate();
+		estimate.score = observed;
+		int n = scores.length;
+		double sum = 0;
+		int atLeast = 0;
+		for (int score : scores) {
+			sum += score;
+			atLeast += score >= observed ? 1 : 0;
+		}
+		estimate.mean = sum / n;
+		double squares = 0;
+		for (int score : scores) {
+			squares += (score - estimate.mean) * (score - estimate.mean);
+		}
+		estimate.deviation = Math.sqrt(squares / (n - 1));
+		estimate.empiricalP = (atLeast + 1.0) / (n + 1.0);
+		if (estimate.deviation == 0) {
+			//every shuffle scored the same, so there is no spread to fit
+			estimate.location = estimate.mean;
+			estimate.zScore = observed > estimate.mean ? Double.POSITIVE_INFINITY : 0;
+			estimate.pValue = observed > estimate.mean ? 0 : 1;
+			estimate.eValue = observed > estimate.mean ? 0 : Double.POSITIVE_INFINITY;
+			return estimate;
+		}
+		estimate.zScore = (observed - estimate.mean) / estimate.deviation;
+
+		//solve scale = mean - sum(x exp(-x / scale)) / sum(exp(-x / scale)) by Newton's method, on scores centred at the mean
+		double scale = estimate.deviation * Math.sqrt(6) / Math.PI;
+		for (int iteration = 0; iteration < 100; iteration++) {
+			double s0 = 0;
+			double s1 = 0;
+			double s2 = 0;
+			for (int score : scores) {
+				double x = score - estimate.mean;
+				double w = Math.exp(-x / scale);
+				s0 += w;
+				s1 += x * w;
+				s2 += x * x * w;
+			}
+			double weighted = s1 / s0;
+			double f = scale + weighted;
+			double slope = 1 + (s2 / s0 - weighted * weighted) / (scale * scale);
+			double next = scale - f / slope;
+			if (!(next > 0) || Double.isNaN(next)) {
+				scale = estimate.deviation * Math.sqrt(6) / Math.PI;
+				break;
+			}
+			boolean converged = Math.abs(next - scale) < 1e-9 * scale;
+			scale = next;
+			if (converged) {
+				break;
+			}
+		}
+		double s0 = 0;
+		for (int score : scores) {
+			s0 += Math.exp(-(score - estimate.mean) / scale);
+		}
+		estimate.scale = scale;
+		estimate.location = estimate.mean - scale * Math.log(s0 / n);
+
+		//the Gumbel tail gives the expected number of alignments this good per comparison, and from it the chance of at least one
+		estimate.eValue = Math.exp(-(observed - estimate.location) / scale);
+		estimate.pValue = -Math.expm1(-estimate.eValue);
+		return estimate;
+	}
+
+	/**
+	 * Format both estimates for a pair of species
+	 * @return report text
+	 */
+	public static String toText(Result result, String name1, String name2) {
+		StringBuilder sb = new StringBuilder("Significance of " + name1 + " against " + result.shuffles + " dinucleotide shuffles of " + name2 + "\n\n");
+		String[] labels = {"Global", "Local"};
+		Estimate[] estimates = {result.global, result.local};
+		for (int e = 0; e < estimates.length; e++) {
+			Estimate estimate = estimates[e];
+			sb.append(labels[e]).append(" score: ").append(estimate.score).append('\n');
+			sb.append(String.format("Shuffled scores: mean %.2f, standard deviation %.2f, z-score %.2f%n", estimate.mean, estimate.deviation, estimate.zScore));
+			sb.append(String.format("Gumbel fit: location %.2f, scale %.3f (lambda %.4f)%n", estimate.location, estimate.scale,
+					estimate.scale == 0 ? 0 : 1 / estimate.scale));
+			sb.append(String.format("E-value %.3g, P-value %.3g, empirical P-value %.3g%n%n", estimate.eValue, estimate.pValue, estimate.empiricalP));
+		}
+		return sb.toString();
+	}
+}
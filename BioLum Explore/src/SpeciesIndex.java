@@ -0,0 +1,88 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.*;
+
+public class SpeciesIndex {
+	String[] keys;									//lowercase search keys in sorted order
+	int[] owners;									//species each key belongs to
+	int count;										//number of species indexed
+
+	/**
+	 * Index species names so a typed prefix of the full name, or of any later word such as the species epithet, finds them
+	 */
+	public SpeciesIndex(List<String> names) {
+		count = names.size();
+		List<String> allKeys = new ArrayList<String>();
+		List<Integer> allOwners = new ArrayList<Integer>();
+		for (int s = 0; s < names.size(); s++) {
+			String name = names.get(s).toLowerCase(Locale.ROOT);
+
+			//the full name, then the rest of the name after each space
+			allKeys.add(name);
+			allOwners.add(s);
+			for (int space = name.indexOf(' '); space >= 0; space = name.indexOf(' ', space + 1)) {
+				allKeys.add(name.substring(space + 1));
+				allOwners.add(s);
+			}
+		}
+		Integer[] order = new Integer[allKeys.size()];
+		for (int k = 0; k < order.length; k++) {
+			order[k] = k;
+		}
+		Arrays.sort(order, (a, b) -> allKeys.get(a).compareTo(allKeys.get(b)));
+		keys = new String[order.length];
+		owners = new int[order.length];
+		for (int k = 0; k < order.length; k++) {
+			keys[k] = allKeys.get(order[k]);
+			owners[k] = allOwners.get(order[k]);
+		}
+	}
+
+	/**
+	 * Find the species with a key starting with the prefix, by binary searching for the range of matching keys
+	 * @return indices of the matching species in ascending order, every species if the prefix is blank
+	 */
+	public int[] match(String prefix) {
+		String p = prefix.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+		if (p.isEmpty()) {
+			int[] all = new int[count];
+			for (int s = 0; s < count; s++) {
+				all[s] = s;
+			}
+			return all;
+		}
+		int from = lowerBound(p);
+		int to = from;
+		while (to < keys.length && keys[to].startsWith(p)) {
+			to++;
+		}
+		BitSet matches = new BitSet(count);
+		for (int k = from; k < to; k++) {
+			matches.set(owners[k]);
+		}
+		return matches.stream().toArray();
+	}
+
+	/**
+	 * Find the first key that is not less than the prefix
+	 * @return key position
+	 */
+	int lowerBound(String p) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid].compareTo(p) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
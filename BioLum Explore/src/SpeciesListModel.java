@@ -0,0 +1,50 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+public class SpeciesListModel extends AbstractListModel<String> {
+	private static final long serialVersionUID = 1L;
+
+	List<String> imageNames;						//image file name of every species
+	int[] visible;									//species shown in the grid, as indices into imageNames
+
+	/**
+	 * Initializes the model showing every species
+	 */
+	public SpeciesListModel(List<String> imageNames) {
+		this.imageNames = imageNames;
+		this.visible = new int[imageNames.size()];
+		for (int s = 0; s < visible.length; s++) {
+			visible[s] = s;
+		}
+	}
+
+	/**
+	 * Show only the given species, e.g. the matches of a type-ahead filter
+	 */
+	public void show(int[] species) {
+		int before = visible.length;
+		visible = species;
+		if (before > 0) {
+			fireIntervalRemoved(this, 0, before - 1);
+		}
+		if (visible.length > 0) {
+			fireIntervalAdded(this, 0, visible.length - 1);
+		}
+	}
+
+	public int getSize() {
+		return visible.length;
+	}
+
+	public String getElementAt(int index) {
+		return imageNames.get(visible[index]);
+	}
+}
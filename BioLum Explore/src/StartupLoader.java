@@ -0,0 +1,187 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+public class StartupLoader {
+	static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));	//loader threads, so startup does not starve the UI
+	static final int THUMBNAIL = 145;						//largest side of a grid image; full-size images are scaled down and dropped
+	static final int THUMBNAILS = Integer.getInteger("biolum.grid.thumbnails", 256);	//thumbnails kept at once, least recently shown dropped first
+
+	SequenceDatabase database;								//database holding every species
+	ExecutorService executor;								//bounded pool the species are loaded on
+	ConcurrentHashMap<String, Species> loaded;				//species that have finished loading
+	AtomicInteger remaining;								//species still loading
+	CountDownLatch done;									//released once every species has loaded
+	Set<String> requested;									//species whose thumbnail has been asked for, so each is read only once
+	Consumer<Species> listener;								//told on the event dispatch thread when a species or its thumbnail is ready
+	LinkedHashMap<String, Species> recent;					//species holding a thumbnail, least recently shown first
+
+	/**
+	 * Everything the UI shows for one species
+	 */
+	public static class Species {
+		public String name;									//species name
+		public String imageFile;							//image file name in the images directory
+		public String[] info;								//location, discovery, size, light color, and common name
+		volatile ImageIcon thumbnail;						//image scaled to the grid, null until it is first shown
+	}
+
+	/**
+	 * Initializes the loader for every species in the database
+	 */
+	public StartupLoader(SequenceDatabase database) {
+		this.database = database;
+		this.loaded = new ConcurrentHashMap<String, Species>();
+		this.remaining = new AtomicInteger(database.size());
+		this.done = new CountDownLatch(database.size());
+		this.requested = ConcurrentHashMap.newKeySet();
+		this.recent = new LinkedHashMap<String, Species>(16, 0.75f, true);
+		this.executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+			Thread thread = new Thread(runnable, "species-loader");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Load the info of every species in the background and hand each one to the listener on the event dispatch thread as
+	 * soon as it is ready; sequences stay in the database and images are read only when they are shown
+	 */
+	public void start(Consumer<Species> listener) {
+		this.listener = listener;
+		Metrics.Timer timer = Metrics.time("startupLoad");
+		List<String> names = database.names();
+		if (names.isEmpty()) {
+			timer.close();
+		}
+		for (int r = 0; r < names.size(); r++) {
+			String name = names.get(r);
+			String imageFile = database.image(r);
+			executor.execute(() -> {
+				Species species = load(name, imageFile);
+				loaded.put(name, species);
+				SwingUtilities.invokeLater(() -> listener.accept(species));
+				done.countDown();
+				if (remaining.decrementAndGet() == 0) {
+					timer.close();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Read the info of one species
+	 * @return the loaded species
+	 */
+	Species load(String name, String imageFile) {
+		Species species = new Species();
+		species.name = name;
+		species.imageFile = imageFile;
+		species.info = database.info(name);
+		return species;
+	}
+
+	/**
+	 * Get the thumbnail of a species, reading it in the background when it is not cached; only the most recently shown
+	 * thumbnails are kept, so a large grid never holds every image
+	 * @return the thumbnail, or null while it is loading or if the species has no readable image
+	 */
+	public ImageIcon thumbnail(Species species) {
+		ImageIcon thumbnail = species.thumbnail;
+		if (thumbnail != null) {
+			synchronized (recent) {
+				recent.get(species.name);							//marks it as recently shown
+			}
+		} else if (!species.imageFile.isEmpty() && requested.add(species.name)) {
+			executor.execute(() -> {
+				ImageIcon read = readThumbnail(species.imageFile);
+				if (read != null) {
+					cache(species, read);
+					SwingUtilities.invokeLater(() -> listener.accept(species));
+				}
+			});
+		}
+		return thumbnail;
+	}
+
+	/**
+	 * Keep a thumbnail, dropping the least recently shown ones past the limit so they are read again if shown again
+	 */
+	void cache(Species species, ImageIcon thumbnail) {
+		synchronized (recent) {
+			species.thumbnail = thumbnail;
+			recent.put(species.name, species);
+			Iterator<Species> oldest = recent.values().iterator();
+			while (recent.size() > THUMBNAILS) {
+				Species evicted = oldest.next();
+				oldest.remove();
+				evicted.thumbnail = null;
+				requested.remove(evicted.name);
+			}
+		}
+	}
+
+	/**
+	 * Read an image and scale it to fit a grid cell, so only the small copy is kept
+	 * @return the thumbnail, or null if the image could not be read
+	 */
+	static ImageIcon readThumbnail(String imageFile) {
+		try {
+			BufferedImage image = ImageIO.read(new File("src/Images", imageFile));
+			if (image == null) {
+				return null;
+			}
+			double scale = (double) THUMBNAIL / Math.max(image.getWidth(), image.getHeight());
+			if (scale >= 1) {
+				return new ImageIcon(image);
+			}
+			int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+			int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+			BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = thumbnail.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.drawImage(image, 0, 0, width, height, null);
+			g.dispose();
+			return new ImageIcon(thumbnail);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Get a species if it has finished loading
+	 * @return the species, or null if it is still loading
+	 */
+	public Species get(String name) {
+		return loaded.get(name);
+	}
+
+	/**
+	 * Wait until every species has loaded
+	 * @return true if loading finished before the timeout
+	 */
+	public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+		return done.await(timeout, unit);
+	}
+}
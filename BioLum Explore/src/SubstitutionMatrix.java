@@ -0,0 +1,140 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.Arrays;
+
+public class SubstitutionMatrix {
+	static final String RESIDUES = "ARNDCQEGHILKMFPSTWYVBZX*";		//residue order of the matrices, every residue code is an index into this string
+	static final byte[] CODE = new byte[128];						//residue code of each character, unknown characters map to X
+
+	static {
+		Arrays.fill(CODE, (byte) RESIDUES.indexOf('X'));
+		for (int r = 0; r < RESIDUES.length(); r++) {
+			CODE[RESIDUES.charAt(r)] = (byte) r;
+			CODE[Character.toLowerCase(RESIDUES.charAt(r))] = (byte) r;
+		}
+		CODE['-'] = (byte) RESIDUES.indexOf('*');					//Frame writes stop codons as '-'
+	}
+
+	static final String BLOSUM62_TEXT =
+			  " 4 -1 -2 -2  0 -1 -1  0 -2 -1 -1 -1 -1 -2 -1  1  0 -3 -2  0 -2 -1  0 -4 "
+			+ "-1  5  0 -2 -3  1  0 -2  0 -3 -2  2 -1 -3 -2 -1 -1 -3 -2 -3 -1  0 -1 -4 "
+			+ "-2  0  6  1 -3  0  0  0  1 -3 -3  0 -2 -3 -2  1  0 -4 -2 -3  3  0 -1 -4 "
+			+ "-2 -2  1  6 -3  0  2 -1 -1 -3 -4 -1 -3 -3 -1  0 -1 -4 -3 -3  4  1 -1 -4 "
+			+ " 0 -3 -3 -3  9 -3 -4 -3 -3 -1 -1 -3 -1 -2 -3 -1 -1 -2 -2 -1 -3 -3 -2 -4 "
+			+ "-1  1  0  0 -3  5  2 -2  0 -3 -2  1  0 -3 -1  0 -1 -2 -1 -2  0  3 -1 -4 "
+			+ "-1  0  0  2 -4  2  5 -2  0 -3 -3  1 -2 -3 -1  0 -1 -3 -2 -2  1  4 -1 -4 "
+			+ " 0 -2  0 -1 -3 -2 -2  6 -2 -4 -4 -2 -3 -3 -2  0 -2 -2 -3 -3 -1 -2 -1 -4 "
+			+ "-2  0  1 -1 -3  0  0 -2  8 -3 -3 -1 -2 -1 -2 -1 -2 -2  2 -3  0  0 -1 -4 "
+			+ "-1 -3 -3 -3 -1 -3 -3 -4 -3  4  2 -3  1  0 -3 -2 -1 -3 -1  3 -3 -3 -1 -4 "
+			+ "-1 -2 -3 -4 -1 -2 -3 -4 -3  2  4 -2  2  0 -3 -2 -1 -2 -1  1 -4 -3 -1 -4 "
+			+ "-1  2  0 -1 -3  1  1 -2 -1 -3 -2  5 -1 -3 -1  0 -1 -3 -2 -2  0  1 -1 -4 "
+			+ "-1 -1 -2 -3 -1  0 -2 -3 -2  1  2 -1  5  0 -2 -1 -1 -1 -1  1 -3 -1 -1 -4 "
+			+ "-2 -3 -3 -3 -2 -3 -3 -3 -1  0  0 -3  0  6 -4 -2 -2  1  3 -1 -3 -3 -1 -4 "
+			+ "-1 -2 -2 -1 -3 -1 -1 -2 -2 -3 -3 -1 -2 -4  7 -1 -1 -4 -3 -2 -2 -1 -2 -4 "
+			+ " 1 -1  1  0 -1  0  0  0 -1 -2 -2  0 -1 -2 -1  4  1 -3 -2 -2  0  0  0 -4 "
+			+ " 0 -1  0 -1 -1 -1 -1 -2 -2 -1 -1 -1 -1 -2 -1  1  5 -2 -2  0 -1 -1  0 -4 "
+			+ "-3 -3 -4 -4 -2 -2 -3 -2 -2 -3 -2 -3 -1  1 -4 -3 -2 11  2 -3 -4 -3 -2 -4 "
+			+ "-2 -2 -2 -3 -2 -1 -2 -3  2 -1 -1 -2 -1  3 -3 -2 -2  2  7 -1 -3 -2 -1 -4 "
+			+ " 0 -3 -3 -3 -1 -2 -2 -3 -3  3  1 -2  1 -1 -2 -2  0 -3 -1  4 -3 -2 -1 -4 "
+			+ "-2 -1  3  4 -3  0  1 -1  0 -3 -4  0 -3 -3 -2  0 -1 -4 -3 -3  4  1 -1 -4 "
+			+ "-1  0  0  1 -3  3  4 -2  0 -3 -3  1 -1 -3 -1  0 -1 -3 -2 -2  1  4 -1 -4 "
+			+ " 0 -1 -1 -1 -2 -1 -1 -1 -1 -1 -1 -1 -1 -1 -2  0  0 -2 -1 -1 -1 -1 -1 -4 "
+			+ "-4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4 -4  1 ";
+
+	static final String PAM250_TEXT =
+			  " 2 -2  0  0 -2  0  0  1 -1 -1 -2 -1 -1 -3  1  1  1 -6 -3  0  0  0  0 -8 "
+			+ "-2  6  0 -1 -4  1 -1 -3  2 -2 -3  3  0 -4  0  0 -1  2 -4 -2 -1  0 -1 -8 "
+			+ " 0  0  2  2 -4  1  1  0  2 -2 -3  1 -2 -3  0  1  0 -4 -2 -2  2  1  0 -8 "
+			+ " 0 -1  2  4 -5  2  3  1  1 -2 -4  0 -3 -6 -1  0  0 -7 -4 -2  3  3 -1 -8 "
+			+ "-2 -4 -4 -5 12 -5 -5 -3 -3 -2 -6 -5 -5 -4 -3  0 -2 -8  0 -2 -4 -5 -3 -8 "
+			+ " 0  1  1  2 -5  4  2 -1  3 -2 -2  1 -1 -5  0 -1 -1 -5 -4 -2  1  3 -1 -8 "
+			+ " 0 -1  1  3 -5  2  4  0  1 -2 -3  0 -2 -5 -1  0  0 -7 -4 -2  3  3 -1 -8 "
+			+ " 1 -3  0  1 -3 -1  0  5 -2 -3 -4 -2 -3 -5  0  1  0 -7 -5 -1  0  0 -1 -8 "
+			+ "-1  2  2  1 -3  3  1 -2  6 -2 -2  0 -2 -2  0 -1 -1 -3  0 -2  1  2 -1 -8 "
+			+ "-1 -2 -2 -2 -2 -2 -2 -3 -2  5  2 -2  2  1 -2 -1  0 -5 -1  4 -2 -2 -1 -8 "
+			+ "-2 -3 -3 -4 -6 -2 -3 -4 -2  2  6 -3  4  2 -3 -3 -2 -2 -1  2 -3 -3 -1 -8 "
+			+ "-1  3  1  0 -5  1  0 -2  0 -2 -3  5  0 -5 -1  0  0 -3 -4 -2  1  0 -1 -8 "
+			+ "-1  0 -2 -3 -5 -1 -2 -3 -2  2  4  0  6  0 -2 -2 -1 -4 -2  2 -2 -2 -1 -8 "
+			+ "-3 -4 -3 -6 -4 -5 -5 -5 -2  1  2 -5  0  9 -5 -3 -3  0  7 -1 -4 -5 -2 -8 "
+			+ " 1  0  0 -1 -3  0 -1  0  0 -2 -3 -1 -2 -5  6  1  0 -6 -5 -1 -1  0 -1 -8 "
+			+ " 1  0  1  0  0 -1  0  1 -1 -1 -3  0 -2 -3  1  2  1 -2 -3 -1  0  0  0 -8 "
+			+ " 1 -1  0  0 -2 -1  0  0 -1  0 -2  0 -1 -3  0  1  3 -5 -3  0  0 -1  0 -8 "
+			+ "-6  2 -4 -7 -8 -5 -7 -7 -3 -5 -2 -3 -4  0 -6 -2 -5 17  0 -6 -5 -6 -4 -8 "
+			+ "-3 -4 -2 -4  0 -4 -4 -5  0 -1 -1 -4 -2  7 -5 -3 -3  0 10 -2 -3 -4 -2 -8 "
+			+ " 0 -2 -2 -2 -2 -2 -2 -1 -2  4  2 -2  2 -1 -1 -1  0 -6 -2  4 -2 -2 -1 -8 "
+			+ " 0 -1  2  3 -4  1  3  0  1 -2 -3  1 -2 -4 -1  0  0 -5 -3 -2  3  2 -1 -8 "
+			+ " 0  0  1  3 -5  3  3  0  2 -2 -3  0 -2 -5  0  0 -1 -6 -4 -2  2  3 -1 -8 "
+			+ " 0 -1  0 -1 -3 -1 -1 -1 -1 -1 -1 -1 -1 -2 -1  0  0 -4 -2 -1 -1 -1 -1 -8 "
+			+ "-8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8 -8  1 ";
+
+	public static final SubstitutionMatrix BLOSUM62 = new SubstitutionMatrix("BLOSUM62", BLOSUM62_TEXT);
+	public static final SubstitutionMatrix PAM250 = new SubstitutionMatrix("PAM250", PAM250_TEXT);
+
+	String name;								//name of the matrix
+	byte[][] scores;							//dense scores indexed by residue code, scores[code1][code2]
+
+	/**
+	 * Parse a matrix from whitespace separated scores in the order of RESIDUES
+	 */
+	SubstitutionMatrix(String name, String text) {
+		this.name = name;
+		String[] values = text.trim().split("\\s+");
+		int size = RESIDUES.length();
+		scores = new byte[size][size];
+		for (int r = 0; r < size; r++) {
+			for (int c = 0; c < size; c++) {
+				scores[r][c] = Byte.parseByte(values[r * size + c]);
+			}
+		}
+	}
+
+	/**
+	 * Get a built-in matrix by name
+	 * @return the matrix
+	 */
+	public static SubstitutionMatrix named(String name) {
+		if (name.equalsIgnoreCase("PAM250")) {
+			return PAM250;
+		} else if (name.equalsIgnoreCase("BLOSUM62")) {
+			return BLOSUM62;
+		}
+		throw new IllegalArgumentException("Unknown substitution matrix: " + name);
+	}
+
+	/**
+	 * Convert a protein sequence to residue codes once, so the alignment inner loop is two array lookups
+	 * @return residue codes
+	 */
+	public static byte[] encode(String protein) {
+		byte[] codes = new byte[protein.length()];
+		for (int i = 0; i < codes.length; i++) {
+			codes[i] = code(protein.charAt(i));
+		}
+		return codes;
+	}
+
+	/**
+	 * Get the score of two residues
+	 * @return substitution score
+	 */
+	public int score(char a, char b) {
+		return scores[code(a)][code(b)];
+	}
+
+	/**
+	 * Get the residue code of a character, X for anything outside ASCII
+	 * @return residue code
+	 */
+	static byte code(char c) {
+		return c < 128 ? CODE[c] : CODE['X'];
+	}
+
+	public String toString() {
+		return name;
+	}
+}
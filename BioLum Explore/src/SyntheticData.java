@@ -0,0 +1,138 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class SyntheticData {
+	static final String BASES = "ACGT";
+	static final int LINE = 70;								//bases per line, the same as the bundled sequences file
+	static final long DATABASE_LIMIT = 1L << 28;				//most bases converted to a memory-mapped database, which is built in memory
+
+	SequenceLibrary ancestors;					//sequences every synthetic sequence descends from
+	List<String> ancestorNames;					//names of the ancestors, in file order
+	double substitution;						//chance each base is replaced by a different base
+	double insertion;							//chance a random base is inserted before each base
+	double deletion;							//chance each base is dropped
+	SplittableRandom random;					//source of every mutation, seeded so a dataset can be regenerated
+
+	/**
+	 * Initializes the generator with per-base mutation rates
+	 * @param seed random seed; the same seed and rates give the same dataset
+	 */
+	public SyntheticData(SequenceLibrary ancestors, double substitution, double insertion, double deletion, long seed) {
+		if (substitution < 0 || insertion < 0 || deletion < 0 || substitution + deletion > 1 || insertion >= 1) {
+			throw new IllegalArgumentException("Mutation rates must be probabilities");
+		}
+		this.ancestors = ancestors;
+		this.ancestorNames = ancestors.names();
+		this.substitution = substitution;
+		this.insertion = insertion;
+		this.deletion = deletion;
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Write a dataset of evolved sequences in the layout of the bundled sequences and info files, one base at a time, so a
+	 * dataset of any size is generated in constant memory
+	 * @param fastaFile sequences file to write
+	 * @param infoFile info file to write, with placeholder lines for every sequence
+	 * @param count number of sequences
+	 * @param length bases per sequence, before insertions and deletions
+	 * @throws IOException
+	 * @return total bases written
+	 */
+	public long generate(String fastaFile, String infoFile, int count, long length) throws IOException {
+		long total = 0;
+		try (Metrics.Timer timer = Metrics.time("synthesize");
+				Writer fasta = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fastaFile), StandardCharsets.US_ASCII), 1 << 20);
+				Writer info = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(infoFile), StandardCharsets.UTF_8))) {
+			for (int s = 0; s < count; s++) {
+				String parent = ancestorNames.get(s % ancestorNames.size());
+				String name = "Synthetic " + (s + 1) + " " + parent;
+				fasta.write(">" + name + "\n");
+				long written = evolve(ancestors.get(parent), length, fasta);
+				fasta.write("\n");
+				info.write(">" + name + "\nLocation: Synthetic\nDiscovery: " + written + " bases\nSize: -\nLight Color: -\nCommon Name: Evolved from "
+						+ parent + "\n\n");
+				total += written;
+			}
+			timer.bytes(total);
+		}
+		return total;
+	}
+
+	/**
+	 * Copy an ancestor, repeated end to end until the requested length, mutating every base as it is copied
+	 * @return bases written
+	 */
+	long evolve(String ancestor, long length, Writer out) throws IOException {
+		char[] line = new char[LINE];
+		int filled = 0;
+		long written = 0;
+		for (long i = 0; i < length; i++) {
+			char base = ancestor.charAt((int) (i % ancestor.length()));
+			while (random.nextDouble() < insertion) {
+				line[filled++] = BASES.charAt(random.nextInt(4));
+				written++;
+				if (filled == LINE) {
+					out.write(line, 0, filled);
+					out.write('\n');
+					filled = 0;
+				}
+			}
+			double roll = random.nextDouble();
+			if (roll < deletion) {
+				continue;
+			}
+			if (roll < deletion + substitution) {
+				base = BASES.charAt((BASES.indexOf(base) + 1 + random.nextInt(3)) % 4);
+			}
+			line[filled++] = base;
+			written++;
+			if (filled == LINE) {
+				out.write(line, 0, filled);
+				out.write('\n');
+				filled = 0;
+			}
+		}
+		if (filled > 0) {
+			out.write(line, 0, filled);
+		}
+		return written;
+	}
+
+	/**
+	 * Generate a dataset from the bundled sequences, and convert it to a memory-mapped database if it is small enough
+	 * to load: SyntheticData output count length [substitution] [insertion] [deletion] [seed]
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.out.println("Usage: SyntheticData output count length [substitution] [insertion] [deletion] [seed]");
+			return;
+		}
+		String output = args[0];
+		int count = Integer.parseInt(args[1]);
+		long length = Long.parseLong(args[2]);
+		double substitution = args.length > 3 ? Double.parseDouble(args[3]) : 0.05;
+		double insertion = args.length > 4 ? Double.parseDouble(args[4]) : 0.005;
+		double deletion = args.length > 5 ? Double.parseDouble(args[5]) : 0.005;
+		long seed = args.length > 6 ? Long.parseLong(args[6]) : 1;
+		SyntheticData generator = new SyntheticData(SequenceLibrary.load(), substitution, insertion, deletion, seed);
+		long started = System.nanoTime();
+		long total = generator.generate(output + ".txt", output + ".info", count, length);
+		System.out.println("Wrote " + count + " sequences, " + total + " bases, to " + output + ".txt in " + (System.nanoTime() - started) / 1000000 + " ms");
+		if (total <= DATABASE_LIMIT) {
+			SequenceDatabase.convert(output + ".txt", output + ".info", SequenceDatabase.IMAGES_DIRECTORY, output + ".bin");
+			System.out.println("Converted to " + output + ".bin");
+		} else {
+			System.out.println("Not converted: over " + DATABASE_LIMIT + " bases, more than the database builds in memory or LoadTest loads");
+		}
+	}
+}
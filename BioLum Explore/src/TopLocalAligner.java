@@ -0,0 +1,273 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.*;
+
+public class TopLocalAligner {
+	int match;									//match reward
+	int mismatch;								//mismatch penalty
+	int indel;									//indel penalty
+
+	/**
+	 * One of the best non-intersecting local alignments, with 1-based inclusive coordinates
+	 */
+	public static class Alignment {
+		public int rank;						//1 for the best alignment
+		public int score;						//local alignment score
+		public int start1;						//first aligned position in sequence 1
+		public int end1;						//last aligned position in sequence 1
+		public int start2;						//first aligned position in sequence 2
+		public int end2;						//last aligned position in sequence 2
+		public EditTranscript transcript;		//alignment columns
+
+		public String toString() {
+			return rank + "\t" + score + "\t" + start1 + "\t" + end1 + "\t" + start2 + "\t" + end2 + "\t" + transcript.cigar();
+		}
+	}
+
+	/**
+	 * The ranked alignments and how many cells were filled to find them
+	 */
+	public static class Result {
+		public List<Alignment> alignments = new ArrayList<Alignment>();
+		public long cells;						//cells of the first fill
+		public long recomputed;					//cells refilled after masking each alignment
+	}
+
+	/**
+	 * Initializes the aligner with the pairwise alignment parameters
+	 */
+	public TopLocalAligner(int match, int mismatch, int indel) {
+		this.match = match;
+		this.mismatch = mismatch;
+		this.indel = indel;
+	}
+
+	/**
+	 * Reserve memory for the grid, waiting as long as it takes in the background and a bounded time on the UI thread
+	 * @throws IllegalArgumentException if the UI thread waited too long
+	 * @throws IllegalStateException if the thread is interrupted while waiting
+	 * @return the reservation
+	 */
+	static MemoryGovernor.Reservation reserve(long bytes) {
+		try {
+			MemoryGovernor.Reservation reservation = MemoryGovernor.shared().reserve(bytes, MemoryGovernor.patience());
+			if (reservation == null) {
+				Metrics.rejection();
+				throw new IllegalArgumentException("Other alignments are holding the memory budget; try again once they finish");
+			}
+			return reservation;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for memory");
+		}
+	}
+
+	/**
+	 * Find the k best local alignments that share no aligned pair (Waterman-Eggert). The grid is filled once with
+	 * Smith-Waterman; after each alignment is traced, its aligned pairs are masked to zero and only the cells whose
+	 * value depends on them are refilled, row by row, until a row stops changing
+	 * @throws IllegalArgumentException if the grid would not fit the planner's traceback limit or the memory budget
+	 * @return ranked alignments, fewer than k if no positive alignment is left
+	 */
+	@SuppressWarnings("try")
+	public Result align(String s1, String s2, int k) {
+		int n = s1.length();
+		int m = s2.length();
+		long size = (long) (n + 1) * (m + 1);
+		if (size > AlignmentPlanner.LINEAR_SPACE_CELLS) {
+			throw new IllegalArgumentException("Sequences are too long for top local alignments: " + size + " cells");
+		}
+
+		//the grid, its mask, and the row arrays stay on the heap for every alignment found, so wait until they fit
+		long bytes = 4 * size + size / 8 + 16L * (n + 1);
+		if (!MemoryGovernor.shared().fits(bytes)) {
+			Metrics.rejection();
+			throw new IllegalArgumentException(String.format("Top local alignments need %,d bytes, more than the memory budget of %,d", bytes,
+					MemoryGovernor.shared().budget()));
+		}
+		Result result = new Result();
+		try (MemoryGovernor.Reservation reservation = reserve(bytes);
+				Metrics.Timer timer = Metrics.time("topLocal")) {
+			int width = m + 1;
+			int[] grid = new int[(int) size];
+			BitSet masked = new BitSet((int) size);
+			int[] rowBest = new int[n + 1];
+			int[] rowBestColumn = new int[n + 1];
+			int[] maskLo = new int[n + 1];
+			int[] maskHi = new int[n + 1];
+
+			//first row and column are zeros, every other cell is floored at zero
+			for (int i = 1; i <= n; i++) {
+				for (int j = 1; j <= m; j++) {
+					int value = cell(grid, masked, s1, s2, width, i, j);
+					grid[i * width + j] = value;
+					if (value > rowBest[i]) {
+						rowBest[i] = value;
+						rowBestColumn[i] = j;
+					}
+				}
+			}
+			result.cells = (long) n * m;
+
+			while (result.alignments.size() < k) {
+				int bestRow = 0;
+				for (int i = 1; i <= n; i++) {
+					if (rowBest[i] > rowBest[bestRow]) {
+						bestRow = i;
+					}
+				}
+				if (rowBest[bestRow] <= 0) {
+					break;
+				}
+				Alignment alignment = trace(grid, masked, s1, s2, width, bestRow, rowBestColumn[bestRow], maskLo, maskHi);
+				alignment.rank = result.alignments.size() + 1;
+				result.alignments.add(alignment);
+				result.recomputed += refill(grid, masked, s1, s2, width, alignment.start1, alignment.end1, maskLo, maskHi, rowBest, rowBestColumn);
+			}
+			timer.cells(result.cells + result.recomputed);
+			timer.bytes(4 * size);
+		}
+		return result;
+	}
+
+	/**
+	 * Compute one cell from its neighbors; masked cells are zero so no later alignment may use that aligned pair
+	 * @return cell value
+	 */
+	int cell(int[] grid, BitSet masked, String s1, String s2, int width, int i, int j) {
+		int index = i * width + j;
+		if (masked.get(index)) {
+			return 0;
+		}
+		int northwest = grid[index - width - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? match : mismatch);
+		int best = Math.max(grid[index - 1], grid[index - width]) + indel;
+		return Math.max(0, Math.max(best, northwest));
+	}
+
+	/**
+	 * Trace an alignment back from its end cell to the first zero, preferring the diagonal like the other tracebacks,
+	 * and mask its aligned pairs, recording the leftmost and rightmost newly masked column of each row it spans
+	 * @return the alignment
+	 */
+	Alignment trace(int[] grid, BitSet masked, String s1, String s2, int width, int endRow, int endColumn, int[] maskLo, int[] maskHi) {
+		EditTranscript.Builder builder = new EditTranscript.Builder();
+		int i = endRow;
+		int j = endColumn;
+		Arrays.fill(maskLo, 0, endRow + 1, Integer.MAX_VALUE);
+		Arrays.fill(maskHi, 0, endRow + 1, -1);
+		while (i > 0 && j > 0 && grid[i * width + j] > 0) {
+			int index = i * width + j;
+			int value = grid[index];
+			if (value == grid[index - width - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? match : mismatch)) {
+				builder.column(s1.charAt(i - 1), s2.charAt(j - 1));
+				masked.set(index);
+				maskLo[i] = Math.min(maskLo[i], j);
+				maskHi[i] = Math.max(maskHi[i], j);
+				i--;
+				j--;
+			} else if (value == grid[index - width] + indel) {
+				builder.add(EditTranscript.DELETION);
+				i--;
+			} else {
+				builder.add(EditTranscript.INSERTION);
+				j--;
+			}
+		}
+		Alignment alignment = new Alignment();
+		alignment.score = grid[endRow * width + endColumn];
+		alignment.transcript = builder.buildReversed(s1, s2, i, j);
+		alignment.start1 = i + 1;
+		alignment.end1 = endRow;
+		alignment.start2 = j + 1;
+		alignment.end2 = endColumn;
+		return alignment;
+	}
+
+	/**
+	 * Refill only the cells affected by the newly masked pairs. Values can only drop, so in each row the refill starts at
+	 * the leftmost masked or changed input and stops at the first unchanged cell past every changed input; rows below
+	 * the alignment are refilled only while the row above changed
+	 * @return number of cells refilled
+	 */
+	long refill(int[] grid, BitSet masked, String s1, String s2, int width, int firstRow, int lastRow, int[] maskLo, int[] maskHi, int[] rowBest, int[] rowBestColumn) {
+		int n = s1.length();
+		int m = s2.length();
+		long cells = 0;
+		int changedLo = Integer.MAX_VALUE;		//changed columns of the row above
+		int changedHi = -1;
+		for (int i = firstRow; i <= n; i++) {
+			int maskedLo = i <= lastRow ? maskLo[i] : Integer.MAX_VALUE;
+			int maskedHi = i <= lastRow ? maskHi[i] : -1;
+			int lo = Math.min(changedLo, maskedLo);
+			if (lo == Integer.MAX_VALUE) {
+				if (i > lastRow) {
+					break;
+				}
+				changedLo = Integer.MAX_VALUE;
+				changedHi = -1;
+				continue;
+			}
+
+			//refill the row from the leftmost changed input until nothing further right can change
+			int rowLo = Integer.MAX_VALUE;
+			int rowHi = -1;
+			for (int j = Math.max(1, lo); j <= m; j++) {
+				int index = i * width + j;
+				int value = cell(grid, masked, s1, s2, width, i, j);
+				cells++;
+				boolean changed = value != grid[index];
+				if (changed) {
+					grid[index] = value;
+					rowLo = Math.min(rowLo, j);
+					rowHi = j;
+				} else if (j > changedHi && j >= maskedHi) {
+					break;
+				}
+			}
+
+			//the row's best only needs a rescan if its best cell dropped
+			if (rowHi >= 0 && rowBestColumn[i] >= rowLo && rowBestColumn[i] <= rowHi) {
+				rowBest[i] = 0;
+				rowBestColumn[i] = 0;
+				for (int j = 1; j <= m; j++) {
+					if (grid[i * width + j] > rowBest[i]) {
+						rowBest[i] = grid[i * width + j];
+						rowBestColumn[i] = j;
+					}
+				}
+			}
+			changedLo = rowLo;
+			changedHi = rowHi;
+		}
+		return cells;
+	}
+
+	/**
+	 * Write ranked alignments with their coordinates, each followed by its blocks of 70 columns
+	 * @return file text
+	 */
+	public static String toText(List<Alignment> alignments, String name1, String name2) {
+		StringBuilder sb = new StringBuilder("Rank\tScore\t" + name1 + " Start\t" + name1 + " End\t" + name2 + " Start\t" + name2 + " End\tCIGAR\n");
+		for (Alignment alignment : alignments) {
+			sb.append(alignment).append('\n');
+		}
+		for (Alignment alignment : alignments) {
+			sb.append("\n#").append(alignment.rank).append(" Score: ").append(alignment.score).append('\n');
+			StringBuilder block = new StringBuilder();
+			int columns = alignment.transcript.columns();
+			for (int k = 0; k < columns; k += EditTranscript.BLOCK) {
+				block.setLength(0);
+				alignment.transcript.appendRow(block, true, k, Math.min(columns, k + EditTranscript.BLOCK));
+				block.append('\n');
+				alignment.transcript.appendRow(block, false, k, Math.min(columns, k + EditTranscript.BLOCK));
+				sb.append(block).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+}
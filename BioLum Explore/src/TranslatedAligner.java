@@ -0,0 +1,63 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+public class TranslatedAligner {
+	ProteinAligner aligner;						//aligns the translations
+	TranslationCache cache;						//translations shared across alignments
+
+	/**
+	 * Result of a translated alignment: the protein alignment and the codon-aligned dna it maps back to
+	 */
+	public static class Result {
+		public ProteinAligner.Result protein;	//alignment of the translations
+		public String dna1;						//codon-aligned dna of the first sequence
+		public String dna2;						//codon-aligned dna of the second sequence
+	}
+
+	/**
+	 * Initializes the aligner
+	 */
+	public TranslatedAligner(ProteinAligner aligner, TranslationCache cache) {
+		this.aligner = aligner;
+		this.cache = cache;
+	}
+
+	/**
+	 * Align two dna sequences in protein space and map the result back to codons
+	 * @param local true for local alignment, false for global alignment
+	 * @return alignment result
+	 */
+	public Result align(String name1, String dna1, String name2, String dna2, int readingFrame, boolean local) {
+		TranslationCache.Translation t1 = cache.get(name1, dna1, readingFrame);
+		TranslationCache.Translation t2 = cache.get(name2, dna2, readingFrame);
+		ProteinAligner.Result protein = local ? aligner.local(t1.protein, t2.protein) : aligner.global(t1.protein, t2.protein);
+
+		//every protein column becomes three dna columns: the residue's codon or a gap of three
+		StringBuilder a1 = new StringBuilder(protein.aligned1.length() * 3);
+		StringBuilder a2 = new StringBuilder(protein.aligned2.length() * 3);
+		int residue1 = protein.start1;
+		int residue2 = protein.start2;
+		for (int k = 0; k < protein.aligned1.length(); k++) {
+			if (protein.aligned1.charAt(k) == '-') {
+				a1.append("---");
+			} else {
+				a1.append(t1.codon(residue1++));
+			}
+			if (protein.aligned2.charAt(k) == '-') {
+				a2.append("---");
+			} else {
+				a2.append(t2.codon(residue2++));
+			}
+		}
+
+		Result result = new Result();
+		result.protein = protein;
+		result.dna1 = a1.toString();
+		result.dna2 = a2.toString();
+		return result;
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TranslationCache {
+	ConcurrentHashMap<String, Translation> translations;		//translations keyed by species name, reading frame, and sequence hash
+
+	/**
+	 * The translation of one sequence in one reading frame, along with where each codon starts
+	 */
+	public static class Translation {
+		final String source;									//dna the translation was made from, to tell a hash collision from a hit
+		public final String oriented;							//dna in reading orientation (reverse complement for frames 4, 5, and 6)
+		public final String protein;							//protein sequence, with '*' for stop codons
+		public final int offset;								//index of the first codon in the oriented dna
+
+		Translation(String dna, int readingFrame) {
+			source = dna;
+			oriented = readingFrame > 3 ? Translator.reverseComplement(dna) : dna;
+			offset = (readingFrame - 1) % 3;
+			protein = Translator.translateTranscript(oriented, offset);
+		}
+
+		/**
+		 * Get the bases of the codon that encodes a residue, padded with '-' for a trailing partial codon
+		 * @return three characters
+		 */
+		public String codon(int residue) {
+			int start = offset + 3 * residue;
+			StringBuilder sb = new StringBuilder(3);
+			for (int k = start; k < start + 3; k++) {
+				sb.append(k < oriented.length() ? oriented.charAt(k) : '-');
+			}
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * Initializes an empty cache
+	 */
+	public TranslationCache() {
+		translations = new ConcurrentHashMap<String, Translation>();
+	}
+
+	/**
+	 * Get the translation of a sequence, translating it only the first time it is requested; an edited sequence under
+	 * the same name is translated again rather than served the old translation
+	 * @return the cached translation
+	 */
+	public Translation get(String name, String dna, int readingFrame) {
+		String key = name + "|" + readingFrame + "|" + dna.hashCode();
+		Translation cached = translations.get(key);
+		boolean hit = cached != null && cached.source.equals(dna);
+		Metrics.cache(hit);
+		if (hit) {
+			return cached;
+		}
+		return translations.compute(key, (k, old) -> old != null && old.source.equals(dna) ? old : new Translation(dna, readingFrame));
+	}
+
+	/**
+	 * Remove every cached translation, e.g. after the sequences change
+	 */
+	public void clear() {
+		translations.clear();
+	}
+}
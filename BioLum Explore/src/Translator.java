@@ -0,0 +1,91 @@
+/**
+ * @author Jade Webb
+ * @version 1.0
+ * @date October 2026
+ * @email jade.webb@sjsu.edu
+ */
+
+public class Translator {
+	static final String CODONS = "FFLLSSSSYY**CC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG";	//amino acid of every codon, bases ordered U/T, C, A, G
+	static final byte[] BASE = new byte[128];				//index of each base in the codon table, -1 if not a base
+
+	static {
+		java.util.Arrays.fill(BASE, (byte) -1);
+		BASE['T'] = 0;
+		BASE['U'] = 0;
+		BASE['C'] = 1;
+		BASE['A'] = 2;
+		BASE['G'] = 3;
+	}
+
+	/**
+	 * Translate a dna sequence in one of the six reading frames; frames 4, 5, and 6 read the reverse complement
+	 * @return protein sequence, with '*' for stop codons
+	 */
+	public static String translate(String dna, int readingFrame) {
+		if (readingFrame > 3) {
+			return translateTranscript(reverseComplement(dna), readingFrame - 4);
+		}
+		return translateTranscript(dna, readingFrame - 1);
+	}
+
+	/**
+	 * Translate an already oriented dna or rna sequence starting at the given offset.
+	 * A trailing two-base codon is translated when its third base does not matter (e.g. "CC" is always P)
+	 * @return protein sequence, with '*' for stop codons
+	 */
+	public static String translateTranscript(String sequence, int offset) {
+		StringBuilder protein = new StringBuilder(sequence.length() / 3 + 1);
+		int i = offset;
+		for (; i + 3 <= sequence.length(); i += 3) {
+			int b1 = base(sequence.charAt(i));
+			int b2 = base(sequence.charAt(i + 1));
+			int b3 = base(sequence.charAt(i + 2));
+			if (b1 >= 0 && b2 >= 0 && b3 >= 0) {
+				protein.append(CODONS.charAt(b1 * 16 + b2 * 4 + b3));
+			}
+		}
+
+		//a partial codon is only translated if every possible third base gives the same amino acid
+		if (i + 2 == sequence.length()) {
+			int b1 = base(sequence.charAt(i));
+			int b2 = base(sequence.charAt(i + 1));
+			if (b1 >= 0 && b2 >= 0 && fourFold(b1, b2)) {
+				protein.append(CODONS.charAt(b1 * 16 + b2 * 4));
+			}
+		}
+		return protein.toString();
+	}
+
+	/**
+	 * Check whether the two leading bases fix the amino acid on their own, the same partial codons Frame.protein accepted
+	 */
+	private static boolean fourFold(int b1, int b2) {
+		return (b1 == 1 && b2 == 1) || (b1 == 2 && b2 == 1) || (b1 == 3 && b2 == 0) || (b1 == 3 && b2 == 1) || (b1 == 3 && b2 == 3);
+	}
+
+	private static int base(char c) {
+		return c < 128 ? BASE[c] : -1;
+	}
+
+	/**
+	 * Get the reverse complement of a dna sequence
+	 * @return reverse complement
+	 */
+	public static String reverseComplement(String dna) {
+		char[] out = new char[dna.length()];
+		for (int i = 0; i < dna.length(); i++) {
+			char c = dna.charAt(dna.length() - 1 - i);
+			if (c == 'A') {
+				out[i] = 'T';
+			} else if (c == 'T') {
+				out[i] = 'A';
+			} else if (c == 'C') {
+				out[i] = 'G';
+			} else {
+				out[i] = 'C';
+			}
+		}
+		return new String(out);
+	}
+}